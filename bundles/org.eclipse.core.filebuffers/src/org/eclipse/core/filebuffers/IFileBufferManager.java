@@ -13,11 +13,16 @@
  *******************************************************************************/
 package org.eclipse.core.filebuffers;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.core.filesystem.IFileStore;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 
 
 /**
@@ -77,6 +82,44 @@ public interface IFileBufferManager {
 	 */
 	void connect(IPath location, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Connects the files at the given locations to this manager. This is equivalent to
+	 * calling {@link #connect(IPath, LocationKind, IProgressMonitor)} for each location,
+	 * but allows the manager to load the file contents of not yet connected files
+	 * concurrently and to notify the file buffer listeners once all file buffers have
+	 * been created.
+	 * <p>
+	 * If one of the files cannot be connected, the files connected by this call are
+	 * disconnected again before the exception is thrown.
+	 * </p>
+	 *
+	 * @param locations the locations of the files to be connected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code> if progress reporting is not desired
+	 * @throws CoreException if one of the files could not successfully be connected
+	 * @see #disconnect(Collection, LocationKind, IProgressMonitor)
+	 * @since 3.9
+	 */
+	default void connect(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, locations.size());
+		List<IPath> connected= new ArrayList<>(locations.size());
+		try {
+			for (IPath location : locations) {
+				connect(location, locationKind, subMonitor.split(1));
+				connected.add(location);
+			}
+		} catch (CoreException | RuntimeException ex) {
+			for (IPath location : connected) {
+				try {
+					disconnect(location, locationKind, null);
+				} catch (CoreException e) {
+					ex.addSuppressed(e);
+				}
+			}
+			throw ex;
+		}
+	}
+
 	/**
 	 * Connects the given file store to this manager. After that call
 	 * successfully completed it is guaranteed that each call to <code>getFileBuffer</code>
@@ -136,6 +179,24 @@ public interface IFileBufferManager {
 	 */
 	void disconnect(IPath location, LocationKind locationKind, IProgressMonitor monitor) throws CoreException;
 
+	/**
+	 * Disconnects the files at the given locations from this manager. This is
+	 * equivalent to calling {@link #disconnect(IPath, LocationKind, IProgressMonitor)}
+	 * for each location.
+	 *
+	 * @param locations the locations of the files to be disconnected
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor, or <code>null</code> if progress reporting is not desired
+	 * @throws CoreException if one of the files could not successfully be disconnected
+	 * @see #connect(Collection, LocationKind, IProgressMonitor)
+	 * @since 3.9
+	 */
+	default void disconnect(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(monitor, locations.size());
+		for (IPath location : locations)
+			disconnect(location, locationKind, subMonitor.split(1));
+	}
+
 	/**
 	 * Disconnects the given file store from this manager. After that
 	 * call successfully completed there is no guarantee that <code>getFileBuffer</code>
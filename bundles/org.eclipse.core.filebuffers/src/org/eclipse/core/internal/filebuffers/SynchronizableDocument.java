@@ -320,6 +320,18 @@ public class SynchronizableDocument extends Document implements ISynchronizable
 		}
 	}
 
+	@Override
+	public void replacePositions(String category, Position[] positionsToRemove, Position[] positionsToAdd) throws BadLocationException, BadPositionCategoryException {
+		Object lockObject= getLockObject();
+		if (lockObject == null) {
+			super.replacePositions(category, positionsToRemove, positionsToAdd);
+			return;
+		}
+		synchronized (lockObject) {
+			super.replacePositions(category, positionsToRemove, positionsToAdd);
+		}
+	}
+
 	@Override
 	public Position[] getPositions(String category) throws BadPositionCategoryException {
 		Object lockObject= getLockObject();
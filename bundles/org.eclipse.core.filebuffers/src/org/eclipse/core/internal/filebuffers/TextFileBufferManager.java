@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,10 +18,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
@@ -35,9 +49,11 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
@@ -70,17 +86,59 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		}
 	}
 
+	/**
+	 * A file buffer that is created by a bulk connect, together with its location.
+	 */
+	private record CreatedFileBuffer(IPath location, AbstractFileBuffer fileBuffer) {
+	}
+
+	/**
+	 * The maximal number of threads used to create file buffers during a bulk connect.
+	 */
+	private static final int MAX_CONNECT_THREADS= Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Creates the file buffers of all bulk connects. Its threads are only created when
+	 * needed and terminate when idle.
+	 */
+	private static final ExecutorService CONNECT_EXECUTOR= createConnectExecutor();
+
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
-	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
-	private Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
-	private List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
+	/**
+	 * The number of lock stripes, must be a power of two.
+	 */
+	private static final int LOCK_STRIPES= 64;
+
+	private final Map<IPath, AbstractFileBuffer> fFilesBuffers= new ConcurrentHashMap<>();
+	private final Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new ConcurrentHashMap<>();
+	private final CopyOnWriteArrayList<IFileBufferListener> fFileBufferListeners= new CopyOnWriteArrayList<>();
+	/**
+	 * The locks guarding the reference counting of the file buffers. Connecting and
+	 * disconnecting a location only locks the stripe the location belongs to, so that
+	 * clients working on different files do not contend with each other.
+	 */
+	private final Object[] fLocationLocks= new Object[LOCK_STRIPES];
 	protected ExtensionsRegistry fRegistry;
 	private ISynchronizationContext fSynchronizationContext;
 
 
 	public TextFileBufferManager()  {
 		fRegistry= new ExtensionsRegistry();
+		for (int i= 0; i < fLocationLocks.length; i++)
+			fLocationLocks[i]= new Object();
+	}
+
+	/**
+	 * Returns the lock that guards the connections of the given location or file store.
+	 *
+	 * @param key the location or file store
+	 * @return the lock for the given key
+	 */
+	private Object getLocationLock(Object key) {
+		int hash= key.hashCode();
+		hash^= (hash >>> 16);
+		return fLocationLocks[hash & (LOCK_STRIPES - 1)];
 	}
 
 	/**
@@ -100,8 +158,9 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		if (locationKind == LocationKind.NORMALIZE)
 			location= normalizeLocation(location);
 
+		Object lock= getLocationLock(location);
 		AbstractFileBuffer fileBuffer= null;
-		synchronized (fFilesBuffers) {
+		synchronized (lock) {
 			fileBuffer= internalGetFileBuffer(location);
 			if (fileBuffer != null)  {
 				fileBuffer.connect();
@@ -115,7 +174,7 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 		fileBuffer.create(location, monitor);
 
-		synchronized (fFilesBuffers) {
+		synchronized (lock) {
 			AbstractFileBuffer oldFileBuffer= internalGetFileBuffer(location);
 			if (oldFileBuffer != null) {
 				fileBuffer.disconnect();
@@ -131,12 +190,223 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		fireBufferCreated(fileBuffer);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The file buffers of all locations that are not yet connected are created
+	 * concurrently, i.e. reading the file contents, detecting the encodings and
+	 * creating the documents happens in parallel. The file buffers are registered
+	 * in one step afterwards and the file buffer listeners are notified about the
+	 * created file buffers outside of any lock.
+	 * </p>
+	 */
+	@Override
+	public void connect(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		SubMonitor subMonitor= SubMonitor.convert(monitor, locations.size());
+
+		// Remember how often each location has to be connected
+		Map<IPath, Integer> connectCounts= new LinkedHashMap<>();
+		for (IPath location : locations) {
+			Assert.isNotNull(location);
+			if (locationKind == LocationKind.NORMALIZE)
+				location= normalizeLocation(location);
+			connectCounts.merge(location, Integer.valueOf(1), Integer::sum);
+		}
+
+		List<IPath> connected= new ArrayList<>(connectCounts.size());
+		List<IPath> toCreate= new ArrayList<>();
+		for (Map.Entry<IPath, Integer> entry : connectCounts.entrySet()) {
+			synchronized (getLocationLock(entry.getKey())) {
+				AbstractFileBuffer fileBuffer= internalGetFileBuffer(entry.getKey());
+				if (fileBuffer != null) {
+					for (int i= 0; i < entry.getValue().intValue(); i++)
+						fileBuffer.connect();
+					connected.add(entry.getKey());
+				} else {
+					toCreate.add(entry.getKey());
+				}
+			}
+		}
+		subMonitor.worked(locations.size() - toCreate.size());
+
+		List<CreatedFileBuffer> created;
+		try {
+			created= createFileBuffers(toCreate, locationKind, subMonitor.split(toCreate.size()));
+		} catch (CoreException | RuntimeException ex) {
+			disconnectAll(connected, connectCounts, ex);
+			throw ex;
+		}
+
+		List<IFileBuffer> newFileBuffers= new ArrayList<>(created.size());
+		List<AbstractFileBuffer> obsoleteFileBuffers= new ArrayList<>();
+		for (CreatedFileBuffer createdFileBuffer : created) {
+			IPath location= createdFileBuffer.location();
+			AbstractFileBuffer fileBuffer= createdFileBuffer.fileBuffer();
+			int count= connectCounts.get(location).intValue();
+			synchronized (getLocationLock(location)) {
+				AbstractFileBuffer oldFileBuffer= internalGetFileBuffer(location);
+				if (oldFileBuffer != null) {
+					obsoleteFileBuffers.add(fileBuffer);
+					fileBuffer= oldFileBuffer;
+				} else {
+					fFilesBuffers.put(location, fileBuffer);
+					newFileBuffers.add(fileBuffer);
+				}
+				for (int i= 0; i < count; i++)
+					fileBuffer.connect();
+			}
+		}
+
+		for (AbstractFileBuffer fileBuffer : obsoleteFileBuffers)
+			disposeUnusedFileBuffer(fileBuffer);
+
+		// Do notification outside synchronized block
+		fireBuffersCreated(newFileBuffers);
+	}
+
+	/**
+	 * Creates the file buffers for the given locations concurrently.
+	 * <p>
+	 * If one of the file buffers cannot be created or the operation gets canceled,
+	 * all file buffers that have already been created are disposed.
+	 * </p>
+	 *
+	 * @param locations the normalized locations for which to create the file buffers
+	 * @param locationKind the kind of the given locations
+	 * @param monitor the progress monitor
+	 * @return the created file buffers in the order of the given locations
+	 * @throws CoreException if one of the file buffers could not be created
+	 */
+	private List<CreatedFileBuffer> createFileBuffers(List<IPath> locations, LocationKind locationKind, SubMonitor monitor) throws CoreException {
+		int size= locations.size();
+		if (size == 0)
+			return new ArrayList<>();
+
+		CreatedFileBuffer[] result= new CreatedFileBuffer[size];
+		Queue<AbstractFileBuffer> allCreated= new ConcurrentLinkedQueue<>();
+		AtomicBoolean aborted= new AtomicBoolean();
+		CompletionService<Integer> completionService= new ExecutorCompletionService<>(CONNECT_EXECUTOR);
+		List<Future<Integer>> futures= new ArrayList<>(size);
+		try {
+			for (int i= 0; i < size; i++) {
+				final int index= i;
+				IPath location= locations.get(i);
+				futures.add(completionService.submit(() -> {
+					if (aborted.get())
+						return Integer.valueOf(index);
+					AbstractFileBuffer fileBuffer= createFileBuffer(location, locationKind);
+					if (fileBuffer == null)
+						throw new CoreException(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, FileBuffersMessages.FileBufferManager_error_canNotCreateFilebuffer, null));
+					fileBuffer.create(location, null);
+					allCreated.add(fileBuffer);
+					result[index]= new CreatedFileBuffer(location, fileBuffer);
+					return Integer.valueOf(index);
+				}));
+			}
+
+			for (int i= 0; i < size; i++) {
+				Future<Integer> future= null;
+				while (future == null) {
+					if (monitor.isCanceled())
+						throw new OperationCanceledException();
+					future= completionService.poll(100, TimeUnit.MILLISECONDS);
+				}
+				future.get();
+				monitor.worked(1);
+			}
+		} catch (RuntimeException | InterruptedException | ExecutionException ex) {
+			// Skip the pending creations and let the running ones finish so that no file buffer gets lost
+			aborted.set(true);
+			awaitCompletion(futures);
+			for (AbstractFileBuffer fileBuffer : allCreated)
+				disposeUnusedFileBuffer(fileBuffer);
+
+			if (ex instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+			if (ex instanceof ExecutionException) {
+				Throwable cause= ex.getCause();
+				if (cause instanceof CoreException)
+					throw (CoreException) cause;
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				throw new CoreException(new Status(IStatus.ERROR, FileBuffersPlugin.PLUGIN_ID, IFileBufferStatusCodes.CREATION_FAILED, FileBuffersMessages.FileBufferManager_error_canNotCreateFilebuffer, cause));
+			}
+			throw (RuntimeException) ex;
+		}
+
+		List<CreatedFileBuffer> fileBuffers= new ArrayList<>(size);
+		for (CreatedFileBuffer fileBuffer : result)
+			fileBuffers.add(fileBuffer);
+		return fileBuffers;
+	}
+
+	private static void awaitCompletion(List<Future<Integer>> futures) {
+		for (Future<Integer> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				// reported by the bulk connect
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private static ExecutorService createConnectExecutor() {
+		AtomicInteger threadCount= new AtomicInteger();
+		ThreadPoolExecutor executor= new ThreadPoolExecutor(MAX_CONNECT_THREADS, MAX_CONNECT_THREADS, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, "File Buffer Connect #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Disposes a file buffer which has been created but never got registered.
+	 *
+	 * @param fileBuffer the file buffer to dispose
+	 */
+	private static void disposeUnusedFileBuffer(AbstractFileBuffer fileBuffer) {
+		try {
+			fileBuffer.disconnect();
+		} catch (CoreException ex) {
+			ILog.of(TextFileBufferManager.class).log(ex.getStatus());
+		}
+		fileBuffer.dispose();
+	}
+
+	/**
+	 * Reverts the connections done by a failed bulk connect.
+	 *
+	 * @param locations the locations that have been connected
+	 * @param connectCounts the number of connections per location
+	 * @param reason the exception that caused the bulk connect to fail
+	 */
+	private void disconnectAll(List<IPath> locations, Map<IPath, Integer> connectCounts, Exception reason) {
+		for (IPath location : locations) {
+			for (int i= 0; i < connectCounts.get(location).intValue(); i++) {
+				try {
+					disconnect(location, LocationKind.LOCATION, null);
+				} catch (CoreException ex) {
+					reason.addSuppressed(ex);
+				}
+			}
+		}
+	}
+
 	@Override
 	public void connectFileStore(IFileStore fileStore, IProgressMonitor monitor) throws CoreException {
 		Assert.isLegal(fileStore != null);
 
+		Object lock= getLocationLock(fileStore);
 		FileStoreFileBuffer fileBuffer= null;
-		synchronized (fFileStoreFileBuffers) {
+		synchronized (lock) {
 			fileBuffer= internalGetFileBuffer(fileStore);
 			if (fileBuffer != null)  {
 				fileBuffer.connect();
@@ -150,7 +420,7 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 		fileBuffer.create(fileStore, monitor);
 
-		synchronized (fFileStoreFileBuffers) {
+		synchronized (lock) {
 			AbstractFileBuffer oldFileBuffer= internalGetFileBuffer(fileStore);
 			if (oldFileBuffer != null) {
 				fileBuffer.disconnect();
@@ -191,7 +461,7 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 			location= normalizeLocation(location);
 
 		AbstractFileBuffer fileBuffer;
-		synchronized (fFilesBuffers) {
+		synchronized (getLocationLock(location)) {
 			fileBuffer= internalGetFileBuffer(location);
 			if (fileBuffer == null)
 				return;
@@ -208,12 +478,62 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		fileBuffer.dispose();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The file buffers are disconnected in one step and the file buffer listeners
+	 * are notified about the disposed file buffers outside of any lock.
+	 * </p>
+	 */
+	@Override
+	public void disconnect(Collection<IPath> locations, LocationKind locationKind, IProgressMonitor monitor) throws CoreException {
+		Assert.isNotNull(locations);
+		SubMonitor subMonitor= SubMonitor.convert(monitor, locations.size());
+
+		List<AbstractFileBuffer> disposed= new ArrayList<>();
+		CoreException exception= null;
+		for (IPath location : locations) {
+			Assert.isNotNull(location);
+			if (locationKind == LocationKind.NORMALIZE)
+				location= normalizeLocation(location);
+
+			synchronized (getLocationLock(location)) {
+				AbstractFileBuffer fileBuffer= internalGetFileBuffer(location);
+				if (fileBuffer == null)
+					continue;
+
+				try {
+					fileBuffer.disconnect();
+				} catch (CoreException ex) {
+					if (exception == null)
+						exception= ex;
+					else
+						exception.addSuppressed(ex);
+				}
+				if (fileBuffer.isDisconnected()) {
+					fFilesBuffers.remove(location);
+					disposed.add(fileBuffer);
+				}
+			}
+		}
+		subMonitor.worked(locations.size());
+
+		// Do notification outside synchronized block
+		for (AbstractFileBuffer fileBuffer : disposed) {
+			fireBufferDisposed(fileBuffer);
+			fileBuffer.dispose();
+		}
+
+		if (exception != null)
+			throw exception;
+	}
+
 	@Override
 	public void disconnectFileStore(IFileStore fileStore, IProgressMonitor monitor) throws CoreException {
 		Assert.isLegal(fileStore != null);
 
 		AbstractFileBuffer fileBuffer;
-		synchronized (fFileStoreFileBuffers) {
+		synchronized (getLocationLock(fileStore)) {
 			fileBuffer= internalGetFileBuffer(fileStore);
 			if (fileBuffer == null)
 				return;
@@ -331,15 +651,13 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 	}
 
 	private AbstractFileBuffer internalGetFileBuffer(IPath location) {
-		synchronized (fFilesBuffers) {
-			return fFilesBuffers.get(location);
-		}
+		if (location == null)
+			return null;
+		return fFilesBuffers.get(location);
 	}
 
 	private FileStoreFileBuffer internalGetFileBuffer(IFileStore fileStore) {
-		synchronized (fFileStoreFileBuffers) {
-			return fFileStoreFileBuffers.get(fileStore);
-		}
+		return fFileStoreFileBuffers.get(fileStore);
 	}
 
 	/**
@@ -367,10 +685,7 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 	@Override
 	public ITextFileBuffer getTextFileBuffer(IDocument document) {
 		Assert.isLegal(document != null);
-		Iterator<AbstractFileBuffer> iter;
-		synchronized (fFilesBuffers) {
-			iter= new ArrayList<>(fFilesBuffers.values()).iterator();
-		}
+		Iterator<? extends AbstractFileBuffer> iter= fFilesBuffers.values().iterator();
 
 		while (iter.hasNext()) {
 			Object buffer= iter.next();
@@ -383,9 +698,7 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 				}
 			}
 		}
-		synchronized (fFileStoreFileBuffers) {
-			iter= new ArrayList<AbstractFileBuffer>(fFileStoreFileBuffers.values()).iterator();
-		}
+		iter= fFileStoreFileBuffers.values().iterator();
 		while (iter.hasNext()) {
 			Object buffer= iter.next();
 			if (buffer instanceof ITextFileBuffer) {
@@ -401,18 +714,12 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	@Override
 	public IFileBuffer[] getFileBuffers() {
-		synchronized (fFilesBuffers) {
-			Collection<AbstractFileBuffer> values= fFilesBuffers.values();
-			return values.toArray(new IFileBuffer[values.size()]);
-		}
+		return fFilesBuffers.values().toArray(new IFileBuffer[0]);
 	}
 
 	@Override
 	public IFileBuffer[] getFileStoreFileBuffers() {
-		synchronized (fFileStoreFileBuffers) {
-			Collection<FileStoreFileBuffer> values= fFileStoreFileBuffers.values();
-			return values.toArray(new IFileBuffer[values.size()]);
-		}
+		return fFileStoreFileBuffers.values().toArray(new IFileBuffer[0]);
 	}
 
 	@Override
@@ -535,18 +842,13 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 	@Override
 	public void addFileBufferListener(IFileBufferListener listener) {
 		Assert.isNotNull(listener);
-		synchronized (fFileBufferListeners) {
-			if (!fFileBufferListeners.contains(listener))
-				fFileBufferListeners.add(listener);
-		}
+		fFileBufferListeners.addIfAbsent(listener);
 	}
 
 	@Override
 	public void removeFileBufferListener(IFileBufferListener listener) {
 		Assert.isNotNull(listener);
-		synchronized (fFileBufferListeners) {
-			fFileBufferListeners.remove(listener);
-		}
+		fFileBufferListeners.remove(listener);
 	}
 
 	@Override
@@ -656,9 +958,8 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 //	}
 
 	private Iterator<IFileBufferListener> getFileBufferListenerIterator() {
-		synchronized (fFileBufferListeners) {
-			return new ArrayList<>(fFileBufferListeners).iterator();
-		}
+		// The iterator works on a snapshot that keeps the registration order
+		return fFileBufferListeners.iterator();
 	}
 
 	protected void fireDirtyStateChanged(final IFileBuffer buffer, final boolean isDirty) {
@@ -778,6 +1079,29 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		}
 	}
 
+	/**
+	 * Informs the file buffer listeners about the given created file buffers.
+	 *
+	 * @param buffers the created file buffers
+	 * @since 3.9
+	 */
+	protected void fireBuffersCreated(final List<? extends IFileBuffer> buffers) {
+		if (buffers.isEmpty())
+			return;
+		Iterator<IFileBufferListener> e= getFileBufferListenerIterator();
+		while (e.hasNext()) {
+			final IFileBufferListener l= e.next();
+			for (final IFileBuffer buffer : buffers) {
+				SafeRunner.run(new SafeNotifier() {
+					@Override
+					public void run() {
+						l.bufferCreated(buffer);
+					}
+				});
+			}
+		}
+	}
+
 	protected void fireBufferDisposed(final IFileBuffer buffer) {
 		Iterator<IFileBufferListener> e= getFileBufferListenerIterator();
 		while (e.hasNext()) {
@@ -0,0 +1,869 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.emf.xpath.internal.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A compiled XPath expression which is evaluated directly on a tree of
+ * {@link EObject}s, as if it was evaluated on the XML document the tree is
+ * saved to.
+ * <p>
+ * Only the subset of XPath 1.0 used to query application models is supported:
+ * location paths with the child, descendant, descendant-or-self, self, parent,
+ * ancestor, ancestor-or-self, following-sibling, preceding-sibling and
+ * attribute axes, name, <code>*</code> and <code>node()</code> tests, and
+ * predicates made of attribute values, literals, numbers,
+ * <code>ecore:eClassName(.)</code>, <code>not()</code>, <code>=</code>,
+ * <code>!=</code>, <code>and</code> and <code>or</code>. Positions are only
+ * supported for the children of a given name. {@link #compile(String)} returns
+ * <code>null</code> for other expressions, and {@link #evaluate(EObject,
+ * EObject)} throws {@link UnsupportedPathException} if the tree contains
+ * content which is saved in a way the expression cannot see, like the
+ * elements of many-valued attributes a <code>*</code> step would select, so
+ * that the caller can evaluate the expression on the XML document instead.
+ * </p>
+ * <p>
+ * Compiled expressions are immutable and cached.
+ * </p>
+ */
+final class EObjectXPathExpression {
+
+	/**
+	 * Thrown if an expression cannot be evaluated on a tree.
+	 */
+	static final class UnsupportedPathException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		UnsupportedPathException() {
+			super(null, null, false, false);
+		}
+	}
+
+	private static final int CACHE_SIZE = 256;
+
+	private static final EObjectXPathExpression UNSUPPORTED = new EObjectXPathExpression(Start.CONTEXT, List.of());
+
+	private static final Map<String, EObjectXPathExpression> CACHE = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, EObjectXPathExpression> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * The parent of the root object.
+	 */
+	private static final Object DOCUMENT = new Object();
+
+	private enum Start {
+		CONTEXT, ROOT, DOCUMENT
+	}
+
+	private enum Axis {
+		CHILD, DESCENDANT, DESCENDANT_OR_SELF, SELF, PARENT, ANCESTOR, ANCESTOR_OR_SELF, FOLLOWING_SIBLING,
+		PRECEDING_SIBLING, ATTRIBUTE
+	}
+
+	/**
+	 * @param name     the name to match, or <code>null</code> to match any
+	 *                 element
+	 * @param anyNode  whether the document matches too
+	 */
+	private record Step(Axis axis, String name, boolean anyNode, List<Expr> predicates) {
+	}
+
+	private sealed interface Expr {
+	}
+
+	private record Literal(Object value) implements Expr {
+	}
+
+	private record AttributeRef(String name) implements Expr {
+	}
+
+	private record EClassName() implements Expr {
+	}
+
+	private record Not(Expr operand) implements Expr {
+	}
+
+	private record Binary(String operator, Expr left, Expr right) implements Expr {
+	}
+
+	private final Start start;
+
+	private final List<Step> steps;
+
+	private EObjectXPathExpression(Start start, List<Step> steps) {
+		this.start = start;
+		this.steps = steps;
+	}
+
+	/**
+	 * Returns the compiled form of the given expression.
+	 *
+	 * @param xpath the expression
+	 * @return the compiled expression, or <code>null</code> if the expression
+	 *         is not supported
+	 */
+	static EObjectXPathExpression compile(String xpath) {
+		EObjectXPathExpression expression;
+		synchronized (CACHE) {
+			expression = CACHE.get(xpath);
+		}
+		if (expression == null) {
+			try {
+				expression = new Parser(xpath).parse();
+			} catch (UnsupportedPathException e) {
+				expression = UNSUPPORTED;
+			}
+			synchronized (CACHE) {
+				CACHE.put(xpath, expression);
+			}
+		}
+		return expression == UNSUPPORTED ? null : expression;
+	}
+
+	/**
+	 * Returns whether this expression starts at the root object, like
+	 * <code>/path</code>.
+	 *
+	 * @return whether the expression starts at the root object
+	 */
+	boolean startsAtRoot() {
+		return start == Start.ROOT;
+	}
+
+	/**
+	 * Evaluates this expression.
+	 *
+	 * @param root    the root object of the document
+	 * @param context the context object, which is the root or one of its
+	 *                contents
+	 * @return the selected objects and attribute values in document order
+	 * @throws UnsupportedPathException if the expression cannot be evaluated on
+	 *                                  the tree
+	 */
+	List<Object> evaluate(EObject root, EObject context) {
+		return new Evaluation(root).evaluate(context);
+	}
+
+	private final class Evaluation {
+
+		private final EObject root;
+
+		private Map<Object, Integer> documentOrder;
+
+		Evaluation(EObject root) {
+			this.root = root;
+		}
+
+		List<Object> evaluate(EObject context) {
+			List<Object> nodes = new ArrayList<>();
+			nodes.add(switch (start) {
+			case CONTEXT -> context;
+			case ROOT -> root;
+			case DOCUMENT -> DOCUMENT;
+			});
+			boolean nested = false;
+			for (int i = 0; i < steps.size(); i++) {
+				Step step = steps.get(i);
+				boolean wildcard = step.name() == null && !isFollowedByNamedChild(i);
+				List<Object> result = new ArrayList<>();
+				for (Object node : nodes) {
+					if (node instanceof String) {
+						// attribute values have no further nodes
+						continue;
+					}
+					if (wildcard) {
+						checkWildcard(node, step.axis());
+					}
+					List<Object> candidates = new ArrayList<>();
+					collect(node, step, candidates);
+					for (Expr predicate : step.predicates()) {
+						candidates = filter(candidates, predicate);
+					}
+					result.addAll(candidates);
+				}
+				switch (step.axis()) {
+				case SELF, ATTRIBUTE:
+					break;
+				case CHILD, DESCENDANT, DESCENDANT_OR_SELF:
+					if (nested) {
+						result = sort(result);
+					}
+					nested |= step.axis() != Axis.CHILD;
+					break;
+				default:
+					result = sort(result);
+					nested = true;
+				}
+				nodes = result;
+			}
+			nodes.remove(DOCUMENT);
+			return nodes;
+		}
+
+		/**
+		 * Returns whether the step at the given index is only followed by a
+		 * named child step, which does not select anything from the elements
+		 * which are not objects, because these have no child elements.
+		 */
+		private boolean isFollowedByNamedChild(int index) {
+			if (index + 1 >= steps.size() || !steps.get(index).predicates().isEmpty()) {
+				return false;
+			}
+			Step next = steps.get(index + 1);
+			return next.axis() == Axis.CHILD && next.name() != null;
+		}
+
+		/**
+		 * Throws if the elements a wildcard step with the given axis selects
+		 * from the given node include elements which are not objects.
+		 */
+		private void checkWildcard(Object node, Axis axis) {
+			switch (axis) {
+			case CHILD -> checkElements(node);
+			case DESCENDANT, DESCENDANT_OR_SELF -> checkDescendantElements(node);
+			case FOLLOWING_SIBLING, PRECEDING_SIBLING -> {
+				Object parent = getParent(node);
+				if (parent != null) {
+					checkElements(parent);
+				}
+			}
+			default -> {
+				// the self, parent and ancestor axes only select objects
+			}
+			}
+		}
+
+		private void checkDescendantElements(Object node) {
+			checkElements(node);
+			for (EObject child : getChildren(node)) {
+				checkDescendantElements(child);
+			}
+		}
+
+		/**
+		 * Throws if the given node has child elements which are not objects.
+		 */
+		private void checkElements(Object node) {
+			if (node instanceof EObject eObject) {
+				for (EStructuralFeature feature : eObject.eClass().getEAllStructuralFeatures()) {
+					if (isSaved(eObject, feature)) {
+						checkContainment(eObject, feature);
+					}
+				}
+			}
+		}
+
+		private void collect(Object node, Step step, List<Object> result) {
+			switch (step.axis()) {
+			case CHILD -> addChildren(node, step, result);
+			case DESCENDANT -> addDescendants(node, step, result);
+			case DESCENDANT_OR_SELF -> {
+				addIfMatches(node, step, result);
+				addDescendants(node, step, result);
+			}
+			case SELF -> addIfMatches(node, step, result);
+			case PARENT -> addIfMatches(getParent(node), step, result);
+			case ANCESTOR, ANCESTOR_OR_SELF -> {
+				Object ancestor = step.axis() == Axis.ANCESTOR ? getParent(node) : node;
+				while (ancestor != null) {
+					addIfMatches(ancestor, step, result);
+					ancestor = getParent(ancestor);
+				}
+			}
+			case FOLLOWING_SIBLING, PRECEDING_SIBLING -> {
+				Object parent = getParent(node);
+				if (parent != null) {
+					List<EObject> siblings = getChildren(parent);
+					int index = indexOf(siblings, node);
+					if (step.axis() == Axis.FOLLOWING_SIBLING) {
+						for (int i = index + 1; i < siblings.size(); i++) {
+							addIfMatches(siblings.get(i), step, result);
+						}
+					} else {
+						for (int i = index - 1; i >= 0; i--) {
+							addIfMatches(siblings.get(i), step, result);
+						}
+					}
+				}
+			}
+			case ATTRIBUTE -> {
+				String value = getAttribute(node, step.name());
+				if (value != null) {
+					result.add(value);
+				}
+			}
+			}
+		}
+
+		private void addChildren(Object node, Step step, List<Object> result) {
+			if (node == DOCUMENT) {
+				addIfMatches(root, step, result);
+				return;
+			}
+			EObject eObject = (EObject) node;
+			if (step.name() == null) {
+				result.addAll(getChildren(eObject));
+				return;
+			}
+			EStructuralFeature feature = eObject.eClass().getEStructuralFeature(step.name());
+			if (!isSaved(eObject, feature) || !checkContainment(eObject, feature)) {
+				return;
+			}
+			if (feature.isMany()) {
+				result.addAll((List<?>) eObject.eGet(feature));
+			} else {
+				result.add(eObject.eGet(feature));
+			}
+		}
+
+		private void addDescendants(Object node, Step step, List<Object> result) {
+			List<EObject> children = node == DOCUMENT ? List.of(root) : getChildren(node);
+			for (EObject child : children) {
+				if (step.name() != null) {
+					// elements of other features with the name are not objects
+					EStructuralFeature feature = child.eClass().getEStructuralFeature(step.name());
+					if (isSaved(child, feature)) {
+						checkContainment(child, feature);
+					}
+				}
+				addIfMatches(child, step, result);
+				addDescendants(child, step, result);
+			}
+		}
+
+		private void addIfMatches(Object node, Step step, List<Object> result) {
+			if (node == DOCUMENT) {
+				if (step.anyNode()) {
+					result.add(node);
+				}
+			} else if (node != null && (step.name() == null || step.name().equals(getName((EObject) node)))) {
+				result.add(node);
+			}
+		}
+
+		/**
+		 * Returns whether the given saved feature is a containment, throws if
+		 * the feature is saved as elements which are not objects.
+		 */
+		private boolean checkContainment(EObject eObject, EStructuralFeature feature) {
+			if (feature instanceof EReference reference && reference.isContainment()) {
+				return true;
+			}
+			if (feature.isMany() || feature instanceof EReference) {
+				// saved as elements which are not objects, like many-valued
+				// attributes, or references to other resources
+				throw new UnsupportedPathException();
+			}
+			return false;
+		}
+
+		private String getName(EObject eObject) {
+			// the name of the root element is qualified by the package prefix
+			return eObject == root ? null : eObject.eContainmentFeature().getName();
+		}
+
+		private Object getParent(Object node) {
+			if (node == root) {
+				return DOCUMENT;
+			}
+			return node == DOCUMENT ? null : ((EObject) node).eContainer();
+		}
+
+		private List<EObject> getChildren(Object node) {
+			if (node == DOCUMENT) {
+				return List.of(root);
+			}
+			EObject eObject = (EObject) node;
+			List<EObject> children = null;
+			for (EReference containment : eObject.eClass().getEAllContainments()) {
+				if (isSaved(eObject, containment)) {
+					if (children == null) {
+						children = new ArrayList<>();
+					}
+					if (containment.isMany()) {
+						@SuppressWarnings("unchecked")
+						List<EObject> values = (List<EObject>) eObject.eGet(containment);
+						children.addAll(values);
+					} else {
+						children.add((EObject) eObject.eGet(containment));
+					}
+				}
+			}
+			return children == null ? Collections.emptyList() : children;
+		}
+
+		private static int indexOf(List<EObject> siblings, Object node) {
+			for (int i = 0; i < siblings.size(); i++) {
+				if (siblings.get(i) == node) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private String getAttribute(Object node, String name) {
+			if (node == DOCUMENT) {
+				return null;
+			}
+			EObject eObject = (EObject) node;
+			EStructuralFeature feature = eObject.eClass().getEStructuralFeature(name);
+			if (!isSaved(eObject, feature)) {
+				return null;
+			}
+			if (!(feature instanceof EAttribute attribute) || attribute.isMany()) {
+				// references and many-valued attributes are saved differently
+				throw new UnsupportedPathException();
+			}
+			if (!attribute.getEAttributeType().isSerializable()) {
+				return null;
+			}
+			Object value = eObject.eGet(attribute);
+			return value == null ? null : EcoreUtil.convertToString(attribute.getEAttributeType(), value);
+		}
+
+		private List<Object> filter(List<Object> candidates, Expr predicate) {
+			List<Object> result = new ArrayList<>();
+			for (int i = 0; i < candidates.size(); i++) {
+				Object candidate = candidates.get(i);
+				Object value = evaluate(predicate, candidate);
+				if (value instanceof Double position ? position.doubleValue() == i + 1 : toBoolean(value)) {
+					result.add(candidate);
+				}
+			}
+			return result;
+		}
+
+		private Object evaluate(Expr expr, Object node) {
+			if (expr instanceof Literal literal) {
+				return literal.value();
+			} else if (expr instanceof AttributeRef attribute) {
+				String value = getAttribute(node, attribute.name());
+				return value == null ? List.of() : List.of(value);
+			} else if (expr instanceof EClassName) {
+				return node instanceof EObject eObject ? eObject.eClass().getName() : ""; //$NON-NLS-1$
+			} else if (expr instanceof Not not) {
+				return Boolean.valueOf(!toBoolean(evaluate(not.operand(), node)));
+			}
+			Binary binary = (Binary) expr;
+			return switch (binary.operator()) {
+			case "and" -> Boolean.valueOf( //$NON-NLS-1$
+					toBoolean(evaluate(binary.left(), node)) && toBoolean(evaluate(binary.right(), node)));
+			case "or" -> Boolean.valueOf( //$NON-NLS-1$
+					toBoolean(evaluate(binary.left(), node)) || toBoolean(evaluate(binary.right(), node)));
+			default -> Boolean.valueOf(compare(binary.operator().equals("="), evaluate(binary.left(), node), //$NON-NLS-1$
+					evaluate(binary.right(), node)));
+			};
+		}
+
+		private List<Object> sort(List<Object> nodes) {
+			if (nodes.size() < 2) {
+				return nodes;
+			}
+			if (documentOrder == null) {
+				documentOrder = new IdentityHashMap<>();
+				documentOrder.put(DOCUMENT, Integer.valueOf(-1));
+				number(root);
+			}
+			Set<Object> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+			List<Object> result = new ArrayList<>(nodes.size());
+			for (Object node : nodes) {
+				if (unique.add(node)) {
+					result.add(node);
+				}
+			}
+			result.sort((a, b) -> Integer.compare(documentOrder.get(a).intValue(), documentOrder.get(b).intValue()));
+			return result;
+		}
+
+		private void number(EObject eObject) {
+			documentOrder.put(eObject, Integer.valueOf(documentOrder.size()));
+			for (EObject child : getChildren(eObject)) {
+				number(child);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given feature of the given object is saved.
+	 */
+	private static boolean isSaved(EObject eObject, EStructuralFeature feature) {
+		return feature != null && !feature.isTransient() && eObject.eIsSet(feature);
+	}
+
+	private static boolean toBoolean(Object value) {
+		if (value instanceof Boolean b) {
+			return b.booleanValue();
+		} else if (value instanceof Double d) {
+			return d.doubleValue() != 0 && !d.isNaN();
+		} else if (value instanceof List<?> nodeSet) {
+			return !nodeSet.isEmpty();
+		}
+		return !((String) value).isEmpty();
+	}
+
+	private static double toNumber(Object value) {
+		if (value instanceof Double d) {
+			return d.doubleValue();
+		} else if (value instanceof Boolean b) {
+			return b.booleanValue() ? 1 : 0;
+		}
+		try {
+			return Double.parseDouble(((String) value).strip());
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Compares two values as defined for the <code>=</code> and
+	 * <code>!=</code> operators of XPath 1.0.
+	 */
+	private static boolean compare(boolean equals, Object left, Object right) {
+		if (left instanceof List<?> nodeSet) {
+			if (right instanceof Boolean) {
+				return compare(equals, Boolean.valueOf(!nodeSet.isEmpty()), right);
+			}
+			for (Object value : nodeSet) {
+				if (compare(equals, value, right)) {
+					return true;
+				}
+			}
+			return false;
+		} else if (right instanceof List<?>) {
+			return compare(equals, right, left);
+		}
+		boolean result;
+		if (left instanceof Boolean || right instanceof Boolean) {
+			result = toBoolean(left) == toBoolean(right);
+		} else if (left instanceof Double || right instanceof Double) {
+			result = toNumber(left) == toNumber(right);
+		} else {
+			result = left.equals(right);
+		}
+		return result == equals;
+	}
+
+	private static final class Parser {
+
+		private final String input;
+
+		private int pos;
+
+		Parser(String input) {
+			this.input = input;
+		}
+
+		EObjectXPathExpression parse() {
+			Start start = Start.CONTEXT;
+			List<Step> steps = new ArrayList<>();
+			skipWhitespace();
+			if (accept("//")) { //$NON-NLS-1$
+				start = Start.DOCUMENT;
+				steps.add(descendantOrSelf());
+				parseRelativePath(steps);
+			} else if (accept("/")) { //$NON-NLS-1$
+				// the path '/' refers to the document but also matches the
+				// root object, and the root object is the start of '/path'
+				start = Start.ROOT;
+				skipWhitespace();
+				if (pos < input.length()) {
+					parseRelativePath(steps);
+				}
+			} else {
+				parseRelativePath(steps);
+			}
+			skipWhitespace();
+			if (pos < input.length()) {
+				throw new UnsupportedPathException();
+			}
+			return new EObjectXPathExpression(start, optimize(steps));
+		}
+
+		/**
+		 * Replaces <code>descendant-or-self::node()/child::x</code> by
+		 * <code>descendant::x</code>, which is equivalent without positional
+		 * predicates.
+		 */
+		private static List<Step> optimize(List<Step> steps) {
+			List<Step> result = new ArrayList<>();
+			for (Step step : steps) {
+				Step previous = result.isEmpty() ? null : result.get(result.size() - 1);
+				if (previous != null && previous.equals(descendantOrSelf()) && step.axis() == Axis.CHILD
+						&& step.predicates().stream().noneMatch(Parser::isPositional)) {
+					result.set(result.size() - 1, new Step(Axis.DESCENDANT, step.name(), false, step.predicates()));
+				} else {
+					result.add(step);
+				}
+			}
+			return List.copyOf(result);
+		}
+
+		private static boolean isPositional(Expr predicate) {
+			return predicate instanceof Literal literal && literal.value() instanceof Double;
+		}
+
+		private static Step descendantOrSelf() {
+			return new Step(Axis.DESCENDANT_OR_SELF, null, true, List.of());
+		}
+
+		private void parseRelativePath(List<Step> steps) {
+			steps.add(parseStep());
+			while (true) {
+				skipWhitespace();
+				if (accept("//")) { //$NON-NLS-1$
+					steps.add(descendantOrSelf());
+				} else if (!accept("/")) { //$NON-NLS-1$
+					return;
+				}
+				steps.add(parseStep());
+			}
+		}
+
+		private Step parseStep() {
+			skipWhitespace();
+			Axis axis = Axis.CHILD;
+			String name = null;
+			boolean anyNode = false;
+			if (accept("..")) { //$NON-NLS-1$
+				axis = Axis.PARENT;
+				anyNode = true;
+			} else if (accept(".")) { //$NON-NLS-1$
+				axis = Axis.SELF;
+				anyNode = true;
+			} else {
+				if (accept("@")) { //$NON-NLS-1$
+					axis = Axis.ATTRIBUTE;
+				} else {
+					int start = pos;
+					String axisName = parseName();
+					if (axisName != null && accept("::")) { //$NON-NLS-1$
+						axis = switch (axisName) {
+						case "child" -> Axis.CHILD; //$NON-NLS-1$
+						case "descendant" -> Axis.DESCENDANT; //$NON-NLS-1$
+						case "descendant-or-self" -> Axis.DESCENDANT_OR_SELF; //$NON-NLS-1$
+						case "self" -> Axis.SELF; //$NON-NLS-1$
+						case "parent" -> Axis.PARENT; //$NON-NLS-1$
+						case "ancestor" -> Axis.ANCESTOR; //$NON-NLS-1$
+						case "ancestor-or-self" -> Axis.ANCESTOR_OR_SELF; //$NON-NLS-1$
+						case "following-sibling" -> Axis.FOLLOWING_SIBLING; //$NON-NLS-1$
+						case "preceding-sibling" -> Axis.PRECEDING_SIBLING; //$NON-NLS-1$
+						case "attribute" -> Axis.ATTRIBUTE; //$NON-NLS-1$
+						default -> throw new UnsupportedPathException();
+						};
+					} else {
+						pos = start;
+					}
+				}
+				if (accept("*")) { //$NON-NLS-1$
+					if (axis == Axis.ATTRIBUTE) {
+						throw new UnsupportedPathException();
+					}
+				} else {
+					name = parseName();
+					if (name == null) {
+						throw new UnsupportedPathException();
+					}
+					if (name.equals("node") && accept("(")) { //$NON-NLS-1$ //$NON-NLS-2$
+						expect(")"); //$NON-NLS-1$
+						if (axis == Axis.ATTRIBUTE) {
+							throw new UnsupportedPathException();
+						}
+						name = null;
+						anyNode = true;
+					}
+				}
+			}
+			List<Expr> predicates = new ArrayList<>();
+			skipWhitespace();
+			while (accept("[")) { //$NON-NLS-1$
+				Expr predicate = parseOr();
+				expect("]"); //$NON-NLS-1$
+				if (isPositional(predicate) && (axis != Axis.CHILD || name == null)) {
+					// other elements than objects would be counted
+					throw new UnsupportedPathException();
+				}
+				predicates.add(predicate);
+				skipWhitespace();
+			}
+			if (axis == Axis.ATTRIBUTE && !predicates.isEmpty()) {
+				throw new UnsupportedPathException();
+			}
+			return new Step(axis, name, anyNode, List.copyOf(predicates));
+		}
+
+		private Expr parseOr() {
+			Expr left = parseAnd();
+			while (acceptKeyword("or")) { //$NON-NLS-1$
+				left = new Binary("or", left, parseAnd()); //$NON-NLS-1$
+			}
+			return left;
+		}
+
+		private Expr parseAnd() {
+			Expr left = parseComparison();
+			while (acceptKeyword("and")) { //$NON-NLS-1$
+				left = new Binary("and", left, parseComparison()); //$NON-NLS-1$
+			}
+			return left;
+		}
+
+		private Expr parseComparison() {
+			Expr left = parsePrimary();
+			skipWhitespace();
+			if (accept("!=")) { //$NON-NLS-1$
+				return new Binary("!=", left, parsePrimary()); //$NON-NLS-1$
+			} else if (accept("=")) { //$NON-NLS-1$
+				return new Binary("=", left, parsePrimary()); //$NON-NLS-1$
+			}
+			return left;
+		}
+
+		private Expr parsePrimary() {
+			skipWhitespace();
+			if (pos >= input.length()) {
+				throw new UnsupportedPathException();
+			}
+			char c = input.charAt(pos);
+			if (c == '\'' || c == '"') {
+				int end = input.indexOf(c, pos + 1);
+				if (end < 0) {
+					throw new UnsupportedPathException();
+				}
+				String value = input.substring(pos + 1, end);
+				pos = end + 1;
+				return new Literal(value);
+			} else if (Character.isDigit(c)) {
+				int start = pos;
+				while (pos < input.length()
+						&& (Character.isDigit(input.charAt(pos)) || input.charAt(pos) == '.')) {
+					pos++;
+				}
+				try {
+					return new Literal(Double.valueOf(input.substring(start, pos)));
+				} catch (NumberFormatException e) {
+					throw new UnsupportedPathException();
+				}
+			} else if (accept("(")) { //$NON-NLS-1$
+				Expr expr = parseOr();
+				expect(")"); //$NON-NLS-1$
+				return expr;
+			} else if (accept("@")) { //$NON-NLS-1$
+				String name = parseName();
+				if (name == null) {
+					throw new UnsupportedPathException();
+				}
+				return new AttributeRef(name);
+			}
+			String name = parseName();
+			skipWhitespace();
+			if (name != null && accept("(")) { //$NON-NLS-1$
+				if (name.equals("not")) { //$NON-NLS-1$
+					Expr operand = parseOr();
+					expect(")"); //$NON-NLS-1$
+					return new Not(operand);
+				} else if (name.equals("ecore:eClassName")) { //$NON-NLS-1$
+					expect("."); //$NON-NLS-1$
+					expect(")"); //$NON-NLS-1$
+					return new EClassName();
+				}
+			}
+			// other functions and relative paths in predicates
+			throw new UnsupportedPathException();
+		}
+
+		/**
+		 * Parses a name, which may only contain a prefix in case of the
+		 * <code>ecore</code> functions.
+		 */
+		private String parseName() {
+			skipWhitespace();
+			int start = pos;
+			while (pos < input.length() && isNameChar(input.charAt(pos), pos == start)) {
+				pos++;
+			}
+			if (start == pos) {
+				return null;
+			}
+			String name = input.substring(start, pos);
+			if (pos < input.length() && input.charAt(pos) == ':' && !input.startsWith("::", pos)) { //$NON-NLS-1$
+				if (!name.equals("ecore")) { //$NON-NLS-1$
+					throw new UnsupportedPathException();
+				}
+				pos++;
+				String localName = parseName();
+				return localName == null ? null : name + ':' + localName;
+			}
+			return name;
+		}
+
+		private static boolean isNameChar(char c, boolean first) {
+			if (first) {
+				return Character.isLetter(c) || c == '_';
+			}
+			return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.';
+		}
+
+		private boolean acceptKeyword(String keyword) {
+			skipWhitespace();
+			int end = pos + keyword.length();
+			if (input.startsWith(keyword, pos) && (end == input.length() || !isNameChar(input.charAt(end), false))) {
+				pos = end;
+				return true;
+			}
+			return false;
+		}
+
+		private boolean accept(String token) {
+			skipWhitespace();
+			if (input.startsWith(token, pos)) {
+				pos += token.length();
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(String token) {
+			if (!accept(token)) {
+				throw new UnsupportedPathException();
+			}
+		}
+
+		private void skipWhitespace() {
+			while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+				pos++;
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023, 2025 Hannes Wellmann and others.
+ * Copyright (c) 2023, 2026 Hannes Wellmann and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -69,24 +69,45 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 
 	@Override
 	public XPathContext newContext(XPathContext parentContext, T contextBean) {
-		if (!(contextBean instanceof EObject rootObject)) {
+		if (!(contextBean instanceof EObject contextObject)) {
 			throw new IllegalArgumentException();
 		}
-		XPath xpath;
-		DOMMapping domMapping;
-		Element rootElement = null;
-
-		if (parentContext != null) {
-			EObjectContext parent = (EObjectContext) parentContext;
-			xpath = parent.xpath;
-			rootElement = parent.domMapping.getElement(contextBean);
-		} else {
-			xpath = XPATH_FACTORY.newXPath();
+		if (parentContext instanceof EObjectContext parent && parent.document.contains(contextObject)) {
+			return new EObjectContext(parent.document, contextObject);
+		}
+		return new EObjectContext(new EObjectDocument(contextObject), contextObject);
+	}
+
+	/**
+	 * The tree of objects queried by one or more contexts. Expressions which
+	 * cannot be evaluated on the objects directly are evaluated on a DOM of the
+	 * current state of the tree, so that both see the same objects.
+	 */
+	private static class EObjectDocument {
+
+		private final EObject rootObject;
+
+		private EObjectDocument(EObject rootObject) {
+			this.rootObject = rootObject;
 		}
 
-		if (rootElement != null) {
-			domMapping = ((EObjectContext) parentContext).domMapping;
-		} else {
+		/**
+		 * Returns whether the given object is saved as part of this document.
+		 */
+		private boolean contains(EObject eObject) {
+			for (EObject object = eObject; object != null; object = object.eContainer()) {
+				if (object == rootObject) {
+					return true;
+				}
+				EReference containment = object.eContainmentFeature();
+				if (containment == null || containment.isTransient()) {
+					return false;
+				}
+			}
+			return false;
+		}
+
+		private DOMMapping createDOM() {
 			DocumentBuilder documentBuilder;
 			try {
 				documentBuilder = DocumentBuilderFactory.newDefaultInstance().newDocumentBuilder();
@@ -95,28 +116,48 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 			}
 			Document document = documentBuilder.newDocument();
 
-			domMapping = new DOMMapping();
-			rootElement = createElement(rootObject, document, domMapping);
-			xpath.setNamespaceContext(createNamespaceContext(rootElement));
+			DOMMapping mapping = new DOMMapping();
+			Element rootElement = createElement(rootObject, document, mapping);
+			mapping.xpath = XPATH_FACTORY.newXPath();
+			mapping.xpath.setNamespaceContext(createNamespaceContext(rootElement));
+			mapping.xpath.setXPathFunctionResolver(mapping::resolveEMFFunctions);
+			return mapping;
 		}
-		return new EObjectContext(rootElement, domMapping, xpath);
 	}
 
 	private static class EObjectContext implements XPathContext {
 
-		private final XPath xpath;
-		private final Element rootElement;
-		private final DOMMapping domMapping;
+		private final EObjectDocument document;
+		private final EObject contextObject;
 
-		private EObjectContext(Element rootElement, DOMMapping domMapping, XPath xpath) {
-			this.rootElement = rootElement;
-			this.domMapping = domMapping;
-			this.xpath = xpath;
-			this.xpath.setXPathFunctionResolver(this::resolveEMFFunctions);
+		private EObjectContext(EObjectDocument document, EObject contextObject) {
+			this.document = document;
+			this.contextObject = contextObject;
 		}
 
 		@Override
 		public <R> Stream<R> stream(String path, Class<R> resultType) {
+			boolean scalar = resultType == Boolean.class || resultType == String.class
+					|| Number.class.isAssignableFrom(resultType);
+			if (!scalar) {
+				EObjectXPathExpression expression = EObjectXPathExpression.compile(path);
+				// '/path' starts at the element of the context object in the DOM
+				if (expression != null && (contextObject == document.rootObject || !expression.startsAtRoot())) {
+					try {
+						return expression.evaluate(document.rootObject, contextObject).stream()
+								.filter(resultType::isInstance).map(resultType::cast);
+					} catch (EObjectXPathExpression.UnsupportedPathException e) {
+						// evaluate on the DOM
+					}
+				}
+			}
+			return streamDOM(path, resultType);
+		}
+
+		private <R> Stream<R> streamDOM(String path, Class<R> resultType) {
+			DOMMapping domMapping = document.createDOM();
+			Element rootElement = domMapping.getElement(contextObject);
+
 			// See XPathResultType for generally supported result types
 			Class<?> type = XPathNodes.class;
 			if (resultType == Boolean.class || resultType == String.class
@@ -137,7 +178,7 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 			pathEnhanced = pathEnhanced.replace("..[", "parent::node()[").replace(".[", "self::node()[");
 			Object result;
 			try {
-				result = xpath.evaluateExpression(pathEnhanced, rootElement, type);
+				result = domMapping.xpath.evaluateExpression(pathEnhanced, rootElement, type);
 			} catch (XPathExpressionException e) {
 				throw new IllegalArgumentException("Illegal xpath: " + path, e);
 			}
@@ -177,30 +218,6 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 			}
 			return first;
 		}
-
-		private XPathFunction resolveEMFFunctions(QName functionName, int arity) {
-			if (arity == 1 && EcorePackage.eNS_URI.equals(functionName.getNamespaceURI())
-					&& "eClassName".equals(functionName.getLocalPart())) {
-				return args -> {
-					Node item = getSingleNodeArgument(args);
-					EObject eObject = (EObject) EObjectContext.this.domMapping.getValue(item);
-					return eObject == null ? null : eObject.eClass().getName();
-				};
-			}
-			return null;
-		}
-
-		private static Node getSingleNodeArgument(List<?> args) throws XPathFunctionException {
-			if (args != null && args.size() == 1) {
-				Object argument = args.get(0);
-				if (argument instanceof NodeList nodeList && nodeList.getLength() == 1) {
-					return nodeList.item(0);
-				} else if (argument instanceof Node node) {
-					return node;
-				}
-			}
-			throw new XPathFunctionException("Not a single node list: " + args);
-		}
 	}
 
 	private static Element createElement(EObject eObject, Document document, DOMMapping domMapper) {
@@ -239,6 +256,8 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 
 	private static class DOMMapping extends DefaultDOMHandlerImpl {
 
+		private XPath xpath;
+
 		public Element getElement(Object object) {
 			for (Map.Entry<Node, Object> entry : nodeToObject.entrySet()) {
 				if (Objects.equals(entry.getValue(), object)) {
@@ -247,6 +266,30 @@ public class JavaXPathContextFactoryImpl<T> extends XPathContextFactory<T> {
 			}
 			return null;
 		}
+
+		private XPathFunction resolveEMFFunctions(QName functionName, int arity) {
+			if (arity == 1 && EcorePackage.eNS_URI.equals(functionName.getNamespaceURI())
+					&& "eClassName".equals(functionName.getLocalPart())) {
+				return args -> {
+					Node item = getSingleNodeArgument(args);
+					// the values of many-valued attributes are no objects
+					return getValue(item) instanceof EObject eObject ? eObject.eClass().getName() : null;
+				};
+			}
+			return null;
+		}
+
+		private static Node getSingleNodeArgument(List<?> args) throws XPathFunctionException {
+			if (args != null && args.size() == 1) {
+				Object argument = args.get(0);
+				if (argument instanceof NodeList nodeList && nodeList.getLength() == 1) {
+					return nodeList.item(0);
+				} else if (argument instanceof Node node) {
+					return node;
+				}
+			}
+			throw new XPathFunctionException("Not a single node list: " + args);
+		}
 	}
 
 	private static Optional<Object> reconstructReferenceList(EObject first, String xpath, Iterator<Object> iterator) {
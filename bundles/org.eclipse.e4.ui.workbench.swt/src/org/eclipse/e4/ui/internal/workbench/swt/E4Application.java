@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2020 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -240,6 +240,9 @@ public class E4Application implements IApplication {
 			appContext.set(E4Workbench.FORCED_SHOW_LOCATION, showLocation);
 		}
 
+		getArgValue(E4Workbench.COALESCE_MODEL_EVENTS, applicationContext, true)
+				.ifPresent(coalesce -> appContext.set(E4Workbench.COALESCE_MODEL_EVENTS, Boolean.valueOf(coalesce)));
+
 		// Create the app model and its context
 		MApplication appModel = loadApplicationModel(applicationContext, appContext);
 		appModel.setContext(appContext);
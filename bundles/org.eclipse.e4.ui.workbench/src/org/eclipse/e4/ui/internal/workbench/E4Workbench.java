@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 BestSolution.at and others.
+ * Copyright (c) 2008, 2026 BestSolution.at and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,6 +88,16 @@ public class E4Workbench implements IWorkbench {
 	 */
 	public static final String FORCED_SHOW_LOCATION = "forcedShowLocation"; //$NON-NLS-1$
 
+	/**
+	 * The argument for whether to coalesce repeated attribute changes of the
+	 * application model into one event per UI turn (set on the command line)<br>
+	 * <br>
+	 * Value is: <code>coalesceModelEvents</code>
+	 *
+	 * @see UIEventPublisher#setCoalesceAttributeChanges(boolean)
+	 */
+	public static final String COALESCE_MODEL_EVENTS = "coalesceModelEvents"; //$NON-NLS-1$
+
 	private final String id;
 	private ServiceRegistration<?> osgiRegistration;
 
@@ -126,6 +136,7 @@ public class E4Workbench implements IWorkbench {
 		}
 
 		uiEventPublisher = new UIEventPublisher(appContext);
+		uiEventPublisher.setCoalesceAttributeChanges(Boolean.TRUE.equals(appContext.get(COALESCE_MODEL_EVENTS)));
 		appContext.set(UIEventPublisher.class, uiEventPublisher);
 		((Notifier) uiRoot).eAdapters().add(uiEventPublisher);
 		Hashtable<String, Object> properties = new Hashtable<>();
@@ -191,6 +202,7 @@ public class E4Workbench implements IWorkbench {
 		}
 		if (uiEventPublisher != null && appModel != null) {
 			((Notifier) appModel).eAdapters().remove(uiEventPublisher);
+			uiEventPublisher.dispose();
 			uiEventPublisher = null;
 		}
 		if (osgiRegistration != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,15 +14,26 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.internal.workbench;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.di.UISynchronize;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.impl.StringToObjectMapImpl;
 import org.eclipse.e4.ui.model.application.impl.StringToStringMapImpl;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.impl.UiPackageImpl;
 import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
 import org.eclipse.e4.ui.workbench.UIEvents.EventTypes;
@@ -30,6 +41,13 @@ import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+import org.osgi.util.tracker.ServiceTracker;
 
 /**
  * Transforms E4 MPart events into 3.x legacy events.
@@ -38,8 +56,85 @@ public class UIEventPublisher extends EContentAdapter {
 
 	private IEclipseContext context;
 
+	/**
+	 * The topics of a feature or a map attribute, indexed by the EMF event type.
+	 */
+	private final Map<Object, String[]> topics = new ConcurrentHashMap<>();
+
+	/**
+	 * Tracks the event handlers, to only format and send the events someone is
+	 * interested in. The service references are tracked without getting the
+	 * services, so that lazy handlers are not activated, and regardless of the
+	 * class space of the handlers, like the event admin does.
+	 */
+	private final ServiceTracker<EventHandler, ServiceReference<EventHandler>> handlerTracker;
+
+	/**
+	 * Whether a topic has subscribers, valid for the tracking count of
+	 * {@link #handlerTracker} stored in {@link #subscribedTopicsCount}.
+	 */
+	private final Map<String, Boolean> subscribedTopics = new ConcurrentHashMap<>();
+
+	private volatile int subscribedTopicsCount = -1;
+
+	private boolean coalesceAttributeChanges;
+
+	private UISynchronize uiSync;
+
+	private volatile Thread uiThread;
+
+	/**
+	 * The coalesced SET changes which are sent at the end of the current UI turn,
+	 * only accessed by the UI thread.
+	 */
+	private final Map<PendingKey, PendingSet> pendingSets = new LinkedHashMap<>();
+
 	public UIEventPublisher(IEclipseContext e4Context) {
 		this.context = e4Context;
+		Bundle bundle = FrameworkUtil.getBundle(UIEventPublisher.class);
+		BundleContext bundleContext = bundle == null ? null : bundle.getBundleContext();
+		if (bundleContext != null) {
+			handlerTracker = new ServiceTracker<>(bundleContext, EventHandler.class, null) {
+				@Override
+				public ServiceReference<EventHandler> addingService(ServiceReference<EventHandler> reference) {
+					return reference;
+				}
+
+				@Override
+				public void removedService(ServiceReference<EventHandler> reference,
+						ServiceReference<EventHandler> service) {
+					// the service was never got
+				}
+			};
+			handlerTracker.open(true);
+		} else {
+			handlerTracker = null;
+		}
+	}
+
+	/**
+	 * Sets whether repeated SET changes of the same attribute of the same element
+	 * are merged into a single event. If enabled, the SET changes made by the UI
+	 * thread are sent at the end of the current UI turn, or before the next other
+	 * change, with the first old value and the last new value. Changes which end
+	 * with the value they started with are not sent at all. The changes of many
+	 * valued features, of <code>toBeRendered</code> and of
+	 * <code>selectedElement</code> are always sent right away.
+	 *
+	 * @param coalesce
+	 *            whether to coalesce attribute changes
+	 */
+	public void setCoalesceAttributeChanges(boolean coalesce) {
+		coalesceAttributeChanges = coalesce;
+	}
+
+	/**
+	 * Stops tracking the event handlers. Afterwards all events are sent.
+	 */
+	public void dispose() {
+		if (handlerTracker != null) {
+			handlerTracker.close();
+		}
 	}
 
 	@Override
@@ -50,14 +145,96 @@ public class UIEventPublisher extends EContentAdapter {
 		if (notification.isTouch())
 			return;
 
+		if (coalesceAttributeChanges && coalesce(notification)) {
+			return;
+		}
+		if (!pendingSets.isEmpty() && Thread.currentThread() == uiThread) {
+			// keep the order of the changes
+			flushPendingSets();
+		}
+
 		// Format the EMF event as an E4 UIEvent
-		Map<String, Object> argMap = new HashMap<>();
+		Map<String, Object> eventData = formatData(notification);
+		if (eventData != null) {
+			send(eventData);
+		}
+	}
+
+	private void send(Map<String, Object> eventData) {
+		IEventBroker eventManager = context.get(IEventBroker.class);
+		// the data contains the topic and the data, so the broker does not copy it
+		// into another map before creating the event
+		eventManager.send((String) eventData.get(EventConstants.EVENT_TOPIC), eventData);
+	}
+
+	/**
+	 * Queues the given notification if it is a SET change of a single valued
+	 * feature made by the UI thread.
+	 *
+	 * @return whether the notification was queued
+	 */
+	private boolean coalesce(Notification notification) {
+		if (notification.getEventType() != Notification.SET
+				|| !(notification.getNotifier() instanceof MApplicationElement element)) {
+			return false;
+		}
+		EStructuralFeature feature = (EStructuralFeature) notification.getFeature();
+		if (!isCoalescable(feature)) {
+			return false;
+		}
+		if (uiThread == null) {
+			if (uiSync == null) {
+				uiSync = context.get(UISynchronize.class);
+				if (uiSync != null) {
+					uiSync.asyncExec(() -> uiThread = Thread.currentThread());
+				}
+			}
+			return false;
+		}
+		if (Thread.currentThread() != uiThread) {
+			return false;
+		}
+		PendingKey key = new PendingKey(element, feature);
+		PendingSet pending = pendingSets.get(key);
+		if (pending != null) {
+			pending.newValue = notification.getNewValue();
+			return true;
+		}
+		if (pendingSets.isEmpty()) {
+			uiSync.asyncExec(this::flushPendingSets);
+		}
+		pendingSets.put(key, new PendingSet(notification.getOldValue(), notification.getNewValue()));
+		return true;
+	}
 
-		String topic = formatData(notification, argMap);
+	/**
+	 * Returns whether the SET changes of the given feature may be merged. The SET
+	 * changes of a many valued feature replace the element at a position, and the
+	 * rendering and the selection of the elements are followed by the renderers,
+	 * which expect to be notified right away.
+	 */
+	private static boolean isCoalescable(EStructuralFeature feature) {
+		return feature != null && !feature.isMany() && feature != UiPackageImpl.Literals.UI_ELEMENT__TO_BE_RENDERED
+				&& feature != UiPackageImpl.Literals.ELEMENT_CONTAINER__SELECTED_ELEMENT;
+	}
 
-		if (topic != null) {
-			IEventBroker eventManager = context.get(IEventBroker.class);
-			eventManager.send(topic, argMap);
+	private void flushPendingSets() {
+		if (pendingSets.isEmpty()) {
+			return;
+		}
+		List<Map.Entry<PendingKey, PendingSet>> sets = new ArrayList<>(pendingSets.entrySet());
+		pendingSets.clear();
+		for (Map.Entry<PendingKey, PendingSet> entry : sets) {
+			PendingKey key = entry.getKey();
+			PendingSet set = entry.getValue();
+			if (Objects.equals(set.oldValue, set.newValue)) {
+				continue;
+			}
+			String topic = getTopic(key.feature(), Notification.SET);
+			if (hasSubscribers(topic)) {
+				send(createEventData(topic, EventTypes.SET, key.element(), key.feature().getName(), set.newValue,
+						set.oldValue, null, true));
+			}
 		}
 	}
 
@@ -99,7 +276,7 @@ public class UIEventPublisher extends EContentAdapter {
 	 * Likely there is some "simple" EMF wisdom we are missing to make this work with a couple of
 	 * annotations, a white swan and a full moon.
 	 */
-	private String formatData(final Notification notification, Map<String, Object> argMap) {
+	private Map<String, Object> formatData(final Notification notification) {
 		MApplicationElement appElement = null;
 		EStructuralFeature feature = null;
 		String attributeName = null;
@@ -115,7 +292,7 @@ public class UIEventPublisher extends EContentAdapter {
 			appElement = (MApplicationElement) notifier;
 			feature = (EStructuralFeature) notification.getFeature();
 			attributeName = feature.getName();
-			topic = getTopic(feature, getEventType(notification));
+			topic = getTopic(feature, notification.getEventType());
 			switch (notification.getEventType()) {
 			case Notification.MOVE:
 				// for MOVE, oldValue is actually the source position
@@ -165,7 +342,7 @@ public class UIEventPublisher extends EContentAdapter {
 			}
 
 			attributeName = UIEvents.ApplicationElement.TRANSIENTDATA;
-			topic = getTopic(attributeName, getEventType(notification));
+			topic = getTopic(attributeName, notification.getEventType());
 
 			// We need to send MapEntries for the old and new values.
 			oldValue = createMapEntry(key, notification.getOldValue());
@@ -188,7 +365,7 @@ public class UIEventPublisher extends EContentAdapter {
 			}
 
 			attributeName = UIEvents.ApplicationElement.PERSISTEDSTATE;
-			topic = getTopic(attributeName, getEventType(notification));
+			topic = getTopic(attributeName, notification.getEventType());
 			oldValue = createMapEntry(key, notification.getOldValue());
 			newValue = createMapEntry(key, notification.getNewValue());
 		} else {
@@ -196,37 +373,137 @@ public class UIEventPublisher extends EContentAdapter {
 			return null;
 		}
 
-		argMap.put(EventTags.TYPE, getEventType(notification));
-		argMap.put(EventTags.ELEMENT, appElement);
-		argMap.put(EventTags.ATTNAME, attributeName);
+		if (!hasSubscribers(topic)) {
+			return null;
+		}
 
 		// no need to include UNSET
-		if (notification.getEventType() == Notification.SET
+		boolean includeValues = notification.getEventType() == Notification.SET
 				|| notification.getEventType() == Notification.MOVE
 				|| notification.getEventType() == Notification.ADD
 				|| notification.getEventType() == Notification.ADD_MANY
 				|| notification.getEventType() == Notification.REMOVE
-				|| notification.getEventType() == Notification.REMOVE_MANY) {
+				|| notification.getEventType() == Notification.REMOVE_MANY;
+		return createEventData(topic, getEventType(notification.getEventType()), appElement, attributeName, newValue, oldValue,
+				position, includeValues);
+	}
+
+	private static Map<String, Object> createEventData(String topic, String type, MApplicationElement appElement,
+			String attributeName, Object newValue, Object oldValue, Object position, boolean includeValues) {
+		Object[] values = new Object[EventData.KEYS.length];
+		int present = 1 << EventData.TYPE | 1 << EventData.ELEMENT | 1 << EventData.ATTNAME;
+		values[EventData.TYPE] = type;
+		values[EventData.ELEMENT] = appElement;
+		values[EventData.ATTNAME] = attributeName;
+		if (includeValues) {
 			if (newValue != null) {
-				argMap.put(EventTags.NEW_VALUE, newValue);
+				values[EventData.NEW_VALUE] = newValue;
+				present |= 1 << EventData.NEW_VALUE;
 			}
 			if (oldValue != null) {
-				argMap.put(EventTags.OLD_VALUE, oldValue);
+				values[EventData.OLD_VALUE] = oldValue;
+				present |= 1 << EventData.OLD_VALUE;
 			}
 			if (position != null) {
-				argMap.put(EventTags.POSITION, position);
+				values[EventData.POSITION] = position;
+				present |= 1 << EventData.POSITION;
 			}
 		}
-
 		if (appElement instanceof MUIElement) {
-			argMap.put(EventTags.WIDGET, ((MUIElement) appElement).getWidget());
+			values[EventData.WIDGET] = ((MUIElement) appElement).getWidget();
+			present |= 1 << EventData.WIDGET;
 		}
+		EventData data = new EventData(values, present);
+		values[EventData.TOPIC] = topic;
+		values[EventData.DATA] = data;
+		return new EventData(values, present | 1 << EventData.TOPIC | 1 << EventData.DATA);
+	}
 
-		return topic;
+	/**
+	 * Returns whether an event handler may receive the given topic.
+	 */
+	private boolean hasSubscribers(String topic) {
+		ServiceTracker<EventHandler, ServiceReference<EventHandler>> tracker = handlerTracker;
+		int trackingCount = tracker == null ? -1 : tracker.getTrackingCount();
+		if (trackingCount < 0) {
+			// not tracking
+			return true;
+		}
+		if (trackingCount != subscribedTopicsCount) {
+			subscribedTopics.clear();
+			subscribedTopicsCount = trackingCount;
+		}
+		Boolean subscribed = subscribedTopics.get(topic);
+		if (subscribed == null) {
+			subscribed = Boolean.valueOf(isSubscribed(tracker.getServiceReferences(), topic));
+			if (tracker.getTrackingCount() == trackingCount) {
+				subscribedTopics.put(topic, subscribed);
+			}
+		}
+		return subscribed.booleanValue();
+	}
+
+	/**
+	 * Returns whether one of the given handlers may receive the topic. Only the
+	 * handlers which subscribe to topics or topic prefixes without a filter are
+	 * known to ignore the other topics. Any other handler may receive the topic,
+	 * so that the event is sent.
+	 */
+	private static boolean isSubscribed(ServiceReference<EventHandler>[] references, String topic) {
+		if (references == null) {
+			return false;
+		}
+		for (ServiceReference<EventHandler> reference : references) {
+			if (reference.getProperty(EventConstants.EVENT_FILTER) != null) {
+				// the event admin matches the filter against the event
+				return true;
+			}
+			Object topics = reference.getProperty(EventConstants.EVENT_TOPIC);
+			if (topics == null) {
+				// handlers without topics do not receive events
+				continue;
+			}
+			if (topics instanceof String pattern) {
+				if (matches(pattern, topic)) {
+					return true;
+				}
+			} else if (topics instanceof String[] patterns) {
+				for (String pattern : patterns) {
+					if (matches(pattern, topic)) {
+						return true;
+					}
+				}
+			} else if (topics instanceof Iterable<?> patterns) {
+				for (Object pattern : patterns) {
+					if (!(pattern instanceof String) || matches((String) pattern, topic)) {
+						return true;
+					}
+				}
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given topic pattern matches the topic. A pattern which
+	 * is neither a topic, nor "*", nor a prefix ending with "/*" matches any
+	 * topic.
+	 */
+	private static boolean matches(String pattern, String topic) {
+		int wildcard = pattern.indexOf('*');
+		if (wildcard < 0) {
+			return pattern.equals(topic);
+		}
+		if (wildcard != pattern.length() - 1 || wildcard > 0 && pattern.charAt(wildcard - 1) != '/') {
+			return true;
+		}
+		return topic.startsWith(pattern.substring(0, wildcard));
 	}
 
-	private String getEventType(Notification notification) {
-		switch (notification.getEventType()) {
+	private static String getEventType(int eventType) {
+		switch (eventType) {
 		case Notification.ADD:
 			return EventTypes.ADD;
 
@@ -269,16 +546,160 @@ public class UIEventPublisher extends EContentAdapter {
 		};
 	}
 
-	private String getTopic(EStructuralFeature eFeature, String type) {
+	private String getTopic(EStructuralFeature eFeature, int eventType) {
+		String[] featureTopics = getTopics(eFeature);
+		if (eventType < 0 || eventType >= featureTopics.length) {
+			return createTopic(eFeature, eventType);
+		}
+		String topic = featureTopics[eventType];
+		if (topic == null) {
+			// racing threads create equal topics
+			featureTopics[eventType] = topic = createTopic(eFeature, eventType);
+		}
+		return topic;
+	}
+
+	private String getTopic(String attributeName, int eventType) {
+		String[] attributeTopics = getTopics(attributeName);
+		if (eventType < 0 || eventType >= attributeTopics.length) {
+			return createTopic(attributeName, eventType);
+		}
+		String topic = attributeTopics[eventType];
+		if (topic == null) {
+			attributeTopics[eventType] = topic = createTopic(attributeName, eventType);
+		}
+		return topic;
+	}
+
+	private String[] getTopics(Object key) {
+		return topics.computeIfAbsent(key, k -> new String[Notification.EVENT_TYPE_COUNT]);
+	}
+
+	private String createTopic(EStructuralFeature eFeature, int eventType) {
 		EClass eContainingClass = eFeature.getEContainingClass();
 		return UIEvents.UIModelTopicBase + UIEvents.TOPIC_SEP
 				+ eContainingClass.getEPackage().getName() + UIEvents.TOPIC_SEP
 				+ eContainingClass.getName() + UIEvents.TOPIC_SEP + eFeature.getName()
-				+ UIEvents.TOPIC_SEP + type;
+				+ UIEvents.TOPIC_SEP + getEventType(eventType);
 	}
 
-	private String getTopic(String attributeName, String type) {
+	private String createTopic(String attributeName, int eventType) {
 		String topicBase = "org/eclipse/e4/ui/model/application/ApplicationElement/"; //$NON-NLS-1$
-		return topicBase + attributeName + UIEvents.TOPIC_SEP + type;
+		return topicBase + attributeName + UIEvents.TOPIC_SEP + getEventType(eventType);
+	}
+
+	private record PendingKey(MApplicationElement element, EStructuralFeature feature) {
+	}
+
+	private static final class PendingSet {
+
+		final Object oldValue;
+
+		Object newValue;
+
+		PendingSet(Object oldValue, Object newValue) {
+			this.oldValue = oldValue;
+			this.newValue = newValue;
+		}
+	}
+
+	/**
+	 * The immutable properties of an event. The data of the event is a second
+	 * instance sharing the values, without the topic and the data. As the
+	 * properties contain the topic and the data, the event broker passes them to
+	 * the event instead of copying them into a new map first. The event still
+	 * copies them.
+	 */
+	private static final class EventData extends AbstractMap<String, Object> {
+
+		static final int TOPIC = 0;
+		static final int DATA = 1;
+		static final int TYPE = 2;
+		static final int ELEMENT = 3;
+		static final int ATTNAME = 4;
+		static final int NEW_VALUE = 5;
+		static final int OLD_VALUE = 6;
+		static final int POSITION = 7;
+		static final int WIDGET = 8;
+
+		static final String[] KEYS = { EventConstants.EVENT_TOPIC, IEventBroker.DATA, EventTags.TYPE,
+				EventTags.ELEMENT, EventTags.ATTNAME, EventTags.NEW_VALUE, EventTags.OLD_VALUE, EventTags.POSITION,
+				EventTags.WIDGET };
+
+		private final Object[] values;
+
+		/**
+		 * The bit set of the indices of the present keys.
+		 */
+		private final int present;
+
+		EventData(Object[] values, int present) {
+			this.values = values;
+			this.present = present;
+		}
+
+		@Override
+		public int size() {
+			return Integer.bitCount(present);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return indexOf(key) >= 0;
+		}
+
+		@Override
+		public Object get(Object key) {
+			int index = indexOf(key);
+			return index < 0 ? null : values[index];
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < KEYS.length; i++) {
+				if ((present & 1 << i) != 0 && KEYS[i].equals(key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public int size() {
+					return EventData.this.size();
+				}
+
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+					return new Iterator<>() {
+						private int next = advance(0);
+
+						private int advance(int index) {
+							while (index < KEYS.length && (present & 1 << index) == 0) {
+								index++;
+							}
+							return index;
+						}
+
+						@Override
+						public boolean hasNext() {
+							return next < KEYS.length;
+						}
+
+						@Override
+						public Entry<String, Object> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							Entry<String, Object> entry = new SimpleImmutableEntry<>(KEYS[next], values[next]);
+							next = advance(next + 1);
+							return entry;
+						}
+					};
+				}
+			};
+		}
 	}
 }
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.internal.text;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.Platform;
+
+
+/**
+ * The executor of the asynchronous computations of content assist processors and code mining
+ * providers.
+ * <p>
+ * These computations often block, for example while waiting for a language server, so they are not
+ * run in the common fork join pool, which they would starve. By default, every computation runs in
+ * its own virtual thread, or in a cached pool of daemon threads if virtual threads are not
+ * available. The system property {@value #EXECUTOR_PROPERTY} selects the executor:
+ * <code>virtual</code>, <code>threads</code> or <code>commonPool</code>.
+ * </p>
+ * <p>
+ * A computation which is canceled before it starts is skipped. A running computation is not
+ * interrupted unless it was submitted as interruptible: an interrupt may, for example, close the
+ * NIO channels the computation shares with others, so computations of third parties are canceled
+ * cooperatively, through their progress monitor.
+ * </p>
+ * <p>
+ * The executor records the time the computations wait before they start to run.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class AsyncProviderExecutor implements Executor {
+
+	/** The system property selecting the executor. */
+	public static final String EXECUTOR_PROPERTY= "org.eclipse.jface.text.asyncProviderExecutor"; //$NON-NLS-1$
+
+	/** Prints the computations which waited long before they ran. */
+	private static final boolean DEBUG= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/AsyncProviderExecutor")); //$NON-NLS-1$//$NON-NLS-2$
+
+	/** The queueing delay above which a computation is printed in debug mode. */
+	private static final long DEBUG_DELAY_MILLIS= 100;
+
+	private static final AsyncProviderExecutor DEFAULT= new AsyncProviderExecutor(createExecutor(System.getProperty(EXECUTOR_PROPERTY, "virtual"))); //$NON-NLS-1$
+
+	/** The executor running the computations. */
+	private final Executor fExecutor;
+
+	/** The number of started computations. */
+	private final LongAdder fStarted= new LongAdder();
+
+	/** The sum of the queueing delays in nanoseconds. */
+	private final LongAdder fTotalDelay= new LongAdder();
+
+	/** The longest queueing delay in nanoseconds. */
+	private final LongAccumulator fMaxDelay= new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Creates a new executor running the computations with the given executor.
+	 *
+	 * @param executor the executor
+	 */
+	public AsyncProviderExecutor(Executor executor) {
+		fExecutor= executor;
+	}
+
+	/**
+	 * Returns the executor shared by all viewers.
+	 *
+	 * @return the shared executor
+	 */
+	public static AsyncProviderExecutor getDefault() {
+		return DEFAULT;
+	}
+
+	private static Executor createExecutor(String kind) {
+		if ("commonPool".equals(kind)) //$NON-NLS-1$
+			return ForkJoinPool.commonPool();
+		if (!"threads".equals(kind)) { //$NON-NLS-1$
+			try {
+				// virtual threads are available since Java 21
+				return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null); //$NON-NLS-1$
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				// use platform threads
+			}
+		}
+		return Executors.newCachedThreadPool(runnable -> {
+			Thread thread= new Thread(runnable, "Text Async Provider"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		long submitted= System.nanoTime();
+		fExecutor.execute(() -> {
+			long delay= System.nanoTime() - submitted;
+			fStarted.increment();
+			fTotalDelay.add(delay);
+			fMaxDelay.accumulate(delay);
+			if (DEBUG && delay > TimeUnit.MILLISECONDS.toNanos(DEBUG_DELAY_MILLIS))
+				System.out.println("AsyncProviderExecutor: computation waited " + TimeUnit.NANOSECONDS.toMillis(delay) + "ms before running"); //$NON-NLS-1$ //$NON-NLS-2$
+			command.run();
+		});
+	}
+
+	/**
+	 * Runs the given computation asynchronously. Unlike {@link CompletableFuture#supplyAsync}, the
+	 * computation is skipped if the returned future is canceled before it started. Canceling the
+	 * future does not interrupt the running computation.
+	 *
+	 * @param supplier the computation
+	 * @param <T> the type of the result
+	 * @return the future of the result of the computation
+	 */
+	public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+		return supplyAsync(supplier, false);
+	}
+
+	/**
+	 * Runs the given computation asynchronously. Unlike {@link CompletableFuture#supplyAsync}, the
+	 * computation is skipped if the returned future is canceled before it started.
+	 *
+	 * @param supplier the computation
+	 * @param interruptible whether canceling the future with <code>mayInterruptIfRunning</code>
+	 *            interrupts the running computation. Only computations which are known to handle
+	 *            interrupts should be interruptible.
+	 * @param <T> the type of the result
+	 * @return the future of the result of the computation
+	 */
+	public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, boolean interruptible) {
+		CancelableFuture<T> future= new CancelableFuture<>(interruptible);
+		execute(() -> future.run(supplier));
+		return future;
+	}
+
+	/**
+	 * Returns the number of computations which have left the queue, including the ones which were
+	 * skipped because they had been canceled.
+	 *
+	 * @return the number of started computations
+	 */
+	public long getStartedCount() {
+		return fStarted.sum();
+	}
+
+	/**
+	 * Returns the average time the computations waited before they started to run.
+	 *
+	 * @param unit the unit of the result
+	 * @return the average queueing delay
+	 */
+	public long getAverageQueueingDelay(TimeUnit unit) {
+		long started= fStarted.sum();
+		return started == 0 ? 0 : unit.convert(fTotalDelay.sum() / started, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns the longest time a computation waited before it started to run.
+	 *
+	 * @param unit the unit of the result
+	 * @return the longest queueing delay
+	 */
+	public long getMaxQueueingDelay(TimeUnit unit) {
+		return unit.convert(fMaxDelay.get(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * A future which skips its computation if it is canceled before the computation started, and
+	 * which may interrupt the running computation.
+	 *
+	 * @param <T> the type of the result
+	 */
+	private static final class CancelableFuture<T> extends CompletableFuture<T> {
+
+		/** Whether canceling the future interrupts the running computation. */
+		private final boolean fInterruptible;
+
+		/** The thread running an interruptible computation, guarded by this future. */
+		private Thread fThread;
+
+		CancelableFuture(boolean interruptible) {
+			fInterruptible= interruptible;
+		}
+
+		void run(Supplier<T> supplier) {
+			synchronized (this) {
+				if (isDone())
+					return;
+				if (fInterruptible)
+					fThread= Thread.currentThread();
+			}
+			try {
+				complete(supplier.get());
+			} catch (Throwable e) {
+				completeExceptionally(e);
+			} finally {
+				if (fInterruptible) {
+					synchronized (this) {
+						fThread= null;
+					}
+					// don't leak an interrupt to the next computation of the thread
+					Thread.interrupted();
+				}
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean canceled= super.cancel(mayInterruptIfRunning);
+			if (canceled && mayInterruptIfRunning) {
+				synchronized (this) {
+					if (fThread != null)
+						fThread.interrupt();
+				}
+			}
+			return canceled;
+		}
+
+		@Override
+		public <U> CompletableFuture<U> newIncompleteFuture() {
+			return new CompletableFuture<>();
+		}
+	}
+}
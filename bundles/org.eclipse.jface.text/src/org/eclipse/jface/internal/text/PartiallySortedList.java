@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.internal.text;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+
+/**
+ * An unmodifiable list of elements in the order of a comparator, which is only sorted as far as
+ * it is read.
+ * <p>
+ * On creation, only the first elements are selected and sorted, which takes <code>n log k</code>
+ * comparisons instead of the <code>n log n</code> of a full sort. The remaining elements are
+ * sorted when one of them is read for the first time. The order is the one of a stable sort, like
+ * {@link List#sort(Comparator)}.
+ * </p>
+ *
+ * @param <E> the type of the elements
+ * @since 3.28
+ */
+public final class PartiallySortedList<E> extends AbstractList<E> implements RandomAccess {
+
+	/** The elements, sorted up to {@link #fSorted}. */
+	private final E[] fElements;
+
+	/** The comparator. */
+	private final Comparator<? super E> fComparator;
+
+	/** The number of sorted elements at the start of {@link #fElements}. */
+	private int fSorted;
+
+	/**
+	 * Creates a new list with the elements of the given list, of which the given number of first
+	 * elements are sorted right away.
+	 *
+	 * @param elements the elements, which are copied
+	 * @param comparator the comparator
+	 * @param sortedCount the number of elements to sort right away
+	 */
+	@SuppressWarnings("unchecked")
+	public PartiallySortedList(List<? extends E> elements, Comparator<? super E> comparator, int sortedCount) {
+		fElements= (E[]) elements.toArray();
+		fComparator= comparator;
+		int n= fElements.length;
+		int k= Math.max(0, Math.min(sortedCount, n));
+		if (k >= n / 2) {
+			// selecting would not save much
+			Arrays.sort(fElements, fComparator);
+			fSorted= n;
+		} else if (k > 0) {
+			selectFirst(k);
+		}
+	}
+
+	/**
+	 * Moves the first <code>k</code> elements of the stable order to the start of the array, sorted,
+	 * followed by the other elements in their original order.
+	 *
+	 * @param k the number of elements to select
+	 */
+	@SuppressWarnings("unchecked")
+	private void selectFirst(int k) {
+		int n= fElements.length;
+		// max-heap of the indices of the k smallest elements seen so far
+		int[] heap= new int[k];
+		int size= 0;
+		for (int i= 0; i < n; i++) {
+			if (size < k) {
+				heap[size]= i;
+				siftUp(heap, size++);
+			} else if (compare(i, heap[0]) < 0) {
+				heap[0]= i;
+				siftDown(heap, size);
+			}
+		}
+
+		boolean[] selected= new boolean[n];
+		Integer[] first= new Integer[k];
+		for (int i= 0; i < k; i++) {
+			selected[heap[i]]= true;
+			first[i]= Integer.valueOf(heap[i]);
+		}
+		Arrays.sort(first, (a, b) -> compare(a.intValue(), b.intValue()));
+
+		E[] elements= (E[]) new Object[n];
+		for (int i= 0; i < k; i++)
+			elements[i]= fElements[first[i].intValue()];
+		int j= k;
+		for (int i= 0; i < n; i++) {
+			if (!selected[i])
+				elements[j++]= fElements[i];
+		}
+		System.arraycopy(elements, 0, fElements, 0, n);
+		fSorted= k;
+	}
+
+	/**
+	 * Compares the elements at the given indices, the lower index comes first for equal elements.
+	 */
+	private int compare(int i, int j) {
+		int result= fComparator.compare(fElements[i], fElements[j]);
+		return result != 0 ? result : Integer.compare(i, j);
+	}
+
+	private void siftUp(int[] heap, int index) {
+		int value= heap[index];
+		while (index > 0) {
+			int parent= (index - 1) >>> 1;
+			if (compare(heap[parent], value) >= 0)
+				break;
+			heap[index]= heap[parent];
+			index= parent;
+		}
+		heap[index]= value;
+	}
+
+	private void siftDown(int[] heap, int size) {
+		int value= heap[0];
+		int index= 0;
+		int half= size >>> 1;
+		while (index < half) {
+			int child= 2 * index + 1;
+			if (child + 1 < size && compare(heap[child + 1], heap[child]) > 0)
+				child++;
+			if (compare(value, heap[child]) >= 0)
+				break;
+			heap[index]= heap[child];
+			index= child;
+		}
+		heap[index]= value;
+	}
+
+	@Override
+	public E get(int index) {
+		Objects.checkIndex(index, fElements.length);
+		if (index >= fSorted) {
+			Arrays.sort(fElements, fSorted, fElements.length, fComparator);
+			fSorted= fElements.length;
+		}
+		return fElements[index];
+	}
+
+	@Override
+	public int size() {
+		return fElements.length;
+	}
+
+	/**
+	 * Returns the elements without sorting the remaining elements. The elements which are already
+	 * sorted come first, in their order, followed by the others in no particular order.
+	 *
+	 * @return an unmodifiable view of the elements
+	 */
+	public List<E> unordered() {
+		return Collections.unmodifiableList(Arrays.asList(fElements));
+	}
+
+	/**
+	 * Returns whether all elements are sorted.
+	 *
+	 * @return <code>true</code> if all elements are sorted
+	 */
+	public boolean isSorted() {
+		return fSorted == fElements.length;
+	}
+}
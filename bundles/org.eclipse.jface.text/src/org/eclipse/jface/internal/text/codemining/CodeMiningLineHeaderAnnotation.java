@@ -1,5 +1,5 @@
 /**
- *  Copyright (c) 2017, 2022 Angelo ZERR.
+ *  Copyright (c) 2017, 2026 Angelo ZERR.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,8 @@ import org.eclipse.swt.graphics.Rectangle;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.jface.internal.text.AsyncProviderExecutor;
+
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.source.ISourceViewer;
@@ -278,7 +280,7 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 				// one of mining is not resolved, resolve it and then redraw the annotation.
 				mining.resolve(getViewer(), fMonitor).thenRunAsync(() -> {
 					this.redraw();
-				});
+				}, AsyncProviderExecutor.getDefault());
 				return;
 			}
 		}
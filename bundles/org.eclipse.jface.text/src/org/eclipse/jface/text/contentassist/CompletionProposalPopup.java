@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -78,6 +78,7 @@ import org.eclipse.jface.bindings.keys.KeySequence;
 import org.eclipse.jface.bindings.keys.SWTKeySupport;
 import org.eclipse.jface.contentassist.IContentAssistSubjectControl;
 import org.eclipse.jface.internal.text.InformationControlReplacer;
+import org.eclipse.jface.internal.text.PartiallySortedList;
 import org.eclipse.jface.internal.text.TableOwnerDrawSupport;
 import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.resource.JFaceColors;
@@ -293,6 +294,12 @@ class CompletionProposalPopup implements IContentAssistListener {
 	private Table fProposalTable;
 	/** Indicates whether a completion proposal is being inserted. */
 	private boolean fInserting= false;
+	/**
+	 * The number of proposals which are sorted right away, enough to fill the popup. The other
+	 * proposals are sorted when they are first shown.
+	 */
+	private static final int EAGERLY_SORTED_PROPOSALS= 100;
+
 	/** The key listener to control navigation. */
 	ProposalSelectionListener fKeyListener;
 	/** List of document events used for filtering proposals. */
@@ -581,7 +588,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 		}
 		List<ICompletionProposal> proposals= Arrays.asList(completionProposals);
 		if (fSorter != null) {
-			sortProposals(proposals);
+			proposals= sortProposalsLazily(proposals);
 			fIsInitialSort= true;
 		}
 		return proposals;
@@ -1178,7 +1185,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 			}
 
 			if (fSorter != null && !fIsInitialSort) {
-				sortProposals(proposals);
+				proposals= sortProposalsLazily(proposals);
 			}
 			fIsInitialSort= false;
 
@@ -1558,6 +1565,11 @@ class CompletionProposalPopup implements IContentAssistListener {
 			return null;
 		}
 
+		if (fSorter != null && proposals instanceof PartiallySortedList) {
+			// the filtered proposals are sorted again, don't sort the proposals which have not been shown yet
+			proposals= ((PartiallySortedList<ICompletionProposal>) proposals).unordered();
+		}
+
 		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		int length= proposals.size();
 		List<ICompletionProposal> filtered= new ArrayList<>(length);
@@ -1720,8 +1732,9 @@ class CompletionProposalPopup implements IContentAssistListener {
 		List<ICompletionProposal> wrongCase= new ArrayList<>();
 
 		boolean hasMixedProposals= hasMixedProposals();
-		for (int i= 0; i < fFilteredProposals.size(); i++) {
-			ICompletionProposal proposal= fFilteredProposals.get(i);
+		List<ICompletionProposal> proposals= getFilteredProposalsUnordered();
+		for (int i= 0; i < proposals.size(); i++) {
+			ICompletionProposal proposal= proposals.get(i);
 
 			if (!(proposal instanceof ICompletionProposalExtension3))
 				return false;
@@ -1861,7 +1874,7 @@ class CompletionProposalPopup implements IContentAssistListener {
 		IDocument document= fContentAssistSubjectControlAdapter.getDocument();
 		boolean hasSubstringMatch= false;
 		boolean hasPrefixMatch= false;
-		for (ICompletionProposal proposal : fFilteredProposals) {
+		for (ICompletionProposal proposal : getFilteredProposalsUnordered()) {
 			if (!(proposal instanceof ICompletionProposalExtension3))
 				return false;
 
@@ -2017,13 +2030,32 @@ class CompletionProposalPopup implements IContentAssistListener {
 	}
 
 	/**
-	 * Sorts the given proposal array.
+	 * Returns the given proposals in the order of the sorter. Only the first proposals, which fill
+	 * the popup, are sorted right away, the others are sorted when they are first accessed, for
+	 * example when the user scrolls down.
 	 *
-	 * @param proposals the new proposals to display in the popup window
+	 * @param proposals the proposals, which are not modified
+	 * @return the sorted proposals
 	 * @throws NullPointerException if no sorter has been set
-	 * @since 3.8
+	 * @since 3.28
+	 */
+	List<ICompletionProposal> sortProposalsLazily(List<ICompletionProposal> proposals) {
+		if (proposals instanceof PartiallySortedList) {
+			// copying the elements in order would sort the ones which have not been shown yet
+			proposals= ((PartiallySortedList<ICompletionProposal>) proposals).unordered();
+		}
+		return new PartiallySortedList<>(proposals, fSorter::compare, EAGERLY_SORTED_PROPOSALS);
+	}
+
+	/**
+	 * Returns the filtered proposals without sorting the ones which have not been shown yet. The
+	 * first proposal is the first one of the sorted proposals.
+	 *
+	 * @return the filtered proposals
 	 */
-	void sortProposals(final List<ICompletionProposal> proposals) {
-		proposals.sort(fSorter::compare);
+	private List<ICompletionProposal> getFilteredProposalsUnordered() {
+		if (fFilteredProposals instanceof PartiallySortedList)
+			return ((PartiallySortedList<ICompletionProposal>) fFilteredProposals).unordered();
+		return fFilteredProposals;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,14 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -40,6 +43,8 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.IViewportListener;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
@@ -52,9 +57,19 @@ import org.eclipse.jface.text.TypedPosition;
  * Standard implementation of <code>IPresentationReconciler</code>. This
  * implementation assumes that the tasks performed by its presentation damagers
  * and repairers are lightweight and of low cost. This presentation reconciler
- * runs in the UI thread and always repairs the complete damage caused by a
- * document change rather than just the portion overlapping with the viewer's
- * viewport.
+ * runs in the UI thread and by default always repairs the complete damage
+ * caused by a document change rather than just the portion overlapping with the
+ * viewer's viewport.
+ * <p>
+ * If {@link #setViewportDriven(boolean) viewport driven} repairing is enabled,
+ * a large damage, e.g. the whole document after setting the viewer's input, is
+ * repaired for the visible lines first. The rest of the damage is repaired in
+ * slices by subsequent runnables in the UI thread, starting with the lines
+ * shown after the viewer has been scrolled. The repairers are then asked to
+ * repair regions that start at a line start within a partition, just like for
+ * the damage of a typical document change, so the document partitioning
+ * serves as the state from which the scanners resume.
+ * </p>
  * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
@@ -64,12 +79,23 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
 
+	/**
+	 * The length of damage, in characters, above which viewport driven repairing defers the
+	 * invisible part of the damage.
+	 */
+	private static final int VIEWPORT_DAMAGE_THRESHOLD= 64 * 1024;
+
+	/**
+	 * The approximate number of characters repaired at once when repairing deferred damage.
+	 */
+	private static final int SLICE_LENGTH= 32 * 1024;
+
 
 	/**
 	 * Internal listener class.
 	 */
 	class InternalListener implements
-			ITextInputListener, IDocumentListener, ITextListener,
+			ITextInputListener, IDocumentListener, ITextListener, IViewportListener,
 			IDocumentPartitioningListener, IDocumentPartitioningListenerExtension, IDocumentPartitioningListenerExtension2 {
 
 		/** Set to <code>true</code> if between a document about to be changed and a changed event. */
@@ -83,6 +109,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		@Override
 		public void inputDocumentAboutToBeChanged(IDocument oldDocument, IDocument newDocument) {
 			if (oldDocument != null) {
+				fDeferredDamage.clear();
 				try {
 
 					fViewer.removeTextListener(this);
@@ -218,6 +245,12 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 			fChangedDocumentPartitions= null;
 		}
 
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			if (!fDeferredDamage.isEmpty() && fCachedRedrawState && !fDocumentChanging)
+				repairDeferredDamage(getVisibleRegion(fViewer.getDocument()));
+		}
+
 		/**
 		 * Translates the given text event into the corresponding range of the viewer's document.
 		 *
@@ -265,6 +298,18 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * Tells whether large damage is repaired starting with the visible lines.
+	 */
+	private boolean fViewportDriven= false;
+	/**
+	 * The positions of the damage not repaired yet, sorted by offset.
+	 */
+	private final List<Position> fDeferredDamage= new ArrayList<>();
+	/**
+	 * Tells whether the repair of the next slice of deferred damage is scheduled.
+	 */
+	private boolean fDeferredRepairScheduled= false;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -298,6 +343,39 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		return fPartitioning;
 	}
 
+	/**
+	 * Sets whether a large damage is repaired starting with the lines visible in the viewer. The
+	 * rest of the damage is then repaired in slices in the UI thread, preferring the lines shown
+	 * after the viewer has been scrolled. This shortens the time until the first paint of large
+	 * documents. The default is <code>false</code>.
+	 * <p>
+	 * The repairers must be able to create the presentation of a region starting at any line start
+	 * within a partition, which is true for {@link org.eclipse.jface.text.rules.DefaultDamagerRepairer}.
+	 * </p>
+	 *
+	 * @param viewportDriven <code>true</code> to repair large damage starting with the visible
+	 *            lines, <code>false</code> to always repair the complete damage at once
+	 * @since 3.28
+	 */
+	public void setViewportDriven(boolean viewportDriven) {
+		fViewportDriven= viewportDriven;
+		if (!viewportDriven && fViewer != null && fViewer.getDocument() != null) {
+			IDocument document= fViewer.getDocument();
+			repairDeferredDamage(new Region(0, document.getLength()));
+		}
+	}
+
+	/**
+	 * Returns whether a large damage is repaired starting with the lines visible in the viewer.
+	 *
+	 * @return <code>true</code> if large damage is repaired starting with the visible lines
+	 * @see #setViewportDriven(boolean)
+	 * @since 3.28
+	 */
+	public boolean isViewportDriven() {
+		return fViewportDriven;
+	}
+
 	/**
 	 * Registers the given presentation damager for a particular content type.
 	 * If there is already a damager registered for this type, the old damager
@@ -346,6 +424,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		fViewer= viewer;
 		fViewer.addTextInputListener(fInternalListener);
+		fViewer.addViewportListener(fInternalListener);
 
 		IDocument document= viewer.getDocument();
 		if (document != null)
@@ -355,6 +434,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	@Override
 	public void uninstall() {
 		fViewer.removeTextInputListener(fInternalListener);
+		fViewer.removeViewportListener(fInternalListener);
 
 		// Ensure we uninstall all listeners
 		fInternalListener.inputDocumentAboutToBeChanged(fViewer.getDocument(), null);
@@ -546,10 +626,206 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
 		if (damage != null && damage.getLength() > 0) {
-			TextPresentation p= createPresentation(damage, document);
-			if (p != null)
-				applyTextRegionCollection(p);
+			if (fViewportDriven && damage.getLength() > VIEWPORT_DAMAGE_THRESHOLD && deferDamage(damage, document)) {
+				repairDeferredDamage(getVisibleRegion(document));
+				scheduleDeferredRepair();
+				return;
+			}
+			repair(damage, document);
+		}
+	}
+
+	/**
+	 * Repairs the given damage at once.
+	 *
+	 * @param damage the damage to be repaired
+	 * @param document the document whose presentation must be repaired
+	 */
+	private void repair(IRegion damage, IDocument document) {
+		TextPresentation p= createPresentation(damage, document);
+		if (p != null)
+			applyTextRegionCollection(p);
+	}
+
+	/**
+	 * Remembers the given damage for being repaired later.
+	 *
+	 * @param damage the damage to be deferred
+	 * @param document the document whose presentation must be repaired
+	 * @return <code>true</code> if the damage has been deferred, <code>false</code> if it must
+	 *         be repaired at once
+	 */
+	private boolean deferDamage(IRegion damage, IDocument document) {
+		Position position= new Position(damage.getOffset(), damage.getLength());
+		try {
+			document.addPosition(fPositionCategory, position);
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			return false;
+		}
+		int end= position.getOffset() + position.getLength();
+		for (Iterator<Position> iterator= fDeferredDamage.iterator(); iterator.hasNext();) {
+			Position deferred= iterator.next();
+			if (deferred.getOffset() >= position.getOffset() && deferred.getOffset() + deferred.getLength() <= end) {
+				removeDeferredDamage(document, deferred);
+				iterator.remove();
+			}
+		}
+		int index= fDeferredDamage.size();
+		while (index > 0 && fDeferredDamage.get(index - 1).getOffset() > position.getOffset())
+			index--;
+		fDeferredDamage.add(index, position);
+		return true;
+	}
+
+	/**
+	 * Returns the lines shown by the viewer, extended to at least {@value #SLICE_LENGTH}
+	 * characters so that a viewer that has not been laid out yet gets its first lines repaired.
+	 *
+	 * @param document the viewer's document
+	 * @return the region of the visible lines including their delimiters
+	 */
+	private IRegion getVisibleRegion(IDocument document) {
+		try {
+			int start= Math.max(0, fViewer.getTopIndexStartOffset());
+			int end= Math.max(start + SLICE_LENGTH, fViewer.getBottomIndexEndOffset());
+			start= document.getLineOffset(document.getLineOfOffset(start));
+			return new Region(start, getLineEndOffset(document, end) - start);
+		} catch (BadLocationException x) {
+			return new Region(0, getLineEndOffset(document, SLICE_LENGTH));
+		}
+	}
+
+	/**
+	 * Returns the end offset, including the delimiter, of the line containing the given offset.
+	 *
+	 * @param document the document
+	 * @param offset the offset, which gets clipped to the document
+	 * @return the end offset of the line
+	 */
+	private static int getLineEndOffset(IDocument document, int offset) {
+		try {
+			int line= document.getLineOfOffset(Math.min(offset, document.getLength()));
+			return document.getLineOffset(line) + document.getLineLength(line);
+		} catch (BadLocationException x) {
+			return document.getLength();
+		}
+	}
+
+	/**
+	 * Repairs the deferred damage overlapping with the given region.
+	 *
+	 * @param region the region to repair
+	 */
+	private void repairDeferredDamage(IRegion region) {
+		IDocument document= fViewer.getDocument();
+		if (document == null)
+			return;
+		int start= region.getOffset();
+		int end= start + region.getLength();
+		List<Position> deferred= new ArrayList<>(fDeferredDamage.size() + 1);
+		List<IRegion> damage= new ArrayList<>();
+		for (Position position : fDeferredDamage) {
+			int positionEnd= position.getOffset() + position.getLength();
+			if (position.isDeleted() || position.getLength() == 0) {
+				removeDeferredDamage(document, position);
+			} else if (position.getOffset() >= end || positionEnd <= start) {
+				deferred.add(position);
+			} else {
+				removeDeferredDamage(document, position);
+				int repairStart= Math.max(start, position.getOffset());
+				int repairEnd= Math.min(end, positionEnd);
+				if (position.getOffset() < repairStart)
+					addDeferredDamage(document, deferred, position.getOffset(), repairStart);
+				if (repairEnd < positionEnd)
+					addDeferredDamage(document, deferred, repairEnd, positionEnd);
+				// edits may have moved the start away from a line start
+				int lineStart= getLineStartOffset(document, repairStart);
+				damage.add(new Region(lineStart, repairEnd - lineStart));
+			}
+		}
+		fDeferredDamage.clear();
+		fDeferredDamage.addAll(deferred);
+		for (IRegion r : damage)
+			repair(r, document);
+	}
+
+	private void addDeferredDamage(IDocument document, List<Position> deferred, int start, int end) {
+		Position position= new Position(start, end - start);
+		try {
+			document.addPosition(fPositionCategory, position);
+			deferred.add(position);
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// should not happen on input documents
+		}
+	}
+
+	private void removeDeferredDamage(IDocument document, Position position) {
+		try {
+			document.removePosition(fPositionCategory, position);
+		} catch (BadPositionCategoryException x) {
+			// should not happen on input documents
+		}
+	}
+
+	/**
+	 * Returns the start offset of the line containing the given offset.
+	 *
+	 * @param document the document
+	 * @param offset the offset
+	 * @return the start offset of the line
+	 */
+	private static int getLineStartOffset(IDocument document, int offset) {
+		try {
+			return document.getLineOffset(document.getLineOfOffset(offset));
+		} catch (BadLocationException x) {
+			return offset;
+		}
+	}
+
+	/**
+	 * Schedules the repair of the next slice of the deferred damage in the UI thread.
+	 */
+	private void scheduleDeferredRepair() {
+		if (fDeferredRepairScheduled || fDeferredDamage.isEmpty())
+			return;
+		StyledText widget= fViewer.getTextWidget();
+		if (widget == null || widget.isDisposed())
+			return;
+		fDeferredRepairScheduled= true;
+		widget.getDisplay().asyncExec(() -> {
+			fDeferredRepairScheduled= false;
+			if (widget.isDisposed() || fViewer == null || fViewer.getTextWidget() != widget)
+				return;
+			if (!fInternalListener.fCachedRedrawState)
+				return; // enabling redraw again damages the whole document
+			IDocument document= fViewer.getDocument();
+			if (document != null && !fDeferredDamage.isEmpty()) {
+				repairDeferredDamage(getNextSlice(document));
+				scheduleDeferredRepair();
+			}
+		});
+	}
+
+	/**
+	 * Returns the next slice of the deferred damage to repair. This is the deferred damage
+	 * following the top of the viewport or, if there is none, the last deferred damage before it.
+	 *
+	 * @param document the viewer's document
+	 * @return the next slice to repair
+	 */
+	private IRegion getNextSlice(IDocument document) {
+		int top= Math.max(0, fViewer.getTopIndexStartOffset());
+		Position next= fDeferredDamage.get(fDeferredDamage.size() - 1);
+		for (Position position : fDeferredDamage) {
+			if (!position.isDeleted() && position.getOffset() + position.getLength() > top) {
+				next= position;
+				break;
+			}
 		}
+		int start= next.getOffset();
+		if (start < top && top < start + next.getLength())
+			start= getLineStartOffset(document, top);
+		return new Region(start, getLineEndOffset(document, start + SLICE_LENGTH) - start);
 	}
 
 	/**
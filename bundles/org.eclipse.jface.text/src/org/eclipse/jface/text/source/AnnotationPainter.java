@@ -17,13 +17,13 @@ package org.eclipse.jface.text.source;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -339,6 +339,78 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		private Object fPaintingStrategy;
 	}
 
+	/**
+	 * The document range affected by a change of decorations.
+	 */
+	private static class DirtyRange {
+		/** The start offset of the range, or <code>Integer.MAX_VALUE</code> if empty */
+		private int fStart= Integer.MAX_VALUE;
+		/** The exclusive end offset of the range, or <code>-1</code> if empty */
+		private int fEnd= -1;
+
+		void add(Position position) {
+			if (position == null)
+				return;
+			fStart= Math.min(fStart, position.offset);
+			fEnd= Math.max(fEnd, position.offset + position.length);
+		}
+	}
+
+	/**
+	 * The decorations sorted by the offset of their position. Allows to find the decorations
+	 * intersecting a region without visiting all decorations.
+	 */
+	private static class DecorationIndex {
+		/** The decorations in ascending offset order */
+		private final List<Entry<Annotation, Decoration>> fEntries;
+		/** The maximal length of the decorations' positions */
+		private final int fMaxLength;
+
+		DecorationIndex(Map<Annotation, Decoration> decorations) {
+			fEntries= new ArrayList<>(decorations.size());
+			int maxLength= 0;
+			for (Entry<Annotation, Decoration> entry : decorations.entrySet()) {
+				fEntries.add(Map.entry(entry.getKey(), entry.getValue()));
+				maxLength= Math.max(maxLength, entry.getValue().fPosition.getLength());
+			}
+			fEntries.sort(Comparator.comparingInt(entry -> entry.getValue().fPosition.getOffset()));
+			fMaxLength= maxLength;
+		}
+
+		/**
+		 * Returns the decorations whose position touches or overlaps the given region. The
+		 * decorations are returned in ascending offset order.
+		 *
+		 * @param offset the offset of the region
+		 * @param length the length of the region
+		 * @return the decorations touching or overlapping the region
+		 */
+		List<Entry<Annotation, Decoration>> getDecorations(int offset, int length) {
+			// positions starting before this offset cannot reach the region
+			long minOffset= (long) offset - fMaxLength;
+			int low= 0;
+			int high= fEntries.size();
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fEntries.get(mid).getValue().fPosition.getOffset() < minOffset)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			List<Entry<Annotation, Decoration>> result= new ArrayList<>();
+			int end= offset + length;
+			for (int i= low; i < fEntries.size(); i++) {
+				Entry<Annotation, Decoration> entry= fEntries.get(i);
+				Position position= entry.getValue().fPosition;
+				if (position.getOffset() > end)
+					break;
+				if (position.getOffset() + position.getLength() >= offset)
+					result.add(entry);
+			}
+			return result;
+		}
+	}
+
 
 	/** Indicates whether this painter is active */
 	private boolean fIsActive= false;
@@ -374,6 +446,16 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 	 * @since 3.0
 	 */
 	private Object fHighlightedDecorationsMapLock= new Object();
+	/**
+	 * The offset ordered index of the decorations map, or <code>null</code> if it has to be
+	 * recomputed. Guarded by the decorations map lock.
+	 */
+	private DecorationIndex fDecorationIndex;
+	/**
+	 * The offset ordered index of the highlighted decorations map, or <code>null</code> if it has
+	 * to be recomputed. Guarded by the highlighted decorations map lock.
+	 */
+	private DecorationIndex fHighlightedDecorationIndex;
 	/**
 	 * Maps an annotation type to its registered color.
 	 *
@@ -545,9 +627,11 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 			// annotation model is null -> clear all
 			synchronized (fDecorationMapLock) {
 				fDecorationsMap.clear();
+				fDecorationIndex= null;
 			}
 			synchronized (fHighlightedDecorationsMapLock) {
 				fHighlightedDecorationsMap.clear();
+				fHighlightedDecorationIndex= null;
 			}
 			return;
 		}
@@ -555,166 +639,155 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		IRegion clippingRegion= computeClippingRegion(null, true);
 		IDocument document= fSourceViewer.getDocument();
 
-		int highlightAnnotationRangeStart= Integer.MAX_VALUE;
-		int highlightAnnotationRangeEnd= -1;
-
-		int drawRangeStart= Integer.MAX_VALUE;
-		int drawRangeEnd= -1;
-
-		Map<Annotation, Decoration> decorationsMap;
-		Map<Annotation, Decoration> highlightedDecorationsMap;
-
-		// Clone decoration maps
-		synchronized (fDecorationMapLock) {
-			decorationsMap= new HashMap<>(fDecorationsMap);
-		}
-		synchronized (fHighlightedDecorationsMapLock) {
-			highlightedDecorationsMap= new HashMap<>(fHighlightedDecorationsMap);
-		}
-
-		boolean isWorldChange= false;
+		DirtyRange highlightRange= new DirtyRange();
+		DirtyRange drawRange= new DirtyRange();
 
-		Iterator<Annotation> e;
 		if (event == null || event.isWorldChange()) {
-			isWorldChange= true;
 
 			if (DEBUG && event == null)
 				System.out.println("AP: INTERNAL CHANGE"); //$NON-NLS-1$
 
-			Iterator<Entry<Annotation, Decoration>> iter= decorationsMap.entrySet().iterator();
-			while (iter.hasNext()) {
-				Entry<Annotation, Decoration> entry= iter.next();
-				Annotation annotation= entry.getKey();
-				Decoration decoration= entry.getValue();
-				drawDecoration(decoration, null, annotation, clippingRegion, document);
+			List<Entry<Annotation, Decoration>> oldDecorations;
+			synchronized (fDecorationMapLock) {
+				oldDecorations= new ArrayList<>(fDecorationsMap.entrySet());
 			}
+			for (Entry<Annotation, Decoration> entry : oldDecorations)
+				drawDecoration(entry.getValue(), null, entry.getKey(), clippingRegion, document);
 
-			decorationsMap.clear();
-
-			highlightedDecorationsMap.clear();
-
-			e= fModel.getAnnotationIterator();
+			// build new maps and replace the current ones at once
+			Map<Annotation, Decoration> decorationsMap= new HashMap<>();
+			Map<Annotation, Decoration> highlightedDecorationsMap= new HashMap<>();
+			addDecorations(fModel.getAnnotationIterator(), decorationsMap, highlightedDecorationsMap, drawRange, highlightRange);
 
+			synchronized (fDecorationMapLock) {
+				fDecorationsMap= decorationsMap;
+				fDecorationIndex= null;
+				updateDrawRanges(drawRange.fStart, drawRange.fEnd, true);
+			}
 
-		} else {
+			synchronized (fHighlightedDecorationsMapLock) {
+				fHighlightedDecorationsMap= highlightedDecorationsMap;
+				fHighlightedDecorationIndex= null;
+				updateHighlightRanges(highlightRange.fStart, highlightRange.fEnd, true);
+			}
+			return;
+		}
 
-			// Remove annotations
-			Annotation[] removedAnnotations= event.getRemovedAnnotations();
-			for (Annotation annotation : removedAnnotations) {
-				Decoration decoration= highlightedDecorationsMap.remove(annotation);
-				if (decoration != null) {
-					Position position= decoration.fPosition;
-					if (position != null) {
-						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
-						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
-					}
-				}
-				decoration= decorationsMap.remove(annotation);
-				if (decoration != null) {
-					drawDecoration(decoration, null, annotation, clippingRegion, document);
-					Position position= decoration.fPosition;
-					if (position != null) {
-						drawRangeStart= Math.min(drawRangeStart, position.offset);
-						drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
+		// only process the annotations reported by the event and update the maps in place
+		List<Entry<Annotation, Decoration>> clearedDecorations= new ArrayList<>();
+		synchronized (fDecorationMapLock) {
+			synchronized (fHighlightedDecorationsMapLock) {
+				Map<Annotation, Decoration> decorationsMap= fDecorationsMap;
+				Map<Annotation, Decoration> highlightedDecorationsMap= fHighlightedDecorationsMap;
+
+				// Remove annotations
+				Annotation[] removedAnnotations= event.getRemovedAnnotations();
+				for (Annotation annotation : removedAnnotations) {
+					Decoration decoration= highlightedDecorationsMap.remove(annotation);
+					if (decoration != null)
+						highlightRange.add(decoration.fPosition);
+					decoration= decorationsMap.remove(annotation);
+					if (decoration != null) {
+						clearedDecorations.add(Map.entry(annotation, decoration));
+						drawRange.add(decoration.fPosition);
 					}
 				}
 
-			}
-
-			// Update existing annotations
-			Annotation[] changedAnnotations= event.getChangedAnnotations();
-			for (Annotation annotation : changedAnnotations) {
-				boolean isHighlighting= false;
+				// Update existing annotations
+				Annotation[] changedAnnotations= event.getChangedAnnotations();
+				for (Annotation annotation : changedAnnotations) {
+					boolean isHighlighting= false;
 
-				Decoration decoration= highlightedDecorationsMap.get(annotation);
+					Decoration decoration= highlightedDecorationsMap.get(annotation);
 
-				if (decoration != null) {
-					isHighlighting= true;
-					// The call below updates the decoration - no need to create new decoration
-					decoration= getDecoration(annotation, decoration);
-					if (decoration == null) {
-						Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
-						if (removedDecoration != null) {
-							highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, removedDecoration.fPosition.offset);
-							highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, removedDecoration.fPosition.offset + removedDecoration.fPosition.length);
+					if (decoration != null) {
+						isHighlighting= true;
+						// The call below updates the decoration - no need to create new decoration
+						decoration= getDecoration(annotation, decoration);
+						if (decoration == null) {
+							Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
+							if (removedDecoration != null)
+								highlightRange.add(removedDecoration.fPosition);
 						}
-					}
 
-				} else {
-					decoration= getDecoration(annotation, decoration);
-					if (decoration != null && decoration.fPaintingStrategy instanceof ITextStyleStrategy) {
-						highlightedDecorationsMap.put(annotation, decoration);
-						isHighlighting= true;
+					} else {
+						decoration= getDecoration(annotation, decoration);
+						if (decoration != null && decoration.fPaintingStrategy instanceof ITextStyleStrategy) {
+							highlightedDecorationsMap.put(annotation, decoration);
+							isHighlighting= true;
+						}
 					}
-				}
 
-				boolean usesDrawingStrategy= !isHighlighting && decoration != null;
+					boolean usesDrawingStrategy= !isHighlighting && decoration != null;
 
-				Position position= null;
-				if (decoration == null)
-					position= fModel.getPosition(annotation);
-				else
-					position= decoration.fPosition;
+					Position position= null;
+					if (decoration == null)
+						position= fModel.getPosition(annotation);
+					else
+						position= decoration.fPosition;
 
-				if (position != null && !position.isDeleted()) {
-					if (isHighlighting) {
-						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, position.offset);
-						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, position.offset + position.length);
+					if (position != null && !position.isDeleted()) {
+						if (isHighlighting)
+							highlightRange.add(position);
+						if (usesDrawingStrategy)
+							drawRange.add(position);
+					} else {
+						Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
+						if (removedDecoration != null)
+							highlightRange.add(removedDecoration.fPosition);
 					}
+
 					if (usesDrawingStrategy) {
-						drawRangeStart= Math.min(drawRangeStart, position.offset);
-						drawRangeEnd= Math.max(drawRangeEnd, position.offset + position.length);
-					}
-				} else {
-					Decoration removedDecoration= highlightedDecorationsMap.remove(annotation);
-					if (removedDecoration != null) {
-						highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, removedDecoration.fPosition.offset);
-						highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, removedDecoration.fPosition.offset + removedDecoration.fPosition.length);
+						Decoration oldDecoration= decorationsMap.get(annotation);
+						if (oldDecoration != null) {
+							clearedDecorations.add(Map.entry(annotation, oldDecoration));
+							if (decoration != null)
+								decorationsMap.put(annotation, decoration);
+							else
+								decorationsMap.remove(annotation);
+						}
 					}
 				}
 
-				if (usesDrawingStrategy) {
-					Decoration oldDecoration= decorationsMap.get(annotation);
-					if (oldDecoration != null) {
-						drawDecoration(oldDecoration, null, annotation, clippingRegion, document);
-						if (decoration != null)
-							decorationsMap.put(annotation, decoration);
-						else
-							decorationsMap.remove(annotation);
-					}
-				}
-			}
+				addDecorations(Arrays.asList(event.getAddedAnnotations()).iterator(), decorationsMap, highlightedDecorationsMap, drawRange, highlightRange);
 
-			e= Arrays.asList(event.getAddedAnnotations()).iterator();
+				// positions may have moved, the offset order has to be recomputed
+				fDecorationIndex= null;
+				fHighlightedDecorationIndex= null;
+				updateDrawRanges(drawRange.fStart, drawRange.fEnd, false);
+				updateHighlightRanges(highlightRange.fStart, highlightRange.fEnd, false);
+			}
 		}
 
-		// Add new annotations
-		while (e.hasNext()) {
-			Annotation annotation= e.next();
+		// clear the old decorations outside of the locks
+		for (Entry<Annotation, Decoration> entry : clearedDecorations)
+			drawDecoration(entry.getValue(), null, entry.getKey(), clippingRegion, document);
+	}
+
+	/**
+	 * Adds the decorations of the given annotations.
+	 *
+	 * @param annotations the annotations to add
+	 * @param decorationsMap the map of drawn decorations
+	 * @param highlightedDecorationsMap the map of highlighted decorations
+	 * @param drawRange the range to extend by the added drawn decorations
+	 * @param highlightRange the range to extend by the added highlighted decorations
+	 */
+	private void addDecorations(Iterator<Annotation> annotations, Map<Annotation, Decoration> decorationsMap, Map<Annotation, Decoration> highlightedDecorationsMap, DirtyRange drawRange, DirtyRange highlightRange) {
+		while (annotations.hasNext()) {
+			Annotation annotation= annotations.next();
 			Decoration pp= getDecoration(annotation, null);
 			if (pp != null) {
 				if (pp.fPaintingStrategy instanceof IDrawingStrategy) {
 					decorationsMap.put(annotation, pp);
-					drawRangeStart= Math.min(drawRangeStart, pp.fPosition.offset);
-					drawRangeEnd= Math.max(drawRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+					drawRange.add(pp.fPosition);
 				} else if (pp.fPaintingStrategy instanceof ITextStyleStrategy) {
 					highlightedDecorationsMap.put(annotation, pp);
-					highlightAnnotationRangeStart= Math.min(highlightAnnotationRangeStart, pp.fPosition.offset);
-					highlightAnnotationRangeEnd= Math.max(highlightAnnotationRangeEnd, pp.fPosition.offset + pp.fPosition.length);
+					highlightRange.add(pp.fPosition);
 				}
 
 			}
 		}
-
-		synchronized (fDecorationMapLock) {
-			fDecorationsMap= decorationsMap;
-			updateDrawRanges(drawRangeStart, drawRangeEnd, isWorldChange);
-		}
-
-		synchronized (fHighlightedDecorationsMapLock) {
-			fHighlightedDecorationsMap= highlightedDecorationsMap;
-			updateHighlightRanges(highlightAnnotationRangeStart, highlightAnnotationRangeEnd, isWorldChange);
-		}
 	}
 
 	/**
@@ -982,17 +1055,18 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void applyTextPresentation(TextPresentation tp) {
-		Set<Entry<Annotation, Decoration>> decorations;
+		List<Entry<Annotation, Decoration>> decorations;
+		IRegion region= tp.getExtent();
 
 		synchronized (fHighlightedDecorationsMapLock) {
 			if (fHighlightedDecorationsMap == null || fHighlightedDecorationsMap.isEmpty())
 				return;
 
-			decorations= new HashSet<>(fHighlightedDecorationsMap.entrySet());
+			if (fHighlightedDecorationIndex == null)
+				fHighlightedDecorationIndex= new DecorationIndex(fHighlightedDecorationsMap);
+			decorations= fHighlightedDecorationIndex.getDecorations(region.getOffset(), region.getLength());
 		}
 
-		IRegion region= tp.getExtent();
-
 		if (DEBUG)
 			System.out.println("AP: applying text presentation offset: " + region.getOffset() + ", length= " + region.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
 
@@ -1285,9 +1359,11 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		fModel= null;
 		synchronized (fDecorationMapLock) {
 			fDecorationsMap= null;
+			fDecorationIndex= null;
 		}
 		synchronized (fHighlightedDecorationsMapLock) {
 			fHighlightedDecorationsMap= null;
+			fHighlightedDecorationIndex= null;
 		}
 	}
 
@@ -1362,11 +1438,14 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 		final GC gc= event != null ? event.gc : null;
 
-		// Clone decorations
+		// Collect the decorations intersecting the clipping region
 		Collection<Entry<Annotation, Decoration>> decorations;
 		synchronized (fDecorationMapLock) {
-			decorations= new ArrayList<>(fDecorationsMap.size());
-			decorations.addAll(fDecorationsMap.entrySet());
+			if (fDecorationsMap == null)
+				return;
+			if (fDecorationIndex == null)
+				fDecorationIndex= new DecorationIndex(fDecorationsMap);
+			decorations= fDecorationIndex.getDecorations(vOffset, vLength);
 		}
 
 		/*
@@ -1635,6 +1714,16 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void paint(int reason) {
+		if (reason == TEXT_CHANGE) {
+			// the positions have been updated, their offset order has to be recomputed
+			synchronized (fDecorationMapLock) {
+				fDecorationIndex= null;
+			}
+			synchronized (fHighlightedDecorationsMapLock) {
+				fHighlightedDecorationIndex= null;
+			}
+		}
+
 		if (fSourceViewer.getDocument() == null) {
 			deactivate(false);
 			return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,12 +14,15 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
@@ -45,6 +48,7 @@ import org.eclipse.swt.widgets.ScrollBar;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
@@ -81,14 +85,23 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		 */
 		@Override
 		public void textChanged(TextEvent e) {
-			if (fTextViewer != null && e.getDocumentEvent() == null && e.getViewerRedrawState()) {
+			if (fTextViewer == null)
+				return;
+
+			if (e.getDocumentEvent() != null) {
+				handleDocumentChanged(e);
+			} else {
 				// handle only changes of visible document
-				redraw();
+				fRowHistograms= null;
+				if (e.getViewerRedrawState())
+					redraw();
 			}
 		}
 
 		@Override
 		public void modelChanged(IAnnotationModel model) {
+			fAnnotationsChanged= true;
+			fAllRowsChanged= true;
 			update();
 		}
 
@@ -97,11 +110,17 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			if (!event.isValid())
 				return;
 
+			// attached models forward their events without changing the stamp of the model
+			fAnnotationsChanged= true;
+
 			if (event.isWorldChange()) {
+				fAllRowsChanged= true;
 				update();
 				return;
 			}
 
+			fChangedAnnotations.addAll(Arrays.asList(event.getChangedAnnotations()));
+
 			Annotation[] annotations= event.getAddedAnnotations();
 			int length= annotations.length;
 			for (int i= 0; i < length; i++) {
@@ -386,6 +405,81 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * The annotation rectangles of one annotation type and style, counted by their ruler pixel
+	 * row. Annotations which map to the same rectangle are drawn only once.
+	 */
+	private static final class RowHistogram {
+
+		/** The annotation type. */
+		final Object fAnnotationType;
+
+		/** Whether the rectangles are for temporary annotations. */
+		final boolean fTemporary;
+
+		/**
+		 * The number of annotations per rectangle. The rectangles are encoded as
+		 * <code>y &lt;&lt; 32 | height</code>.
+		 */
+		final TreeMap<Long, Integer> fRows= new TreeMap<>();
+
+		RowHistogram(Object annotationType, boolean temporary) {
+			fAnnotationType= annotationType;
+			fTemporary= temporary;
+		}
+
+		void add(long row) {
+			fRows.merge(row, 1, Integer::sum);
+		}
+
+		void remove(long row) {
+			fRows.computeIfPresent(row, (r, count) -> count == 1 ? null : count - 1);
+		}
+	}
+
+	/**
+	 * The ruler rectangle of one cached annotation, and the widget lines from which it has been
+	 * computed.
+	 */
+	private static final class AnnotationRow {
+
+		/** The first widget line of the annotation. */
+		final int fFirstLine;
+
+		/** The last widget line of the annotation. */
+		final int fLastLine;
+
+		/** The rectangle, encoded as <code>y &lt;&lt; 32 | height</code>. */
+		final long fRow;
+
+		/** The indices of the layers which show the annotation. */
+		final int[] fLayers;
+
+		/** Whether the annotation is temporary. */
+		final boolean fTemporary;
+
+		AnnotationRow(int firstLine, int lastLine, long row, int[] layers, boolean temporary) {
+			fFirstLine= firstLine;
+			fLastLine= lastLine;
+			fRow= row;
+			fLayers= layers;
+			fTemporary= temporary;
+		}
+	}
+
+	/**
+	 * The state on which the row histograms depend, besides the cached annotations and the
+	 * document.
+	 */
+	private record RowHistogramKey(int maxLines, int thumbHeight, double visibleLines, double invisibleLines, Rectangle bounds, int writable) {
+	}
+
+	/** The row of an annotation which is not shown. */
+	private static final AnnotationRow NO_ROW= new AnnotationRow(-1, -1, 0, new int[0], false);
+
+	/** The row of an annotation which does not match the text widget, computed again on any change. */
+	private static final AnnotationRow INVALID_ROW= new AnnotationRow(0, Integer.MAX_VALUE, 0, new int[0], false);
+
 	private static final boolean DEBUG_DRAW= false;
 	private static final boolean DEBUG_COMPUTE_Y= false;
 	private static final boolean DEBUG_TO_DOCUMENT_LINE_NUMBER= false;
@@ -466,6 +560,59 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	 * @since 3.0
 	 */
 	private List<Annotation> fCachedAnnotations= new ArrayList<>();
+	/**
+	 * Tells whether the annotations have to be cached again. Set by the annotation model
+	 * listener, which may be called in any thread.
+	 */
+	private volatile boolean fAnnotationsChanged= true;
+	/**
+	 * Tells whether the annotations have been cached again since the row histograms have been
+	 * updated.
+	 */
+	private boolean fAnnotationsRecached;
+	/**
+	 * Tells whether the rows of all annotations have to be computed again. Set by the annotation
+	 * model listener, which may be called in any thread.
+	 */
+	private volatile boolean fAllRowsChanged= true;
+	/**
+	 * The annotations whose position changed since the row histograms have been updated. Filled
+	 * by the annotation model listener, which may be called in any thread.
+	 */
+	private final Set<Annotation> fChangedAnnotations= ConcurrentHashMap.newKeySet();
+	/**
+	 * The row histograms, two per layer with the persistent one first, or <code>null</code> if
+	 * they have to be computed again. The histograms of skipped layers are <code>null</code>.
+	 */
+	private RowHistogram[] fRowHistograms;
+	/**
+	 * The state for which the row histograms have been computed.
+	 */
+	private RowHistogramKey fRowHistogramKey;
+	/**
+	 * The rows of the cached annotations.
+	 */
+	private final Map<Annotation, AnnotationRow> fAnnotationRows= new HashMap<>();
+	/**
+	 * The indices of the layers which show an annotation type.
+	 */
+	private final Map<Object, int[]> fLayersByType= new HashMap<>();
+	/**
+	 * The modification stamp of the document for which the row histograms are up to date.
+	 */
+	private long fRowsStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	/**
+	 * The number of lines of the text widget for which the row histograms are up to date.
+	 */
+	private int fRowsLineCount;
+	/**
+	 * The first widget line changed since the row histograms have been updated, or -1.
+	 */
+	private int fFirstChangedLine= -1;
+	/**
+	 * The last widget line changed since the row histograms have been updated, or -1.
+	 */
+	private int fLastChangedLine= -1;
 
 	/**
 	 * Redraw runnable lock
@@ -555,6 +702,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 				fModel.removeAnnotationModelListener(fInternalListener);
 
 			fModel= model;
+			fAnnotationsChanged= true;
+			fAllRowsChanged= true;
 
 			if (fModel != null)
 				fModel.addAnnotationModelListener(fInternalListener);
@@ -662,6 +811,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		fAnnotationTypes2Colors.clear();
 		fAnnotationsSortedByLayer.clear();
 		fLayersSortedByLayer.clear();
+		fAnnotationsChanged= true;
+		fRowHistograms= null;
 	}
 
 	/**
@@ -707,6 +858,11 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	}
 
 	private void cacheAnnotations() {
+		if (!fAnnotationsChanged)
+			return;
+
+		fAnnotationsChanged= false;
+		fAnnotationsRecached= true;
 		fCachedAnnotations.clear();
 		if (fModel != null) {
 			Iterator<Annotation> iter= fModel.getAnnotationIterator();
@@ -732,106 +888,39 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	private void doPaint(GC gc) {
 
 		Rectangle r= new Rectangle(0, 0, 0, 0);
-		int yy, hh= ANNOTATION_HEIGHT;
+		int yy, hh;
 
-		IDocument document= fTextViewer.getDocument();
 		StyledText textWidget= fTextViewer.getTextWidget();
-		ITextViewerExtension5 extension= null;
-		IRegion visible= null;
-		if (fTextViewer instanceof ITextViewerExtension5)
-			extension= (ITextViewerExtension5) fTextViewer;
-		else
-			visible= fTextViewer.getVisibleRegion(); // legacy support
-
 		WidgetInfos infos= null;
+		if (!fCachedAnnotations.isEmpty()) {
+			infos= new WidgetInfos(textWidget, fCanvas);
+			r.x= INSET;
+			r.width= infos.bounds.width - (2 * INSET);
+		}
 
-		for (Object annotationType : fAnnotationsSortedByLayer) {
-			if (skip(annotationType))
+		for (RowHistogram histogram : getRowHistograms(infos)) {
+			if (histogram == null || histogram.fRows.isEmpty())
 				continue;
 
-			int[] style= new int[] { FilterIterator.PERSISTENT, FilterIterator.TEMPORARY };
-			for (int element : style) {
-				boolean areColorsComputed= false;
-				Color fill= null;
-				Color stroke= null;
-
-				Iterator<Annotation> e= new FilterIterator(annotationType, element, fCachedAnnotations.iterator());
-				while (e.hasNext()) {
-					Annotation a= e.next();
-					Position p= fModel.getPosition(a);
-
-					if (p == null)
-						continue;
-					if (visible != null && !p.overlapsWith(visible.getOffset(), visible.getLength()))
-						continue;
-
-					int annotationOffset= p.getOffset();
-					int annotationLength= p.getLength();
-					IRegion widgetRegion= null;
-					if (visible != null) {
-						annotationOffset= Math.max(p.getOffset(), visible.getOffset());
-						int annotationEnd= Math.min(p.getOffset() + p.getLength(), visible.getOffset() + visible.getLength());
-						annotationLength= annotationEnd - annotationOffset;
-					} else {
-						ITextViewerExtension5 ext= extension;
-						widgetRegion= ext.modelRange2WidgetRange(new Region(annotationOffset, annotationLength));
-						if (widgetRegion == null)
-							continue;
-					}
+			Color stroke= getStrokeColor(histogram.fAnnotationType, histogram.fTemporary);
+			Color fill= fUseSaturatedColors ? stroke : getFillColor(histogram.fAnnotationType, histogram.fTemporary);
+			for (long row : histogram.fRows.keySet()) {
+				yy= (int) (row >>> 32);
+				hh= (int) row;
 
-					if (infos == null) {
-						infos= new WidgetInfos(textWidget, fCanvas);
-						r.x= INSET;
-						r.width= infos.bounds.width - (2 * INSET);
-					}
+				if (fill != null) {
+					gc.setBackground(fill);
+					gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
+				}
 
-					try {
-						@SuppressWarnings("null")
-						int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
-						int startLine= textWidget.getLineAtOffset(startOffset);
-
-						yy= computeY(startLine, infos);
-
-						if (ANNOTATION_HEIGHT_SCALABLE) {
-							int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
-							// don't count empty trailing line
-							IRegion lastLine= document.getLineInformationOfOffset(annotationOffset + annotationLength);
-							if (lastLine.getOffset() == annotationOffset + annotationLength) {
-								numberOfLines--;
-							}
-							if (numberOfLines > 1) {
-								int yy2= computeY(startLine + numberOfLines - 1, infos);
-								hh= Math.max(yy2 - yy, ANNOTATION_HEIGHT);
-							} else {
-								hh= ANNOTATION_HEIGHT;
-							}
-						}
-						fAnnotationHeight= hh;
-
-						if (!areColorsComputed) {
-							stroke= getStrokeColor(annotationType, element == FilterIterator.TEMPORARY);
-							fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, element == FilterIterator.TEMPORARY);
-							areColorsComputed= true;
-						}
-
-						if (fill != null) {
-							gc.setBackground(fill);
-							gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
-						}
-
-						if (stroke != null) {
-							gc.setForeground(stroke);
-							r.y= yy;
-							if (yy + hh == infos.bounds.height)
-								r.y--;
-							r.height= hh;
-							gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
-							gc.drawRectangle(r);
-						}
-					} catch (BadLocationException | IllegalArgumentException x) {
-						// We don't care if the widget's content is changed since the annotation was created
-						// and do not match the annotation line/offset etc
-					}
+				if (stroke != null) {
+					gc.setForeground(stroke);
+					r.y= yy;
+					if (yy + hh == infos.bounds.height)
+						r.y--;
+					r.height= hh;
+					gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
+					gc.drawRectangle(r);
 				}
 			}
 		}
@@ -854,6 +943,287 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * Remembers the widget lines touched by the given document change, so that only the rows of
+	 * the annotations on these lines are computed again. If the change added or removed lines,
+	 * the rows of all annotations move and are computed again.
+	 *
+	 * @param e the text event of the document change
+	 */
+	private void handleDocumentChanged(TextEvent e) {
+		if (fRowHistograms == null)
+			return;
+
+		StyledText textWidget= fTextViewer.getTextWidget();
+		long stamp= e.getDocumentEvent().getModificationStamp();
+		if (textWidget == null || textWidget.getLineCount() != fRowsLineCount || stamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			fRowHistograms= null;
+			return;
+		}
+
+		try {
+			String text= e.getText();
+			int firstLine= textWidget.getLineAtOffset(e.getOffset());
+			int lastLine= textWidget.getLineAtOffset(e.getOffset() + (text != null ? text.length() : 0));
+			if (fFirstChangedLine == -1 || firstLine < fFirstChangedLine)
+				fFirstChangedLine= firstLine;
+			if (lastLine > fLastChangedLine)
+				fLastChangedLine= lastLine;
+			fRowsStamp= stamp;
+		} catch (IllegalArgumentException x) {
+			fRowHistograms= null;
+		}
+	}
+
+	/**
+	 * Returns the row histograms of the cached annotations for the given widget infos. If the
+	 * layout of the text widget did not change, only the rows of the added, removed and changed
+	 * annotations, and of the annotations on changed lines are computed again.
+	 *
+	 * @param infos the cached widget infos, or <code>null</code> if there are no cached annotations
+	 * @return the row histograms, two per layer in layer order, which may be <code>null</code>
+	 */
+	private RowHistogram[] getRowHistograms(WidgetInfos infos) {
+		if (infos == null) {
+			fRowHistograms= null;
+			return new RowHistogram[0];
+		}
+
+		IDocument document= fTextViewer.getDocument();
+		long documentStamp= document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		RowHistogramKey key= new RowHistogramKey(infos.maxLines, infos.thumbHeight, infos.visibleLines, infos.invisibleLines, infos.bounds, infos.writable);
+		if (fAllRowsChanged || fRowHistograms == null || !key.equals(fRowHistogramKey) || documentStamp != fRowsStamp || documentStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			computeRowHistograms(document, infos);
+			fRowHistogramKey= key;
+			fRowsStamp= documentStamp;
+		} else {
+			updateRowHistograms(document, infos);
+		}
+
+		fAnnotationsRecached= false;
+		fFirstChangedLine= -1;
+		fLastChangedLine= -1;
+		return fRowHistograms;
+	}
+
+	/**
+	 * Computes the row histograms of all cached annotations.
+	 *
+	 * @param document the document
+	 * @param infos the cached widget infos
+	 */
+	private void computeRowHistograms(IDocument document, WidgetInfos infos) {
+		fAllRowsChanged= false;
+		fChangedAnnotations.clear();
+		fAnnotationRows.clear();
+		fLayersByType.clear();
+		fRowsLineCount= infos.maxLines;
+
+		int layers= fAnnotationsSortedByLayer.size();
+		fRowHistograms= new RowHistogram[2 * layers];
+		for (int i= 0; i < layers; i++) {
+			Object annotationType= fAnnotationsSortedByLayer.get(i);
+			if (!skip(annotationType)) {
+				fRowHistograms[2 * i]= new RowHistogram(annotationType, false);
+				fRowHistograms[2 * i + 1]= new RowHistogram(annotationType, true);
+			}
+		}
+
+		IRegion visible= getLegacyVisibleRegion();
+		for (Annotation annotation : fCachedAnnotations) {
+			if (!fAnnotationRows.containsKey(annotation))
+				addRow(annotation, computeRow(annotation, document, infos, visible));
+		}
+	}
+
+	/**
+	 * Updates the row histograms for the annotations which have been added, removed or changed,
+	 * and for the annotations on the changed lines.
+	 *
+	 * @param document the document
+	 * @param infos the cached widget infos
+	 */
+	private void updateRowHistograms(IDocument document, WidgetInfos infos) {
+		IRegion visible= getLegacyVisibleRegion();
+
+		if (fAnnotationsRecached) {
+			Set<Annotation> cached= new HashSet<>(fCachedAnnotations);
+			Iterator<Map.Entry<Annotation, AnnotationRow>> e= fAnnotationRows.entrySet().iterator();
+			while (e.hasNext()) {
+				Map.Entry<Annotation, AnnotationRow> entry= e.next();
+				if (!cached.contains(entry.getKey())) {
+					removeRow(entry.getValue());
+					e.remove();
+				}
+			}
+			for (Annotation annotation : fCachedAnnotations) {
+				if (!fAnnotationRows.containsKey(annotation))
+					addRow(annotation, computeRow(annotation, document, infos, visible));
+			}
+		}
+
+		Iterator<Annotation> changed= fChangedAnnotations.iterator();
+		while (changed.hasNext()) {
+			Annotation annotation= changed.next();
+			changed.remove();
+			AnnotationRow row= fAnnotationRows.get(annotation);
+			if (row != null) {
+				removeRow(row);
+				addRow(annotation, computeRow(annotation, document, infos, visible));
+			}
+		}
+
+		if (fFirstChangedLine != -1) {
+			for (Map.Entry<Annotation, AnnotationRow> entry : fAnnotationRows.entrySet()) {
+				AnnotationRow row= entry.getValue();
+				if (row.fFirstLine <= fLastChangedLine && row.fLastLine >= fFirstChangedLine) {
+					removeRow(row);
+					row= computeRow(entry.getKey(), document, infos, visible);
+					entry.setValue(row);
+					for (int layer : row.fLayers)
+						fRowHistograms[2 * layer + (row.fTemporary ? 1 : 0)].add(row.fRow);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the row of the given annotation to the row histograms.
+	 *
+	 * @param annotation the annotation
+	 * @param row the row of the annotation
+	 */
+	private void addRow(Annotation annotation, AnnotationRow row) {
+		fAnnotationRows.put(annotation, row);
+		for (int layer : row.fLayers)
+			fRowHistograms[2 * layer + (row.fTemporary ? 1 : 0)].add(row.fRow);
+	}
+
+	/**
+	 * Removes the given row from the row histograms.
+	 *
+	 * @param row the row of an annotation
+	 */
+	private void removeRow(AnnotationRow row) {
+		for (int layer : row.fLayers)
+			fRowHistograms[2 * layer + (row.fTemporary ? 1 : 0)].remove(row.fRow);
+	}
+
+	/**
+	 * Returns the visible region of a text viewer which does not implement
+	 * {@link ITextViewerExtension5}.
+	 *
+	 * @return the visible region, or <code>null</code> if the viewer maps its ranges itself
+	 */
+	private IRegion getLegacyVisibleRegion() {
+		if (fTextViewer instanceof ITextViewerExtension5)
+			return null;
+		return fTextViewer.getVisibleRegion(); // legacy support
+	}
+
+	/**
+	 * Computes the row of the given annotation.
+	 *
+	 * @param annotation the annotation
+	 * @param document the document
+	 * @param infos the cached widget infos
+	 * @param visible the legacy visible region, or <code>null</code>
+	 * @return the row of the annotation
+	 */
+	private AnnotationRow computeRow(Annotation annotation, IDocument document, WidgetInfos infos, IRegion visible) {
+		int[] layers= fLayersByType.computeIfAbsent(annotation.getType(), this::computeLayers);
+		if (layers.length == 0)
+			return NO_ROW;
+
+		Position p= fModel.getPosition(annotation);
+
+		if (p == null)
+			return NO_ROW;
+		if (visible != null && !p.overlapsWith(visible.getOffset(), visible.getLength()))
+			return NO_ROW;
+
+		int annotationOffset= p.getOffset();
+		int annotationLength= p.getLength();
+		IRegion widgetRegion= null;
+		if (visible != null) {
+			annotationOffset= Math.max(p.getOffset(), visible.getOffset());
+			int annotationEnd= Math.min(p.getOffset() + p.getLength(), visible.getOffset() + visible.getLength());
+			annotationLength= annotationEnd - annotationOffset;
+		} else {
+			ITextViewerExtension5 extension= (ITextViewerExtension5) fTextViewer;
+			widgetRegion= extension.modelRange2WidgetRange(new Region(annotationOffset, annotationLength));
+			if (widgetRegion == null)
+				return NO_ROW;
+		}
+
+		try {
+			StyledText textWidget= fTextViewer.getTextWidget();
+			@SuppressWarnings("null")
+			int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
+			int widgetLength= visible != null ? annotationLength : widgetRegion.getLength();
+			int startLine= textWidget.getLineAtOffset(startOffset);
+			int endLine= textWidget.getLineAtOffset(startOffset + widgetLength);
+
+			int yy= computeY(startLine, infos);
+			int hh= ANNOTATION_HEIGHT;
+
+			if (ANNOTATION_HEIGHT_SCALABLE) {
+				int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
+				// don't count empty trailing line
+				IRegion lastLine= document.getLineInformationOfOffset(annotationOffset + annotationLength);
+				if (lastLine.getOffset() == annotationOffset + annotationLength) {
+					numberOfLines--;
+				}
+				if (numberOfLines > 1) {
+					int yy2= computeY(startLine + numberOfLines - 1, infos);
+					hh= Math.max(yy2 - yy, ANNOTATION_HEIGHT);
+				}
+			}
+			fAnnotationHeight= hh;
+
+			return new AnnotationRow(startLine, endLine, ((long) yy << 32) | hh, layers, !annotation.isPersistent());
+		} catch (BadLocationException | IllegalArgumentException x) {
+			// We don't care if the widget's content is changed since the annotation was created
+			// and do not match the annotation line/offset etc
+			return INVALID_ROW;
+		}
+	}
+
+	/**
+	 * Computes the indices of the layers which show the given annotation type.
+	 *
+	 * @param annotationType the annotation type
+	 * @return the layer indices in ascending order
+	 */
+	private int[] computeLayers(Object annotationType) {
+		int[] layers= new int[fAnnotationsSortedByLayer.size()];
+		int count= 0;
+		for (int i= 0; i < layers.length; i++) {
+			if (fRowHistograms[2 * i] == null)
+				continue;
+
+			Object layerType= fAnnotationsSortedByLayer.get(i);
+			if (layerType.equals(annotationType) || !fConfiguredAnnotationTypes.contains(annotationType) && isSubtype(annotationType, layerType))
+				layers[count++]= i;
+		}
+		return Arrays.copyOf(layers, count);
+	}
+
+	/**
+	 * Tells whether the given annotation type is a subtype of the given ruler annotation type.
+	 *
+	 * @param annotationType the annotation type
+	 * @param rulerType the annotation type configured for this ruler
+	 * @return <code>true</code> if <code>annotationType</code> is a subtype of <code>rulerType</code>
+	 */
+	private boolean isSubtype(Object annotationType, Object rulerType) {
+		if (fAnnotationAccess instanceof IAnnotationAccessExtension) {
+			IAnnotationAccessExtension extension= (IAnnotationAccessExtension) fAnnotationAccess;
+			return extension.isSubtype(annotationType, rulerType);
+		}
+		return rulerType.equals(annotationType);
+	}
+
 	/**
 	 * Computes and returns the y location of the given startLine.
 	 *
@@ -1173,6 +1543,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.add(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		fAnnotationsChanged= true;
+		fAllRowsChanged= true;
 	}
 
 	@Override
@@ -1181,6 +1553,8 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fConfiguredAnnotationTypes.remove(annotationType);
 			fAllowedAnnotationTypes.clear();
 		}
+		fAnnotationsChanged= true;
+		fAllRowsChanged= true;
 	}
 
 	@Override
@@ -1200,6 +1574,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 			fLayersSortedByLayer.add(i, layerObj);
 			fAnnotationsSortedByLayer.add(i, annotationType);
 		}
+		fRowHistograms= null;
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,11 @@ package org.eclipse.ltk.core.refactoring;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -27,6 +30,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.SubMonitor;
 
+import org.eclipse.ltk.internal.core.refactoring.ParallelChanges;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
 import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
 
@@ -47,6 +51,7 @@ public class CompositeChange extends Change {
 	private String fName;
 	private List<Change> fChanges;
 	private boolean fIsSynthetic;
+	private boolean fParallelExecution;
 	private Change fUndoUntilException;
 
 	/**
@@ -96,6 +101,44 @@ public class CompositeChange extends Change {
 		fIsSynthetic= true;
 	}
 
+	/**
+	 * Returns whether this change uses the parallel execution mode. The mode is
+	 * either enabled on this change or inherited from the parent composite change.
+	 *
+	 * @return <code>true</code> if the parallel execution mode is used; otherwise
+	 *  <code>false</code>
+	 *
+	 * @see #setParallelExecution(boolean)
+	 * @since 3.16
+	 */
+	public boolean isParallelExecution() {
+		if (fParallelExecution)
+			return true;
+		Change parent= getParent();
+		return parent instanceof CompositeChange && ((CompositeChange) parent).isParallelExecution();
+	}
+
+	/**
+	 * Enables or disables the parallel execution mode for this change and all
+	 * composite changes contained in it.
+	 * <p>
+	 * In parallel execution mode the state of the files of the children that are
+	 * {@link TextFileChange}s changing a file no other child changes is checked
+	 * concurrently, and their file buffers are loaded concurrently ahead of
+	 * performing them. The children are still validated, the edits are still
+	 * applied and the undo change is still constructed in the order of the
+	 * children.
+	 * </p>
+	 *
+	 * @param parallel <code>true</code> to enable the parallel execution mode;
+	 *  otherwise <code>false</code>
+	 *
+	 * @since 3.16
+	 */
+	public void setParallelExecution(boolean parallel) {
+		fParallelExecution= parallel;
+	}
+
 	@Override
 	public String getName() {
 		return fName;
@@ -227,6 +270,12 @@ public class CompositeChange extends Change {
 	 * will not receive the <code>isValid</code> call.
 	 * </p>
 	 * <p>
+	 * In {@link #isParallelExecution() parallel execution mode} the state of the
+	 * files of the independent text file changes is checked concurrently up front.
+	 * The children are still validated in order, and the children after the first
+	 * fatal error do not receive the <code>isValid</code> call either.
+	 * </p>
+	 * <p>
 	 * Client are allowed to extend this method.
 	 * </p>
 	 */
@@ -235,13 +284,42 @@ public class CompositeChange extends Change {
 		RefactoringStatus result= new RefactoringStatus();
 
 		SubMonitor subMonitor= SubMonitor.convert(pm, fChanges.size());
-		for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext() && !result.hasFatalError();) {
-			Change change= iter.next();
-			if (change.isEnabled()) {
-				result.merge(change.isValid(subMonitor.split(1)));
-			} else {
-				pm.worked(1);
+		Map<Change, Future<RefactoringStatus>> states= isParallelExecution() ? checkFileStates() : Collections.emptyMap();
+		try {
+			for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext() && !result.hasFatalError();) {
+				Change change= iter.next();
+				Future<RefactoringStatus> state= states.get(change);
+				if (state != null) {
+					RefactoringStatus status= ParallelChanges.get(state, subMonitor.split(1));
+					status.merge(((TextFileChange) change).validateModification());
+					result.merge(status);
+				} else if (change.isEnabled()) {
+					result.merge(change.isValid(subMonitor.split(1)));
+				} else {
+					pm.worked(1);
+				}
 			}
+		} finally {
+			ParallelChanges.cancel(states.values());
+		}
+		return result;
+	}
+
+	/**
+	 * Starts checking the state of the files of the independent text file changes
+	 * whose validation has no side effects apart from
+	 * {@link TextFileChange#validateModification()}.
+	 *
+	 * @return the future states of the checked changes
+	 */
+	private Map<Change, Future<RefactoringStatus>> checkFileStates() {
+		List<TextFileChange> fileChanges= ParallelChanges.getIndependentFileChanges(fChanges);
+		if (fileChanges.size() < 2)
+			return Collections.emptyMap();
+		Map<Change, Future<RefactoringStatus>> result= new IdentityHashMap<>();
+		for (TextFileChange change : fileChanges) {
+			if (ParallelChanges.hasDefaultValidation(change))
+				result.put(change, ParallelChanges.submit(change::checkState));
 		}
 		return result;
 	}
@@ -256,6 +334,11 @@ public class CompositeChange extends Change {
 	 * undo objects of all executed children.
 	 * </p>
 	 * <p>
+	 * In {@link #isParallelExecution() parallel execution mode} the file buffers of
+	 * the independent text file changes are loaded concurrently in chunks ahead of
+	 * performing them.
+	 * </p>
+	 * <p>
 	 * Client are allowed to extend this method.
 	 * </p>
 	 */
@@ -266,6 +349,9 @@ public class CompositeChange extends Change {
 		SubMonitor sm= SubMonitor.convert(pm, RefactoringCoreMessages.CompositeChange_performingChangesTask_name, fChanges.size());
 		Change change= null;
 		boolean canceled= false;
+		ParallelChanges.Prefetcher prefetcher= null;
+		if (isParallelExecution())
+			prefetcher= new ParallelChanges.Prefetcher(ParallelChanges.getIndependentFileChanges(fChanges));
 		try {
 			for (Iterator<Change> iter= fChanges.iterator(); iter.hasNext();) {
 				change= iter.next();
@@ -273,6 +359,8 @@ public class CompositeChange extends Change {
 					continue;
 
 				if (change.isEnabled()) {
+					if (prefetcher != null)
+						prefetcher.aboutToPerform(change);
 					Change undoChange= null;
 					try {
 						undoChange= change.perform(sm.split(1));
@@ -322,6 +410,8 @@ public class CompositeChange extends Change {
 			internalHandleException(change, e);
 			throw e;
 		} finally {
+			if (prefetcher != null)
+				prefetcher.release();
 			pm.done();
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -72,6 +72,7 @@ public class PerformChangeOperation implements IWorkspaceRunnable {
 	private boolean fChangeExecuted;
 	private boolean fChangeExecutionFailed;
 	private ISchedulingRule fSchedulingRule;
+	private boolean fParallelExecution;
 
 	/**
 	 * Creates a new perform change operation instance for the given change.
@@ -195,6 +196,20 @@ public class PerformChangeOperation implements IWorkspaceRunnable {
 		fSchedulingRule= rule;
 	}
 
+	/**
+	 * Sets whether a {@link CompositeChange} executed by this operation uses the
+	 * {@link CompositeChange#setParallelExecution(boolean) parallel execution mode}.
+	 * The mode is only enabled while the change is executed by this operation. If
+	 * not set then the mode of the change itself is used.
+	 *
+	 * @param parallel <code>true</code> to check and prepare independent file
+	 *  changes in parallel; otherwise <code>false</code>
+	 * @since 3.16
+	 */
+	public void setParallelExecution(boolean parallel) {
+		fParallelExecution= parallel;
+	}
+
 	@Override
 	public void run(IProgressMonitor pm) throws CoreException {
 		SubMonitor subMon= SubMonitor.convert(pm, 4);
@@ -281,7 +296,18 @@ public class PerformChangeOperation implements IWorkspaceRunnable {
 				monitor.done();
 			}
 		};
-		ResourcesPlugin.getWorkspace().run(runnable, fSchedulingRule, IWorkspace.AVOID_UPDATE, pm);
+		// only enable the parallel execution mode for this run, the change belongs to the client
+		CompositeChange parallelChange= null;
+		if (fParallelExecution && fChange instanceof CompositeChange && !((CompositeChange) fChange).isParallelExecution())
+			parallelChange= (CompositeChange) fChange;
+		if (parallelChange != null)
+			parallelChange.setParallelExecution(true);
+		try {
+			ResourcesPlugin.getWorkspace().run(runnable, fSchedulingRule, IWorkspace.AVOID_UPDATE, pm);
+		} finally {
+			if (parallelChange != null)
+				parallelChange.setParallelExecution(false);
+		}
 	}
 
 	private boolean createChange() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -186,23 +186,46 @@ public class TextFileChange extends TextChange {
 			monitor= new NullProgressMonitor();
 		try {
 			monitor.beginTask("", 1); //$NON-NLS-1$
-			if (fValidationState == null)
-				throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "TextFileChange has not been initialialized")); //$NON-NLS-1$
-
-			boolean needsSaving= needsSaving();
-			RefactoringStatus result= fValidationState.isValid(needsSaving);
-			if (needsSaving) {
-				result.merge(Changes.validateModifiesFiles(new IFile[] { fFile}));
-			} else {
-				// we are reading the file. So it should be at least in sync
-				result.merge(Changes.checkInSync(new IFile[] { fFile}));
-			}
+			RefactoringStatus result= checkState();
+			result.merge(validateModification());
 			return result;
 		} finally {
 			monitor.done();
 		}
 	}
 
+	/**
+	 * The part of {@link #isValid(IProgressMonitor)} which has no side effects. It only reads
+	 * the state of the file, so it may run concurrently for changes of different files.
+	 *
+	 * @return the status of the file
+	 * @throws CoreException if the change has not been initialized
+	 */
+	RefactoringStatus checkState() throws CoreException {
+		if (fValidationState == null)
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), "TextFileChange has not been initialialized")); //$NON-NLS-1$
+
+		boolean needsSaving= needsSaving();
+		RefactoringStatus result= fValidationState.isValid(needsSaving);
+		if (!needsSaving) {
+			// we are reading the file. So it should be at least in sync
+			result.merge(Changes.checkInSync(new IFile[] { fFile}));
+		}
+		return result;
+	}
+
+	/**
+	 * The part of {@link #isValid(IProgressMonitor)} which may have side effects, like checking
+	 * out the file from a repository.
+	 *
+	 * @return the status of making the file modifiable
+	 */
+	RefactoringStatus validateModification() {
+		if (needsSaving())
+			return Changes.validateModifiesFiles(new IFile[] { fFile});
+		return new RefactoringStatus();
+	}
+
 	@Override
 	public void dispose() {
 		if (fValidationState != null) {
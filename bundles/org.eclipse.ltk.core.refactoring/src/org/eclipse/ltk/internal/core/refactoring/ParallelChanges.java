@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+
+/**
+ * Helper for the parallel execution mode of {@link CompositeChange}.
+ * <p>
+ * Only text file changes which are independent of the other children of a composite change
+ * are processed in parallel, i.e. text file changes whose file is not changed by any other
+ * child. Checking the state of such changes and loading their file buffers touches disjoint
+ * files and can therefore run concurrently. The side effects of the validation, applying the
+ * edits and constructing the undo changes are still done by the composite change in the
+ * order of its children.
+ * </p>
+ */
+public final class ParallelChanges {
+
+	/**
+	 * The number of files whose buffers are loaded ahead while performing a composite change.
+	 * Limits the number of documents that are kept in memory at the same time.
+	 */
+	private static final int PREFETCH_CHUNK_SIZE= 256;
+
+	private static final int MAX_THREADS= Math.max(1, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The executor shared by all composite changes. Its threads terminate when they are idle.
+	 */
+	private static final ThreadPoolExecutor EXECUTOR;
+
+	static {
+		AtomicInteger threadCount= new AtomicInteger();
+		EXECUTOR= new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, "Refactoring Change Validation #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	private static final ClassValue<Boolean> DEFAULT_VALIDATION= new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			try {
+				return Boolean.valueOf(type.getMethod("isValid", IProgressMonitor.class).getDeclaringClass() == TextFileChange.class); //$NON-NLS-1$
+			} catch (NoSuchMethodException e) {
+				return Boolean.FALSE;
+			}
+		}
+	};
+
+	/**
+	 * Loads the file buffers of independent text file changes in chunks ahead of their
+	 * execution. The buffers are connected in bulk, so that their content is read and their
+	 * documents are created in parallel. Acquiring the document while performing the change
+	 * then only increments the reference count of the already connected buffer.
+	 */
+	public static final class Prefetcher {
+
+		private final List<TextFileChange> fChanges;
+		private final Map<Change, Integer> fIndices= new IdentityHashMap<>();
+		private List<IPath> fConnected= new ArrayList<>();
+		private int fNext;
+
+		public Prefetcher(List<TextFileChange> changes) {
+			fChanges= changes;
+			for (int i= 0; i < changes.size(); i++)
+				fIndices.put(changes.get(i), Integer.valueOf(i));
+		}
+
+		/**
+		 * Called before the given change gets performed. Connects the buffers of the next
+		 * chunk of text file changes if the given change has not been prefetched yet.
+		 *
+		 * @param change the change about to be performed
+		 */
+		public void aboutToPerform(Change change) {
+			Integer index= fIndices.get(change);
+			if (index == null || index.intValue() < fNext)
+				return;
+
+			release();
+			int end= Math.min(fChanges.size(), index.intValue() + PREFETCH_CHUNK_SIZE);
+			List<IPath> paths= new ArrayList<>(end - index.intValue());
+			for (int i= index.intValue(); i < end; i++)
+				paths.add(fChanges.get(i).getFile().getFullPath());
+			fNext= end;
+			try {
+				FileBuffers.getTextFileBufferManager().connect(paths, LocationKind.IFILE, null);
+				fConnected= paths;
+			} catch (CoreException | OperationCanceledException e) {
+				// nothing got connected, the changes report the problem when they get performed
+			}
+		}
+
+		/**
+		 * Disconnects all file buffers connected by this prefetcher.
+		 */
+		public void release() {
+			if (fConnected.isEmpty())
+				return;
+			List<IPath> connected= fConnected;
+			fConnected= new ArrayList<>();
+			try {
+				FileBuffers.getTextFileBufferManager().disconnect(connected, LocationKind.IFILE, null);
+			} catch (CoreException e) {
+				RefactoringCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the enabled text file changes among the given changes whose file is not
+	 * changed by any other of the given changes.
+	 *
+	 * @param changes the children of a composite change
+	 * @return the independent text file changes in the order of the given changes
+	 */
+	public static List<TextFileChange> getIndependentFileChanges(List<Change> changes) {
+		Map<IPath, Integer> fileCounts= new HashMap<>();
+		Set<IPath> otherResources= new HashSet<>();
+		for (Change change : changes) {
+			if (change instanceof TextFileChange) {
+				fileCounts.merge(((TextFileChange) change).getFile().getFullPath(), Integer.valueOf(1), Integer::sum);
+			} else {
+				Object[] affectedObjects= change.getAffectedObjects();
+				if (affectedObjects == null) // unknown effect, nothing is independent
+					return new ArrayList<>();
+				for (Object affectedObject : affectedObjects) {
+					if (affectedObject instanceof IResource)
+						otherResources.add(((IResource) affectedObject).getFullPath());
+				}
+			}
+		}
+
+		List<TextFileChange> result= new ArrayList<>();
+		for (Change change : changes) {
+			if (!(change instanceof TextFileChange) || !change.isEnabled())
+				continue;
+			IPath path= ((TextFileChange) change).getFile().getFullPath();
+			if (fileCounts.get(path).intValue() == 1 && !isAffected(path, otherResources))
+				result.add((TextFileChange) change);
+		}
+		return result;
+	}
+
+	private static boolean isAffected(IPath path, Set<IPath> resources) {
+		for (IPath current= path; current.segmentCount() > 0; current= current.removeLastSegments(1)) {
+			if (resources.contains(current))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the given change validates itself like {@link TextFileChange}, i.e. does not
+	 * override {@link Change#isValid(IProgressMonitor)}.
+	 *
+	 * @param change the change
+	 * @return <code>true</code> if the validation of the change is the one of
+	 *         {@link TextFileChange}
+	 */
+	public static boolean hasDefaultValidation(TextFileChange change) {
+		return DEFAULT_VALIDATION.get(change.getClass()).booleanValue();
+	}
+
+	/**
+	 * Runs the given task on the shared executor.
+	 *
+	 * @param task the task
+	 * @return the future of the result of the task
+	 */
+	public static <T> Future<T> submit(Callable<T> task) {
+		return EXECUTOR.submit(task);
+	}
+
+	/**
+	 * Waits for the result of a task submitted with {@link #submit(Callable)}.
+	 *
+	 * @param future the future of the task
+	 * @param pm the progress monitor, checked for cancellation while waiting
+	 * @return the result of the task
+	 * @throws CoreException if the task failed
+	 */
+	public static <T> T get(Future<T> future, IProgressMonitor pm) throws CoreException {
+		try {
+			while (true) {
+				if (pm != null && pm.isCanceled())
+					throw new OperationCanceledException();
+				try {
+					return future.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// check for cancellation again
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.INTERNAL_ERROR, cause.getMessage(), cause));
+		}
+	}
+
+	/**
+	 * Cancels the given tasks which have not started yet.
+	 *
+	 * @param futures the futures of the tasks
+	 */
+	public static void cancel(Collection<? extends Future<?>> futures) {
+		for (Future<?> future : futures)
+			future.cancel(false);
+	}
+
+	private ParallelChanges() {
+	}
+}
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.internal.core.refactoring.history;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+import org.eclipse.core.filesystem.IFileStore;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.ltk.core.refactoring.IRefactoringCoreStatusCodes;
+import org.eclipse.ltk.core.refactoring.RefactoringDescriptorProxy;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCoreMessages;
+import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
+
+/**
+ * In-memory index of a refactoring history store.
+ * <p>
+ * The refactoring history is partitioned into one store per project plus one
+ * for the workspace. Each store consists of time-ordered segments, one per
+ * week, whose refactorings are listed in an index file. The index keeps the
+ * content of the index files as compact sorted arrays and maps the first time
+ * stamp of each segment to the segment, so that a query for a time range only
+ * visits the segments intersecting the range.
+ * </p>
+ * <p>
+ * The store is only searched for index files again after it has been
+ * invalidated, either by the refactoring history manager and service after
+ * writing, moving or deleting files of the store, or by a resource change
+ * below the history folder of a project. An index file is then only read again
+ * if its modification time or length changed since it got loaded, or if it got
+ * written in the meantime.
+ * </p>
+ *
+ * @since 3.16
+ */
+final class RefactoringHistoryIndex {
+
+	/** A segment of the history, backed by one index file */
+	private static final class Segment {
+
+		/** The descriptions of the refactorings, sorted by time stamp */
+		final String[] fDescriptions;
+
+		/** The length of the index file when it was read */
+		final long fLength;
+
+		/** The modification time of the index file when it was read */
+		final long fModified;
+
+		/** The time stamps of the refactorings in ascending order */
+		final long[] fStamps;
+
+		Segment(final RefactoringDescriptorProxy[] proxies, final long modified, final long length) {
+			RefactoringHistoryManager.sortRefactoringDescriptorsAscending(proxies);
+			fStamps= new long[proxies.length];
+			fDescriptions= new String[proxies.length];
+			for (int index= 0; index < proxies.length; index++) {
+				fStamps[index]= proxies[index].getTimeStamp();
+				fDescriptions[index]= proxies[index].getDescription();
+			}
+			fModified= modified;
+			fLength= length;
+		}
+
+		long getFirstStamp() {
+			return fStamps.length > 0 ? fStamps[0] : Long.MAX_VALUE;
+		}
+
+		boolean isUpToDate(final IFileInfo info) {
+			return info.getLastModified() == fModified && info.getLength() == fLength;
+		}
+	}
+
+	/** Maximal number of cached indices */
+	private static final int MAX_INDICES= 16;
+
+	/** The index cache */
+	private static final Map<IFileStore, RefactoringHistoryIndex> fgIndices= new LinkedHashMap<>(MAX_INDICES, 0.75f, true) {
+
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<IFileStore, RefactoringHistoryIndex> entry) {
+			return size() > MAX_INDICES;
+		}
+	};
+
+	/**
+	 * Returns the index of the specified history store.
+	 *
+	 * @param store
+	 *            the history file store
+	 * @param project
+	 *            the non-empty name of the project, or <code>null</code> for
+	 *            the workspace
+	 * @return the index of the history store
+	 */
+	static RefactoringHistoryIndex getIndex(final IFileStore store, final String project) {
+		Assert.isNotNull(store);
+		synchronized (fgIndices) {
+			RefactoringHistoryIndex index= fgIndices.get(store);
+			if (index == null || !Objects.equals(index.fProject, project)) {
+				index= new RefactoringHistoryIndex(store, project);
+				fgIndices.put(store, index);
+			}
+			return index;
+		}
+	}
+
+	/** The name of the project, or <code>null</code> for the workspace */
+	private final String fProject;
+
+	/** The segments by their first time stamp */
+	private final NavigableMap<Long, Segment> fSegments= new TreeMap<>();
+
+	/** The segments by their index file */
+	private final Map<IFileStore, Segment> fSegmentsByFile= new HashMap<>();
+
+	/** Whether the store has to be searched for index files again */
+	private boolean fStale= true;
+
+	/** The history file store */
+	private final IFileStore fStore;
+
+	private RefactoringHistoryIndex(final IFileStore store, final String project) {
+		fStore= store;
+		fProject= project;
+	}
+
+	/**
+	 * Adds the proxies of all refactorings within the specified time range to
+	 * the collection.
+	 *
+	 * @param start
+	 *            the start time stamp, inclusive
+	 * @param end
+	 *            the end time stamp, inclusive
+	 * @param collection
+	 *            the collection of proxies
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the index files
+	 */
+	synchronized void collectProxies(final long start, final long end, final Collection<RefactoringDescriptorProxy> collection, final IProgressMonitor monitor) throws CoreException {
+		refresh(monitor);
+		final Long first= fSegments.floorKey(Long.valueOf(start));
+		final NavigableMap<Long, Segment> candidates= first != null ? fSegments.subMap(first, true, Long.valueOf(end), true) : fSegments.headMap(Long.valueOf(end), true);
+		for (Segment segment : candidates.values()) {
+			int index= Arrays.binarySearch(segment.fStamps, start);
+			if (index < 0)
+				index= -index - 1;
+			else {
+				// several refactorings may share a time stamp
+				while (index > 0 && segment.fStamps[index - 1] == start)
+					index--;
+			}
+			for (; index < segment.fStamps.length && segment.fStamps[index] <= end; index++)
+				collection.add(new DefaultRefactoringDescriptorProxy(segment.fDescriptions[index], fProject, segment.fStamps[index]));
+		}
+	}
+
+	/**
+	 * Invalidates all cached indices of stores containing or contained in the
+	 * specified file store, which forces them to search their store again on
+	 * the next query. If the file store is an index file, it is read again as
+	 * well.
+	 * <p>
+	 * This is necessary after writing an index file, since its modification
+	 * time and length do not necessarily change.
+	 * </p>
+	 *
+	 * @param file
+	 *            the changed file store
+	 */
+	static void invalidate(final IFileStore file) {
+		final RefactoringHistoryIndex[] indices;
+		synchronized (fgIndices) {
+			indices= fgIndices.values().toArray(new RefactoringHistoryIndex[fgIndices.size()]);
+		}
+		for (RefactoringHistoryIndex index : indices) {
+			if (index.fStore.equals(file) || index.fStore.isParentOf(file) || file.isParentOf(index.fStore))
+				index.invalidateSegment(file);
+		}
+	}
+
+	/**
+	 * Synchronizes the segments with the index files of the history store, if
+	 * the index has been invalidated.
+	 *
+	 * @param monitor
+	 *            the progress monitor to use
+	 * @throws CoreException
+	 *             if an error occurs while reading the index files
+	 */
+	private void refresh(final IProgressMonitor monitor) throws CoreException {
+		if (!fStale)
+			return;
+		final SubMonitor subMonitor= SubMonitor.convert(monitor, RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 2);
+		final Set<IFileStore> visited= new HashSet<>();
+		if (fStore.fetchInfo(EFS.NONE, subMonitor.split(1)).exists())
+			refresh(fStore, visited, subMonitor.split(1));
+		for (final Iterator<Map.Entry<IFileStore, Segment>> iterator= fSegmentsByFile.entrySet().iterator(); iterator.hasNext();) {
+			final Map.Entry<IFileStore, Segment> entry= iterator.next();
+			if (!visited.contains(entry.getKey())) {
+				fSegments.values().remove(entry.getValue());
+				iterator.remove();
+			}
+		}
+		fStale= false;
+	}
+
+	private void refresh(final IFileStore store, final Set<IFileStore> visited, final IProgressMonitor monitor) throws CoreException {
+		final IFileStore[] stores= store.childStores(EFS.NONE, null);
+		final SubMonitor subMonitor= SubMonitor.convert(monitor, stores.length);
+		for (IFileStore child : stores) {
+			final IFileInfo info= child.fetchInfo(EFS.NONE, null);
+			if (info.isDirectory())
+				refresh(child, visited, subMonitor.split(1));
+			else {
+				if (info.exists() && RefactoringHistoryService.NAME_INDEX_FILE.equalsIgnoreCase(child.getName())) {
+					visited.add(child);
+					final Segment segment= fSegmentsByFile.get(child);
+					if (segment == null || !segment.isUpToDate(info)) {
+						if (segment != null)
+							fSegments.values().remove(segment);
+						final Segment current= readSegment(child, info);
+						fSegmentsByFile.put(child, current);
+						if (current.fStamps.length > 0)
+							fSegments.put(Long.valueOf(current.getFirstStamp()), current);
+					}
+				}
+				subMonitor.worked(1);
+			}
+		}
+	}
+
+	private synchronized void invalidateSegment(final IFileStore file) {
+		final Segment segment= fSegmentsByFile.remove(file);
+		if (segment != null)
+			fSegments.values().remove(segment);
+		fStale= true;
+	}
+
+	private Segment readSegment(final IFileStore file, final IFileInfo info) throws CoreException {
+		try (InputStream stream= file.openInputStream(EFS.NONE, null)) {
+			return new Segment(RefactoringHistoryManager.readRefactoringDescriptorProxies(stream, fProject, 0, Long.MAX_VALUE), info.getLastModified(), info.getLength());
+		} catch (IOException exception) {
+			throw new CoreException(new Status(IStatus.ERROR, RefactoringCorePlugin.getPluginId(), IRefactoringCoreStatusCodes.REFACTORING_HISTORY_IO_ERROR, exception.getLocalizedMessage(), exception));
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -354,7 +354,11 @@ public final class RefactoringHistoryManager {
 				}
 			}
 			final IFileStore parent= store.getParent();
-			store.delete(0, subMon.newChild(1, SubMonitor.SUPPRESS_SUBTASK));
+			try {
+				store.delete(0, subMon.newChild(1, SubMonitor.SUPPRESS_SUBTASK));
+			} finally {
+				RefactoringHistoryIndex.invalidate(store);
+			}
 			removeIndexTree(parent, subMon.newChild(12, SubMonitor.SUPPRESS_SUBTASK), task);
 		} finally {
 			subMon.done();
@@ -510,6 +514,8 @@ public final class RefactoringHistoryManager {
 					// Do nothing
 				}
 			}
+			// only after closing, so that a concurrent query does not cache a partial index
+			RefactoringHistoryIndex.invalidate(file);
 		}
 	}
 
@@ -921,11 +927,9 @@ public final class RefactoringHistoryManager {
 			SubMonitor subMon= SubMonitor.convert(monitor, RefactoringCoreMessages.RefactoringHistoryService_retrieving_history, 200);
 			final Set<RefactoringDescriptorProxy> set= new HashSet<>();
 			try {
-				if (fHistoryStore.fetchInfo(EFS.NONE, subMon.newChild(20, SubMonitor.SUPPRESS_SUBTASK)).exists())
-					readRefactoringDescriptorProxies(fHistoryStore, fProjectName, set, start, end, subMon.newChild(80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				RefactoringHistoryIndex.getIndex(fHistoryStore, fProjectName).collectProxies(start, end, set, subMon.newChild(100));
 				final IFileStore store= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(RefactoringHistoryService.NAME_HISTORY_FOLDER).getChild(RefactoringHistoryService.NAME_WORKSPACE_PROJECT);
-				if (store.fetchInfo(EFS.NONE, subMon.newChild(20, SubMonitor.SUPPRESS_SUBTASK)).exists())
-					readRefactoringDescriptorProxies(store, null, set, start, end, subMon.newChild(80), RefactoringCoreMessages.RefactoringHistoryService_retrieving_history);
+				RefactoringHistoryIndex.getIndex(store, null).collectProxies(start, end, set, subMon.newChild(100));
 			} catch (CoreException exception) {
 				RefactoringCorePlugin.log(exception);
 			}
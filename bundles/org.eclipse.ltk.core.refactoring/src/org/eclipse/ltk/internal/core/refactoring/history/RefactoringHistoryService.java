@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -269,6 +269,8 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 						}
 					}
 				} finally {
+					RefactoringHistoryIndex.invalidate(EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation()).getChild(NAME_HISTORY_FOLDER).getChild(name));
+					RefactoringHistoryIndex.invalidate(EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER));
 					if (enable)
 						project.refreshLocal(IResource.DEPTH_INFINITE, subMonitor.newChild(30));
 					else {
@@ -504,15 +506,21 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 			final IFileStore stateStore= EFS.getLocalFileSystem().getStore(RefactoringCorePlugin.getDefault().getStateLocation());
 			if (NAME_WORKSPACE_PROJECT.equals(name)) {
 				final IFileStore metaStore= stateStore.getChild(NAME_HISTORY_FOLDER).getChild(name);
-				metaStore.delete(EFS.NONE, subMonitor.newChild(100));
+				try {
+					metaStore.delete(EFS.NONE, subMonitor.newChild(100));
+				} finally {
+					RefactoringHistoryIndex.invalidate(metaStore);
+				}
 			} else {
 				final URI uri= project.getLocationURI();
 				if (uri != null && project.isAccessible()) {
 					try {
 						final IFileStore metaStore= stateStore.getChild(NAME_HISTORY_FOLDER).getChild(name);
 						metaStore.delete(EFS.NONE, subMonitor.newChild(20));
+						RefactoringHistoryIndex.invalidate(metaStore);
 						final IFileStore projectStore= EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER);
 						projectStore.delete(EFS.NONE, subMonitor.newChild(20));
+						RefactoringHistoryIndex.invalidate(projectStore);
 					} finally {
 						project.refreshLocal(IResource.DEPTH_INFINITE, subMonitor.newChild(60));
 					}
@@ -837,7 +845,12 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 				final IFileStore newStore= historyStore.getChild(newName);
 				if (newStore.fetchInfo(EFS.NONE, subMonitor.newChild(10, SubMonitor.SUPPRESS_SUBTASK)).exists())
 					newStore.delete(EFS.NONE, subMonitor.newChild(20, SubMonitor.SUPPRESS_SUBTASK));
-				oldStore.move(newStore, EFS.OVERWRITE, subMonitor.newChild(20, SubMonitor.SUPPRESS_SUBTASK));
+				try {
+					oldStore.move(newStore, EFS.OVERWRITE, subMonitor.newChild(20, SubMonitor.SUPPRESS_SUBTASK));
+				} finally {
+					RefactoringHistoryIndex.invalidate(oldStore);
+					RefactoringHistoryIndex.invalidate(newStore);
+				}
 			}
 		} catch (CoreException exception) {
 			RefactoringCorePlugin.log(exception);
@@ -851,6 +864,7 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 		if ((type & IResourceChangeEvent.POST_CHANGE) != 0) {
 			final IResourceDelta delta= event.getDelta();
 			if (delta != null) {
+				invalidateSharedHistories(delta);
 				final IResourceDelta[] deltas= delta.getAffectedChildren();
 				if (deltas.length == 2) {
 					final IPath toPath= deltas[0].getMovedToPath();
@@ -873,6 +887,28 @@ public final class RefactoringHistoryService implements IRefactoringHistoryServi
 		}
 	}
 
+	/**
+	 * Invalidates the indices of the shared refactoring histories changed by
+	 * the specified resource delta, for example by a team update.
+	 *
+	 * @param delta
+	 *            the resource delta of the workspace root
+	 */
+	private static void invalidateSharedHistories(final IResourceDelta delta) {
+		for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+			if (projectDelta.findMember(IPath.fromOSString(NAME_HISTORY_FOLDER)) != null) {
+				final URI uri= projectDelta.getResource().getLocationURI();
+				if (uri != null) {
+					try {
+						RefactoringHistoryIndex.invalidate(EFS.getStore(uri).getChild(NAME_HISTORY_FOLDER));
+					} catch (CoreException exception) {
+						RefactoringCorePlugin.log(exception);
+					}
+				}
+			}
+		}
+	}
+
 	private RefactoringDescriptor getRefactoringDescriptor(IUndoableOperation operation) {
 		if (operation instanceof TriggeredOperations) {
 			operation= ((TriggeredOperations) operation).getTriggeringOperation();
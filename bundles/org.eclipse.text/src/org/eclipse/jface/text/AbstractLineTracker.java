@@ -188,7 +188,7 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 *
 	 * @since 3.2
 	 */
-	private volatile ILineTracker fDelegate= new ListLineTracker() {
+	private final ILineTracker fDelegate= new ChunkedLineTracker() {
 		@Override
 		public String[] getLegalLineDelimiters() {
 			return AbstractLineTracker.this.getLegalLineDelimiters();
@@ -198,11 +198,12 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
 			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
 		}
+
+		@Override
+		protected boolean hasDefaultDelimiters() {
+			return AbstractLineTracker.this.getClass() == DefaultLineTracker.class;
+		}
 	};
-	/**
-	 * Whether the delegate needs conversion when the line structure is modified.
-	 */
-	private boolean fNeedsConversion= true;
 
 	/**
 	 * Creates a new line tracker.
@@ -285,33 +286,9 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 			return;
 		}
 
-		checkImplementation();
-
 		fDelegate.replace(offset, length, text);
 	}
 
-	/**
-	 * Converts the implementation to be a {@link TreeLineTracker} if it isn't yet.
-	 *
-	 * @since 3.2
-	 */
-	private synchronized void checkImplementation() {
-		if (fNeedsConversion) {
-			fNeedsConversion= false;
-			fDelegate= new TreeLineTracker((ListLineTracker) fDelegate) {
-				@Override
-				protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
-					return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
-				}
-
-				@Override
-				public String[] getLegalLineDelimiters() {
-					return AbstractLineTracker.this.getLegalLineDelimiters();
-				}
-			};
-		}
-	}
-
 	/**
 	 * Returns the information about the first delimiter found in the given text starting at the
 	 * given offset.
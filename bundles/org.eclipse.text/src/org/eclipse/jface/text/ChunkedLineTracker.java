@@ -0,0 +1,660 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
+
+/**
+ * Abstract implementation of <code>ILineTracker</code> storing the lines in chunks of primitive
+ * arrays. It lets the definition of line delimiters to subclasses. The last line and only the last
+ * line has no delimiter, it is empty if the text ends with a delimiter. Assuming that '\n' is the
+ * only line delimiter, this abstract implementation defines the following line scheme:
+ * <ul>
+ * <li> "" -&gt; [0,0]
+ * <li> "a" -&gt; [0,1]
+ * <li> "\n" -&gt; [0,1], [1,0]
+ * <li> "a\n" -&gt; [0,2], [2,0]
+ * <li> "a\nb" -&gt; [0,2], [2,1]
+ * <li> "a\nbc\n" -&gt; [0,2], [2,3], [5,0]
+ * </ul>
+ * <p>
+ * Every chunk stores the end offsets of its lines relative to the start of the chunk, and an index
+ * of their delimiters. A directory stores the absolute offset and the number of the first line of
+ * every chunk. Looking up a line is a binary search in the directory followed by a binary search in
+ * the chunk. A replace only rebuilds the affected chunks and shifts the directory entries of the
+ * succeeding chunks, which are a few thousand for millions of lines. Compared to one object per
+ * line, this takes a fraction of the memory and allows {@link #set(String)} to scan large texts for
+ * line delimiters in parallel, if the delimiters can be searched concurrently.
+ * </p>
+ * <p>
+ * Until the first {@link #replace(int, int, String)}, the tracker answers queries for the line
+ * after a last line without delimiter like the list based line tracker which was used until then,
+ * so that it behaves like the combination of list and tree based trackers it replaces in
+ * {@link AbstractLineTracker}.
+ * </p>
+ * <p>
+ * This class must be subclassed.
+ * </p>
+ *
+ * @since 3.15
+ */
+abstract class ChunkedLineTracker implements ILineTracker {
+
+	/** The number of lines per chunk created when setting the text. */
+	private static final int CHUNK_SIZE= 1024;
+
+	/** Chunks with more lines are split. */
+	private static final int MAX_CHUNK_SIZE= 2 * CHUNK_SIZE;
+
+	/** Chunks with fewer lines are merged with their successor if possible. */
+	private static final int MIN_CHUNK_SIZE= CHUNK_SIZE / 4;
+
+	/** Texts with at least this number of characters are scanned in parallel if possible. */
+	private static final int PARALLEL_SCAN_THRESHOLD= 1 << 20;
+
+	/** The number of characters scanned by one task of a parallel scan. */
+	private static final int SCAN_SEGMENT_LENGTH= 1 << 18;
+
+	/**
+	 * The empty delimiter of the last line. The last line and only the last line must have this
+	 * zero-length delimiter.
+	 */
+	private static final String NO_DELIM= ""; //$NON-NLS-1$
+
+	/**
+	 * A run of consecutive lines.
+	 */
+	private static final class Chunk {
+		/** The end offsets of the lines including their delimiters, relative to the chunk start. */
+		final int[] fEnds;
+		/** The indices of the delimiters of the lines in the delimiter table. */
+		final byte[] fDelimiters;
+
+		Chunk(int[] ends, byte[] delimiters) {
+			fEnds= ends;
+			fDelimiters= delimiters;
+		}
+
+		int getCount() {
+			return fEnds.length;
+		}
+
+		int getLength() {
+			return fEnds[fEnds.length - 1];
+		}
+
+		int getLineStart(int index) {
+			return index == 0 ? 0 : fEnds[index - 1];
+		}
+
+		/**
+		 * Returns the index of the line containing the given offset relative to the chunk start,
+		 * or of the last line if the offset is the chunk length.
+		 */
+		int indexOf(int offset) {
+			int low= 0;
+			int high= fEnds.length - 1;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fEnds[mid] > offset)
+					high= mid;
+				else
+					low= mid + 1;
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * A growable sequence of lines, used to collect the lines of a modified range.
+	 */
+	private static final class Lines {
+		int[] fLengths= new int[16];
+		byte[] fDelimiters= new byte[16];
+		int fCount;
+
+		void add(int length, byte delimiter) {
+			if (fCount == fLengths.length) {
+				fLengths= Arrays.copyOf(fLengths, 2 * fCount);
+				fDelimiters= Arrays.copyOf(fDelimiters, 2 * fCount);
+			}
+			fLengths[fCount]= length;
+			fDelimiters[fCount]= delimiter;
+			fCount++;
+		}
+
+		void addAll(Chunk chunk, int from, int to) {
+			for (int i= from; i < to; i++)
+				add(chunk.fEnds[i] - chunk.getLineStart(i), chunk.fDelimiters[i]);
+		}
+
+		Chunk toChunk(int from, int to) {
+			int[] ends= new int[to - from];
+			int end= 0;
+			for (int i= from; i < to; i++) {
+				end+= fLengths[i];
+				ends[i - from]= end;
+			}
+			return new Chunk(ends, Arrays.copyOfRange(fDelimiters, from, to));
+		}
+	}
+
+	/**
+	 * The delimiters found by scanning a segment of a text.
+	 */
+	private static final class ScannedSegment {
+		final int fStart;
+		final int[] fEnds;
+		final byte[] fDelimiters;
+		final int fCount;
+
+		ScannedSegment(int start, int[] ends, byte[] delimiters, int count) {
+			fStart= start;
+			fEnds= ends;
+			fDelimiters= delimiters;
+			fCount= count;
+		}
+	}
+
+	/** The chunks, never empty. */
+	private Chunk[] fChunks;
+	/** The number of chunks. */
+	private int fChunkCount;
+	/** The offset of each chunk, followed by the text length. */
+	private int[] fChunkOffsets;
+	/** The number of the first line of each chunk, followed by the number of lines. */
+	private int[] fChunkLines;
+	/** The distinct delimiters of the lines, the first one is {@link #NO_DELIM}. */
+	private String[] fDelimiterTable= { NO_DELIM };
+	/** Whether the tracker answers queries like the list based line tracker. */
+	private boolean fListCompatible= true;
+
+	/**
+	 * Creates a new line tracker.
+	 */
+	protected ChunkedLineTracker() {
+		clear();
+	}
+
+	private void clear() {
+		fChunks= new Chunk[] { new Chunk(new int[] { 0 }, new byte[] { 0 }) };
+		fChunkCount= 1;
+		fChunkOffsets= new int[] { 0, 0 };
+		fChunkLines= new int[] { 0, 1 };
+	}
+
+	/**
+	 * Returns the information about the first delimiter found in the given text starting at the
+	 * given offset.
+	 *
+	 * @param text the text to be searched
+	 * @param offset the offset in the given text
+	 * @return the information of the first found delimiter or <code>null</code>
+	 */
+	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
+
+	/**
+	 * Tells whether the line delimiters are the ones of {@link DefaultLineTracker}, which can be
+	 * searched concurrently by {@link DefaultLineTracker#nextDelimiterInfo(String, int, DelimiterInfo)}.
+	 * Only then large texts are scanned in parallel.
+	 *
+	 * @return <code>true</code> if the delimiters of {@link DefaultLineTracker} are used
+	 */
+	protected boolean hasDefaultDelimiters() {
+		return false;
+	}
+
+	/**
+	 * Returns the index of the given delimiter in the delimiter table, adding it if necessary.
+	 *
+	 * @param delimiter the delimiter
+	 * @return the index of the delimiter
+	 */
+	private byte getDelimiterIndex(String delimiter) {
+		for (int i= 0; i < fDelimiterTable.length; i++) {
+			if (fDelimiterTable[i].equals(delimiter))
+				return (byte) i;
+		}
+		Assert.isTrue(fDelimiterTable.length <= Byte.MAX_VALUE);
+		fDelimiterTable= Arrays.copyOf(fDelimiterTable, fDelimiterTable.length + 1);
+		fDelimiterTable[fDelimiterTable.length - 1]= delimiter;
+		return (byte) (fDelimiterTable.length - 1);
+	}
+
+	private int getLength() {
+		return fChunkOffsets[fChunkCount];
+	}
+
+	/**
+	 * Returns the index of the chunk containing the given line.
+	 */
+	private int chunkByLine(int line) throws BadLocationException {
+		if (line < 0 || line >= fChunkLines[fChunkCount])
+			throw new BadLocationException(Integer.toString(line));
+		int low= 0;
+		int high= fChunkCount - 1;
+		while (low < high) {
+			int mid= (low + high + 1) >>> 1;
+			if (fChunkLines[mid] <= line)
+				low= mid;
+			else
+				high= mid - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the chunk containing the line which starts at or contains the given
+	 * offset. If the offset is the text length, the chunk of the last line is returned.
+	 */
+	private int chunkByOffset(int offset) throws BadLocationException {
+		if (offset < 0 || offset > getLength())
+			throw new BadLocationException(Integer.toString(offset));
+		int low= 0;
+		int high= fChunkCount - 1;
+		while (low < high) {
+			int mid= (low + high + 1) >>> 1;
+			if (fChunkOffsets[mid] <= offset)
+				low= mid;
+			else
+				high= mid - 1;
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the line number of the line starting at or containing <code>offset</code>. The last
+	 * line is returned if <code>offset</code> is equal to the text length.
+	 */
+	private int lineByOffset(int offset) throws BadLocationException {
+		int chunk= chunkByOffset(offset);
+		return fChunkLines[chunk] + fChunks[chunk].indexOf(offset - fChunkOffsets[chunk]);
+	}
+
+	private boolean isLastLineEmpty() {
+		Chunk last= fChunks[fChunkCount - 1];
+		return last.getLength() == last.getLineStart(last.getCount() - 1);
+	}
+
+	/**
+	 * Tells whether the given line is the non-existing line after a last line without
+	 * delimiter, for which the list based line tracker answered some queries.
+	 */
+	private boolean isListCompatibleLineAfterLast(int line) {
+		return fListCompatible && line == fChunkLines[fChunkCount] && !isLastLineEmpty();
+	}
+
+	@Override
+	public final int getNumberOfLines() {
+		return fChunkLines[fChunkCount];
+	}
+
+	@Override
+	public final int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (fListCompatible && (offset < 0 || offset + length > getLength()))
+			throw new BadLocationException();
+
+		if (length == 0)
+			return 1;
+
+		int startLine= lineByOffset(offset);
+		int endLine= lineByOffset(offset + length);
+
+		return endLine - startLine + 1;
+	}
+
+	@Override
+	public final int getLineOffset(int line) throws BadLocationException {
+		int chunk= chunkByLine(line);
+		return fChunkOffsets[chunk] + fChunks[chunk].getLineStart(line - fChunkLines[chunk]);
+	}
+
+	@Override
+	public final int getLineLength(int line) throws BadLocationException {
+		if (isListCompatibleLineAfterLast(line))
+			return 0;
+		int chunk= chunkByLine(line);
+		Chunk c= fChunks[chunk];
+		int index= line - fChunkLines[chunk];
+		return c.fEnds[index] - c.getLineStart(index);
+	}
+
+	@Override
+	public final int getLineNumberOfOffset(int offset) throws BadLocationException {
+		return lineByOffset(offset);
+	}
+
+	@Override
+	public final IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		int chunk= chunkByOffset(offset);
+		Chunk c= fChunks[chunk];
+		int index= c.indexOf(offset - fChunkOffsets[chunk]);
+		return getLineInformation(chunk, index);
+	}
+
+	@Override
+	public final IRegion getLineInformation(int line) throws BadLocationException {
+		int lines= getNumberOfLines();
+		if (line > 0 && line == lines) {
+			/*
+			 * This strange behavior is mandated by the previous line tracker implementations and
+			 * included here for compatibility. See LineTrackerTest3#testFunnyLastLineCompatibility().
+			 */
+			if (!isLastLineEmpty())
+				return new Region(getLength(), 0);
+			throw new BadLocationException(Integer.toString(line));
+		}
+		int chunk= chunkByLine(line);
+		return getLineInformation(chunk, line - fChunkLines[chunk]);
+	}
+
+	private IRegion getLineInformation(int chunk, int index) {
+		Chunk c= fChunks[chunk];
+		int start= c.getLineStart(index);
+		int pureLength= c.fEnds[index] - start - fDelimiterTable[c.fDelimiters[index]].length();
+		return new Region(fChunkOffsets[chunk] + start, pureLength);
+	}
+
+	@Override
+	public final String getLineDelimiter(int line) throws BadLocationException {
+		if (isListCompatibleLineAfterLast(line))
+			return null;
+		int chunk= chunkByLine(line);
+		String delimiter= fDelimiterTable[fChunks[chunk].fDelimiters[line - fChunkLines[chunk]]];
+		return delimiter == NO_DELIM ? null : delimiter;
+	}
+
+	@Override
+	public final int computeNumberOfLines(String text) {
+		int count= 0;
+		int start= 0;
+		DelimiterInfo delimiterInfo= nextDelimiterInfo(text, start);
+		while (delimiterInfo != null && delimiterInfo.delimiterIndex > -1) {
+			++count;
+			start= delimiterInfo.delimiterIndex + delimiterInfo.delimiterLength;
+			delimiterInfo= nextDelimiterInfo(text, start);
+		}
+		return count;
+	}
+
+	@Override
+	public final void replace(int offset, int length, String text) throws BadLocationException {
+		fListCompatible= false;
+
+		int first= lineByOffset(offset);
+		int firstOffset= getLineOffset(first);
+		int firstLength= getLineLength(first);
+		String firstDelimiter= getDelimiter(first);
+
+		int last;
+		if (offset + length < firstOffset + firstLength)
+			last= first;
+		else
+			last= lineByOffset(offset + length);
+
+		int firstLineDelta= firstOffset + firstLength - offset;
+		int added= text == null ? 0 : text.length();
+		DelimiterInfo info= text == null ? null : nextDelimiterInfo(text, 0);
+		boolean addsLines= info != null && info.delimiter != null;
+
+		if (first == last && !addsLines) {
+			// trivial case: modification inside a single line, no line mangling
+			if (firstLength + added - length > 0 || firstDelimiter == NO_DELIM) {
+				updateLength(first, added - length);
+				return;
+			}
+		}
+
+		Lines lines= new Lines();
+		if (first == last) {
+			if (addsLines) {
+				// more lines to add between two chunks of the first line
+				int remainder= firstLineDelta - length;
+				int consumed= addLines(lines, text, info, firstLength - firstLineDelta);
+				// add remaining chunk merged with last (incomplete) additional line
+				lines.add(remainder + text.length() - consumed, getDelimiterIndex(firstDelimiter));
+			}
+			// else the only line becomes empty and is deleted
+		} else {
+			// modification covers several lines, intermediate lines get deleted
+			int lastOffset= getLineOffset(last);
+			int lastLength= getLineLength(last);
+			String lastDelimiter= getDelimiter(last);
+			length-= lastOffset - (firstOffset + firstLength);
+
+			int lastLineLength;
+			if (addsLines) {
+				int consumed= addLines(lines, text, info, firstLength - firstLineDelta);
+				lastLineLength= lastLength + text.length() - consumed - (length - firstLineDelta);
+			} else {
+				// join the first and the last line
+				lastLineLength= lastLength + firstLength + added - length;
+			}
+			if (lastLineLength > 0 || lastDelimiter == NO_DELIM)
+				lines.add(lastLineLength, getDelimiterIndex(lastDelimiter));
+		}
+		replaceLines(first, last, lines);
+	}
+
+	/**
+	 * Adds the lines ending with the delimiters found in the given text, starting with the first
+	 * given delimiter, to the given lines. The first added line is prefixed with the given number of
+	 * characters of the line where the text is inserted.
+	 *
+	 * @return the number of consumed characters of the text
+	 */
+	private int addLines(Lines lines, String text, DelimiterInfo info, int prefix) {
+		int consumed= info.delimiterIndex + info.delimiterLength;
+		lines.add(prefix + consumed, getDelimiterIndex(info.delimiter));
+		info= nextDelimiterInfo(text, consumed);
+		while (info != null) {
+			int lineLength= info.delimiterIndex - consumed + info.delimiterLength;
+			lines.add(lineLength, getDelimiterIndex(info.delimiter));
+			consumed+= lineLength;
+			info= nextDelimiterInfo(text, consumed);
+		}
+		return consumed;
+	}
+
+	private String getDelimiter(int line) throws BadLocationException {
+		int chunk= chunkByLine(line);
+		return fDelimiterTable[fChunks[chunk].fDelimiters[line - fChunkLines[chunk]]];
+	}
+
+	/**
+	 * Adjusts the length of the given line, which does not become empty unless it is the last line.
+	 */
+	private void updateLength(int line, int delta) throws BadLocationException {
+		if (delta == 0)
+			return;
+		int chunk= chunkByLine(line);
+		int[] ends= fChunks[chunk].fEnds;
+		for (int i= line - fChunkLines[chunk]; i < ends.length; i++)
+			ends[i]+= delta;
+		for (int i= chunk + 1; i <= fChunkCount; i++)
+			fChunkOffsets[i]+= delta;
+	}
+
+	/**
+	 * Replaces the lines from <code>first</code> to <code>last</code> (inclusive) with the given
+	 * lines.
+	 */
+	private void replaceLines(int first, int last, Lines replacement) throws BadLocationException {
+		int firstChunk= chunkByLine(first);
+		int lastChunk= chunkByLine(last);
+		Chunk c1= fChunks[firstChunk];
+		Chunk c2= fChunks[lastChunk];
+
+		Lines lines= new Lines();
+		lines.addAll(c1, 0, first - fChunkLines[firstChunk]);
+		for (int i= 0; i < replacement.fCount; i++)
+			lines.add(replacement.fLengths[i], replacement.fDelimiters[i]);
+		lines.addAll(c2, last - fChunkLines[lastChunk] + 1, c2.getCount());
+
+		// merge small chunks with their successor
+		while (lines.fCount < MIN_CHUNK_SIZE && lastChunk + 1 < fChunkCount
+				&& lines.fCount + fChunks[lastChunk + 1].getCount() <= MAX_CHUNK_SIZE) {
+			lastChunk++;
+			lines.addAll(fChunks[lastChunk], 0, fChunks[lastChunk].getCount());
+		}
+
+		int count= lines.fCount <= MAX_CHUNK_SIZE ? Math.min(lines.fCount, 1) : (lines.fCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		Chunk[] chunks= new Chunk[count];
+		for (int i= 0; i < count; i++) {
+			int from= i * CHUNK_SIZE;
+			int to= i == count - 1 ? lines.fCount : from + CHUNK_SIZE;
+			chunks[i]= lines.toChunk(from, to);
+		}
+		setChunks(firstChunk, lastChunk + 1, chunks);
+	}
+
+	/**
+	 * Replaces the chunks from <code>from</code> (inclusive) to <code>to</code> (exclusive) with the
+	 * given chunks and updates the directory of all succeeding chunks.
+	 */
+	private void setChunks(int from, int to, Chunk[] chunks) {
+		int newCount= fChunkCount - (to - from) + chunks.length;
+		if (newCount > fChunks.length || newCount < fChunks.length / 4) {
+			Chunk[] grown= new Chunk[Math.max(newCount + newCount / 2, 16)];
+			System.arraycopy(fChunks, 0, grown, 0, from);
+			System.arraycopy(fChunks, to, grown, from + chunks.length, fChunkCount - to);
+			fChunks= grown;
+			fChunkOffsets= Arrays.copyOf(fChunkOffsets, grown.length + 1);
+			fChunkLines= Arrays.copyOf(fChunkLines, grown.length + 1);
+		} else {
+			System.arraycopy(fChunks, to, fChunks, from + chunks.length, fChunkCount - to);
+			for (int i= newCount; i < fChunkCount; i++)
+				fChunks[i]= null;
+		}
+		System.arraycopy(chunks, 0, fChunks, from, chunks.length);
+		fChunkCount= newCount;
+		updateDirectory(from);
+	}
+
+	/**
+	 * Recomputes the offsets and line numbers of the chunks starting at the given chunk.
+	 */
+	private void updateDirectory(int from) {
+		int offset= fChunkOffsets[from];
+		int line= fChunkLines[from];
+		for (int i= from; i < fChunkCount; i++) {
+			fChunkOffsets[i]= offset;
+			fChunkLines[i]= line;
+			offset+= fChunks[i].getLength();
+			line+= fChunks[i].getCount();
+		}
+		fChunkOffsets[fChunkCount]= offset;
+		fChunkLines[fChunkCount]= line;
+	}
+
+	@Override
+	public final void set(String text) {
+		if (text == null || text.isEmpty()) {
+			clear();
+			return;
+		}
+
+		ScannedSegment[] segments;
+		if (text.length() >= PARALLEL_SCAN_THRESHOLD && hasDefaultDelimiters()) {
+			for (String delimiter : DefaultLineTracker.DELIMITERS)
+				getDelimiterIndex(delimiter);
+			String[] delimiterTable= fDelimiterTable;
+			int segmentCount= (text.length() + SCAN_SEGMENT_LENGTH - 1) / SCAN_SEGMENT_LENGTH;
+			segments= IntStream.range(0, segmentCount).parallel()
+					.mapToObj(i -> scanDefaultDelimiters(text, i * SCAN_SEGMENT_LENGTH, Math.min(text.length(), (i + 1) * SCAN_SEGMENT_LENGTH), delimiterTable))
+					.toArray(ScannedSegment[]::new);
+		} else {
+			segments= new ScannedSegment[] { scan(text, 0, text.length()) };
+		}
+
+		// join the lines of the segments
+		Lines lines= new Lines();
+		int end= 0;
+		for (int i= 0; i < segments.length; i++) {
+			ScannedSegment segment= segments[i];
+			int k= 0;
+			while (k < segment.fCount && segment.fEnds[k] - fDelimiterTable[segment.fDelimiters[k]].length() < end)
+				k++;
+			if (k > 0 && segment.fEnds[k - 1] > end) {
+				// a delimiter of the previous segment overlaps a different one of this segment
+				int segmentEnd= i + 1 < segments.length ? segments[i + 1].fStart : text.length();
+				segment= scan(text, end, segmentEnd);
+				k= 0;
+			}
+			for (; k < segment.fCount; k++) {
+				lines.add(segment.fEnds[k] - end, segment.fDelimiters[k]);
+				end= segment.fEnds[k];
+			}
+		}
+		lines.add(text.length() - end, (byte) 0);
+
+		int count= (lines.fCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		Chunk[] chunks= new Chunk[Math.max(count, 16)];
+		for (int i= 0; i < count; i++)
+			chunks[i]= lines.toChunk(i * CHUNK_SIZE, Math.min(lines.fCount, (i + 1) * CHUNK_SIZE));
+		fChunks= chunks;
+		fChunkCount= count;
+		fChunkOffsets= new int[chunks.length + 1];
+		fChunkLines= new int[chunks.length + 1];
+		updateDirectory(0);
+	}
+
+	/**
+	 * Scans the given range of the text for delimiters which start in the range using
+	 * {@link #nextDelimiterInfo(String, int)}. The end offsets of the delimiters are collected as
+	 * the lengths of the returned lines.
+	 */
+	private ScannedSegment scan(String text, int start, int end) {
+		Lines delimiters= new Lines();
+		DelimiterInfo info= nextDelimiterInfo(text, start);
+		while (info != null && info.delimiterIndex > -1 && info.delimiterIndex < end) {
+			int delimiterEnd= info.delimiterIndex + info.delimiterLength;
+			delimiters.add(delimiterEnd, getDelimiterIndex(info.delimiter));
+			info= nextDelimiterInfo(text, delimiterEnd);
+		}
+		return new ScannedSegment(start, delimiters.fLengths, delimiters.fDelimiters, delimiters.fCount);
+	}
+
+	/**
+	 * Scans the given range of the text for the delimiters of {@link DefaultLineTracker} which start
+	 * in the range. Can be called concurrently.
+	 */
+	private static ScannedSegment scanDefaultDelimiters(String text, int start, int end, String[] delimiterTable) {
+		String[] defaultDelimiters= DefaultLineTracker.DELIMITERS;
+		byte[] indices= new byte[defaultDelimiters.length];
+		for (int i= 0; i < indices.length; i++) {
+			for (int j= 0; j < delimiterTable.length; j++) {
+				if (delimiterTable[j].equals(defaultDelimiters[i]))
+					indices[i]= (byte) j;
+			}
+		}
+
+		Lines delimiters= new Lines();
+		DelimiterInfo info= DefaultLineTracker.nextDelimiterInfo(text, start, new DelimiterInfo());
+		while (info != null && info.delimiterIndex < end) {
+			int delimiterEnd= info.delimiterIndex + info.delimiterLength;
+			int i= 0;
+			while (defaultDelimiters[i] != info.delimiter)
+				i++;
+			delimiters.add(delimiterEnd, indices[i]);
+			info= DefaultLineTracker.nextDelimiterInfo(text, delimiterEnd, info);
+		}
+		return new ScannedSegment(start, delimiters.fLengths, delimiters.fDelimiters, delimiters.fCount);
+	}
+}
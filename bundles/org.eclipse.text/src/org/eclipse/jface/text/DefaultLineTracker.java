@@ -45,6 +45,20 @@ public class DefaultLineTracker extends AbstractLineTracker {
 
 	@Override
 	protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
+		return nextDelimiterInfo(text, offset, fDelimiterInfo);
+	}
+
+	/**
+	 * Searches the given text for the next delimiter. Unlike {@link #nextDelimiterInfo(String, int)}
+	 * this can be called concurrently, as long as the given delimiter information is not shared.
+	 *
+	 * @param text the text to be searched
+	 * @param offset the offset in the given text
+	 * @param delimiterInfo the delimiter information to fill in and return
+	 * @return the given delimiter information or <code>null</code> if no delimiter was found
+	 * @since 3.15
+	 */
+	static DelimiterInfo nextDelimiterInfo(String text, int offset, DelimiterInfo delimiterInfo) {
 
 		char ch;
 		int length= text.length();
@@ -55,24 +69,24 @@ public class DefaultLineTracker extends AbstractLineTracker {
 
 				if (i + 1 < length) {
 					if (text.charAt(i + 1) == '\n') {
-						fDelimiterInfo.delimiter= DELIMITERS[2];
-						fDelimiterInfo.delimiterIndex= i;
-						fDelimiterInfo.delimiterLength= 2;
-						return fDelimiterInfo;
+						delimiterInfo.delimiter= DELIMITERS[2];
+						delimiterInfo.delimiterIndex= i;
+						delimiterInfo.delimiterLength= 2;
+						return delimiterInfo;
 					}
 				}
 
-				fDelimiterInfo.delimiter= DELIMITERS[0];
-				fDelimiterInfo.delimiterIndex= i;
-				fDelimiterInfo.delimiterLength= 1;
-				return fDelimiterInfo;
+				delimiterInfo.delimiter= DELIMITERS[0];
+				delimiterInfo.delimiterIndex= i;
+				delimiterInfo.delimiterLength= 1;
+				return delimiterInfo;
 
 			} else if (ch == '\n') {
 
-				fDelimiterInfo.delimiter= DELIMITERS[1];
-				fDelimiterInfo.delimiterIndex= i;
-				fDelimiterInfo.delimiterLength= 1;
-				return fDelimiterInfo;
+				delimiterInfo.delimiter= DELIMITERS[1];
+				delimiterInfo.delimiterIndex= i;
+				delimiterInfo.delimiterLength= 1;
+				return delimiterInfo;
 			}
 		}
 
@@ -31,12 +31,12 @@ package org.eclipse.jface.text;
  * <p>
  * <strong>Performance:</strong> The implementation should perform reasonably well for typical
  * source code documents. It is not designed for very large documents of a size of several
- * megabytes. Space-saving implementations are initially used for both the text store and the line
- * tracker; the first modification after a {@link #set(String) set} incurs the cost to transform the
- * document structures to efficiently handle updates.
+ * megabytes. A space-saving implementation is initially used for the text store; the first
+ * modification after a {@link #set(String) set} incurs the cost to transform it to efficiently
+ * handle updates.
  * </p>
  * <p>
- * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
+ * See {@link GapTextStore} and <code>ChunkedLineTracker</code> for algorithmic behavior of the used
  * document structures.
  * </p>
  *
@@ -62,6 +62,68 @@ import org.eclipse.jface.text.TypedRegion;
  */
 public class FastPartitioner implements IDocumentPartitioner, IDocumentPartitionerExtension, IDocumentPartitionerExtension2, IDocumentPartitionerExtension3 {
 
+	/**
+	 * Position updater for the partitions of the connected document. Partitions are disjoint and
+	 * ordered, hence only the partitions touching the changed region need to be adapted in detail,
+	 * while all partitions behind it are just shifted. The partitions are taken from the position
+	 * cache, which stays valid unless a partition gets deleted.
+	 */
+	private final class PartitionPositionUpdater extends DefaultPositionUpdater {
+
+		PartitionPositionUpdater(String category) {
+			super(category);
+		}
+
+		@Override
+		public void update(DocumentEvent event) {
+			fPositionsDeleted= false;
+			if (event.getDocument() != FastPartitioner.this.fDocument) {
+				super.update(event);
+				return;
+			}
+
+			try {
+				fOffset= event.getOffset();
+				fLength= event.getLength();
+				fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
+				fDocument= event.getDocument();
+
+				Position[] category= getPositions();
+				int i= getFirstIndexEndingAfterOffset(category, fOffset);
+				while (i > 0 && category[i - 1].offset >= fOffset)
+					-- i;
+
+				int changeEnd= fOffset + fLength;
+				for (; i < category.length; i++) {
+					Position position= category[i];
+					if (position.offset >= changeEnd && (fLength > 0 || position.offset > fOffset))
+						break;
+
+					fPosition= position;
+					fOriginalPosition.offset= fPosition.offset;
+					fOriginalPosition.length= fPosition.length;
+
+					if (notDeleted())
+						adaptToReplace();
+					else
+						fPositionsDeleted= true;
+				}
+
+				// positions behind the change are moved by the difference
+				int shift= fReplaceLength - fLength;
+				if (shift != 0) {
+					for (; i < category.length; i++)
+						category[i].offset+= shift;
+				}
+
+			} catch (BadPositionCategoryException x) {
+				// do nothing
+			} finally {
+				fDocument= null;
+			}
+		}
+	}
+
 	/**
 	 * The position category this partitioner uses to store the document's partitioning information.
 	 */
@@ -99,6 +161,10 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 * someone requests partition information.
 	 */
 	private Position[] fCachedPositions= null;
+	/**
+	 * Tells whether the last update of the partitions deleted a partition.
+	 */
+	private boolean fPositionsDeleted;
 	/** Debug option for cache consistency checking. */
 	private static final boolean CHECK_CACHE_CONSISTENCY= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/FastPartitioner/PositionCache"));  //$NON-NLS-1$//$NON-NLS-2$;
 
@@ -113,7 +179,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		fScanner= scanner;
 		fLegalContentTypes= TextUtilities.copy(legalContentTypes);
 		fPositionCategory= CONTENT_TYPES_CATEGORY + hashCode();
-		fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
+		fPositionUpdater= new PartitionPositionUpdater(fPositionCategory);
 	}
 
 	@Override
@@ -200,6 +266,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		} catch (BadPositionCategoryException x) {
 			// can not happen because of Assert
 		}
+		clearPositionCache();
 	}
 
 	/**
@@ -295,6 +362,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		if (!fIsInitialized)
 			return null;
 
+		// the position cache stays valid if no partition gets added or removed
+		boolean keepPositionCache= false;
 		try {
 			Assert.isTrue(e.getDocument() == fDocument);
 
@@ -328,15 +397,12 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			}
 
 			fPositionUpdater.update(e);
-			for (int i= first; i < category.length; i++) {
-				Position p= category[i];
-				if (p.isDeleted) {
-					rememberDeletedOffset(e.getOffset());
-					break;
-				}
+			if (fPositionsDeleted) {
+				rememberDeletedOffset(e.getOffset());
+				clearPositionCache();
+				category= getPositions();
 			}
-			clearPositionCache();
-			category= getPositions();
+			boolean positionsChanged= fPositionsDeleted;
 
 			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
 
@@ -368,6 +434,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 
 						rememberRegion(p.offset, p.length);
 						fDocument.removePosition(fPositionCategory, p);
+						positionsChanged= true;
 						++ first;
 
 					} else
@@ -377,12 +444,15 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				// if position already exists and we have scanned at least the
 				// area covered by the event, we are done
 				if (fDocument.containsPosition(fPositionCategory, start, length)) {
-					if (lastScannedPosition >= e.getOffset() + newLength)
+					if (lastScannedPosition >= e.getOffset() + newLength) {
+						keepPositionCache= !positionsChanged;
 						return createRegion();
+					}
 					++ first;
 				} else {
 					// insert the new type position
 					try {
+						positionsChanged= true;
 						fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
 						rememberRegion(start, length);
 					} catch (BadPositionCategoryException x) {
@@ -408,7 +478,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			// should never happen on connected documents
 		} catch (BadLocationException x) {
 		} finally {
-			clearPositionCache();
+			if (!keepPositionCache)
+				clearPositionCache();
 		}
 
 		return createRegion();
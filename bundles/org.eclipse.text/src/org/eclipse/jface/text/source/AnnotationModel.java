@@ -298,6 +298,24 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.0
 	 */
 	private Object fModificationStamp= new Object();
+	/**
+	 * The positions to be added to the document at the end of a bulk replace,
+	 * or <code>null</code> if no bulk replace is in progress.
+	 * @since 3.15
+	 */
+	private List<Position> fPendingPositionAdditions;
+	/**
+	 * The positions to be removed from the document at the end of a bulk replace,
+	 * or <code>null</code> if no bulk replace is in progress.
+	 * @since 3.15
+	 */
+	private List<Position> fPendingPositionRemovals;
+	/**
+	 * The minimal number of annotations changed by a replace for updating the
+	 * document positions in bulk.
+	 * @since 3.15
+	 */
+	private static final int BULK_REPLACE_THRESHOLD= 64;
 
 	/**
 	 * Creates a new annotation model. The annotation is empty, i.e. does not
@@ -390,19 +408,31 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 */
 	protected void replaceAnnotations(Annotation[] annotationsToRemove, Map<? extends Annotation, ? extends Position> annotationsToAdd, boolean fireModelChanged) throws BadLocationException {
 
-		if (annotationsToRemove != null) {
-			for (Annotation element : annotationsToRemove)
-				removeAnnotation(element, false);
+		int changes= (annotationsToRemove != null ? annotationsToRemove.length : 0) + (annotationsToAdd != null ? annotationsToAdd.size() : 0);
+		boolean bulk= changes >= BULK_REPLACE_THRESHOLD && fDocument instanceof AbstractDocument && fPendingPositionAdditions == null;
+		if (bulk) {
+			fPendingPositionAdditions= new ArrayList<>(annotationsToAdd != null ? annotationsToAdd.size() : 0);
+			fPendingPositionRemovals= new ArrayList<>(annotationsToRemove != null ? annotationsToRemove.length : 0);
 		}
 
-		if (annotationsToAdd != null) {
-			Iterator<? extends Entry<? extends Annotation, ? extends Position>> iter= annotationsToAdd.entrySet().iterator();
-			while (iter.hasNext()) {
-				Map.Entry<? extends Annotation, ? extends Position> mapEntry= iter.next();
-				Annotation annotation= mapEntry.getKey();
-				Position position= mapEntry.getValue();
-				addAnnotation(annotation, position, false);
+		try {
+			if (annotationsToRemove != null) {
+				for (Annotation element : annotationsToRemove)
+					removeAnnotation(element, false);
+			}
+
+			if (annotationsToAdd != null) {
+				Iterator<? extends Entry<? extends Annotation, ? extends Position>> iter= annotationsToAdd.entrySet().iterator();
+				while (iter.hasNext()) {
+					Map.Entry<? extends Annotation, ? extends Position> mapEntry= iter.next();
+					Annotation annotation= mapEntry.getKey();
+					Position position= mapEntry.getValue();
+					addAnnotation(annotation, position, false);
+				}
 			}
+		} finally {
+			if (bulk)
+				flushPendingPositions();
 		}
 
 		if (fireModelChanged)
@@ -459,7 +489,11 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @throws BadLocationException if the position is not a valid document position
 	 */
 	protected void addPosition(IDocument document, Position position) throws BadLocationException {
-		if (document != null)
+		if (document != null && document == fDocument && fPendingPositionAdditions != null) {
+			if (position.offset < 0 || position.length < 0 || position.offset + position.length > document.getLength())
+				throw new BadLocationException();
+			fPendingPositionAdditions.add(position);
+		} else if (document != null)
 			document.addPosition(position);
 	}
 
@@ -473,10 +507,36 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.0
 	 */
 	protected void removePosition(IDocument document, Position position) {
-		if (document != null)
+		if (document != null && document == fDocument && fPendingPositionAdditions != null) {
+			for (int i= fPendingPositionAdditions.size() - 1; i >= 0; i--) {
+				if (fPendingPositionAdditions.get(i) == position) {
+					fPendingPositionAdditions.remove(i);
+					return;
+				}
+			}
+			fPendingPositionRemovals.add(position);
+		} else if (document != null)
 			document.removePosition(position);
 	}
 
+	/**
+	 * Applies the position changes collected during a bulk replace to the
+	 * connected document in one operation.
+	 *
+	 * @since 3.15
+	 */
+	private void flushPendingPositions() {
+		Position[] removals= fPendingPositionRemovals.toArray(new Position[fPendingPositionRemovals.size()]);
+		Position[] additions= fPendingPositionAdditions.toArray(new Position[fPendingPositionAdditions.size()]);
+		fPendingPositionAdditions= null;
+		fPendingPositionRemovals= null;
+		try {
+			((AbstractDocument) fDocument).replacePositions(IDocument.DEFAULT_CATEGORY, removals, additions);
+		} catch (BadLocationException | BadPositionCategoryException x) {
+			// cannot happen, the added positions have been validated and the default category always exists
+		}
+	}
+
 	@Override
 	public void connect(IDocument document) {
 		Assert.isTrue(fDocument == null || fDocument == document);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2019 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,38 @@
  *******************************************************************************/
 package org.eclipse.text.undo;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
 
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.commands.operations.AbstractOperation;
@@ -70,6 +100,287 @@ import org.eclipse.jface.text.TextUtilities;
 public class DocumentUndoManager implements IDocumentUndoManager {
 
 
+	/**
+	 * The temporary file the text of old changes is spilled to. The texts are
+	 * encrypted with a key which is only kept in memory. The file is deleted
+	 * when it is closed, and by the operating system where it supports this.
+	 */
+	private static final class SpillFile {
+
+		/** The transformation used to encrypt the spilled texts. */
+		private static final String TRANSFORMATION= "AES/CTR/NoPadding"; //$NON-NLS-1$
+
+		/** The channel to the file, not closed by interrupts of reading or writing threads. */
+		private final AsynchronousFileChannel fChannel;
+
+		/** The key the texts are encrypted with. */
+		private final SecretKey fKey;
+
+		/** The source of the initialization vectors. */
+		private final SecureRandom fRandom= new SecureRandom();
+
+		/** The end of the written data. Only accessed while holding the spill lock. */
+		private long fEnd;
+
+		private SpillFile(AsynchronousFileChannel channel, SecretKey key) {
+			fChannel= channel;
+			fKey= key;
+		}
+
+		/**
+		 * Creates a new spill file.
+		 *
+		 * @return the spill file
+		 * @throws IOException if the file cannot be created
+		 */
+		static SpillFile create() throws IOException {
+			SecretKey key;
+			try {
+				key= KeyGenerator.getInstance("AES").generateKey(); //$NON-NLS-1$
+			} catch (GeneralSecurityException x) {
+				throw new IOException(x);
+			}
+			Path path= Files.createTempFile("undo", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				return new SpillFile(AsynchronousFileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE), key);
+			} catch (IOException x) {
+				Files.deleteIfExists(path);
+				throw x;
+			}
+		}
+
+		/**
+		 * Encrypts the given data and appends it to this file.
+		 *
+		 * @param data the data to write
+		 * @param iv the initialization vector to encrypt the data with
+		 * @return the position of the data in this file
+		 * @throws IOException if writing fails
+		 */
+		long write(byte[] data, byte[] iv) throws IOException {
+			ByteBuffer buffer= ByteBuffer.wrap(crypt(Cipher.ENCRYPT_MODE, data, iv));
+			long position= fEnd;
+			while (buffer.hasRemaining())
+				await(fChannel.write(buffer, position + buffer.position()));
+			fEnd= position + data.length;
+			return position;
+		}
+
+		/**
+		 * Reads and decrypts data from this file.
+		 *
+		 * @param position the position of the data
+		 * @param size the size of the data
+		 * @param iv the initialization vector the data has been encrypted with
+		 * @return the data
+		 * @throws IOException if reading fails
+		 */
+		byte[] read(long position, int size, byte[] iv) throws IOException {
+			ByteBuffer buffer= ByteBuffer.allocate(size);
+			while (buffer.hasRemaining()) {
+				if (await(fChannel.read(buffer, position + buffer.position())) < 0)
+					throw new EOFException();
+			}
+			return crypt(Cipher.DECRYPT_MODE, buffer.array(), iv);
+		}
+
+		/**
+		 * Returns a new initialization vector.
+		 *
+		 * @return the initialization vector
+		 */
+		byte[] createInitializationVector() {
+			byte[] iv= new byte[16];
+			fRandom.nextBytes(iv);
+			return iv;
+		}
+
+		/**
+		 * Closes and thereby deletes this file.
+		 */
+		void close() {
+			try {
+				fChannel.close();
+			} catch (IOException x) {
+				// ignore
+			}
+		}
+
+		private byte[] crypt(int mode, byte[] data, byte[] iv) throws IOException {
+			try {
+				Cipher cipher= Cipher.getInstance(TRANSFORMATION);
+				cipher.init(mode, fKey, new IvParameterSpec(iv));
+				return cipher.doFinal(data);
+			} catch (GeneralSecurityException x) {
+				throw new IOException(x);
+			}
+		}
+
+		private static int await(Future<Integer> result) throws IOException {
+			try {
+				return result.get().intValue();
+			} catch (InterruptedException x) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			} catch (java.util.concurrent.ExecutionException x) {
+				if (x.getCause() instanceof IOException)
+					throw (IOException) x.getCause();
+				throw new IOException(x.getCause());
+			}
+		}
+	}
+
+	/**
+	 * The text of an undo-able text change in compressed form, either kept in
+	 * memory or spilled to the spill file of the undo manager.
+	 */
+	private static final class StoredText {
+
+		/** The number of characters of the text. */
+		private final int fLength;
+
+		/** The size of the compressed text in bytes. */
+		private final int fSize;
+
+		/** The compressed text, or <code>null</code> if spilled. */
+		private byte[] fData;
+
+		/** The file the text has been spilled to, or <code>null</code> if kept in memory. */
+		private SpillFile fFile;
+
+		/** The position of the spilled text in the spill file. */
+		private long fPosition;
+
+		/** The initialization vector the spilled text has been encrypted with. */
+		private byte[] fIv;
+
+		private StoredText(int length, byte[] data) {
+			fLength= length;
+			fSize= data.length;
+			fData= data;
+		}
+
+		/**
+		 * Compresses the given text. The characters are compressed as they are
+		 * rather than encoded, so that every string can be restored exactly.
+		 *
+		 * @param text the text to compress
+		 * @return the compressed text
+		 */
+		static StoredText compress(String text) {
+			ByteArrayOutputStream bytes= new ByteArrayOutputStream(text.length() / 4 + 64);
+			Deflater deflater= new Deflater(Deflater.BEST_SPEED);
+			try (OutputStream out= new DeflaterOutputStream(bytes, deflater)) {
+				byte[] buffer= new byte[8192];
+				int length= text.length();
+				for (int i= 0; i < length;) {
+					int n= 0;
+					for (; n < buffer.length && i < length; i++) {
+						char c= text.charAt(i);
+						buffer[n++]= (byte) (c >> 8);
+						buffer[n++]= (byte) c;
+					}
+					out.write(buffer, 0, n);
+				}
+			} catch (IOException x) {
+				// cannot happen, writes to memory
+			} finally {
+				deflater.end();
+			}
+			return new StoredText(text.length(), bytes.toByteArray());
+		}
+
+		/**
+		 * Returns the size of this text in memory.
+		 *
+		 * @return the number of bytes kept in memory
+		 */
+		synchronized int getMemoryFootprint() {
+			return fData != null ? fSize : 0;
+		}
+
+		/**
+		 * Writes this text to the given file and releases its memory.
+		 *
+		 * @param file the spill file
+		 * @throws IOException if writing fails
+		 */
+		void spill(SpillFile file) throws IOException {
+			byte[] data;
+			synchronized (this) {
+				data= fData;
+			}
+			if (data == null)
+				return;
+			byte[] iv= file.createInitializationVector();
+			long position= file.write(data, iv);
+			synchronized (this) {
+				fFile= file;
+				fPosition= position;
+				fIv= iv;
+				fData= null;
+			}
+		}
+
+		/**
+		 * Reads this text back into memory if it has been spilled.
+		 *
+		 * @throws IOException if reading fails
+		 */
+		void unspill() throws IOException {
+			byte[] data= read();
+			synchronized (this) {
+				fData= data;
+				fFile= null;
+				fIv= null;
+			}
+		}
+
+		private byte[] read() throws IOException {
+			SpillFile file;
+			long position;
+			byte[] iv;
+			synchronized (this) {
+				if (fData != null)
+					return fData;
+				file= fFile;
+				position= fPosition;
+				iv= fIv;
+			}
+			return file.read(position, fSize, iv);
+		}
+
+		/**
+		 * Restores the text.
+		 *
+		 * @return the text
+		 * @throws IOException if the text cannot be read from the spill file
+		 */
+		String get() throws IOException {
+			char[] chars= new char[fLength];
+			try (InputStream in= new InflaterInputStream(new ByteArrayInputStream(read()))) {
+				byte[] buffer= new byte[8192];
+				int index= 0;
+				boolean high= true;
+				int pending= 0;
+				int n;
+				while ((n= in.read(buffer)) > 0) {
+					for (int i= 0; i < n; i++) {
+						if (high) {
+							pending= (buffer[i] & 0xff) << 8;
+						} else {
+							chars[index++]= (char) (pending | (buffer[i] & 0xff));
+						}
+						high= !high;
+					}
+				}
+				if (index != fLength)
+					throw new IOException();
+			}
+			return new String(chars);
+		}
+	}
+
 	/**
 	 * Represents an undo-able text change, described as the
 	 * replacement of some preserved text with new text.
@@ -100,6 +411,27 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		/** The undo manager that generated the change. */
 		protected DocumentUndoManager fDocumentUndoManager;
 
+		/**
+		 * The newly inserted text in compressed form, or <code>null</code> if it
+		 * is kept in <code>fText</code>. Once the change is committed, the texts
+		 * are only accessed while holding the lock of the change, as they are
+		 * compressed in the background.
+		 */
+		protected StoredText fStoredText;
+
+		/**
+		 * The replaced text in compressed form, or <code>null</code> if it is
+		 * kept in <code>fPreservedText</code>.
+		 */
+		protected StoredText fStoredPreservedText;
+
+		/**
+		 * The memory footprint accounted for this change by the undo manager, or
+		 * <code>-1</code> if the change is not retained by the undo manager.
+		 * Guarded by the storage lock of the undo manager.
+		 */
+		long fMemoryFootprint= -1;
+
 		/**
 		 * Creates a new text change.
 		 *
@@ -115,8 +447,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * Re-initializes this text change.
 		 */
 		protected void reinitialize() {
+			fDocumentUndoManager.release(this);
 			fStart= fEnd= -1;
-			fText= fPreservedText= null;
+			synchronized (this) {
+				fText= fPreservedText= null;
+				fStoredText= fStoredPreservedText= null;
+			}
 			fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fRedoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 		}
@@ -141,15 +477,17 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 		/**
 		 * Undo the change described by this change.
+		 *
+		 * @param preservedText the replaced text of this change
 		 */
-		protected void undoTextChange() {
+		protected void undoTextChange(String preservedText) {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fText
-							.length(), fPreservedText, fUndoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, getTextLength(),
+							preservedText, fUndoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fText.length(),
-							fPreservedText);
+					fDocumentUndoManager.fDocument.replace(fStart, getTextLength(),
+							preservedText);
 				}
 			} catch (BadLocationException x) {
 			}
@@ -258,24 +596,32 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
-				undoTextChange();
-				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.UNDONE, false);
-				return Status.OK_STATUS;
+				try {
+					String text= getText();
+					String preservedText= getPreservedText();
+					fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
+					undoTextChange(preservedText);
+					fDocumentUndoManager.resetProcessChangeState();
+					fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.UNDONE, false);
+					return Status.OK_STATUS;
+				} catch (IOException x) {
+					return createReadErrorStatus(x);
+				}
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
 		}
 
 		/**
 		 * Re-applies the change described by this change.
+		 *
+		 * @param text the newly inserted text of this change
 		 */
-		protected void redoTextChange() {
+		protected void redoTextChange(String text) {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, fText, fRedoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, text, fRedoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, fText);
+					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, text);
 				}
 			} catch (BadLocationException x) {
 			}
@@ -292,15 +638,167 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus redo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
-				redoTextChange();
-				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.REDONE, false);
-				return Status.OK_STATUS;
+				try {
+					String text= getText();
+					String preservedText= getPreservedText();
+					fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
+					redoTextChange(text);
+					fDocumentUndoManager.resetProcessChangeState();
+					fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.REDONE, false);
+					return Status.OK_STATUS;
+				} catch (IOException x) {
+					return createReadErrorStatus(x);
+				}
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
 		}
 
+		/**
+		 * Returns the newly inserted text.
+		 *
+		 * @return the newly inserted text
+		 * @throws IOException if the text has been spilled and cannot be read
+		 */
+		protected String getText() throws IOException {
+			StoredText storedText;
+			synchronized (this) {
+				if (fStoredText == null)
+					return fText;
+				storedText= fStoredText;
+			}
+			return storedText.get();
+		}
+
+		/**
+		 * Returns the length of the newly inserted text.
+		 *
+		 * @return the length of the newly inserted text
+		 */
+		protected synchronized int getTextLength() {
+			return fStoredText != null ? fStoredText.fLength : fText.length();
+		}
+
+		/**
+		 * Returns the replaced text.
+		 *
+		 * @return the replaced text
+		 * @throws IOException if the text has been spilled and cannot be read
+		 */
+		protected String getPreservedText() throws IOException {
+			StoredText storedText;
+			synchronized (this) {
+				if (fStoredPreservedText == null)
+					return fPreservedText;
+				storedText= fStoredPreservedText;
+			}
+			return storedText.get();
+		}
+
+		/**
+		 * Compresses the texts of this committed change. The texts are compressed
+		 * without holding the lock of this change.
+		 *
+		 * @return <code>true</code> if a text has been compressed
+		 */
+		boolean compress() {
+			String text;
+			String preservedText;
+			synchronized (this) {
+				text= fText;
+				preservedText= fPreservedText;
+			}
+			if (text == null && preservedText == null)
+				return false;
+			StoredText storedText= text != null ? StoredText.compress(text) : null;
+			StoredText storedPreservedText= preservedText != null ? StoredText.compress(preservedText) : null;
+			synchronized (this) {
+				// the change has been re-initialized in the meantime
+				if (fText != text || fPreservedText != preservedText)
+					return false;
+				if (storedText != null) {
+					fStoredText= storedText;
+					fText= null;
+				}
+				if (storedPreservedText != null) {
+					fStoredPreservedText= storedPreservedText;
+					fPreservedText= null;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Returns the number of bytes this change keeps in memory for its texts.
+		 *
+		 * @return the memory footprint of this change
+		 */
+		synchronized long computeMemoryFootprint() {
+			long footprint= 0;
+			footprint+= fStoredText != null ? fStoredText.getMemoryFootprint() : fText != null ? 2L * fText.length() : 0;
+			footprint+= fStoredPreservedText != null ? fStoredPreservedText.getMemoryFootprint() : fPreservedText != null ? 2L * fPreservedText.length() : 0;
+			return footprint;
+		}
+
+		/**
+		 * Writes the texts of this committed change to the given file.
+		 *
+		 * @param file the spill file
+		 * @throws IOException if writing fails
+		 */
+		void spill(SpillFile file) throws IOException {
+			compress();
+			StoredText storedText;
+			StoredText storedPreservedText;
+			synchronized (this) {
+				storedText= fStoredText;
+				storedPreservedText= fStoredPreservedText;
+			}
+			if (storedText != null)
+				storedText.spill(file);
+			if (storedPreservedText != null)
+				storedPreservedText.spill(file);
+		}
+
+		/**
+		 * Reads the texts of this change back into memory if they have been spilled.
+		 *
+		 * @throws IOException if reading fails
+		 */
+		void unspill() throws IOException {
+			StoredText storedText;
+			StoredText storedPreservedText;
+			synchronized (this) {
+				storedText= fStoredText;
+				storedPreservedText= fStoredPreservedText;
+			}
+			if (storedText != null)
+				storedText.unspill();
+			if (storedPreservedText != null)
+				storedPreservedText.unspill();
+		}
+
+		/**
+		 * Assigns this change to the given undo manager.
+		 *
+		 * @param manager the new undo manager of this change
+		 */
+		void setDocumentUndoManager(DocumentUndoManager manager) {
+			DocumentUndoManager previous= fDocumentUndoManager;
+			synchronized (previous.fSpillLock) {
+				boolean retained= previous.release(this);
+				if (retained) {
+					try {
+						unspill();
+					} catch (IOException x) {
+						// keep reading from the spill file of the previous manager
+					}
+				}
+				fDocumentUndoManager= manager;
+				if (retained)
+					manager.retain(this);
+			}
+		}
+
 		/**
 		 * Update the change in response to a commit.
 		 */
@@ -337,6 +835,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				}
 			} else {
 				updateTextChange();
+				fDocumentUndoManager.retain(this);
 				fDocumentUndoManager.fCurrent= createCurrent();
 			}
 			fDocumentUndoManager.resetProcessChangeState();
@@ -375,7 +874,11 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * @return <code>true</code> if the change is valid for undo or redo
 		 */
 		protected boolean isValid() {
-			return fStart > -1 && fEnd > -1 && fText != null;
+			if (fStart < 0 || fEnd < 0)
+				return false;
+			synchronized (this) {
+				return fText != null || fStoredText != null;
+			}
 		}
 
 		@Override
@@ -395,11 +898,11 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			text.append(fEnd);
 			text.append(delimiter);
 			text.append("text: '"); //$NON-NLS-1$
-			text.append(fText);
+			text.append(fStoredText != null ? "<compressed>" : fText); //$NON-NLS-1$
 			text.append('\'');
 			text.append(delimiter);
 			text.append("preservedText: '"); //$NON-NLS-1$
-			text.append(fPreservedText);
+			text.append(fStoredPreservedText != null ? "<compressed>" : fPreservedText); //$NON-NLS-1$
 			text.append('\'');
 			return text.toString();
 		}
@@ -456,10 +959,21 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 			int size= fChanges.size();
 			if (size > 0) {
+				// read all texts first so that a read error leaves the document untouched
+				String[] preservedTexts= new String[size];
+				String text;
+				try {
+					for (int i= 0; i < size; i++)
+						preservedTexts[i]= fChanges.get(i).getPreservedText();
+					text= fChanges.get(0).getText();
+				} catch (IOException x) {
+					return createReadErrorStatus(x);
+				}
+
 				UndoableTextChange c;
 
 				c= fChanges.get(0);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, preservedTexts[0], text, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -470,14 +984,14 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 				for (int i= size - 1; i >= 0; --i) {
 					c= fChanges.get(i);
-					c.undoTextChange();
+					c.undoTextChange(preservedTexts[i]);
 				}
 
 				if (rewriteSession != null) {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo,
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, preservedTexts[0], text, uiInfo,
 						DocumentUndoEvent.UNDONE, size > 1);
 			}
 			return Status.OK_STATUS;
@@ -488,10 +1002,20 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 			int size= fChanges.size();
 			if (size > 0) {
+				// read all texts first so that a read error leaves the document untouched
+				String[] texts= new String[size];
+				String preservedText;
+				try {
+					for (int i= 0; i < size; i++)
+						texts[i]= fChanges.get(i).getText();
+					preservedText= fChanges.get(size - 1).getPreservedText();
+				} catch (IOException x) {
+					return createReadErrorStatus(x);
+				}
 
 				UndoableTextChange c;
 				c= fChanges.get(size - 1);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, texts[size - 1], preservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -502,14 +1026,14 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 				for (int i= 0; i < size; ++i) {
 					c= fChanges.get(i);
-					c.redoTextChange();
+					c.redoTextChange(texts[i]);
 				}
 
 				if (rewriteSession != null) {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.REDONE, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, texts[size - 1], preservedText, uiInfo, DocumentUndoEvent.REDONE, size > 1);
 			}
 
 			return Status.OK_STATUS;
@@ -529,11 +1053,27 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			c.fUndoModificationStamp= fUndoModificationStamp;
 			c.fRedoModificationStamp= fRedoModificationStamp;
 			add(c);
+			fDocumentUndoManager.retain(c);
 
 			// clear out all indexes now that the child is added
 			reinitialize();
 		}
 
+		@Override
+		public void dispose() {
+			for (UndoableTextChange change : fChanges)
+				change.dispose();
+			fChanges.clear();
+			super.dispose();
+		}
+
+		@Override
+		void setDocumentUndoManager(DocumentUndoManager manager) {
+			super.setDocumentUndoManager(manager);
+			for (UndoableTextChange change : fChanges)
+				change.setDocumentUndoManager(manager);
+		}
+
 		@Override
 		protected UndoableTextChange createCurrent() {
 
@@ -773,6 +1313,56 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	/** The list of clients connected. */
 	private List<Object> fConnected;
 
+	/**
+	 * The minimal number of characters of a committed change for storing its text compressed.
+	 */
+	private static final int COMPRESSION_THRESHOLD= 64 * 1024;
+
+	/**
+	 * Compresses and spills the text of committed changes, so that this does not
+	 * happen in the thread which modifies the document.
+	 */
+	private static final ExecutorService STORAGE_EXECUTOR= createStorageExecutor();
+
+	/**
+	 * Guards the memory accounting: the budget, the footprint, the retained and
+	 * spilled changes and their footprints.
+	 */
+	private final Object fStorageLock= new Object();
+
+	/**
+	 * Serializes the writing to and the disposal of the spill file, and the
+	 * reading back of spilled changes. May be acquired before the storage lock,
+	 * but not while holding it.
+	 */
+	private final Object fSpillLock= new Object();
+
+	/**
+	 * The number of bytes the undo history may keep in memory before older changes
+	 * are spilled to a temporary file.
+	 */
+	private long fUndoMemoryBudget= Long.MAX_VALUE;
+
+	/**
+	 * The number of bytes the retained changes keep in memory.
+	 */
+	private long fUndoMemoryFootprint;
+
+	/**
+	 * The committed changes kept in memory, oldest first.
+	 */
+	private final Set<UndoableTextChange> fRetainedChanges= new LinkedHashSet<>();
+
+	/**
+	 * The committed changes spilled to the spill file.
+	 */
+	private final Set<UndoableTextChange> fSpilledChanges= new LinkedHashSet<>();
+
+	/**
+	 * The spill file, or <code>null</code> if not yet created. Guarded by the spill lock.
+	 */
+	private SpillFile fSpillFile;
+
 	/**
 	 *
 	 * Create a DocumentUndoManager for the given document.
@@ -895,6 +1485,191 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fHistory.setLimit(fUndoContext, undoLimit);
 	}
 
+	/**
+	 * Sets the number of bytes the undo history of this manager may keep in memory.
+	 * The text of changes exceeding the budget, oldest first, is compressed and
+	 * written to a temporary file from which it is read back on undo or redo.
+	 * The file is encrypted with a key which is only kept in memory, and it is
+	 * deleted when this manager is disconnected from its last client.
+	 * <p>
+	 * The text of large changes is always kept compressed. By default, the undo
+	 * history is not limited and nothing is written to disk.
+	 * </p>
+	 *
+	 * @param budget the memory budget in bytes, or {@link Long#MAX_VALUE} for no limit
+	 * @since 3.15
+	 */
+	public void setUndoMemoryBudget(long budget) {
+		Assert.isLegal(budget >= 0);
+		synchronized (fStorageLock) {
+			fUndoMemoryBudget= budget;
+		}
+		STORAGE_EXECUTOR.execute(this::trimToBudget);
+	}
+
+	/**
+	 * Returns the approximate number of bytes the text of the undo history of this
+	 * manager currently keeps in memory. The text of committed changes is compressed
+	 * and spilled in the background, so the footprint may decrease some time after
+	 * a change has been committed.
+	 *
+	 * @return the memory footprint of the undo history in bytes
+	 * @since 3.15
+	 */
+	public long getUndoMemoryFootprint() {
+		synchronized (fStorageLock) {
+			return fUndoMemoryFootprint;
+		}
+	}
+
+	/**
+	 * Accounts for the given committed change. Compressing the text of large changes
+	 * and spilling changes exceeding the budget is done in the background.
+	 *
+	 * @param change the committed change
+	 */
+	void retain(UndoableTextChange change) {
+		if (!change.isValid())
+			return;
+		long footprint= change.computeMemoryFootprint();
+		boolean store;
+		synchronized (fStorageLock) {
+			if (change.fMemoryFootprint >= 0)
+				return;
+			change.fMemoryFootprint= footprint;
+			fUndoMemoryFootprint+= footprint;
+			if (footprint > 0)
+				fRetainedChanges.add(change);
+			store= footprint >= 2L * COMPRESSION_THRESHOLD || fUndoMemoryFootprint > fUndoMemoryBudget;
+		}
+		if (store)
+			STORAGE_EXECUTOR.execute(() -> store(change));
+	}
+
+	/**
+	 * Stops accounting for the given change.
+	 *
+	 * @param change the change which is disposed or transferred to another manager
+	 * @return <code>true</code> if the change has been accounted for
+	 */
+	boolean release(UndoableTextChange change) {
+		synchronized (fStorageLock) {
+			if (change.fMemoryFootprint < 0)
+				return false;
+			fUndoMemoryFootprint-= change.fMemoryFootprint;
+			change.fMemoryFootprint= -1;
+			if (!fRetainedChanges.remove(change))
+				fSpilledChanges.remove(change);
+			return true;
+		}
+	}
+
+	/**
+	 * Compresses the text of the given change if it is large and spills the oldest
+	 * changes if the budget is exceeded. Runs in the background.
+	 *
+	 * @param change the committed change
+	 */
+	private void store(UndoableTextChange change) {
+		if (change.computeMemoryFootprint() >= 2L * COMPRESSION_THRESHOLD && change.compress()) {
+			long footprint= change.computeMemoryFootprint();
+			synchronized (fStorageLock) {
+				// the change may have been released or transferred in the meantime
+				if (fRetainedChanges.contains(change)) {
+					fUndoMemoryFootprint-= change.fMemoryFootprint - footprint;
+					change.fMemoryFootprint= footprint;
+				}
+			}
+		}
+		trimToBudget();
+	}
+
+	/**
+	 * Spills the oldest changes until the memory footprint fits into the budget.
+	 * Runs in the background.
+	 */
+	private void trimToBudget() {
+		synchronized (fSpillLock) {
+			while (true) {
+				UndoableTextChange change;
+				synchronized (fStorageLock) {
+					Iterator<UndoableTextChange> iterator= fRetainedChanges.iterator();
+					if (fUndoMemoryFootprint <= fUndoMemoryBudget || !iterator.hasNext())
+						return;
+					change= iterator.next();
+				}
+				try {
+					if (fSpillFile == null)
+						fSpillFile= SpillFile.create();
+					change.spill(fSpillFile);
+				} catch (IOException x) {
+					// keep the remaining changes in memory
+					return;
+				}
+				long footprint= change.computeMemoryFootprint();
+				synchronized (fStorageLock) {
+					// the change may have been released in the meantime
+					if (fRetainedChanges.remove(change)) {
+						fSpilledChanges.add(change);
+						fUndoMemoryFootprint-= change.fMemoryFootprint - footprint;
+						change.fMemoryFootprint= footprint;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Deletes the spill file. Changes which are still referenced by the
+	 * operation history are read back into memory.
+	 */
+	private void disposeSpillFile() {
+		synchronized (fSpillLock) {
+			List<UndoableTextChange> spilledChanges;
+			synchronized (fStorageLock) {
+				spilledChanges= new ArrayList<>(fSpilledChanges);
+				for (UndoableTextChange change : fSpilledChanges)
+					change.fMemoryFootprint= -1;
+				for (UndoableTextChange change : fRetainedChanges)
+					change.fMemoryFootprint= -1;
+				fSpilledChanges.clear();
+				fRetainedChanges.clear();
+				fUndoMemoryFootprint= 0;
+			}
+			for (UndoableTextChange change : spilledChanges) {
+				try {
+					change.unspill();
+				} catch (IOException x) {
+					// the text is lost
+				}
+			}
+			if (fSpillFile != null) {
+				fSpillFile.close();
+				fSpillFile= null;
+			}
+		}
+	}
+
+	private static ExecutorService createStorageExecutor() {
+		ThreadPoolExecutor executor= new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread= new Thread(runnable, "Undo History Storage"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Creates the status reported if the text of a change cannot be read.
+	 *
+	 * @param exception the exception
+	 * @return the error status
+	 */
+	private static IStatus createReadErrorStatus(IOException exception) {
+		return new Status(IStatus.ERROR, "org.eclipse.text", UndoMessages.getString("DocumentUndoManager.readError"), exception); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	/**
 	 * Fires a document undo event to all registered document undo listeners.
 	 * Uses a robust iterator.
@@ -1226,6 +2001,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fPreservedTextBuffer= null;
 
 		disposeUndoHistory();
+		disposeSpillFile();
 	}
 
 	/**
@@ -1257,7 +2033,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			}
 			// Now update the manager that owns the text edit.
 			if (op instanceof UndoableTextChange) {
-				((UndoableTextChange)op).fDocumentUndoManager= this;
+				((UndoableTextChange)op).setDocumentUndoManager(this);
 			}
 		}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,7 +44,6 @@ import org.eclipse.jface.text.hyperlink.MultipleHyperlinkPresenter;
 import org.eclipse.jface.text.quickassist.IQuickAssistAssistant;
 import org.eclipse.jface.text.quickassist.QuickAssistAssistant;
 import org.eclipse.jface.text.reconciler.IReconciler;
-import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.MonoReconciler;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.DefaultAnnotationHover;
@@ -391,7 +390,8 @@ public class TextSourceViewerConfiguration extends SourceViewerConfiguration {
 		if (spellingService.getActiveSpellingEngineDescriptor(fPreferenceStore) == null)
 			return null;
 
-		IReconcilingStrategy strategy= new SpellingReconcileStrategy(sourceViewer, spellingService);
+		SpellingReconcileStrategy strategy= new SpellingReconcileStrategy(sourceViewer, spellingService);
+		strategy.setIncremental(true);
 		MonoReconciler reconciler= new MonoReconciler(strategy, false);
 		reconciler.setDelay(500);
 		return reconciler;
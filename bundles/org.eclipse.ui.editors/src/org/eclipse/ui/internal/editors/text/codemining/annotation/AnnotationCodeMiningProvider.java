@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2023 Altran Netherlands B.V. and others.
+ * Copyright (c) 2018, 2026 Altran Netherlands B.V. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.jface.internal.text.AsyncProviderExecutor;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
@@ -210,7 +211,7 @@ public class AnnotationCodeMiningProvider extends AbstractCodeMiningProvider
 	}
 
 	private CompletableFuture<List<? extends ICodeMining>> provideCodeMiningsInternal(IProgressMonitor monitor) {
-		return CompletableFuture.supplyAsync(() -> {
+		return AsyncProviderExecutor.getDefault().supplyAsync(() -> {
 			if (!checkAnnotationModelAvailable()) {
 				return Collections.emptyList();
 			}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,62 +13,136 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.genericeditor;
 
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerLifecycle;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
+import org.eclipse.swt.widgets.Display;
 
+/**
+ * Runs several reconciling strategies.
+ * <p>
+ * By default the strategies are called one after another on the thread of the
+ * reconciler. If the strategies run concurrently, a slow strategy does not
+ * delay the others: they are called on a shared pool of threads, and the calls
+ * of one strategy are still made one after another. The reconciler thread waits
+ * for each strategy at most {@link #TIMEOUT_MILLIS} after its call started, and
+ * the progress monitor of a strategy reports a call which takes longer as
+ * canceled. A queued reconcile of a partition is dropped, and a running one is
+ * canceled, when the strategy is asked to reconcile the same partition again or
+ * a newer state of the document. The calls for dirty regions of an incremental
+ * reconciler are always made, as they describe the changes.
+ * </p>
+ */
 public class CompositeReconcilerStrategy
 		implements IReconcilingStrategy, IReconcilingStrategyExtension, ITextViewerLifecycle {
+
+	private static final boolean TRACING = "true" //$NON-NLS-1$
+			.equalsIgnoreCase(Platform.getDebugOption(GenericEditorPlugin.BUNDLE_ID + "/debug/reconcilingStrategies")); //$NON-NLS-1$
+
+	/**
+	 * The time the reconciler thread waits for a strategy.
+	 */
+	static final long TIMEOUT_MILLIS = 1000;
+
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "Generic Editor Reconciling Strategy"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private List<IReconcilingStrategy> fReconcilingStrategies;
+	private List<StrategyRunner> fRunners;
+	private volatile IDocument fDocument;
 
 	public CompositeReconcilerStrategy(List<IReconcilingStrategy> strategies) {
+		this(strategies, false);
+	}
+
+	/**
+	 * Creates a strategy running the given strategies.
+	 *
+	 * @param strategies the strategies
+	 * @param concurrent whether the strategies reconcile concurrently, off the
+	 *                   reconciler thread. This is only suitable for a reconciler
+	 *                   which neither forbids the strategies to modify the
+	 *                   document nor relies on being called on its own thread.
+	 */
+	public CompositeReconcilerStrategy(List<IReconcilingStrategy> strategies, boolean concurrent) {
 		this.fReconcilingStrategies = strategies;
+		if (concurrent) {
+			this.fRunners = new ArrayList<>(strategies.size());
+			for (IReconcilingStrategy strategy : strategies) {
+				fRunners.add(new StrategyRunner(strategy));
+			}
+		}
 	}
 
 	@Override
 	public void setProgressMonitor(IProgressMonitor monitor) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+		for (int i = 0; i < fReconcilingStrategies.size(); i++) {
+			IReconcilingStrategy strategy = fReconcilingStrategies.get(i);
 			if (strategy instanceof IReconcilingStrategyExtension) {
-				((IReconcilingStrategyExtension) strategy).setProgressMonitor(monitor);
+				((IReconcilingStrategyExtension) strategy)
+						.setProgressMonitor(fRunners == null ? monitor : fRunners.get(i).wrap(monitor));
 			}
 		}
 	}
 
 	@Override
 	public void initialReconcile() {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+		run("initialReconcile", null, strategy -> { //$NON-NLS-1$
 			if (strategy instanceof IReconcilingStrategyExtension) {
 				((IReconcilingStrategyExtension) strategy).initialReconcile();
 			}
-		}
+		});
 	}
 
 	@Override
 	public void setDocument(IDocument document) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			strategy.setDocument(document);
+		fDocument = document;
+		if (fRunners == null) {
+			for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+				strategy.setDocument(document);
+			}
+			return;
+		}
+		// queued, so that it is not called while a reconcile is still running
+		for (StrategyRunner runner : fRunners) {
+			runner.submit(new Call("setDocument", null, 0, strategy -> strategy.setDocument(document))); //$NON-NLS-1$
 		}
 	}
 
 	@Override
 	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			strategy.reconcile(dirtyRegion, subRegion);
-		}
+		run("reconcile", null, strategy -> strategy.reconcile(dirtyRegion, subRegion)); //$NON-NLS-1$
 	}
 
 	@Override
 	public void reconcile(IRegion partition) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			strategy.reconcile(partition);
-		}
+		run("reconcile", partition, strategy -> strategy.reconcile(partition)); //$NON-NLS-1$
 	}
 
 	@Override
@@ -82,9 +156,257 @@ public class CompositeReconcilerStrategy
 
 	@Override
 	public void uninstall() {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			if (strategy instanceof ITextViewerLifecycle) {
-				((ITextViewerLifecycle) strategy).uninstall();
+		if (fRunners == null) {
+			for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+				uninstall(strategy);
+			}
+			return;
+		}
+		List<Call> running = new ArrayList<>(fRunners.size());
+		for (StrategyRunner runner : fRunners) {
+			running.add(runner.stop());
+		}
+		Display display = Display.getCurrent();
+		for (int i = 0; i < fRunners.size(); i++) {
+			IReconcilingStrategy strategy = fRunners.get(i).strategy;
+			Call call = running.get(i);
+			if (call == null || call.await()) {
+				uninstall(strategy);
+			} else {
+				// not uninstalled while the call is still running
+				call.future.thenRun(() -> {
+					if (display == null) {
+						uninstall(strategy);
+					} else if (!display.isDisposed()) {
+						display.asyncExec(() -> uninstall(strategy));
+					}
+				});
+			}
+		}
+	}
+
+	private static void uninstall(IReconcilingStrategy strategy) {
+		if (strategy instanceof ITextViewerLifecycle) {
+			((ITextViewerLifecycle) strategy).uninstall();
+		}
+	}
+
+	/**
+	 * Runs the given operation on all strategies and, if they run concurrently,
+	 * waits until they are done or their timeout has elapsed.
+	 *
+	 * @param partition the reconciled partition, or <code>null</code> if the
+	 *                  call cannot be superseded by a later one
+	 */
+	private void run(String operation, IRegion partition, Consumer<IReconcilingStrategy> action) {
+		if (fRunners == null) {
+			for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+				action.accept(strategy);
+			}
+			return;
+		}
+		long stamp = getModificationStamp();
+		List<Call> calls = new ArrayList<>(fRunners.size());
+		for (StrategyRunner runner : fRunners) {
+			Call call = new Call(operation, partition, stamp, action);
+			runner.submit(call);
+			calls.add(call);
+		}
+		for (int i = 0; i < calls.size(); i++) {
+			Call call = calls.get(i);
+			if (!call.await()) {
+				if (call.isStarted()) {
+					call.canceled = true;
+				}
+				if (TRACING) {
+					System.out.println(MessageFormat.format("[GenericEditor] {0} of {1} still running after {2}ms", //$NON-NLS-1$
+							operation, fRunners.get(i).strategy.getClass().getName(), Long.valueOf(TIMEOUT_MILLIS)));
+				}
+			}
+		}
+	}
+
+	private long getModificationStamp() {
+		IDocument document = fDocument;
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * A call of a strategy.
+	 */
+	private static final class Call {
+
+		final String operation;
+
+		/**
+		 * The reconciled partition, or <code>null</code> if the call cannot be
+		 * superseded.
+		 */
+		final IRegion partition;
+
+		/**
+		 * The modification stamp of the document when the call was made.
+		 */
+		final long stamp;
+
+		final Consumer<IReconcilingStrategy> action;
+
+		final CompletableFuture<Void> future = new CompletableFuture<>();
+
+		final long submitted = System.nanoTime();
+
+		volatile boolean canceled;
+
+		private volatile boolean started;
+
+		private long startTime;
+
+		Call(String operation, IRegion partition, long stamp, Consumer<IReconcilingStrategy> action) {
+			this.operation = operation;
+			this.partition = partition;
+			this.stamp = stamp;
+			this.action = action;
+		}
+
+		/**
+		 * Returns whether this call makes the given earlier call obsolete.
+		 */
+		boolean supersedes(Call call) {
+			return partition != null && call.partition != null
+					&& (stamp != call.stamp || partition.equals(call.partition));
+		}
+
+		void start() {
+			startTime = System.nanoTime();
+			started = true;
+		}
+
+		boolean isStarted() {
+			return started;
+		}
+
+		/**
+		 * Waits until this call is done, at most {@link #TIMEOUT_MILLIS} after it
+		 * was submitted or, if it started later, after it started.
+		 *
+		 * @return whether the call is done
+		 */
+		boolean await() {
+			long timeout = TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+			long deadline = submitted + timeout;
+			while (true) {
+				try {
+					future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+					return true;
+				} catch (TimeoutException e) {
+					if (!started || startTime + timeout - deadline <= 0) {
+						return false;
+					}
+					deadline = startTime + timeout;
+				} catch (ExecutionException e) {
+					return true;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Calls one strategy, one call after another, on the threads of the
+	 * executor.
+	 */
+	private static final class StrategyRunner {
+
+		final IReconcilingStrategy strategy;
+
+		private final Deque<Call> queue = new ArrayDeque<>();
+
+		/**
+		 * The running call, only modified while synchronized.
+		 */
+		private volatile Call running;
+
+		StrategyRunner(IReconcilingStrategy strategy) {
+			this.strategy = strategy;
+		}
+
+		IProgressMonitor wrap(IProgressMonitor monitor) {
+			return new ProgressMonitorWrapper(monitor != null ? monitor : new NullProgressMonitor()) {
+				@Override
+				public boolean isCanceled() {
+					Call call = running;
+					return call != null && call.canceled || super.isCanceled();
+				}
+			};
+		}
+
+		/**
+		 * Queues the given call, drops the queued calls it supersedes and cancels
+		 * the running one if it is superseded.
+		 */
+		synchronized void submit(Call call) {
+			queue.removeIf(queued -> {
+				if (call.supersedes(queued)) {
+					queued.future.complete(null);
+					return true;
+				}
+				return false;
+			});
+			Call current = running;
+			if (current != null && call.supersedes(current)) {
+				current.canceled = true;
+			}
+			queue.add(call);
+			if (current == null) {
+				runNext();
+			}
+		}
+
+		/**
+		 * Drops the queued calls and cancels the running call.
+		 *
+		 * @return the running call or <code>null</code>
+		 */
+		synchronized Call stop() {
+			for (Call queued : queue) {
+				queued.future.complete(null);
+			}
+			queue.clear();
+			Call current = running;
+			if (current != null) {
+				current.canceled = true;
+			}
+			return current;
+		}
+
+		private synchronized void runNext() {
+			Call call = queue.poll();
+			running = call;
+			if (call != null) {
+				EXECUTOR.execute(() -> run(call));
+			}
+		}
+
+		private void run(Call call) {
+			call.start();
+			long start = TRACING ? System.nanoTime() : 0;
+			try {
+				SafeRunner.run(() -> call.action.accept(strategy));
+				if (TRACING) {
+					System.out.println(MessageFormat.format("[GenericEditor] {0} of {1} took {2}ms", call.operation, //$NON-NLS-1$
+							strategy.getClass().getName(),
+							Long.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))));
+				}
+			} finally {
+				synchronized (this) {
+					call.future.complete(null);
+					runNext();
+				}
 			}
 		}
 	}
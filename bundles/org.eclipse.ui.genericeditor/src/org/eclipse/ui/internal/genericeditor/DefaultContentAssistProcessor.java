@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,13 +15,11 @@
 package org.eclipse.ui.internal.genericeditor;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.contentassist.CompletionProposal;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
@@ -42,54 +40,68 @@ import org.eclipse.jface.text.contentassist.IContextInformationValidator;
  */
 public class DefaultContentAssistProcessor implements IContentAssistProcessor {
 
-	private static final String NON_ALPHANUMERIC_LAST_REGEXP = "[^\\w](?!.*[^\\w])"; //$NON-NLS-1$
-	private static final String NON_ALPHANUMERIC_REGEXP = "[^a-zA-Z0-9]+"; //$NON-NLS-1$
-	private static final Pattern NON_ALPHANUMERIC_LAST_PATTERN = Pattern.compile(NON_ALPHANUMERIC_LAST_REGEXP);
-
+	private static final String ALPHANUMERIC_REGEXP = "[a-zA-Z0-9]+"; //$NON-NLS-1$
+	private static final Pattern ALPHANUMERIC_PATTERN = Pattern.compile(ALPHANUMERIC_REGEXP);
+
+	/**
+	 * Connects to the word index used for the proposals of the given document,
+	 * so that it is kept up to date during a content assist session instead of
+	 * being built again for every computation.
+	 *
+	 * @param document the document
+	 * @return the connected word index, to be disconnected at the end of the
+	 *         session
+	 */
+	static WordIndex connectWordIndex(IDocument document) {
+		return WordIndex.connect(document, ALPHANUMERIC_PATTERN);
+	}
 
 	@Override
 	public ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
-		String text = viewer.getDocument().get();
-		//wordStartIndex is the index of the last non-alphanumeric before 'offset' in text 'text'
-		int wordStartIndex = findStartingPoint(text, offset);
-		if (wordStartIndex < 0) {
-			// not possible
+		IDocument document = viewer.getDocument();
+		String prefix;
+		try {
+			//wordStartIndex is the index after the last non-alphanumeric before 'offset'
+			int wordStartIndex = findStartingPoint(document, offset);
+			if (wordStartIndex < 0) {
+				// not possible
+				return null;
+			}
+			prefix = document.get(wordStartIndex, offset - wordStartIndex);
+		} catch (BadLocationException e) {
 			return null;
 		}
-		String[] tokens = text.split(NON_ALPHANUMERIC_REGEXP);
-
-		// remove duplicates
-		Set<String> tokenSet = new HashSet<>(Arrays.asList(tokens));
-
-		String prefix = text.substring(wordStartIndex, offset);
 
 		List<ICompletionProposal> proposals = new ArrayList<>();
-		for (String token : tokenSet) {
-			if ((token==null)||(token.length()<2)) {
+		for (String token : WordIndex.get(document, ALPHANUMERIC_PATTERN).getWordsStartingWith(prefix)) {
+			if (token.length() < 2) {
 				continue;
 			}
 			if (token.equals(prefix)) {
 				continue;
 			}
-			if (token.startsWith(prefix)) {
-				String completion = token.substring(prefix.length());
-				CompletionProposal proposal = new CompletionProposal(completion, offset, 0,
-						completion.length(), null,  token, null, null);
-				proposals.add(proposal);
-			}
+			String completion = token.substring(prefix.length());
+			CompletionProposal proposal = new CompletionProposal(completion, offset, 0,
+					completion.length(), null,  token, null, null);
+			proposals.add(proposal);
 		}
 		return proposals.toArray(new ICompletionProposal[proposals.size()]);
 	}
 
-	private static int findStartingPoint(String text, int offset) {
-		String substring = text.substring(0, offset);
-		Matcher m = NON_ALPHANUMERIC_LAST_PATTERN.matcher(substring);
-		if (m.find()) {
-			return m.end();
+	private static int findStartingPoint(IDocument document, int offset) throws BadLocationException {
+		for (int i = offset - 1; i >= 0; i--) {
+			char c = document.getChar(i);
+			if (!isWordCharacter(c)) {
+				return i + 1;
+			}
 		}
 		return -1;
 	}
 
+	private static boolean isWordCharacter(char c) {
+		return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+	}
+
 	@Override
 	public IContextInformation[] computeContextInformation(ITextViewer viewer, int offset) {
 		return null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,7 @@ import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
@@ -58,6 +59,7 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	private boolean enabled;
 	private ISourceViewer sourceViewer;
 	private IDocument document;
+	private WordIndex wordIndex;
 
 	private static final String WORD_REGEXP = "\\w+"; //$NON-NLS-1$
 	private static final Pattern WORD_PATTERN = Pattern.compile(WORD_REGEXP, Pattern.UNICODE_CHARACTER_CLASS);
@@ -73,29 +75,26 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 			return;
 		}
 		ITextSelection textSelection = (ITextSelection) selection;
-		if (sourceViewer == null || !enabled) {
+		WordIndex index = wordIndex;
+		if (sourceViewer == null || !enabled || index == null) {
 			removeOccurrenceAnnotations();
 			return;
 		}
 
-		String text = document.get();
 		int offset = textSelection.getOffset();
 		if (sourceViewer instanceof ITextViewerExtension5) {
 			offset = ((ITextViewerExtension5) sourceViewer).widgetOffset2ModelOffset(textSelection.getOffset());
 		}
 
-		String word = findCurrentWord(text, offset);
+		String word = findCurrentWord(document, offset);
 		if (word == null) {
 			removeOccurrenceAnnotations();
 			return;
 		}
 
-		Matcher m = WORD_PATTERN.matcher(text);
 		Map<Annotation, Position> annotationMap = new HashMap<>();
-		while (m.find()) {
-			if (m.group().equals(word)) {
-				annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), new Position(m.start(), m.end() - m.start()));
-			}
+		for (IRegion occurrence : index.getOccurrences(word)) {
+			annotationMap.put(new Annotation(ANNOTATION_TYPE, false, NLS.bind(Messages.DefaultWordHighlightStrategy_OccurrencesOf, word)), new Position(occurrence.getOffset(), occurrence.getLength()));
 		}
 
 		if (annotationMap.size() < 2) {
@@ -123,8 +122,21 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 		}
 	}
 
-	private static String findCurrentWord(String text, int offset) {
-		if (offset < 0 || offset >= text.length()) {
+	private static String findCurrentWord(IDocument document, int offset) {
+		if (offset < 0 || offset >= document.getLength()) {
+			return null;
+		}
+		// words do not span lines, so only the line containing the offset matters
+		String text;
+		try {
+			IRegion line = document.getLineInformationOfOffset(offset);
+			text = document.get(line.getOffset(), line.getLength());
+			offset -= line.getOffset();
+		} catch (BadLocationException e) {
+			return null;
+		}
+		if (offset > text.length()) {
+			// inside of a line delimiter
 			return null;
 		}
 		String wordStart = null;
@@ -156,6 +168,7 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 		this.enabled = preferences.getBoolean(ToggleHighlight.TOGGLE_HIGHLIGHT_PREFERENCE, true);
 		this.sourceViewer = (ISourceViewer) viewer;
 		((IPostSelectionProvider) sourceViewer.getSelectionProvider()).addPostSelectionChangedListener(editorSelectionChangedListener);
+		updateWordIndex();
 	}
 
 	public void uninstall() {
@@ -164,11 +177,29 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 		}
 		IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(GenericEditorPlugin.BUNDLE_ID);
 		preferences.removePreferenceChangeListener(this);
+		sourceViewer = null;
+		updateWordIndex();
+	}
+
+	/**
+	 * Connects to the word index of the document while highlighting is
+	 * enabled, so that the index only listens to the document changes while it
+	 * is needed.
+	 */
+	private void updateWordIndex() {
+		if (wordIndex != null) {
+			wordIndex.disconnect();
+			wordIndex = null;
+		}
+		if (sourceViewer != null && enabled && document != null) {
+			wordIndex = WordIndex.connect(document, WORD_PATTERN);
+		}
 	}
 
 	@Override public void preferenceChange(PreferenceChangeEvent event) {
 		if (event.getKey().equals(ToggleHighlight.TOGGLE_HIGHLIGHT_PREFERENCE)) {
 			this.enabled = Boolean.parseBoolean(event.getNewValue().toString());
+			updateWordIndex();
 			if (enabled) {
 				initialReconcile();
 			} else {
@@ -188,6 +219,9 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 	}
 
 	void removeOccurrenceAnnotations() {
+		if (sourceViewer == null) {
+			return;
+		}
 		IAnnotationModel annotationModel = sourceViewer.getAnnotationModel();
 		if (annotationModel == null || fOccurrenceAnnotations == null) {
 			return;
@@ -217,6 +251,7 @@ public class DefaultWordHighlightStrategy implements IReconcilingStrategy, IReco
 
 	@Override public void setDocument(IDocument document) {
 		this.document = document;
+		updateWordIndex();
 	}
 
 	@Override public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
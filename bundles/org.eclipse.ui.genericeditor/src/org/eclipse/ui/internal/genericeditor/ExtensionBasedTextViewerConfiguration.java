@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -307,8 +307,9 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 
 		if (!reconcilingStrategies.isEmpty()) {
 			// Create the main Reconciler of the generic editor
+			// the strategies may modify the document and reconcile concurrently
 			Reconciler reconciler = new Reconciler();
-			reconciler.setReconcilingStrategy(new CompositeReconcilerStrategy(reconcilingStrategies),
+			reconciler.setReconcilingStrategy(new CompositeReconcilerStrategy(reconcilingStrategies, true),
 					IDocument.DEFAULT_CONTENT_TYPE);
 			reconcilers.add(0, reconciler);
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Christoph Läubrich and others.
+ * Copyright (c) 2021, 2026 Christoph Läubrich and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,7 +25,10 @@ import org.eclipse.jface.text.DefaultInformationControl;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IInformationControl;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.contentassist.ContentAssistEvent;
 import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.ICompletionListener;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.contentassist.IContentAssistProcessor;
 import org.eclipse.jface.text.contentassist.IContentAssistant;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -51,6 +54,28 @@ public class GenericEditorContentAssistant extends ContentAssistant implements I
 	private Set<IContentType> types;
 	private List<IContentAssistProcessor> processors;
 	private final IPreferenceStore preferenceStore;
+	private ITextViewer viewer;
+	private WordIndex wordIndex;
+	private final ICompletionListener wordIndexConnector = new ICompletionListener() {
+		@Override
+		public void assistSessionStarted(ContentAssistEvent event) {
+			if (event.processor == DEFAULT_CONTENT_ASSIST_PROCESSOR) {
+				connectWordIndex();
+			}
+		}
+
+		@Override
+		public void assistSessionEnded(ContentAssistEvent event) {
+			if (event.processor == DEFAULT_CONTENT_ASSIST_PROCESSOR) {
+				disconnectWordIndex();
+			}
+		}
+
+		@Override
+		public void selectionChanged(ICompletionProposal proposal, boolean smartToggle) {
+			// nothing to do
+		}
+	};
 
 	/**
 	 * Creates a new GenericEditorContentAssistant instance for the given content
@@ -159,8 +184,30 @@ public class GenericEditorContentAssistant extends ContentAssistant implements I
 				preferenceStore.getBoolean(GenericEditorPreferenceConstants.CONTENT_ASSISTANT_AUTO_ACTIVATION_ON_TYPE));
 	}
 
+	/**
+	 * Keeps the word index of the default processor up to date during a content
+	 * assist session, so that it does not listen to the document in between.
+	 */
+	private void connectWordIndex() {
+		disconnectWordIndex();
+		IDocument document = viewer != null ? viewer.getDocument() : null;
+		if (document != null) {
+			wordIndex = DefaultContentAssistProcessor.connectWordIndex(document);
+		}
+	}
+
+	private void disconnectWordIndex() {
+		if (wordIndex != null) {
+			wordIndex.disconnect();
+			wordIndex = null;
+		}
+	}
+
 	@Override
 	public void uninstall() {
+		removeCompletionListener(wordIndexConnector);
+		disconnectWordIndex();
+		viewer = null;
 		contentAssistProcessorTracker.stopTracking();
 		if (preferenceStore != null) {
 			preferenceStore.removePropertyChangeListener(this);
@@ -171,6 +218,8 @@ public class GenericEditorContentAssistant extends ContentAssistant implements I
 	@Override
 	public void install(ITextViewer textViewer) {
 		super.install(textViewer);
+		viewer = textViewer;
+		addCompletionListener(wordIndexConnector);
 		updateProcessors(textViewer.getDocument());
 		contentAssistProcessorTracker.onAdd(added -> {
 			if (types.contains(added.getContentType())) {
@@ -0,0 +1,381 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.genericeditor;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+/**
+ * Index of the words of a document, kept up to date with the document changes.
+ * <p>
+ * The document is split into blocks of about {@value #BLOCK_SIZE} characters
+ * which end after a whitespace character, so that no word spans two blocks.
+ * Each block knows the number of occurrences of its words, and the index knows
+ * the number of occurrences of all words in sorted order. A document change
+ * only tokenizes the blocks it touches again, a lookup of the words with a
+ * given prefix only visits the matching words, and a lookup of the occurrences
+ * of a word only scans the blocks containing the word.
+ * </p>
+ * <p>
+ * An index only listens to its document while clients are connected. The
+ * index is built on the first lookup, and lookups may happen outside of the UI
+ * thread. Document changes are only recorded by the listener and applied on
+ * the next lookup, so that a lookup in progress never blocks a document change.
+ * </p>
+ */
+final class WordIndex implements IDocumentListener {
+
+	private static final int BLOCK_SIZE = 16 * 1024;
+
+	/** The connected indices, guarded by itself. */
+	private static final Map<IDocument, Map<Pattern, WordIndex>> INDICES = new WeakHashMap<>();
+
+	private static final class Block {
+
+		int length;
+
+		final Map<String, Integer> words = new HashMap<>();
+
+		Block(int length) {
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Connects to the index of the words of the given document. The index is
+	 * shared by all clients using the same pattern, and kept up to date with
+	 * the document until the last client disconnects.
+	 *
+	 * @param document the document
+	 * @param wordPattern the pattern matching a word, which must not match
+	 *                    whitespace characters
+	 * @return the word index of the document
+	 * @see #disconnect()
+	 */
+	static WordIndex connect(IDocument document, Pattern wordPattern) {
+		synchronized (INDICES) {
+			WordIndex index = INDICES.computeIfAbsent(document, d -> new HashMap<>(2)).computeIfAbsent(wordPattern,
+					p -> new WordIndex(document, p));
+			if (index.connections++ == 0) {
+				document.addDocumentListener(index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns the index of the words of the given document. If no client is
+	 * connected to the index, the returned index is not kept up to date and
+	 * is built again on every lookup.
+	 *
+	 * @param document the document
+	 * @param wordPattern the pattern matching a word, which must not match
+	 *                    whitespace characters
+	 * @return the word index of the document
+	 */
+	static WordIndex get(IDocument document, Pattern wordPattern) {
+		synchronized (INDICES) {
+			Map<Pattern, WordIndex> indices = INDICES.get(document);
+			WordIndex index = indices != null ? indices.get(wordPattern) : null;
+			return index != null ? index : new WordIndex(document, wordPattern);
+		}
+	}
+
+	private final WeakReference<IDocument> document;
+
+	private final Pattern wordPattern;
+
+	/** The number of connected clients, guarded by {@link #INDICES}. */
+	private volatile int connections;
+
+	// the index, guarded by this
+
+	private final List<Block> blocks = new ArrayList<>();
+
+	private final TreeMap<String, Integer> words = new TreeMap<>();
+
+	private boolean built;
+
+	// the document changes not applied yet, guarded by pendingLock
+
+	private final Object pendingLock = new Object();
+
+	/** Incremented before and after each document change. */
+	private int changeCount;
+
+	private boolean pending;
+
+	/** The start of the changed range in the indexed text. */
+	private int pendingStart;
+
+	/** The end of the changed range in the indexed text. */
+	private int pendingEnd;
+
+	/** The length of the changed range in the current text. */
+	private int pendingLength;
+
+	private WordIndex(IDocument document, Pattern wordPattern) {
+		this.document = new WeakReference<>(document);
+		this.wordPattern = wordPattern;
+	}
+
+	/**
+	 * Disconnects a client from this index. When the last client disconnects,
+	 * the index stops listening to the document.
+	 */
+	void disconnect() {
+		synchronized (INDICES) {
+			if (connections == 0 || --connections > 0) {
+				return;
+			}
+			IDocument doc = document.get();
+			if (doc != null) {
+				doc.removeDocumentListener(this);
+				Map<Pattern, WordIndex> indices = INDICES.get(doc);
+				if (indices != null) {
+					indices.remove(wordPattern);
+					if (indices.isEmpty()) {
+						INDICES.remove(doc);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the distinct words starting with the given prefix, in
+	 * lexicographical order.
+	 *
+	 * @param prefix the prefix
+	 * @return the words starting with the prefix
+	 */
+	synchronized List<String> getWordsStartingWith(String prefix) {
+		if (!update()) {
+			return Collections.emptyList();
+		}
+		List<String> result = new ArrayList<>();
+		for (String word : words.tailMap(prefix, true).keySet()) {
+			if (!word.startsWith(prefix)) {
+				break;
+			}
+			result.add(word);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the regions of all occurrences of the given word, in document
+	 * order.
+	 *
+	 * @param word the word
+	 * @return the occurrences of the word
+	 */
+	synchronized List<IRegion> getOccurrences(String word) {
+		IDocument doc = document.get();
+		if (!update() || !words.containsKey(word)) {
+			return Collections.emptyList();
+		}
+		List<IRegion> occurrences = new ArrayList<>();
+		int offset = 0;
+		for (Block block : blocks) {
+			if (block.words.containsKey(word)) {
+				try {
+					Matcher m = wordPattern.matcher(doc.get(offset, block.length));
+					while (m.find()) {
+						if (m.group().equals(word)) {
+							occurrences.add(new Region(offset + m.start(), m.end() - m.start()));
+						}
+					}
+				} catch (BadLocationException e) {
+					// the index is out of sync, rebuild it on the next lookup
+					built = false;
+					return Collections.emptyList();
+				}
+			}
+			offset += block.length;
+		}
+		return occurrences;
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		synchronized (pendingLock) {
+			changeCount++;
+		}
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		int offset = event.getOffset();
+		int length = event.getLength();
+		int textLength = event.getText() == null ? 0 : event.getText().length();
+		synchronized (pendingLock) {
+			changeCount++;
+			if (!pending) {
+				pending = true;
+				pendingStart = offset;
+				pendingEnd = offset + length;
+				pendingLength = textLength;
+				return;
+			}
+			// merge with the pending change, the positions after it are shifted by its delta
+			int start = Math.min(pendingStart, offset);
+			int end = Math.max(pendingStart + pendingLength, offset + length);
+			int delta = pendingLength - (pendingEnd - pendingStart);
+			pendingEnd = end - delta;
+			pendingStart = start;
+			pendingLength = end - start + textLength - length;
+		}
+	}
+
+	/**
+	 * Brings the index up to date with the document.
+	 *
+	 * @return <code>false</code> if the document is gone or has been changed
+	 *         concurrently too often
+	 */
+	private boolean update() {
+		IDocument doc = document.get();
+		if (doc == null) {
+			return false;
+		}
+		if (connections == 0) {
+			// changes are not tracked, so the index must be built from scratch
+			built = false;
+		}
+		for (int attempt = 0; attempt < 3; attempt++) {
+			int count;
+			boolean changed;
+			int start;
+			int end;
+			int length;
+			synchronized (pendingLock) {
+				count = changeCount;
+				changed = pending;
+				start = pendingStart;
+				end = pendingEnd;
+				length = pendingLength;
+				pending = false;
+			}
+			if (count % 2 == 0) {
+				if (!built) {
+					blocks.clear();
+					words.clear();
+					blocks.addAll(tokenize(doc.get()));
+					built = true;
+				} else if (changed) {
+					apply(doc, start, end, length - (end - start));
+				}
+				synchronized (pendingLock) {
+					if (count == changeCount) {
+						return built;
+					}
+				}
+			}
+			// the document has been changed concurrently, the text read may not match the index
+			built = false;
+		}
+		return false;
+	}
+
+	/**
+	 * Tokenizes the blocks touching the given changed range of the indexed text
+	 * again.
+	 *
+	 * @param doc the document
+	 * @param start the start of the changed range in the indexed text
+	 * @param end the end of the changed range in the indexed text
+	 * @param delta the difference of the lengths of the document and the
+	 *              indexed text
+	 */
+	private void apply(IDocument doc, int start, int end, int delta) {
+		// blocks touching the changed range, including the ones adjacent to it,
+		// since removing or inserting whitespace may join or split words
+		int first = -1;
+		int last = -1;
+		int firstOffset = 0;
+		int offset = 0;
+		for (int i = 0; i < blocks.size() && offset <= end; i++) {
+			int blockEnd = offset + blocks.get(i).length;
+			if (blockEnd >= start) {
+				if (first == -1) {
+					first = i;
+					firstOffset = offset;
+				}
+				last = i;
+			}
+			offset = blockEnd;
+		}
+		if (first == -1) {
+			built = false;
+			return;
+		}
+
+		int length = delta;
+		for (int i = last; i >= first; i--) {
+			Block block = blocks.remove(i);
+			length += block.length;
+			block.words.forEach((word, count) -> words.computeIfPresent(word,
+					(w, total) -> total.intValue() == count.intValue() ? null : Integer.valueOf(total.intValue() - count.intValue())));
+		}
+		try {
+			blocks.addAll(first, tokenize(doc.get(firstOffset, length)));
+		} catch (BadLocationException e) {
+			built = false;
+		}
+	}
+
+	/**
+	 * Splits the given text into blocks and adds their words to the index.
+	 *
+	 * @param text the text starting at a block boundary
+	 * @return the blocks of the text
+	 */
+	private List<Block> tokenize(String text) {
+		List<Block> result = new ArrayList<>(text.length() / BLOCK_SIZE + 1);
+		int blockStart = 0;
+		while (blockStart < text.length()) {
+			int blockEnd = Math.min(blockStart + BLOCK_SIZE, text.length());
+			while (blockEnd < text.length() && !Character.isWhitespace(text.charAt(blockEnd - 1))) {
+				blockEnd++;
+			}
+			Block block = new Block(blockEnd - blockStart);
+			Matcher m = wordPattern.matcher(text).region(blockStart, blockEnd);
+			while (m.find()) {
+				String word = m.group();
+				block.words.merge(word, Integer.valueOf(1), (a, b) -> Integer.valueOf(a.intValue() + 1));
+			}
+			block.words.forEach((word, count) -> words.merge(word, count,
+					(a, b) -> Integer.valueOf(a.intValue() + b.intValue())));
+			result.add(block);
+			blockStart = blockEnd;
+		}
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1201,6 +1201,17 @@ public class FilteredResourcesSelectionDialog extends FilteredItemsSelectionDial
 			return showDerived;
 		}
 
+		/**
+		 * Resources may be matched concurrently: the patterns are not modified once
+		 * the filter is created, and matching only reads the resources.
+		 *
+		 * @since 3.23
+		 */
+		@Override
+		public boolean supportsConcurrentMatching() {
+			return true;
+		}
+
 	}
 
 	private static class FilterResourcesByLocation extends ViewerFilter {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -60,6 +64,14 @@ public class ArchiveFileExportOperation implements IRunnableWithProgress {
 
 	private boolean createLeadupStructure = true;
 
+	/**
+	 * Compresses the contents of all parallel exports. Its threads are only
+	 * created when needed and terminate when idle.
+	 */
+	private static final ExecutorService COMPRESSION_EXECUTOR = createCompressionExecutor();
+
+	private boolean useParallelCompression = false;
+
 	/**
 	 *	Create an instance of this class.  Use this constructor if you wish to
 	 *	export specific resources without a common parent resource
@@ -269,7 +281,13 @@ public class ArchiveFileExportOperation implements IRunnableWithProgress {
 	 *	@exception java.io.IOException
 	 */
 	protected void initialize() throws IOException {
-		if(useTarFormat) {
+		if (useCompression && useParallelCompression) {
+			if (useTarFormat) {
+				exporter = new TarFileExporter(destinationFilename, resolveLinks, COMPRESSION_EXECUTOR);
+			} else {
+				exporter = new ParallelZipFileExporter(destinationFilename, resolveLinks, COMPRESSION_EXECUTOR);
+			}
+		} else if (useTarFormat) {
 			exporter = new TarFileExporter(destinationFilename, useCompression, resolveLinks);
 		} else {
 			exporter = new ZipFileExporter(destinationFilename, useCompression, resolveLinks);
@@ -344,6 +362,18 @@ public class ArchiveFileExportOperation implements IRunnableWithProgress {
 		}
 	}
 
+	private static ExecutorService createCompressionExecutor() {
+		int threads = Runtime.getRuntime().availableProcessors();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "Archive Export Compression"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 	/**
 	 *	Set this boolean indicating whether each exported resource's path should
 	 *	include containment hierarchies as dictated by its parents
@@ -364,6 +394,17 @@ public class ArchiveFileExportOperation implements IRunnableWithProgress {
 		useCompression = value;
 	}
 
+	/**
+	 * Set this boolean indicating whether compressed archives should be
+	 * compressed by several threads in parallel. The extracted files do not
+	 * depend on this setting, which is off by default.
+	 *
+	 * @param value boolean
+	 */
+	public void setUseParallelCompression(boolean value) {
+		useParallelCompression = value;
+	}
+
 	/**
 	 * Set this boolean indicating whether the file should be output
 	 * in tar.gz format rather than .zip format.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -138,6 +138,7 @@ public class DataTransferMessages extends NLS {
 	public static String FileExport_damageWarning;
 
 	public static String ZipExport_compressContents;
+	public static String ZipExport_parallelCompression;
 	public static String ZipExport_destinationLabel;
 	public static String ZipExport_mustBeFile;
 	public static String ZipExport_alreadyExists;
@@ -146,6 +147,7 @@ public class DataTransferMessages extends NLS {
 	public static String ZipExport_cannotClose;
 	public static String ZipExport_selectDestinationTitle;
 	public static String ZipExport_destinationEmpty;
+	public static String ZipExport_entryTooLarge;
 
 	public static String ArchiveExport_description;
 	public static String ArchiveExport_destinationLabel;
@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards.datatransfer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.zip.Deflater;
+
+/**
+ * Writes pieces of an archive to an output stream in the order in which they
+ * were added, while the deflate streams contained in the archive are
+ * compressed in parallel.
+ * <p>
+ * A deflate stream is compressed in chunks of {@value #CHUNK_SIZE} bytes. Each
+ * chunk is compressed on its own, using the end of the previous chunk as
+ * dictionary, and all but the last chunk end with a sync flush, so that the
+ * compressed chunks can simply be concatenated. The output only depends on the
+ * written data, not on the scheduling of the compression.
+ * </p>
+ * <p>
+ * At most a fixed number of pieces is pending at any time, which bounds the
+ * memory used for the uncompressed and compressed chunks.
+ * </p>
+ *
+ * @since 3.23
+ */
+final class ParallelDeflateOutput {
+
+	/**
+	 * The size of the uncompressed chunks.
+	 */
+	static final int CHUNK_SIZE = 128 * 1024;
+
+	private static final int DICTIONARY_SIZE = 32 * 1024;
+
+	/**
+	 * A piece of the archive.
+	 */
+	interface Piece {
+
+		/**
+		 * Returns the bytes of this piece. This is called in the order in
+		 * which the pieces were added, right before writing the bytes.
+		 *
+		 * @return the bytes to write
+		 * @throws IOException if the bytes could not be created
+		 */
+		byte[] get() throws IOException;
+	}
+
+	private final OutputStream out;
+
+	private final ExecutorService executor;
+
+	private final int maxPending = 4 * Runtime.getRuntime().availableProcessors();
+
+	private final ArrayDeque<Piece> pending = new ArrayDeque<>();
+
+	private long position;
+
+	/**
+	 * Creates a new output.
+	 *
+	 * @param out      the stream to write the archive to
+	 * @param executor the executor compressing the chunks
+	 */
+	ParallelDeflateOutput(OutputStream out, ExecutorService executor) {
+		this.out = out;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the number of bytes written to the output stream so far. When
+	 * called from {@link Piece#get()}, this is the position of the piece.
+	 *
+	 * @return the number of bytes written
+	 */
+	long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Adds the given piece, writing pending pieces while there are too many.
+	 *
+	 * @param piece the piece to add
+	 * @throws IOException if writing a pending piece fails
+	 */
+	void add(Piece piece) throws IOException {
+		while (pending.size() >= maxPending) {
+			writeNext();
+		}
+		pending.add(piece);
+	}
+
+	/**
+	 * Adds a piece containing the given bytes.
+	 *
+	 * @param bytes the bytes to add
+	 * @throws IOException if writing a pending piece fails
+	 */
+	void add(byte[] bytes) throws IOException {
+		add(() -> bytes);
+	}
+
+	/**
+	 * Schedules the compression of a chunk of a deflate stream and adds the
+	 * compressed chunk as piece.
+	 *
+	 * @param chunk      the uncompressed chunk, which must not be modified
+	 *                   afterwards
+	 * @param length     the number of bytes of the chunk
+	 * @param dictionary the end of the previous chunk of the same deflate
+	 *                   stream, or <code>null</code> for the first chunk
+	 * @param last       whether this is the last chunk of the deflate stream
+	 * @param sizeSink   receives the size of the compressed chunk when it gets
+	 *                   written, may be <code>null</code>
+	 * @return the dictionary for the next chunk of the deflate stream
+	 * @throws IOException if writing a pending piece fails
+	 */
+	byte[] deflate(byte[] chunk, int length, byte[] dictionary, boolean last, IntConsumer sizeSink)
+			throws IOException {
+		Future<byte[]> compressed = executor.submit(() -> compress(chunk, length, dictionary, last));
+		add(() -> {
+			byte[] bytes = get(compressed);
+			if (sizeSink != null) {
+				sizeSink.accept(bytes.length);
+			}
+			return bytes;
+		});
+		if (last) {
+			return null;
+		}
+		if (length >= DICTIONARY_SIZE || dictionary == null) {
+			return Arrays.copyOfRange(chunk, Math.max(0, length - DICTIONARY_SIZE), length);
+		}
+		// a short chunk extends the previous dictionary
+		byte[] extended = new byte[Math.min(DICTIONARY_SIZE, dictionary.length + length)];
+		int kept = extended.length - length;
+		System.arraycopy(dictionary, dictionary.length - kept, extended, 0, kept);
+		System.arraycopy(chunk, 0, extended, kept, length);
+		return extended;
+	}
+
+	/**
+	 * Writes all pending pieces and flushes the output stream.
+	 *
+	 * @throws IOException if writing a piece fails
+	 */
+	void flush() throws IOException {
+		while (!pending.isEmpty()) {
+			writeNext();
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes all pending pieces and closes the output stream.
+	 *
+	 * @throws IOException if writing a piece fails
+	 */
+	void close() throws IOException {
+		try (OutputStream stream = out) {
+			flush();
+		}
+	}
+
+	private void writeNext() throws IOException {
+		byte[] bytes = pending.remove().get();
+		out.write(bytes);
+		position += bytes.length;
+	}
+
+	private static byte[] get(Future<byte[]> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private static byte[] compress(byte[] chunk, int length, byte[] dictionary, boolean last) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			if (dictionary != null) {
+				deflater.setDictionary(dictionary);
+			}
+			deflater.setInput(chunk, 0, length);
+			if (last) {
+				deflater.finish();
+			}
+			byte[] buffer = new byte[length + (length >> 3) + 64];
+			int count = 0;
+			while (true) {
+				if (count == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				int n = deflater.deflate(buffer, count, buffer.length - count,
+						last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+				count += n;
+				if (last ? deflater.finished() : count < buffer.length && deflater.needsInput()) {
+					break;
+				}
+			}
+			return Arrays.copyOf(buffer, count);
+		} finally {
+			deflater.end();
+		}
+	}
+}
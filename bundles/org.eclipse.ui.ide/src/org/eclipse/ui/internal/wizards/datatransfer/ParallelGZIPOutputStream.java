@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards.datatransfer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.CRC32;
+
+/**
+ * Writes data in the GZIP format, compressing it in parallel. The data is
+ * compressed in chunks by the given executor, see
+ * {@link ParallelDeflateOutput}, and the result is a single GZIP member that
+ * can be read by any GZIP decompressor.
+ *
+ * @since 3.23
+ */
+class ParallelGZIPOutputStream extends OutputStream {
+
+	private static final byte[] HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, 0 };
+
+	private final ParallelDeflateOutput output;
+
+	private final CRC32 crc = new CRC32();
+
+	private byte[] buffer = new byte[ParallelDeflateOutput.CHUNK_SIZE];
+
+	private int count;
+
+	private byte[] dictionary;
+
+	private long size;
+
+	private boolean closed;
+
+	/**
+	 * Creates a new stream.
+	 *
+	 * @param out      the stream to write the compressed data to
+	 * @param executor the executor compressing the data
+	 * @throws IOException if writing the header fails
+	 */
+	ParallelGZIPOutputStream(OutputStream out, ExecutorService executor) throws IOException {
+		output = new ParallelDeflateOutput(out, executor);
+		output.add(HEADER);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (count == buffer.length) {
+				// only compress a full chunk once it is known not to be the last one
+				dictionary = output.deflate(buffer, count, dictionary, false, null);
+				buffer = new byte[buffer.length];
+				count = 0;
+			}
+			int n = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, n);
+			crc.update(b, off, n);
+			count += n;
+			size += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		output.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		output.deflate(buffer, count, dictionary, true, null);
+		byte[] trailer = new byte[8];
+		long value = crc.getValue();
+		for (int i = 0; i < 4; i++) {
+			trailer[i] = (byte) (value >>> (8 * i));
+			trailer[i + 4] = (byte) (size >>> (8 * i));
+		}
+		output.add(trailer);
+		output.close();
+	}
+}
@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards.datatransfer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Exports resources to a compressed .zip file, compressing the file contents
+ * in parallel.
+ * <p>
+ * The contents of each file are read sequentially and compressed in chunks by
+ * the given executor, see {@link ParallelDeflateOutput}, so both a large number
+ * of small files and single large files keep all threads busy. The archive is
+ * written by this class, since {@link java.util.zip.ZipOutputStream} cannot
+ * take compressed data. The entries use data descriptors, so that the headers
+ * can be written before the contents are compressed. The ZIP64 format is used
+ * when the archive exceeds its limits, and for the entries which may exceed
+ * them. Since the sizes of such an entry are only known after its local header
+ * has been written, its local header always has a ZIP64 extra field and its
+ * data descriptor always has 8 byte sizes.
+ * </p>
+ *
+ * @since 3.23
+ */
+public class ParallelZipFileExporter implements IFileExporter {
+
+	private static final int LOCAL_HEADER = 0x04034b50;
+
+	private static final int DATA_DESCRIPTOR = 0x08074b50;
+
+	private static final int CENTRAL_HEADER = 0x02014b50;
+
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+
+	private static final int ZIP64_LOCATOR = 0x07064b50;
+
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+	/**
+	 * Entries whose size is at least this size use the ZIP64 format. This
+	 * leaves room for incompressible data growing when deflated, and for files
+	 * growing during the export.
+	 */
+	private static final long ZIP64_THRESHOLD = ZIP64_MAGIC - (ZIP64_MAGIC >>> 6);
+
+	private static final int ZIP64_EXTRA = 0x0001;
+
+	private static final int VERSION = 20;
+
+	private static final int VERSION_ZIP64 = 45;
+
+	/** The name is UTF-8 encoded. */
+	private static final int FLAG_UTF8 = 0x0800;
+
+	/** Sizes and checksum follow the data. */
+	private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+
+	private static final int STORED = 0;
+
+	private static final int DEFLATED = 8;
+
+	private static final class Entry {
+
+		final byte[] name;
+
+		final int dosTime;
+
+		final boolean directory;
+
+		/** Whether the local header has a ZIP64 extra field. */
+		final boolean zip64;
+
+		long offset;
+
+		long crc;
+
+		long size;
+
+		long compressedSize;
+
+		Entry(String name, long time, boolean directory, boolean zip64) {
+			this.name = name.getBytes(StandardCharsets.UTF_8);
+			this.dosTime = toDosTime(time);
+			this.directory = directory;
+			this.zip64 = zip64;
+		}
+
+		boolean needsZip64Extra() {
+			return size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC || offset >= ZIP64_MAGIC;
+		}
+	}
+
+	private final ParallelDeflateOutput output;
+
+	private final boolean resolveLinks;
+
+	private final List<Entry> entries = new ArrayList<>();
+
+	/**
+	 * Create an instance of this class.
+	 *
+	 * @param filename     the name of the archive file
+	 * @param resolveLinks whether linked resources are exported
+	 * @param executor     the executor compressing the file contents
+	 * @exception java.io.IOException
+	 */
+	public ParallelZipFileExporter(String filename, boolean resolveLinks, ExecutorService executor)
+			throws IOException {
+		this.output = new ParallelDeflateOutput(new FileOutputStream(filename), executor);
+		this.resolveLinks = resolveLinks;
+	}
+
+	/**
+	 * Writes the central directory and closes the archive.
+	 *
+	 * @exception java.io.IOException
+	 */
+	@Override
+	public void finished() throws IOException {
+		output.flush();
+		long centralDirectoryOffset = output.getPosition();
+		ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+		for (Entry entry : entries) {
+			writeCentralHeader(centralDirectory, entry);
+		}
+		long centralDirectorySize = centralDirectory.size();
+		long zip64EndOffset = centralDirectoryOffset + centralDirectorySize;
+		boolean zip64 = entries.size() >= 0xFFFF || centralDirectorySize >= ZIP64_MAGIC
+				|| centralDirectoryOffset >= ZIP64_MAGIC;
+		if (zip64) {
+			writeInt(centralDirectory, ZIP64_END_OF_CENTRAL_DIRECTORY);
+			writeLong(centralDirectory, 44);
+			writeShort(centralDirectory, VERSION_ZIP64);
+			writeShort(centralDirectory, VERSION_ZIP64);
+			writeInt(centralDirectory, 0);
+			writeInt(centralDirectory, 0);
+			writeLong(centralDirectory, entries.size());
+			writeLong(centralDirectory, entries.size());
+			writeLong(centralDirectory, centralDirectorySize);
+			writeLong(centralDirectory, centralDirectoryOffset);
+
+			writeInt(centralDirectory, ZIP64_LOCATOR);
+			writeInt(centralDirectory, 0);
+			writeLong(centralDirectory, zip64EndOffset);
+			writeInt(centralDirectory, 1);
+		}
+		writeInt(centralDirectory, END_OF_CENTRAL_DIRECTORY);
+		writeShort(centralDirectory, 0);
+		writeShort(centralDirectory, 0);
+		writeShort(centralDirectory, Math.min(entries.size(), 0xFFFF));
+		writeShort(centralDirectory, Math.min(entries.size(), 0xFFFF));
+		writeInt(centralDirectory, Math.min(centralDirectorySize, ZIP64_MAGIC));
+		writeInt(centralDirectory, Math.min(centralDirectoryOffset, ZIP64_MAGIC));
+		writeShort(centralDirectory, 0);
+		output.add(centralDirectory.toByteArray());
+		output.close();
+	}
+
+	@Override
+	public void write(IContainer container, String destinationPath) throws IOException {
+		if (!resolveLinks && container.isLinked(IResource.DEPTH_INFINITE)) {
+			return;
+		}
+		writeDirectory(destinationPath, container.getLocalTimeStamp());
+	}
+
+	/**
+	 *  Write the passed resource to the current archive.
+	 *
+	 *  @param resource org.eclipse.core.resources.IFile
+	 *  @param destinationPath java.lang.String
+	 *  @exception java.io.IOException
+	 *  @exception org.eclipse.core.runtime.CoreException
+	 */
+	@Override
+	public void write(IFile resource, String destinationPath) throws IOException, CoreException {
+		if (!resolveLinks && resource.isLinked(IResource.DEPTH_INFINITE)) {
+			return;
+		}
+		try (InputStream contentStream = resource.getContents(false)) {
+			writeFile(destinationPath, resource.getLocalTimeStamp(), getLength(resource), contentStream);
+		}
+	}
+
+	/**
+	 * Returns the length of the given file, or -1 if it is not known.
+	 */
+	private static long getLength(IFile file) {
+		URI location = file.getLocationURI();
+		if (location == null) {
+			return -1;
+		}
+		try {
+			return EFS.getStore(location).fetchInfo().getLength();
+		} catch (CoreException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Adds an empty directory entry.
+	 *
+	 * @param name the name of the entry
+	 * @param time the modification time, or {@link IResource#NULL_STAMP}
+	 * @throws IOException if writing pending data fails
+	 */
+	public void writeDirectory(String name, long time) throws IOException {
+		Entry entry = new Entry(name, time, true, false);
+		entries.add(entry);
+		output.add(() -> localHeader(entry));
+	}
+
+	/**
+	 * Adds a file entry with the given contents. If reading the contents fails,
+	 * the entry is completed with the contents read so far, so that the archive
+	 * stays valid, and the failure is rethrown.
+	 *
+	 * @param name     the name of the entry
+	 * @param time     the modification time, or {@link IResource#NULL_STAMP}
+	 * @param size     the expected size of the contents, or -1 if it is not
+	 *                 known, in which case the entry uses the ZIP64 format
+	 * @param contents the contents of the entry
+	 * @throws IOException if reading the contents or writing pending data fails,
+	 *                     or if the contents exceed the expected size so far
+	 *                     that the entry would need the ZIP64 format
+	 */
+	public void writeFile(String name, long time, long size, InputStream contents) throws IOException {
+		Entry entry = new Entry(name, time, false, size < 0 || size >= ZIP64_THRESHOLD);
+		entries.add(entry);
+		output.add(() -> localHeader(entry));
+
+		CRC32 crc = new CRC32();
+		IntConsumer compressedSize = chunkSize -> entry.compressedSize += chunkSize;
+		byte[] dictionary = null;
+		byte[] chunk = new byte[ParallelDeflateOutput.CHUNK_SIZE];
+		int length = 0;
+		IOException failure = null;
+		try {
+			length = readFully(contents, chunk);
+			crc.update(chunk, 0, length);
+			entry.size += length;
+			while (length == chunk.length) {
+				byte[] next = new byte[chunk.length];
+				int nextLength = readFully(contents, next);
+				if (nextLength == 0) {
+					break;
+				}
+				dictionary = output.deflate(chunk, length, dictionary, false, compressedSize);
+				chunk = next;
+				length = nextLength;
+				crc.update(chunk, 0, length);
+				entry.size += length;
+			}
+		} catch (IOException e) {
+			failure = e;
+		}
+		try {
+			// when reading failed, this completes the entry with the contents read so far
+			output.deflate(chunk, length, dictionary, true, compressedSize);
+			entry.crc = crc.getValue();
+			output.add(() -> dataDescriptor(entry));
+		} catch (IOException e) {
+			if (failure == null) {
+				throw e;
+			}
+			failure.addSuppressed(e);
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private byte[] localHeader(Entry entry) {
+		entry.offset = output.getPosition();
+		ByteArrayOutputStream out = new ByteArrayOutputStream(50 + entry.name.length);
+		writeInt(out, LOCAL_HEADER);
+		writeShort(out, entry.zip64 ? VERSION_ZIP64 : VERSION);
+		writeShort(out, entry.directory ? FLAG_UTF8 : FLAG_UTF8 | FLAG_DATA_DESCRIPTOR);
+		writeShort(out, entry.directory ? STORED : DEFLATED);
+		writeInt(out, entry.dosTime);
+		writeInt(out, 0);
+		// the sizes follow in the data descriptor
+		writeInt(out, entry.zip64 ? ZIP64_MAGIC : 0);
+		writeInt(out, entry.zip64 ? ZIP64_MAGIC : 0);
+		writeShort(out, entry.name.length);
+		writeShort(out, entry.zip64 ? 20 : 0);
+		out.writeBytes(entry.name);
+		if (entry.zip64) {
+			writeShort(out, ZIP64_EXTRA);
+			writeShort(out, 16);
+			writeLong(out, 0);
+			writeLong(out, 0);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] dataDescriptor(Entry entry) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(24);
+		writeInt(out, DATA_DESCRIPTOR);
+		writeInt(out, entry.crc);
+		if (entry.zip64) {
+			writeLong(out, entry.compressedSize);
+			writeLong(out, entry.size);
+		} else if (entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC) {
+			throw new IOException(NLS.bind(DataTransferMessages.ZipExport_entryTooLarge, new String(entry.name, StandardCharsets.UTF_8)));
+		} else {
+			writeInt(out, entry.compressedSize);
+			writeInt(out, entry.size);
+		}
+		return out.toByteArray();
+	}
+
+	private static void writeCentralHeader(ByteArrayOutputStream out, Entry entry) {
+		ByteArrayOutputStream extra = new ByteArrayOutputStream();
+		if (entry.needsZip64Extra()) {
+			writeShort(extra, ZIP64_EXTRA);
+			writeShort(extra, 0);
+			if (entry.size >= ZIP64_MAGIC) {
+				writeLong(extra, entry.size);
+			}
+			if (entry.compressedSize >= ZIP64_MAGIC) {
+				writeLong(extra, entry.compressedSize);
+			}
+			if (entry.offset >= ZIP64_MAGIC) {
+				writeLong(extra, entry.offset);
+			}
+		}
+		byte[] extraBytes = extra.toByteArray();
+		if (extraBytes.length > 0) {
+			extraBytes[2] = (byte) (extraBytes.length - 4);
+		}
+		int version = entry.zip64 || entry.needsZip64Extra() ? VERSION_ZIP64 : VERSION;
+		writeInt(out, CENTRAL_HEADER);
+		writeShort(out, version);
+		writeShort(out, version);
+		writeShort(out, entry.directory ? FLAG_UTF8 : FLAG_UTF8 | FLAG_DATA_DESCRIPTOR);
+		writeShort(out, entry.directory ? STORED : DEFLATED);
+		writeInt(out, entry.dosTime);
+		writeInt(out, entry.crc);
+		writeInt(out, Math.min(entry.compressedSize, ZIP64_MAGIC));
+		writeInt(out, Math.min(entry.size, ZIP64_MAGIC));
+		writeShort(out, entry.name.length);
+		writeShort(out, extraBytes.length);
+		writeShort(out, 0);
+		writeShort(out, 0);
+		writeShort(out, 0);
+		writeInt(out, 0);
+		writeInt(out, Math.min(entry.offset, ZIP64_MAGIC));
+		out.writeBytes(entry.name);
+		out.writeBytes(extraBytes);
+	}
+
+	private static int readFully(InputStream in, byte[] buffer) throws IOException {
+		int count = 0;
+		int n;
+		while (count < buffer.length && (n = in.read(buffer, count, buffer.length - count)) > 0) {
+			count += n;
+		}
+		return count;
+	}
+
+	private static int toDosTime(long time) {
+		if (time == IResource.NULL_STAMP) {
+			time = System.currentTimeMillis();
+		}
+		LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+		if (date.getYear() < 1980) {
+			return (1 << 21) | (1 << 16);
+		}
+		return (date.getYear() - 1980) << 25 | date.getMonthValue() << 21 | date.getDayOfMonth() << 16
+				| date.getHour() << 11 | date.getMinute() << 5 | date.getSecond() >> 1;
+	}
+
+	private static void writeShort(ByteArrayOutputStream out, int value) {
+		out.write(value);
+		out.write(value >>> 8);
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, long value) {
+		writeShort(out, (int) value);
+		writeShort(out, (int) (value >>> 16));
+	}
+
+	private static void writeLong(ByteArrayOutputStream out, long value) {
+		writeInt(out, value);
+		writeInt(out, value >>> 32);
+	}
+}
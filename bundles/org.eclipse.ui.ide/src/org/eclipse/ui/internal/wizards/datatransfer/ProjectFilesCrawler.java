@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.wizards.datatransfer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.internal.ide.StatusUtil;
+import org.eclipse.ui.statushandlers.StatusManager;
+
+/**
+ * Searches a directory tree for project description files, listing the
+ * directories in parallel.
+ * <p>
+ * Each directory is listed by its own fork/join task. The found project
+ * description files are mapped by the worker threads, and the results are
+ * passed in batches to a consumer in the calling thread, which also reports
+ * the progress and checks for cancellation. The workspace metadata is never
+ * searched, and directories which usually contain no projects, like version
+ * control metadata, can be skipped as well.
+ * </p>
+ *
+ * @param <T> the type of the results
+ * @since 3.23
+ */
+final class ProjectFilesCrawler<T> {
+
+	/**
+	 * The names of the directories which are skipped on request, since they
+	 * usually contain no projects.
+	 */
+	private static final Set<String> NON_PROJECT_DIRECTORIES = Set.of(".git", ".hg", ".svn", "node_modules"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private static final long POLL_INTERVAL = 100;
+
+	private final Set<String> directoriesVisited = ConcurrentHashMap.newKeySet();
+
+	private final boolean nestedProjects;
+
+	private final boolean skipNonProjectDirectories;
+
+	private final Function<File, T> mapper;
+
+	private final ConcurrentLinkedQueue<T> found = new ConcurrentLinkedQueue<>();
+
+	private volatile boolean canceled;
+
+	private volatile Path currentDirectory;
+
+	/**
+	 * Creates a new crawler.
+	 *
+	 * @param nestedProjects            whether to search for projects below a
+	 *                                  project
+	 * @param skipNonProjectDirectories whether to skip version control
+	 *                                  metadata and <code>node_modules</code>
+	 *                                  directories
+	 * @param mapper                    maps a found project description file
+	 *                                  to a result, called by several threads
+	 *                                  at the same time
+	 */
+	ProjectFilesCrawler(boolean nestedProjects, boolean skipNonProjectDirectories, Function<File, T> mapper) {
+		this.nestedProjects = nestedProjects;
+		this.skipNonProjectDirectories = skipNonProjectDirectories;
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Searches the given directory, blocking until the search is completed or
+	 * canceled.
+	 *
+	 * @param directory          the directory to search
+	 * @param directoriesVisited canonical paths of directories which are not
+	 *                           searched, and to which the searched directories
+	 *                           are added, may be <code>null</code>
+	 * @param monitor            the monitor to report to, only used by the
+	 *                           calling thread
+	 * @param consumer           receives the results in batches in the calling
+	 *                           thread while the search is running
+	 * @return <code>true</code> if the search was completed
+	 */
+	boolean crawl(File directory, Set<String> directoriesVisited, IProgressMonitor monitor,
+			Consumer<List<T>> consumer) {
+		Path root = directory.toPath();
+		if (!Files.isDirectory(root) || !Files.isReadable(root)) {
+			return false;
+		}
+		if (directoriesVisited != null) {
+			this.directoriesVisited.addAll(directoriesVisited);
+		}
+		this.directoriesVisited.add(getCanonicalPath(root));
+
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		try {
+			ForkJoinTask<Void> task = pool.submit(new DirectoryTask(root));
+			while (true) {
+				try {
+					task.get(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+					break;
+				} catch (TimeoutException e) {
+					if (monitor.isCanceled()) {
+						canceled = true;
+					}
+					Path current = currentDirectory;
+					if (current != null) {
+						monitor.subTask(NLS.bind(DataTransferMessages.WizardProjectsImportPage_CheckingMessage,
+								current.toString()));
+					}
+					deliver(consumer);
+				} catch (ExecutionException e) {
+					StatusManager.getManager().handle(StatusUtil.newError(e.getCause()));
+					break;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					canceled = true;
+					break;
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		deliver(consumer);
+		if (directoriesVisited != null) {
+			directoriesVisited.addAll(this.directoriesVisited);
+		}
+		return !canceled && !monitor.isCanceled();
+	}
+
+	private void deliver(Consumer<List<T>> consumer) {
+		List<T> batch = new ArrayList<>();
+		T result;
+		while ((result = found.poll()) != null) {
+			batch.add(result);
+		}
+		if (!batch.isEmpty()) {
+			consumer.accept(batch);
+		}
+	}
+
+	private static String getCanonicalPath(Path directory) {
+		try {
+			return directory.toFile().getCanonicalPath();
+		} catch (IOException exception) {
+			StatusManager.getManager().handle(StatusUtil.newError(exception));
+			return directory.toAbsolutePath().toString();
+		}
+	}
+
+	private boolean isSkipped(String directoryName) {
+		return directoryName.equals(WizardProjectsImportPage.METADATA_FOLDER)
+				|| skipNonProjectDirectories && NON_PROJECT_DIRECTORIES.contains(directoryName);
+	}
+
+	private final class DirectoryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Path directory;
+
+		DirectoryTask(Path directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		protected void compute() {
+			if (canceled) {
+				return;
+			}
+			currentDirectory = directory;
+			List<Path> directories = new ArrayList<>();
+			Path projectFile = null;
+			try (DirectoryStream<Path> contents = Files.newDirectoryStream(directory)) {
+				for (Path file : contents) {
+					if (Files.isDirectory(file)) {
+						directories.add(file);
+					} else if (file.getFileName().toString().equals(IProjectDescription.DESCRIPTION_FILE_NAME)
+							&& Files.isRegularFile(file)) {
+						projectFile = file;
+					}
+				}
+			} catch (IOException | DirectoryIteratorException | SecurityException e) {
+				// not readable, like with File.listFiles()
+				return;
+			}
+			if (projectFile != null) {
+				found.add(mapper.apply(projectFile.toFile()));
+				if (!nestedProjects) {
+					// don't search sub-directories since we can't have nested projects
+					return;
+				}
+			}
+			List<DirectoryTask> tasks = new ArrayList<>(directories.size());
+			for (Path dir : directories) {
+				if (!isSkipped(dir.getFileName().toString()) && directoriesVisited.add(getCanonicalPath(dir))) {
+					tasks.add(new DirectoryTask(dir));
+				}
+			}
+			invokeAll(tasks);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
 import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.core.filesystem.EFS;
@@ -60,6 +61,24 @@ public class TarFileExporter implements IFileExporter {
 		outputStream = tos;
 	}
 
+	/**
+	 * Create an instance of this class which writes a .tar.gz file whose
+	 * contents are compressed in parallel by the given executor.
+	 *
+	 * @param filename
+	 *            java.lang.String
+	 * @param resolveLinks
+	 *            boolean
+	 * @param executor
+	 *            the executor compressing the archive
+	 * @exception java.io.IOException
+	 */
+	public TarFileExporter(String filename, boolean resolveLinks, ExecutorService executor) throws IOException {
+		this.resolveLinks = resolveLinks;
+		outputStream = new TarOutputStream(
+				new BufferedOutputStream(new ParallelGZIPOutputStream(new FileOutputStream(filename), executor)));
+	}
+
 	/**
 	 *	Do all required cleanup now that we're finished with the
 	 *	currently-open .tar.gz
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,8 @@ public class WizardArchiveFileResourceExportPage1 extends
 	// widgets
 	protected Button compressContentsCheckbox;
 
+	private Button parallelCompressionCheckbox;
+
 	private Button zipFormatButton;
 	private Button targzFormatButton;
 
@@ -52,6 +54,8 @@ public class WizardArchiveFileResourceExportPage1 extends
 
 	private static final String STORE_COMPRESS_CONTENTS_ID = "WizardZipFileResourceExportPage1.STORE_COMPRESS_CONTENTS_ID"; //$NON-NLS-1$
 
+	private static final String STORE_PARALLEL_COMPRESSION_ID = "WizardZipFileResourceExportPage1.STORE_PARALLEL_COMPRESSION_ID"; //$NON-NLS-1$
+
 	/**
 	 *	Create an instance of this class.
 	 *
@@ -98,6 +102,15 @@ public class WizardArchiveFileResourceExportPage1 extends
 				| SWT.LEFT);
 		compressContentsCheckbox.setText(DataTransferMessages.ZipExport_compressContents);
 		compressContentsCheckbox.setFont(font);
+		compressContentsCheckbox.addListener(SWT.Selection, event -> updateParallelCompressionEnablement());
+
+		// parallel compression checkbox, off unless chosen
+		parallelCompressionCheckbox = new Button(left, SWT.CHECK | SWT.LEFT);
+		parallelCompressionCheckbox.setText(DataTransferMessages.ZipExport_parallelCompression);
+		parallelCompressionCheckbox.setFont(font);
+		GridData parallelData = new GridData();
+		parallelData.horizontalIndent = 20;
+		parallelCompressionCheckbox.setLayoutData(parallelData);
 
 		createResolveLinkedResources(left, font);
 
@@ -111,6 +124,15 @@ public class WizardArchiveFileResourceExportPage1 extends
 		createDirectoryStructureButton.setSelection(true);
 		createSelectionOnlyButton.setSelection(false);
 		compressContentsCheckbox.setSelection(true);
+		parallelCompressionCheckbox.setSelection(false);
+	}
+
+	/**
+	 * Enables the parallel compression option only if the contents are
+	 * compressed.
+	 */
+	private void updateParallelCompressionEnablement() {
+		parallelCompressionCheckbox.setEnabled(compressContentsCheckbox.getSelection());
 	}
 
 	/**
@@ -198,6 +220,8 @@ public class WizardArchiveFileResourceExportPage1 extends
 		op.setCreateLeadupStructure(createDirectoryStructureButton
 				.getSelection());
 		op.setUseCompression(compressContentsCheckbox.getSelection());
+		op.setUseParallelCompression(
+				compressContentsCheckbox.getSelection() && parallelCompressionCheckbox.getSelection());
 		op.setIncludeLinkedResources(resolveLinkedResourcesCheckbox.getSelection());
 		op.setUseTarFormat(targzFormatButton.getSelection());
 
@@ -345,6 +369,8 @@ public class WizardArchiveFileResourceExportPage1 extends
 
 			settings.put(STORE_COMPRESS_CONTENTS_ID, compressContentsCheckbox
 					.getSelection());
+
+			settings.put(STORE_PARALLEL_COMPRESSION_ID, parallelCompressionCheckbox.getSelection());
 		}
 	}
 
@@ -376,6 +402,9 @@ public class WizardArchiveFileResourceExportPage1 extends
 
 			compressContentsCheckbox.setSelection(settings
 					.getBoolean(STORE_COMPRESS_CONTENTS_ID));
+
+			parallelCompressionCheckbox.setSelection(settings.getBoolean(STORE_PARALLEL_COMPRESSION_ID));
+			updateParallelCompressionEnablement();
 		}
 	}
 
@@ -393,11 +422,13 @@ public class WizardArchiveFileResourceExportPage1 extends
 		String destinationValue = getDestinationValue();
 		if (destinationValue.endsWith(".tar")) { //$NON-NLS-1$
 			compressContentsCheckbox.setSelection(false);
+			updateParallelCompressionEnablement();
 			targzFormatButton.setSelection(true);
 			zipFormatButton.setSelection(false);
 		} else if (destinationValue.endsWith(".tar.gz") //$NON-NLS-1$
 				|| destinationValue.endsWith(".tgz")) { //$NON-NLS-1$
 			compressContentsCheckbox.setSelection(true);
+			updateParallelCompressionEnablement();
 			targzFormatButton.setSelection(true);
 			zipFormatButton.setSelection(false);
 		} else if (destinationValue.endsWith(".zip")) { //$NON-NLS-1$
@@ -393,6 +393,7 @@ public class WizardArchiveFileResourceImportPage1 extends
 					importStructureProvider, this, fileSystemObjects);
 
 			operation.setContext(getShell());
+			operation.setParallelRead(true);
 			if (!executeImportOperation(operation)) {
 				return false;
 			}
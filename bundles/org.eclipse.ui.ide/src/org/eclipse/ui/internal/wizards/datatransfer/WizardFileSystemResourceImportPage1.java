@@ -868,6 +868,7 @@ public class WizardFileSystemResourceImportPage1 extends WizardResourceImportPag
 				this, fileSystemObjects);
 
 		operation.setContext(getShell());
+		operation.setParallelRead(true);
 		return executeImportOperation(operation);
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2019 IBM Corporation and others.
+ * Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,10 +36,10 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
@@ -95,10 +95,8 @@ import org.eclipse.ui.dialogs.WizardDataTransferPage;
 import org.eclipse.ui.dialogs.WorkingSetGroup;
 import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
-import org.eclipse.ui.internal.ide.StatusUtil;
 import org.eclipse.ui.internal.registry.WorkingSetDescriptor;
 import org.eclipse.ui.internal.registry.WorkingSetRegistry;
-import org.eclipse.ui.statushandlers.StatusManager;
 import org.eclipse.ui.wizards.datatransfer.FileSystemStructureProvider;
 import org.eclipse.ui.wizards.datatransfer.ImportOperation;
 
@@ -341,7 +339,11 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 
 	private boolean hideConflictingProjects = false;
 
-	private ProjectRecord[] selectedProjects = new ProjectRecord[0];
+	/**
+	 * The found projects, replaced as a whole by the search in a worker thread
+	 * while the viewer shows them.
+	 */
+	private volatile ProjectRecord[] selectedProjects = new ProjectRecord[0];
 
 	// Keep track of the directory that we browsed to last time
 	// the wizard was invoked.
@@ -898,16 +900,10 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 							monitor)) {
 						return;
 					}
-					Iterator<ProjectRecord> filesIterator1 = files.iterator();
-					selectedProjects = new ProjectRecord[files.size()];
-					int index1 = 0;
 					monitor.worked(50);
 					monitor
 							.subTask(DataTransferMessages.WizardProjectsImportPage_ProcessingMessage);
-					while (filesIterator1.hasNext()) {
-						selectedProjects[index1++] = filesIterator1
-								.next();
-					}
+					selectedProjects = files.toArray(new ProjectRecord[files.size()]);
 				} else if (!dirSelected
 						&& ArchiveFileManipulations.isZipFile(path)) {
 					ZipFile sourceFile = getSpecifiedZipSourceFile(path);
@@ -924,36 +920,26 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 						return;
 					}
 
-					Iterator<ProjectRecord> filesIterator2 = files.iterator();
-					selectedProjects = new ProjectRecord[files.size()];
-					int index2 = 0;
 					monitor.worked(50);
 					monitor
 							.subTask(DataTransferMessages.WizardProjectsImportPage_ProcessingMessage);
-					while (filesIterator2.hasNext()) {
-						selectedProjects[index2++] = filesIterator2
-								.next();
-					}
+					selectedProjects = files.toArray(new ProjectRecord[files.size()]);
 				}
 
 				else if (dirSelected && directory.isDirectory()) {
 
-					Collection<File> files = new ArrayList<>();
-					if (!collectProjectFilesFromDirectory(files, directory,
-							null, nestedProjects, monitor)) {
+					// show the projects as they are found, skipping directories
+					// like .git or node_modules in which projects are unlikely
+					List<ProjectRecord> records = new ArrayList<>();
+					if (!new ProjectFilesCrawler<>(nestedProjects, true, ProjectRecord::new).crawl(directory, null,
+							monitor, found -> {
+								records.addAll(found);
+								selectedProjects = records.toArray(new ProjectRecord[records.size()]);
+								refreshProjectsListAsync();
+							})) {
 						return;
 					}
-					Iterator<File> filesIterator3 = files.iterator();
-					selectedProjects = new ProjectRecord[files.size()];
-					int index3 = 0;
 					monitor.worked(50);
-					monitor
-							.subTask(DataTransferMessages.WizardProjectsImportPage_ProcessingMessage);
-					while (filesIterator3.hasNext()) {
-						File file = filesIterator3.next();
-						selectedProjects[index3] = new ProjectRecord(file);
-						index3++;
-					}
 				} else {
 					monitor.worked(60);
 				}
@@ -969,6 +955,14 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 		updateProjectsStatus();
 	}
 
+	private void refreshProjectsListAsync() {
+		getShell().getDisplay().asyncExec(() -> {
+			if (!projectsList.getControl().isDisposed()) {
+				projectsList.refresh(true);
+			}
+		});
+	}
+
 	@Override
 	public void dispose() {
 		super.dispose();
@@ -1059,6 +1053,11 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 
 	/**
 	 * Collect the list of .project files that are under directory into files.
+	 * The directories are searched in parallel, see {@link ProjectFilesCrawler},
+	 * and the files are added in the order of their paths. Unlike the search of
+	 * the wizard, this searches version control metadata and
+	 * <code>node_modules</code> directories, so that smart import finds the
+	 * same projects as before.
 	 *
 	 * @param directoriesVisited
 	 *            Set of canonical paths of directories, used as recursion guard
@@ -1070,62 +1069,12 @@ public class WizardProjectsImportPage extends WizardDataTransferPage {
 	 */
 	static boolean collectProjectFilesFromDirectory(Collection<File> files, File directory,
 			Set<String> directoriesVisited, boolean nestedProjects, IProgressMonitor monitor) {
-
-		if (monitor.isCanceled()) {
-			return false;
-		}
-		monitor.subTask(NLS.bind(
-				DataTransferMessages.WizardProjectsImportPage_CheckingMessage,
-				directory.getPath()));
-		File[] contents = directory.listFiles();
-		if (contents == null) {
-			return false;
-		}
-
-		// Initialize recursion guard for recursive symbolic links
-		if (directoriesVisited == null) {
-			directoriesVisited = new HashSet<>();
-			try {
-				directoriesVisited.add(directory.getCanonicalPath());
-			} catch (IOException exception) {
-				StatusManager.getManager().handle(StatusUtil.newError(exception));
-			}
-		}
-
-		// first look for project description files
-		final String dotProject = IProjectDescription.DESCRIPTION_FILE_NAME;
-		List<File> directories = new ArrayList<>();
-		for (File file : contents) {
-			if(file.isDirectory()){
-				directories.add(file);
-			} else if (file.getName().equals(dotProject) && file.isFile()) {
-				files.add(file);
-				if (!nestedProjects) {
-					// don't search sub-directories since we can't have nested
-					// projects
-					return true;
-				}
-			}
-		}
-		// no project description found or search for nested projects enabled,
-		// so recurse into sub-directories
-		for (File dir : directories) {
-			if (!dir.getName().equals(METADATA_FOLDER)) {
-				try {
-					String canonicalPath = dir.getCanonicalPath();
-					if (!directoriesVisited.add(canonicalPath)) {
-						// already been here --> do not recurse
-						continue;
-					}
-				} catch (IOException exception) {
-					StatusManager.getManager().handle(StatusUtil.newError(exception));
-
-				}
-				collectProjectFilesFromDirectory(files, dir,
-						directoriesVisited, nestedProjects, monitor);
-			}
-		}
-		return true;
+		List<File> found = new ArrayList<>();
+		boolean completed = new ProjectFilesCrawler<>(nestedProjects, false, Function.identity()).crawl(directory,
+				directoriesVisited, monitor, found::addAll);
+		found.sort(null);
+		files.addAll(found);
+		return completed;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,14 +14,22 @@
  *******************************************************************************/
 package org.eclipse.ui.wizards.datatransfer;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 
 import org.eclipse.core.filesystem.URIUtil;
@@ -52,6 +60,7 @@ import org.eclipse.ui.dialogs.IOverwriteQuery;
 import org.eclipse.ui.internal.wizards.datatransfer.DataTransferMessages;
 import org.eclipse.ui.internal.wizards.datatransfer.TarEntry;
 import org.eclipse.ui.internal.wizards.datatransfer.TarLeveledStructureProvider;
+import org.eclipse.ui.internal.wizards.datatransfer.ZipLeveledStructureProvider;
 
 /**
  * An operation which does the actual work of copying objects from the local file
@@ -107,6 +116,20 @@ public class ImportOperation extends WorkspaceModifyOperation {
 
 	private static final String ABSOLUTE_PATH = "<Absolute Path>"; //$NON-NLS-1$
 
+	/**
+	 * The number of bytes of a file which are read ahead, larger files are
+	 * streamed from the remaining bytes.
+	 */
+	private static final int READ_AHEAD_LIMIT = 1024 * 1024;
+
+	private boolean parallelRead = false;
+
+	private ExecutorService readExecutor;
+
+	private int readAheadCount;
+
+	private final Map<Object, Future<InputStream>> readAhead = new HashMap<>();
+
 	/**
 	 * Creates a new operation that recursively imports the entire contents of the
 	 * specified root file system object.
@@ -375,6 +398,11 @@ public class ImportOperation extends WorkspaceModifyOperation {
 	@Override
 	protected void execute(IProgressMonitor progressMonitor) {
 		SubMonitor subMonitor = SubMonitor.convert(progressMonitor, DataTransferMessages.DataTransfer_importTask, 100);
+		if (parallelRead && isThreadSafe(provider) && !createVirtualFolder && !createLinks && !createLinkFilesOnly) {
+			int threads = Runtime.getRuntime().availableProcessors();
+			readExecutor = Executors.newFixedThreadPool(threads);
+			readAheadCount = 4 * threads;
+		}
 		try {
 			if (selectedFiles == null) {
 				ContainerGenerator generator = new ContainerGenerator(destinationPath);
@@ -392,9 +420,138 @@ public class ImportOperation extends WorkspaceModifyOperation {
 			}
 		} catch (CoreException e) {
 			errorTable.add(e.getStatus());
+		} finally {
+			if (readExecutor != null) {
+				readExecutor.shutdown();
+				readExecutor = null;
+				closeReadAhead();
+			}
 		}
 	}
 
+	/**
+	 * Returns whether the contents of the given provider may be read by several
+	 * threads at the same time.
+	 */
+	private static boolean isThreadSafe(IImportStructureProvider structureProvider) {
+		return structureProvider instanceof FileSystemStructureProvider
+				|| structureProvider instanceof ZipFileStructureProvider
+				|| structureProvider instanceof ZipLeveledStructureProvider;
+	}
+
+	/**
+	 * Starts reading the contents of the files among the given children from
+	 * the given index on, up to the read ahead count, if the contents are read
+	 * in parallel.
+	 *
+	 * @param children the children of a folder being imported
+	 * @param index    the index of the next child to import
+	 */
+	private void readAhead(List<?> children, int index) {
+		if (readExecutor == null) {
+			return;
+		}
+		int end = Math.min(children.size(), index + readAheadCount);
+		for (int i = index; i < end; i++) {
+			Object child = children.get(i);
+			if (!readAhead.containsKey(child) && !provider.isFolder(child)) {
+				readAhead.put(child, readExecutor.submit(() -> readContents(child)));
+			}
+		}
+	}
+
+	/**
+	 * Reads the contents of the given file, up to the read ahead limit.
+	 *
+	 * @return a stream of the contents, or <code>null</code> if they cannot be
+	 *         read
+	 */
+	private InputStream readContents(Object fileObject) throws IOException {
+		InputStream contentStream = provider.getContents(fileObject);
+		if (contentStream == null) {
+			return null;
+		}
+		try {
+			byte[] bytes = contentStream.readNBytes(READ_AHEAD_LIMIT);
+			if (bytes.length < READ_AHEAD_LIMIT) {
+				contentStream.close();
+				return new ByteArrayInputStream(bytes);
+			}
+			return new SequenceInputStream(new ByteArrayInputStream(bytes), contentStream);
+		} catch (IOException e) {
+			contentStream.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Closes the streams of the files which were read ahead but not imported.
+	 */
+	private void closeReadAhead() {
+		for (Future<InputStream> contents : readAhead.values()) {
+			if (!close(contents)) {
+				break;
+			}
+		}
+		readAhead.clear();
+	}
+
+	/**
+	 * Closes the stream of the given file if it was read ahead, since the file
+	 * is not imported.
+	 */
+	private void discardReadAhead(Object fileObject) {
+		Future<InputStream> contents = readAhead.remove(fileObject);
+		if (contents != null) {
+			close(contents);
+		}
+	}
+
+	/**
+	 * Waits for the given contents to be read and closes their stream. A read
+	 * in progress is not cancelled, since its stream would not be closed then.
+	 *
+	 * @return <code>false</code> if interrupted while waiting
+	 */
+	private static boolean close(Future<InputStream> contents) {
+		try (InputStream contentStream = contents.get()) {
+			// only closing
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (IOException | ExecutionException e) {
+			// not imported anyway
+		}
+		return true;
+	}
+
+	private static InputStream getReadAhead(Future<InputStream> contents) throws ExecutionException {
+		try {
+			return contents.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Returns the contents of the given file, which were possibly read ahead.
+	 *
+	 * @return a stream of the contents, or <code>null</code> if they cannot be
+	 *         read
+	 */
+	private InputStream getContents(Object fileObject) {
+		Future<InputStream> contents = readAhead.remove(fileObject);
+		if (contents != null) {
+			try {
+				return getReadAhead(contents);
+			} catch (ExecutionException e) {
+				// read again below, so that the failure is reported as before
+			}
+		}
+		return provider.getContents(fileObject);
+	}
+
 	/**
 	 * Returns the container resource that the passed file system object should be
 	 * imported into.
@@ -505,6 +662,7 @@ public class ImportOperation extends WorkspaceModifyOperation {
 			IStatus status = new Status(coreStatus.getSeverity(), coreStatus
 					.getPlugin(), coreStatus.getCode(), newMessage, null);
 			errorTable.add(status);
+			discardReadAhead(fileObject);
 			return;
 		}
 
@@ -513,6 +671,7 @@ public class ImportOperation extends WorkspaceModifyOperation {
 		IFile targetResource = containerResource.getFile(IPath.fromOSString(provider.getLabel(fileObject)));
 
 		if (rejectedFiles.contains(targetResource.getFullPath())) {
+			discardReadAhead(fileObject);
 			return;
 		}
 
@@ -523,10 +682,11 @@ public class ImportOperation extends WorkspaceModifyOperation {
 				&& (targetPath.toFile().equals(new File(fileObjectPath)))) {
 			errorTable.add(new Status(IStatus.ERROR, PlatformUI.PLUGIN_ID, 0,
 					NLS.bind(DataTransferMessages.ImportOperation_targetSameAsSourceError, fileObjectPath), null));
+			discardReadAhead(fileObject);
 			return;
 		}
 
-		try (InputStream contentStream = provider.getContents(fileObject)) {
+		try (InputStream contentStream = getContents(fileObject)) {
 			if (contentStream == null) {
 				if (isNotReadableFile(fileObject)) {
 					errorTable.add(new Status(IStatus.ERROR, PlatformUI.PLUGIN_ID, 0,
@@ -637,10 +797,10 @@ public class ImportOperation extends WorkspaceModifyOperation {
 	 */
 	void importFileSystemObjects(List<?> filesToImport, IProgressMonitor monitor) throws CoreException {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, filesToImport.size());
-		Iterator<?> filesEnum = filesToImport.iterator();
-		while (filesEnum.hasNext()) {
+		for (int i = 0; i < filesToImport.size(); i++) {
 			SubMonitor iterationMonitor = subMonitor.split(1);
-			Object fileSystemObject = filesEnum.next();
+			readAhead(filesToImport, i);
+			Object fileSystemObject = filesToImport.get(i);
 			if (source == null) {
 				// We just import what we are given into the destination
 				IPath sourcePath = IPath.fromOSString(provider.getFullPath(fileSystemObject)).removeLastSegments(1);
@@ -764,8 +924,9 @@ public class ImportOperation extends WorkspaceModifyOperation {
 		if (childPolicy != POLICY_SKIP_CHILDREN) {
 			List<?> children = provider.getChildren(fileSystemObject);
 			SubMonitor loopMonitor = subMonitor.split(90).setWorkRemaining(children.size());
-			for (Object child : children) {
-				importRecursivelyFrom(child, childPolicy, loopMonitor.split(1));
+			for (int i = 0; i < children.size(); i++) {
+				readAhead(children, i);
+				importRecursivelyFrom(children.get(i), childPolicy, loopMonitor.split(1));
 			}
 		}
 	}
@@ -944,6 +1105,20 @@ public class ImportOperation extends WorkspaceModifyOperation {
 		createLinks = links;
 	}
 
+	/**
+	 * Sets whether the contents of the imported files are read in parallel,
+	 * ahead of the creation of the files in the workspace. Reading in parallel
+	 * only happens when the files are copied and the structure provider is one
+	 * of the file system or zip file providers, which may be read concurrently.
+	 *
+	 * @param value <code>true</code> to read the contents in parallel, and
+	 *              <code>false</code> to read each file when it is created
+	 * @since 3.23
+	 */
+	public void setParallelRead(boolean value) {
+		parallelRead = value;
+	}
+
 	/**
 	 * Set a variable relative to which the links are created
 	 *
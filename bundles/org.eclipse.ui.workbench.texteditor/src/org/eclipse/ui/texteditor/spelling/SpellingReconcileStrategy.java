@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2008 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,7 +27,9 @@ import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.Position;
@@ -63,6 +65,12 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 		/** Lock object for modifying the annotations. */
 		private Object fLockObject;
 
+		/**
+		 * The checked regions, only the annotations in these regions are replaced, or
+		 * <code>null</code> to replace all annotations.
+		 */
+		private List<IRegion> fRegions;
+
 		/**
 		 * Initializes this collector with the given annotation model.
 		 *
@@ -77,8 +85,17 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 				fLockObject= fAnnotationModel;
 		}
 
+		/**
+		 * Sets the regions the problems of the next collection are collected for.
+		 *
+		 * @param regions the checked regions or <code>null</code> for the whole document
+		 */
+		void setRegions(List<IRegion> regions) {
+			fRegions= regions;
+		}
+
 		@Override
-		public void accept(SpellingProblem problem) {
+		public synchronized void accept(SpellingProblem problem) {
 			fAddAnnotations.put(new SpellingAnnotation(problem), new Position(problem.getOffset(), problem.getLength()));
 		}
 
@@ -96,7 +113,7 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 				Iterator<Annotation> iter= fAnnotationModel.getAnnotationIterator();
 				while (iter.hasNext()) {
 					Annotation annotation= iter.next();
-					if (SpellingAnnotation.TYPE.equals(annotation.getType()))
+					if (SpellingAnnotation.TYPE.equals(annotation.getType()) && isInRegions(fAnnotationModel.getPosition(annotation)))
 						toRemove.add(annotation);
 				}
 				Annotation[] annotationsToRemove= toRemove.toArray(new Annotation[toRemove.size()]);
@@ -114,6 +131,51 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 			}
 
 			fAddAnnotations= null;
+			fRegions= null;
+		}
+
+		private boolean isInRegions(Position position) {
+			if (fRegions == null || position == null || position.isDeleted())
+				return true;
+			for (IRegion region : fRegions) {
+				int end= region.getOffset() + region.getLength();
+				if (position.getLength() == 0) {
+					// collapsed by a change, possibly at the end of the document
+					if (position.getOffset() >= region.getOffset() && position.getOffset() <= end)
+						return true;
+				} else if (position.getOffset() < end && position.getOffset() + position.getLength() > region.getOffset())
+					return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Forwards the problems of one of several regions checked one after the other to the collector
+	 * of all regions.
+	 */
+	private static class RegionProblemCollector implements ISpellingProblemCollector {
+
+		/** The collector of all regions. */
+		private final ISpellingProblemCollector fCollector;
+
+		RegionProblemCollector(ISpellingProblemCollector collector) {
+			fCollector= collector;
+		}
+
+		@Override
+		public void accept(SpellingProblem problem) {
+			fCollector.accept(problem);
+		}
+
+		@Override
+		public void beginCollecting() {
+			// collected by the collector of all regions
+		}
+
+		@Override
+		public void endCollecting() {
+			// collected by the collector of all regions
 		}
 	}
 
@@ -143,6 +205,66 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 	 */
 	private IRegion[] fRegions= new IRegion[1];
 
+	/**
+	 * The size of the regions the document is split into.
+	 */
+	private static final int CHUNK_SIZE= 32 * 1024;
+
+	/**
+	 * Whether only the changed lines are checked.
+	 */
+	private boolean fIncremental;
+
+	/**
+	 * Lock for the dirty range.
+	 */
+	private final Object fDirtyLock= new Object();
+
+	/**
+	 * Whether the whole document has to be checked in incremental mode.
+	 */
+	private boolean fCheckAll= true;
+
+	/**
+	 * The start offset of the range changed since the last check in incremental mode, greater
+	 * than {@link #fDirtyEnd} if nothing changed.
+	 */
+	private int fDirtyStart= Integer.MAX_VALUE;
+
+	/**
+	 * The end offset of the range changed since the last check in incremental mode.
+	 */
+	private int fDirtyEnd= -1;
+
+	/**
+	 * Tracks the dirty range in incremental mode.
+	 */
+	private final IDocumentListener fDocumentListener= new IDocumentListener() {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int replacedEnd= offset + event.getLength();
+			int insertedEnd= offset + (event.getText() == null ? 0 : event.getText().length());
+			int delta= insertedEnd - replacedEnd;
+			synchronized (fDirtyLock) {
+				if (fDirtyStart > fDirtyEnd) {
+					fDirtyStart= offset;
+					fDirtyEnd= insertedEnd;
+				} else {
+					// move the dirty range along with the text and add the changed text
+					int start= fDirtyStart >= replacedEnd ? fDirtyStart + delta : fDirtyStart;
+					int end= fDirtyEnd >= replacedEnd ? fDirtyEnd + delta : fDirtyEnd;
+					fDirtyStart= Math.min(start, offset);
+					fDirtyEnd= Math.max(end, insertedEnd);
+				}
+			}
+		}
+	};
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -186,10 +308,160 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 		if (getAnnotationModel() == null || fSpellingProblemCollector == null)
 			return;
 
+		if (isIncremental()) {
+			reconcileIncrementally(region);
+			return;
+		}
+
 		fRegions[0]= region;
 		fSpellingService.check(fDocument, fRegions, fSpellingContext, fSpellingProblemCollector, fProgressMonitor);
 	}
 
+	/**
+	 * Sets whether only the changed lines of the document are checked.
+	 * <p>
+	 * In incremental mode, a reconcile of the whole document only checks the lines changed since
+	 * the previous check. If nothing changed, like when the reconciling is forced after a change of
+	 * the dictionary, the whole document is checked. The document is checked in regions of whole
+	 * lines, and only the spelling annotations in the checked regions are replaced, so that a
+	 * canceled check only repeats the regions it did not finish. This has no effect if
+	 * {@link #createSpellingProblemCollector()} is overridden.
+	 * </p>
+	 *
+	 * @param incremental <code>true</code> to only check the changed lines
+	 * @since 3.20
+	 */
+	public void setIncremental(boolean incremental) {
+		if (fIncremental == incremental)
+			return;
+		fIncremental= incremental;
+		if (fDocument != null) {
+			if (incremental)
+				fDocument.addDocumentListener(fDocumentListener);
+			else
+				fDocument.removeDocumentListener(fDocumentListener);
+		}
+		synchronized (fDirtyLock) {
+			fCheckAll= true;
+		}
+	}
+
+	/**
+	 * Returns whether only the changed lines of the document are checked.
+	 *
+	 * @return <code>true</code> if only the changed lines are checked
+	 * @see #setIncremental(boolean)
+	 * @since 3.20
+	 */
+	public boolean isIncremental() {
+		return fIncremental && fSpellingProblemCollector instanceof SpellingProblemCollector;
+	}
+
+	private void reconcileIncrementally(IRegion region) {
+		List<IRegion> regions;
+		int documentLength= fDocument.getLength();
+		if (region.getOffset() > 0 || region.getLength() < documentLength) {
+			// a region of an incremental reconciler
+			regions= splitIntoLines(region.getOffset(), region.getOffset() + region.getLength());
+		} else {
+			int dirtyStart;
+			int dirtyEnd;
+			synchronized (fDirtyLock) {
+				// without a recorded change, the reconcile was forced, for example after a change
+				// of the dictionary, and the whole document is checked again
+				if (fCheckAll || fDirtyStart > fDirtyEnd) {
+					dirtyStart= 0;
+					dirtyEnd= documentLength;
+				} else {
+					dirtyStart= Math.min(fDirtyStart, documentLength);
+					dirtyEnd= Math.min(fDirtyEnd, documentLength);
+				}
+				fCheckAll= false;
+				fDirtyStart= Integer.MAX_VALUE;
+				fDirtyEnd= -1;
+			}
+			regions= splitIntoLines(dirtyStart, dirtyEnd);
+		}
+		if (regions == null) {
+			markDirty(0, documentLength);
+			return;
+		}
+		check(regions);
+	}
+
+	/**
+	 * Checks the given regions one after the other and replaces the spelling annotations of the
+	 * regions which were completely checked in one go. The regions are checked sequentially, as
+	 * spelling engines need not be thread-safe.
+	 *
+	 * @param regions the regions to check
+	 */
+	private void check(List<IRegion> regions) {
+		SpellingProblemCollector collector= (SpellingProblemCollector) fSpellingProblemCollector;
+		List<IRegion> checked= new ArrayList<>(regions.size());
+		ISpellingProblemCollector regionCollector= new RegionProblemCollector(collector);
+		collector.beginCollecting();
+		try {
+			for (IRegion region : regions) {
+				if (isCanceled())
+					break;
+				fSpellingService.check(fDocument, new IRegion[] { region }, fSpellingContext, regionCollector, fProgressMonitor);
+				if (!isCanceled())
+					checked.add(region);
+			}
+		} finally {
+			for (IRegion region : regions) {
+				if (!checked.contains(region))
+					markDirty(region.getOffset(), region.getOffset() + region.getLength());
+			}
+			collector.setRegions(checked);
+			collector.endCollecting();
+		}
+	}
+
+	private boolean isCanceled() {
+		return fProgressMonitor != null && fProgressMonitor.isCanceled();
+	}
+
+	/**
+	 * Returns the given range extended to whole lines, split into regions of about
+	 * {@link #CHUNK_SIZE} characters.
+	 *
+	 * @param start the start offset
+	 * @param end the end offset
+	 * @return the regions or <code>null</code> if the document changed meanwhile
+	 */
+	private List<IRegion> splitIntoLines(int start, int end) {
+		List<IRegion> regions= new ArrayList<>();
+		try {
+			int offset= fDocument.getLineInformationOfOffset(start).getOffset();
+			int lastLine= fDocument.getLineOfOffset(end);
+			// including the line delimiter
+			int regionEnd= fDocument.getLineOffset(lastLine) + fDocument.getLineLength(lastLine);
+			while (offset < regionEnd) {
+				int chunkEnd= regionEnd;
+				if (regionEnd - offset > CHUNK_SIZE) {
+					int line= fDocument.getLineOfOffset(offset + CHUNK_SIZE);
+					chunkEnd= Math.min(regionEnd, fDocument.getLineOffset(line) + fDocument.getLineLength(line));
+				}
+				regions.add(new Region(offset, chunkEnd - offset));
+				offset= chunkEnd;
+			}
+			if (regions.isEmpty())
+				regions.add(new Region(offset, 0));
+		} catch (BadLocationException e) {
+			return null;
+		}
+		return regions;
+	}
+
+	private void markDirty(int start, int end) {
+		synchronized (fDirtyLock) {
+			fDirtyStart= Math.min(fDirtyStart, start);
+			fDirtyEnd= Math.max(fDirtyEnd, end);
+		}
+	}
+
 	/**
 	 * Returns the content type of the underlying editor input.
 	 *
@@ -211,8 +483,17 @@ public class SpellingReconcileStrategy implements IReconcilingStrategy, IReconci
 
 	@Override
 	public void setDocument(IDocument document) {
+		if (fIncremental && fDocument != null)
+			fDocument.removeDocumentListener(fDocumentListener);
 		fDocument= document;
 		fSpellingProblemCollector= createSpellingProblemCollector();
+		if (fIncremental && fDocument != null)
+			fDocument.addDocumentListener(fDocumentListener);
+		synchronized (fDirtyLock) {
+			fCheckAll= true;
+			fDirtyStart= Integer.MAX_VALUE;
+			fDirtyEnd= -1;
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,8 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.IHandler;
@@ -1171,7 +1173,7 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 	 *
 	 * @return decorated comparator
 	 */
-	private Comparator<Object> getHistoryComparator() {
+	private HistoryComparator getHistoryComparator() {
 		return new HistoryComparator();
 	}
 
@@ -1928,20 +1930,18 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 
 			if (lastCompletedFilter != null && lastCompletedFilter.isSubFilter(this.itemsFilter)) {
 
-				int length = lastCompletedResult.size() / 500;
-				monitor.beginTask(WorkbenchMessages.FilteredItemsSelectionDialog_cacheSearchJob_taskName, length);
+				Object[] cachedItems = lastCompletedResult.toArray();
+				monitor.beginTask(WorkbenchMessages.FilteredItemsSelectionDialog_cacheSearchJob_taskName, 1);
 
-				for (int pos = 0; pos < lastCompletedResult.size(); pos++) {
-
-					Object item = lastCompletedResult.get(pos);
-					if (monitor.isCanceled())
-						break;
-					contentProvider.add(item, itemsFilter);
-
-					if ((pos % 500) == 0) {
-						monitor.worked(1);
-					}
+				List<Object> matches;
+				if (itemsFilter.supportsConcurrentMatching()) {
+					matches = ForkJoinPool.commonPool()
+							.invoke(new MatchItemsTask(itemsFilter, cachedItems, 0, cachedItems.length, monitor));
+				} else {
+					matches = MatchItemsTask.matchItems(itemsFilter, cachedItems, 0, cachedItems.length, monitor);
 				}
+				contentProvider.addAll(matches, itemsFilter);
+				monitor.worked(1);
 
 			} else {
 
@@ -1964,6 +1964,63 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 
 	}
 
+	/**
+	 * Matches a range of the items of the last completed search against a
+	 * sub-filter which {@link ItemsFilter#supportsConcurrentMatching() supports
+	 * concurrent matching}. Ranges larger than {@link #CHUNK_SIZE} are split and
+	 * matched in parallel, the matching stops as soon as the monitor is canceled.
+	 */
+	private static class MatchItemsTask extends RecursiveTask<List<Object>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final int CHUNK_SIZE = 2000;
+
+		private final transient ItemsFilter itemsFilter;
+
+		private final transient Object[] items;
+
+		private final int start;
+
+		private final int end;
+
+		private final transient IProgressMonitor monitor;
+
+		MatchItemsTask(ItemsFilter itemsFilter, Object[] items, int start, int end, IProgressMonitor monitor) {
+			this.itemsFilter = itemsFilter;
+			this.items = items;
+			this.start = start;
+			this.end = end;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected List<Object> compute() {
+			if (end - start > CHUNK_SIZE) {
+				int middle = (start + end) >>> 1;
+				MatchItemsTask head = new MatchItemsTask(itemsFilter, items, start, middle, monitor);
+				head.fork();
+				List<Object> result = new MatchItemsTask(itemsFilter, items, middle, end, monitor).compute();
+				List<Object> headResult = head.join();
+				headResult.addAll(result);
+				return headResult;
+			}
+			return matchItems(itemsFilter, items, start, end, monitor);
+		}
+
+		static List<Object> matchItems(ItemsFilter itemsFilter, Object[] items, int start, int end,
+				IProgressMonitor monitor) {
+			List<Object> result = new ArrayList<>();
+			for (int pos = start; pos < end; pos++) {
+				if ((pos % 500) == 0 && monitor.isCanceled())
+					break;
+				if (itemsFilter.matchItem(items[pos]))
+					result.add(items[pos]);
+			}
+			return result;
+		}
+	}
+
 	/**
 	 * History stores a list of key, object pairs. The list is bounded at a certain
 	 * size. If the list exceeds this size the oldest element is removed from the
@@ -2289,6 +2346,21 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 		 */
 		public abstract boolean isConsistentItem(Object item);
 
+		/**
+		 * Returns whether {@link #matchItem(Object)} may be called concurrently from
+		 * several threads. If so, the items of the last search are matched in
+		 * parallel when the pattern gets narrowed. The default implementation returns
+		 * <code>false</code>, subclasses whose matching is thread-safe may override
+		 * it.
+		 *
+		 * @return <code>true</code> if items may be matched concurrently,
+		 *         <code>false</code> otherwise
+		 * @since 3.136
+		 */
+		public boolean supportsConcurrentMatching() {
+			return false;
+		}
+
 	}
 
 	/**
@@ -2434,6 +2506,18 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 			}
 		}
 
+		/**
+		 * Adds items which have already been matched against the given filter.
+		 *
+		 * @param matches     the matching items
+		 * @param itemsFilter the filter the items were matched against
+		 */
+		public void addAll(List<Object> matches, ItemsFilter itemsFilter) {
+			if (itemsFilter == filter) {
+				this.items.addAll(matches);
+			}
+		}
+
 		/**
 		 * Add all history items to <code>contentProvider</code>.
 		 *
@@ -2482,7 +2566,7 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 			}
 
 			synchronized (lastSortedItems) {
-				lastSortedItems.sort(getHistoryComparator());
+				getHistoryComparator().sort(lastSortedItems);
 			}
 			return item;
 		}
@@ -2501,7 +2585,7 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 				this.lastSortedItems.remove(item);
 			}
 			synchronized (lastSortedItems) {
-				lastSortedItems.sort(getHistoryComparator());
+				getHistoryComparator().sort(lastSortedItems);
 			}
 			this.refresh();
 		}
@@ -2575,7 +2659,7 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 				synchronized (lastSortedItems) {
 					lastSortedItems.clear();
 					lastSortedItems.addAll(items);
-					lastSortedItems.sort(getHistoryComparator());
+					getHistoryComparator().sort(lastSortedItems);
 				}
 			}
 			return lastSortedItems.toArray();
@@ -2967,6 +3051,37 @@ public abstract class FilteredItemsSelectionDialog extends SelectionStatusDialog
 			return 0;
 		}
 
+		/**
+		 * Sorts the given items like {@link #compare(Object, Object)}, but computes
+		 * the element name and the history membership only once per item instead of
+		 * once per comparison.
+		 *
+		 * @param items the items to sort
+		 */
+		void sort(List<Object> items) {
+			SortKey[] keys = new SortKey[items.size()];
+			int i = 0;
+			for (Object item : items) {
+				boolean exactMatch = filterPattern != null && filterPattern.equals(getElementName(item));
+				keys[i++] = new SortKey(item, exactMatch, isHistoryElement(item));
+			}
+			Arrays.sort(keys, (k1, k2) -> {
+				if (k1.exactMatch() != k2.exactMatch()) {
+					return k1.exactMatch() ? -1 : 1;
+				}
+				if (k1.history() == k2.history()) {
+					return itemsComparator.compare(k1.item(), k2.item());
+				}
+				return k1.history() ? -2 : +2;
+			});
+			for (i = 0; i < keys.length; i++) {
+				items.set(i, keys[i].item());
+			}
+		}
+
+	}
+
+	private record SortKey(Object item, boolean exactMatch, boolean history) {
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,7 +30,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -39,6 +41,7 @@ import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
@@ -123,6 +126,13 @@ public abstract class QuickAccessContents {
 	private TriggerSequence keySequence;
 	private Job computeProposalsJob;
 
+	/**
+	 * Time in milliseconds after which the entries of the providers which are done
+	 * get shown while other providers are still computing their elements. Matches
+	 * the delay of the feedback that entries are being computed.
+	 */
+	private static final long PARTIAL_ENTRIES_DELAY = 200;
+
 	public QuickAccessContents(QuickAccessProvider[] providers) {
 		this.providers = providers;
 	}
@@ -159,8 +169,15 @@ public abstract class QuickAccessContents {
 		int maxNumberOfItemsInTable = computeNumberOfItems();
 		AtomicReference<List<QuickAccessEntry>[]> entries = new AtomicReference<>();
 		final Job currentComputeEntriesJob = Job.create(computingMessage, theMonitor -> {
-			entries.set(
-					computeMatchingEntries(filter, perfectMatch, maxNumberOfItemsInTable, theMonitor));
+			// show the entries of the providers that are done while slow providers are
+			// still computing their elements
+			Consumer<List<QuickAccessEntry>[]> partialEntriesConsumer = partialEntries -> display.asyncExec(() -> {
+				if (!theMonitor.isCanceled() && entries.get() == null && !table.isDisposed()) {
+					refreshTable(perfectMatch, partialEntries, filter);
+				}
+			});
+			entries.set(computeMatchingEntries(filter, perfectMatch, maxNumberOfItemsInTable, theMonitor,
+					partialEntriesConsumer));
 			return theMonitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
 		});
 		currentComputeEntriesJob.setPriority(Job.INTERACTIVE);
@@ -349,19 +366,27 @@ public abstract class QuickAccessContents {
 	 * should be displayed in the table given a text filter and a perfect match
 	 * entry that should be given priority. The number of items returned is affected
 	 * by {@link #getShowAllMatches()} and the size of the table's composite.
+	 * <p>
+	 * The providers are queried concurrently. If some providers take longer than
+	 * {@link #PARTIAL_ENTRIES_DELAY}, the entries of the providers which are done
+	 * are passed to the given consumer each time another provider is done.
+	 * </p>
 	 *
-	 * @param filter       the string text filter to apply, possibly empty
-	 * @param perfectMatch a quick access element that should be given priority or
-	 *                     <code>null</code>
+	 * @param filter         the string text filter to apply, possibly empty
+	 * @param perfectMatch   a quick access element that should be given priority
+	 *                       or <code>null</code>
+	 * @param partialEntries consumer of the entries of the providers which are done
+	 *                       while other providers are still computing
 	 *
 	 * @return the array of lists (one per provider) contains the quick access
 	 *         entries that should be added to the table, possibly empty
 	 */
 	private List<QuickAccessEntry>[] computeMatchingEntries(String filter, QuickAccessElement perfectMatch,
-			int maxNumberOfItemsInTable, IProgressMonitor aMonitor) {
+			int maxNumberOfItemsInTable, IProgressMonitor aMonitor, Consumer<List<QuickAccessEntry>[]> partialEntries) {
 		if (aMonitor == null) {
 			aMonitor = new NullProgressMonitor();
 		}
+		long start = System.currentTimeMillis();
 		// check for a category filter, like "Views: "
 		Matcher categoryMatcher = getCategoryPattern().matcher(filter);
 		String category = null;
@@ -371,41 +396,61 @@ public abstract class QuickAccessContents {
 		}
 		final String finalFilter = filter;
 
-		// collect matching elements
-		LinkedHashMap<QuickAccessProvider, List<QuickAccessElement>> elementsForProviders = new LinkedHashMap<>(
-				providers.length);
+		// query the providers concurrently, the ones requiring UI access get queried
+		// one after the other in the UI thread while the others run in the background
+		Map<QuickAccessProvider, Job> jobs = new LinkedHashMap<>(providers.length);
+		Map<QuickAccessProvider, List<QuickAccessElement>> sortedElementsForProviders = new ConcurrentHashMap<>();
 		for (QuickAccessProvider provider : providers) {
-			if (aMonitor.isCanceled()) {
-				break;
-			}
 			boolean isPreviousPickProvider = provider instanceof PreviousPicksProvider;
 			// skip if filter contains a category, and current provider isn't this category
 			if (category != null && !category.equalsIgnoreCase(provider.getName()) && !isPreviousPickProvider) {
 				continue;
 			}
 			if (!filter.isEmpty() || isPreviousPickProvider || showAllMatches) {
-				AtomicReference<List<QuickAccessElement>> sortedElementRef = new AtomicReference<>();
+				Job job;
 				if (provider.requiresUiAccess()) {
-					UIJob job = new UIJob(
-							NLS.bind(QuickAccessMessages.QuickAccessContents_processingProviderInUI,
-									provider.getName())) {
+					job = new UIJob(NLS.bind(QuickAccessMessages.QuickAccessContents_processingProviderInUI,
+							provider.getName())) {
 						@Override
 						public IStatus runInUIThread(IProgressMonitor monitor) {
-							sortedElementRef.set(Arrays.asList(provider.getElementsSorted(finalFilter, monitor)));
+							sortedElementsForProviders.put(provider,
+									Arrays.asList(provider.getElementsSorted(finalFilter, monitor)));
 							return Status.OK_STATUS;
 						}
 					};
-					job.setPriority(Job.INTERACTIVE);
-					job.schedule();
-					try {
-						job.join(0, new NullProgressMonitor());
-					} catch (Exception e) {
-						WorkbenchPlugin.log(e);
-					}
 				} else {
-					sortedElementRef.set(Arrays.asList(provider.getElementsSorted(filter, aMonitor)));
+					job = Job.create(NLS.bind(QuickAccessMessages.QuickAccessContents_processingProvider,
+							provider.getName()), monitor -> {
+								sortedElementsForProviders.put(provider,
+										Arrays.asList(provider.getElementsSorted(finalFilter, monitor)));
+								return Status.OK_STATUS;
+							});
+					job.setSystem(true);
 				}
-				List<QuickAccessElement> sortedElements = sortedElementRef.get();
+				job.setPriority(Job.INTERACTIVE);
+				jobs.put(provider, job);
+			}
+		}
+		jobs.values().forEach(Job::schedule);
+
+		// collect matching elements
+		LinkedHashMap<QuickAccessProvider, List<QuickAccessElement>> elementsForProviders = new LinkedHashMap<>(
+				providers.length);
+		try {
+			for (Entry<QuickAccessProvider, Job> providerJob : jobs.entrySet()) {
+				if (aMonitor.isCanceled()) {
+					break;
+				}
+				QuickAccessProvider provider = providerJob.getKey();
+				try {
+					// canceling the query cancels the jobs, see finally
+					providerJob.getValue().join(0, aMonitor);
+				} catch (OperationCanceledException e) {
+					break;
+				} catch (Exception e) {
+					WorkbenchPlugin.log(e);
+				}
+				List<QuickAccessElement> sortedElements = sortedElementsForProviders.get(provider);
 				if (sortedElements == null) {
 					sortedElements = Collections.emptyList();
 				}
@@ -415,12 +460,34 @@ public abstract class QuickAccessContents {
 					}
 				}
 				if (!filter.isEmpty() && !sortedElements.isEmpty()) {
-					sortedElements = putPrefixMatchFirst(sortedElements, filter);
+					sortedElements = putPrefixMatchFirst(provider, sortedElements, filter);
 				}
 				elementsForProviders.put(provider, new ArrayList<>(sortedElements));
+				if (elementsForProviders.size() < jobs.size() && !aMonitor.isCanceled()
+						&& System.currentTimeMillis() - start >= PARTIAL_ENTRIES_DELAY) {
+					LinkedHashMap<QuickAccessProvider, List<QuickAccessElement>> partialElementsForProviders = new LinkedHashMap<>(
+							elementsForProviders.size());
+					elementsForProviders.forEach(
+							(partialProvider, elements) -> partialElementsForProviders.put(partialProvider,
+									new ArrayList<>(elements)));
+					partialEntries.accept(computeEntries(partialElementsForProviders, filter, perfectMatch,
+							maxNumberOfItemsInTable));
+				}
 			}
+		} finally {
+			jobs.values().forEach(Job::cancel);
 		}
+		return computeEntries(elementsForProviders, filter, perfectMatch, maxNumberOfItemsInTable);
+	}
 
+	/**
+	 * Maps the elements of the providers to the entries to be displayed in the
+	 * table, see {@link #computeMatchingEntries}. The given lists of elements are
+	 * modified.
+	 */
+	private List<QuickAccessEntry>[] computeEntries(
+			LinkedHashMap<QuickAccessProvider, List<QuickAccessElement>> elementsForProviders, String filter,
+			QuickAccessElement perfectMatch, int maxNumberOfItemsInTable) {
 		// Sort out the Previous Pick
 		List<String> prevPickIds = new ArrayList<>();
 		for (Entry<QuickAccessProvider, List<QuickAccessElement>> entry : elementsForProviders.entrySet()) {
@@ -457,8 +524,8 @@ public abstract class QuickAccessContents {
 					.entrySet()) {
 				QuickAccessProvider provider = elementsPerProvider.getKey();
 				List<QuickAccessEntry> entries = elementsPerProvider.getValue().stream() //
-						.map(QuickAccessMatcher::new) //
-						.map(matcher -> matcher.match(finalFilter, provider)) //
+						.map(provider::getMatcher) //
+						.map(matcher -> matcher.match(filter, provider)) //
 						.filter(Objects::nonNull) //
 						.collect(Collectors.toList());
 				if (!entries.isEmpty()) {
@@ -477,7 +544,7 @@ public abstract class QuickAccessContents {
 						int toPickEntries = nbEntriesPerProvider;
 						while (toPickEntries > 0 && !elements.isEmpty()) {
 							QuickAccessElement element = elements.remove(0);
-							QuickAccessEntry entry = new QuickAccessMatcher(element).match(filter, provider);
+							QuickAccessEntry entry = provider.getMatcher(element).match(filter, provider);
 							if (entry != null) {
 								numberOfSlotsLeft--;
 								toPickEntries--;
@@ -497,7 +564,7 @@ public abstract class QuickAccessContents {
 							boolean entryPicked = false;
 							while (!entryPicked && !elements.isEmpty()) {
 								QuickAccessElement element = elements.remove(0);
-								QuickAccessEntry entry = new QuickAccessMatcher(element).match(filter, provider);
+								QuickAccessEntry entry = provider.getMatcher(element).match(filter, provider);
 								if (entry != null) {
 									numberOfSlotsLeft--;
 									entryPicked = true;
@@ -534,27 +601,19 @@ public abstract class QuickAccessContents {
 	 * Consider whether we could directly check the "matchQuality" here, but it
 	 * seems to be a more expensive operation
 	 */
-	private static List<QuickAccessElement> putPrefixMatchFirst(List<QuickAccessElement> elements, String prefix) {
-		List<QuickAccessElement> res = new ArrayList<>(elements);
-		List<Integer> matchingIndexes = new ArrayList<>();
-		for (int i = 0; i < elements.size(); i++) {
-			if (elements.get(i).getLabel().toLowerCase().startsWith(prefix.toLowerCase())) {
-				matchingIndexes.add(Integer.valueOf(i));
-			}
-		}
-		int currentMatchIndex = 0;
-		int currentNonMatchIndex = matchingIndexes.size();
-		for (int i = 0; i < res.size(); i++) {
-			boolean isMatch = !matchingIndexes.isEmpty() && matchingIndexes.iterator().next().intValue() == i;
-			if (isMatch) {
-				matchingIndexes.remove(0);
-				res.set(currentMatchIndex, elements.get(i));
-				currentMatchIndex++;
+	private static List<QuickAccessElement> putPrefixMatchFirst(QuickAccessProvider provider,
+			List<QuickAccessElement> elements, String prefix) {
+		String lowerCasePrefix = prefix.toLowerCase();
+		List<QuickAccessElement> res = new ArrayList<>(elements.size());
+		List<QuickAccessElement> nonMatching = new ArrayList<>(elements.size());
+		for (QuickAccessElement element : elements) {
+			if (provider.getMatcher(element).labelStartsWith(lowerCasePrefix)) {
+				res.add(element);
 			} else {
-				res.set(currentNonMatchIndex, elements.get(i));
-				currentNonMatchIndex++;
+				nonMatching.add(element);
 			}
 		}
+		res.addAll(nonMatching);
 		return res;
 	}
 
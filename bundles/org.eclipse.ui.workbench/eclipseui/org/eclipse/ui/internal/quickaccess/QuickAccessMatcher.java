@@ -14,6 +14,10 @@
 
 package org.eclipse.ui.internal.quickaccess;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -29,6 +33,19 @@ public final class QuickAccessMatcher {
 
 	private final QuickAccessElement element;
 
+	/**
+	 * The normalized labels of an element, optionally prefixed by the name of a
+	 * provider. Immutable, so that matchers can be shared between the jobs
+	 * computing the matching entries.
+	 */
+	private record Labels(String providerName, String lowerCaseMatchLabel, String lowerCaseLabel,
+			String camelCase) {
+	}
+
+	// computed once and reused for every filter
+	private Labels labels;
+	private Labels combinedLabels;
+
 	public QuickAccessMatcher(QuickAccessElement element) {
 		this.element = element;
 	}
@@ -42,66 +59,123 @@ public final class QuickAccessMatcher {
 	private static final String PAR_END = "\\)"; //$NON-NLS-1$
 	private static final String ONE_CHAR = ".?"; //$NON-NLS-1$
 
-	// whitespaces filter and patterns
-	private String wsFilter;
-	private Pattern wsPattern;
+	/**
+	 * Maximum number of filters whose patterns are kept in {@link #PATTERNS}.
+	 */
+	private static final int MAX_CACHED_PATTERNS = 64;
+
+	/**
+	 * Patterns shared by all matchers, keyed by the filter they were generated
+	 * for. All elements are matched against the same filter, so the pattern only
+	 * needs to be compiled once per filter rather than once per element.
+	 */
+	private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+	private static Pattern getPattern(String key, Function<String, Pattern> compiler, String filter) {
+		Pattern pattern = PATTERNS.get(key);
+		if (pattern == null) {
+			if (PATTERNS.size() >= MAX_CACHED_PATTERNS) {
+				PATTERNS.clear();
+			}
+			pattern = compiler.apply(filter);
+			PATTERNS.put(key, pattern);
+		}
+		return pattern;
+	}
 
 	/**
 	 * Get the existing {@link Pattern} for the given filter, or create a new one.
 	 * The generated pattern will replace whitespace with * to match all.
 	 */
-	private Pattern getWhitespacesPattern(String filter) {
-		if (wsPattern == null || !filter.equals(wsFilter)) {
-			wsFilter = filter;
-			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
-					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
-			sFilter = String.format(".*(%s).*", sFilter.replaceAll(ANY_WS, ").*(")); //$NON-NLS-1$//$NON-NLS-2$
-			wsPattern = safeCompile(sFilter);
-		}
-		return wsPattern;
+	private static Pattern getWhitespacesPattern(String filter) {
+		return getPattern("ws:" + filter, QuickAccessMatcher::compileWhitespacesPattern, filter); //$NON-NLS-1$
 	}
 
-	// wildcard filter and patterns
-	private String wcFilter;
-	private Pattern wcPattern;
+	private static Pattern compileWhitespacesPattern(String filter) {
+		String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
+				.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
+		sFilter = String.format(".*(%s).*", sFilter.replaceAll(ANY_WS, ").*(")); //$NON-NLS-1$//$NON-NLS-2$
+		return safeCompile(sFilter);
+	}
 
 	/**
 	 * Get the existing {@link Pattern} for the given filter, or create a new one.
 	 * The generated pattern will handle '*' and '?' wildcards.
 	 */
-	private Pattern getWildcardsPattern(String filter) {
+	private static Pattern getWildcardsPattern(String filter) {
 		// squash consecutive **** into a single *
 		filter = filter.replaceAll("\\*+", "*"); //$NON-NLS-1$ //$NON-NLS-2$
-		if (wcPattern == null || !filter.equals(wcFilter)) {
-			wcFilter = filter;
-			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
-					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
-			// replace '*' and '?' with their matchers ").*(" and ").?("
-			StringBuilder sb = new StringBuilder();
-			for (int i = 0; i < sFilter.length(); i++) {
-				char c = sFilter.charAt(i);
-				if (c == '*') {
-					sb.append(").").append(c).append("("); //$NON-NLS-1$ //$NON-NLS-2$
-				} else if (c == '?') {
-					int n = 1;
-					for (; (i + 1) < sFilter.length(); i++) {
-						if (sFilter.charAt(i + 1) != '?') {
-							break;
-						}
-						n++;
+		return getPattern("wc:" + filter, QuickAccessMatcher::compileWildcardsPattern, filter); //$NON-NLS-1$
+	}
+
+	private static Pattern compileWildcardsPattern(String filter) {
+		String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
+				.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
+		// replace '*' and '?' with their matchers ").*(" and ").?("
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < sFilter.length(); i++) {
+			char c = sFilter.charAt(i);
+			if (c == '*') {
+				sb.append(").").append(c).append("("); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (c == '?') {
+				int n = 1;
+				for (; (i + 1) < sFilter.length(); i++) {
+					if (sFilter.charAt(i + 1) != '?') {
+						break;
 					}
-					sb.append(").").append(n == 1 ? '?' : String.format("{0,%d}", n)).append("("); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-				} else {
-					sb.append(c);
+					n++;
 				}
+				sb.append(").").append(n == 1 ? '?' : String.format("{0,%d}", n)).append("("); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			} else {
+				sb.append(c);
 			}
-			sFilter = String.format(".*(%s).*", sb.toString()); //$NON-NLS-1$
-			// remove empty capturing groups
-			sFilter = sFilter.replace("()", EMPTY_STR); //$NON-NLS-1$
-			//
-			wcPattern = safeCompile(sFilter);
 		}
-		return wcPattern;
+		sFilter = String.format(".*(%s).*", sb.toString()); //$NON-NLS-1$
+		// remove empty capturing groups
+		sFilter = sFilter.replace("()", EMPTY_STR); //$NON-NLS-1$
+		//
+		return safeCompile(sFilter);
+	}
+
+	/**
+	 * Returns the normalized labels of the element, computing them if not done
+	 * yet.
+	 */
+	private Labels getLabels() {
+		Labels result = labels;
+		if (result == null) {
+			result = new Labels(null, element.getMatchLabel().toLowerCase(), element.getLabel().toLowerCase(),
+					CamelUtil.getCamelCase(element.getLabel())); // use actual label for camelcase
+			labels = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the labels of the element prefixed by the name of the given provider,
+	 * computing them if not done yet for that provider.
+	 */
+	private Labels getCombinedLabels(QuickAccessProvider provider) {
+		String name = provider.getName();
+		Labels result = combinedLabels;
+		if (result == null || !Objects.equals(name, result.providerName())) {
+			String combinedLabel = name + " " + element.getLabel(); //$NON-NLS-1$
+			result = new Labels(name, (name + " " + element.getMatchLabel()).toLowerCase(), //$NON-NLS-1$
+					combinedLabel.toLowerCase(), CamelUtil.getCamelCase(combinedLabel));
+			combinedLabels = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns whether the label of the element starts with the given lower case
+	 * prefix.
+	 *
+	 * @param lowerCasePrefix the prefix in lower case
+	 * @return whether the label starts with the prefix
+	 */
+	boolean labelStartsWith(String lowerCasePrefix) {
+		return getLabels().lowerCaseLabel().startsWith(lowerCasePrefix);
 	}
 
 	/**
@@ -133,14 +207,15 @@ public final class QuickAccessMatcher {
 	 * @noreference This method is not intended to be referenced by clients.
 	 */
 	public QuickAccessEntry match(String filter, QuickAccessProvider providerForMatching) {
+		Labels normalized = getLabels();
 		String matchLabel = element.getMatchLabel();
 		// first occurrence of filter
-		int index = matchLabel.toLowerCase().indexOf(filter);
+		int index = normalized.lowerCaseMatchLabel().indexOf(filter);
 		if (index != -1) {
-			index = element.getLabel().toLowerCase().indexOf(filter);
+			index = normalized.lowerCaseLabel().indexOf(filter);
 			if (index != -1) { // match actual label
-				int quality = matchLabel.toLowerCase().equals(filter) ? QuickAccessEntry.MATCH_PERFECT
-						: (matchLabel.toLowerCase().startsWith(filter) ? QuickAccessEntry.MATCH_EXCELLENT
+				int quality = normalized.lowerCaseMatchLabel().equals(filter) ? QuickAccessEntry.MATCH_PERFECT
+						: (normalized.lowerCaseMatchLabel().startsWith(filter) ? QuickAccessEntry.MATCH_EXCELLENT
 								: QuickAccessEntry.MATCH_GOOD);
 				return new QuickAccessEntry(element, providerForMatching,
 						new int[][] { { index, index + filter.length() - 1 } }, EMPTY_INDICES, quality);
@@ -181,11 +256,10 @@ public final class QuickAccessMatcher {
 			return new QuickAccessEntry(element, providerForMatching, indices, EMPTY_INDICES, quality);
 		}
 		//
-		String combinedMatchLabel = (providerForMatching.getName() + " " + element.getMatchLabel()); //$NON-NLS-1$
-		String combinedLabel = (providerForMatching.getName() + " " + element.getLabel()); //$NON-NLS-1$
-		index = combinedMatchLabel.toLowerCase().indexOf(filter);
+		Labels combined = getCombinedLabels(providerForMatching);
+		index = combined.lowerCaseMatchLabel().indexOf(filter);
 		if (index != -1) { // match
-			index = combinedLabel.toLowerCase().indexOf(filter);
+			index = combined.lowerCaseLabel().indexOf(filter);
 			if (index != -1) { // compute highlight on label
 				int lengthOfElementMatch = index + filter.length() - providerForMatching.getName().length() - 1;
 				if (lengthOfElementMatch > 0) {
@@ -200,15 +274,13 @@ public final class QuickAccessMatcher {
 					QuickAccessEntry.MATCH_PARTIAL);
 		}
 		//
-		String camelCase = CamelUtil.getCamelCase(element.getLabel()); // use actual label for camelcase
-		index = camelCase.indexOf(filter);
+		index = normalized.camelCase().indexOf(filter);
 		if (index != -1) {
 			int[][] indices = CamelUtil.getCamelCaseIndices(matchLabel, index, filter.length());
 			return new QuickAccessEntry(element, providerForMatching, indices, EMPTY_INDICES,
 					QuickAccessEntry.MATCH_GOOD);
 		}
-		String combinedCamelCase = CamelUtil.getCamelCase(combinedLabel);
-		index = combinedCamelCase.indexOf(filter);
+		index = combined.camelCase().indexOf(filter);
 		if (index != -1) {
 			String providerCamelCase = CamelUtil.getCamelCase(providerForMatching.getName());
 			int lengthOfElementMatch = index + filter.length() - providerCamelCase.length();
@@ -15,8 +15,10 @@ package org.eclipse.ui.internal.quickaccess;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.quickaccess.QuickAccessElement;
@@ -33,6 +35,12 @@ public abstract class QuickAccessProvider {
 	 */
 	private QuickAccessElement[] cacheSortedElements;
 
+	/*
+	 * Matchers of the cached elements, keeping the normalized labels of the
+	 * elements across filters. Cleared together with the cached elements.
+	 */
+	private final Map<QuickAccessElement, QuickAccessMatcher> matchers = new ConcurrentHashMap<>();
+
 	/**
 	 * Returns the unique ID of this provider.
 	 *
@@ -85,6 +93,9 @@ public abstract class QuickAccessProvider {
 				cacheSortedElements = new QuickAccessElement[0];
 			}
 			Arrays.sort(cacheSortedElements, Comparator.comparing(QuickAccessElement::getSortLabel));
+			for (QuickAccessElement element : cacheSortedElements) {
+				matchers.put(element, new QuickAccessMatcher(element));
+			}
 		}
 		if (filter == null) {
 			return cacheSortedElements;
@@ -122,12 +133,26 @@ public abstract class QuickAccessProvider {
 		return null;
 	}
 
+	/**
+	 * Returns the matcher for the given element. Matchers of the cached elements
+	 * are kept until the cache is {@link #reset()}, so that the labels of these
+	 * elements are only normalized once and not for every filter the user types.
+	 *
+	 * @param element an element of this provider
+	 * @return the matcher of the element
+	 */
+	public QuickAccessMatcher getMatcher(QuickAccessElement element) {
+		QuickAccessMatcher matcher = matchers.get(element);
+		return matcher != null ? matcher : new QuickAccessMatcher(element);
+	}
+
 	/**
 	 * Resets the cache, so next invocation of {@link #getElements()} and related
 	 * method will retrigger computation of elements.
 	 */
 	public final void reset() {
 		cacheSortedElements = null;
+		matchers.clear();
 		doReset();
 	}
 
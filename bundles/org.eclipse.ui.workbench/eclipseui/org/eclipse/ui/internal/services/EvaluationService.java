@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,11 +18,14 @@ package org.eclipse.ui.internal.services;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import org.eclipse.core.expressions.Expression;
 import org.eclipse.core.expressions.ExpressionInfo;
 import org.eclipse.core.expressions.IEvaluationContext;
@@ -62,6 +65,11 @@ public final class EvaluationService implements IEvaluationService {
 	private ListenerList<IPropertyChangeListener> serviceListeners = new ListenerList<>(ListenerList.IDENTITY);
 	ArrayList<ISourceProvider> sourceProviders = new ArrayList<>();
 	LinkedList<EvaluationReference> refs = new LinkedList<>();
+	/**
+	 * The evaluation references by the names of the properties and variables
+	 * accessed by their expression, in the order they were added.
+	 */
+	private HashMap<String, LinkedHashSet<EvaluationReference>> refsByAccessedName = new HashMap<>();
 	private ISourceProviderListener contextUpdater;
 
 	private HashSet<String> ratVariables = new HashSet<>();
@@ -192,6 +200,7 @@ public final class EvaluationService implements IEvaluationService {
 			invalidate(ref, false);
 		}
 		refs.clear();
+		refsByAccessedName.clear();
 		serviceListeners.clear();
 	}
 
@@ -219,6 +228,9 @@ public final class EvaluationService implements IEvaluationService {
 		refs.add(eref);
 		boolean changed = false;
 		if (eref.getExpression() != null) {
+			for (String name : getAccessedNames(eref.getExpression())) {
+				refsByAccessedName.computeIfAbsent(name, n -> new LinkedHashSet<>()).add(eref);
+			}
 			ExpressionInfo info = new ExpressionInfo();
 			eref.getExpression().collectExpressionInfo(info);
 			for (String varName : info.getAccessedVariableNames()) {
@@ -239,10 +251,18 @@ public final class EvaluationService implements IEvaluationService {
 	}
 
 	private void invalidate(IEvaluationReference ref, boolean remove) {
-		if (remove) {
-			refs.remove(ref);
-		}
 		EvaluationReference eref = (EvaluationReference) ref;
+		if (remove && refs.remove(eref) && eref.getExpression() != null && !refs.contains(eref)) {
+			for (String name : getAccessedNames(eref.getExpression())) {
+				Set<EvaluationReference> nameRefs = refsByAccessedName.get(name);
+				if (nameRefs != null) {
+					nameRefs.remove(eref);
+					if (nameRefs.isEmpty()) {
+						refsByAccessedName.remove(name);
+					}
+				}
+			}
+		}
 		eref.participating = false;
 		eref.evaluate();
 		eref.hasRun = false;
@@ -267,35 +287,32 @@ public final class EvaluationService implements IEvaluationService {
 		context.set(pokeVar, "link"); //$NON-NLS-1$
 
 		startSourceChange();
-		for (EvaluationReference ref : refs) {
-			Expression expr = ref.getExpression();
-			if (expr != null) {
-				boolean evaluated = false;
-				ExpressionInfo info = expr.computeExpressionInfo();
-				String[] names = info.getAccessedPropertyNames();
-				for (String name : names) {
-					if (propertyName.equals(name)) {
-						evaluated = true;
-						ref.evaluate();
-						break;
-					}
-				}
-				if (!evaluated) {
-					names = info.getAccessedVariableNames();
-					for (String name : names) {
-						if (propertyName.equals(name)) {
-							evaluated = true;
-							ref.evaluate();
-							break;
-						}
-					}
-				}
+		Set<EvaluationReference> affectedRefs = refsByAccessedName.get(propertyName);
+		if (affectedRefs != null) {
+			for (EvaluationReference ref : affectedRefs.toArray(new EvaluationReference[affectedRefs.size()])) {
+				ref.evaluate();
 			}
 		}
 		endSourceChange();
+		// handlers and menus may compute their enablement without an evaluation
+		// reference, so they are always asked to update
 		eventBroker.send(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, UIEvents.ALL_ELEMENT_ID);
 	}
 
+	/**
+	 * Returns the names of the properties and variables accessed by the given
+	 * expression.
+	 *
+	 * @param expression the expression
+	 * @return the accessed property and variable names
+	 */
+	private static Set<String> getAccessedNames(Expression expression) {
+		ExpressionInfo info = expression.computeExpressionInfo();
+		Set<String> names = new HashSet<>(Arrays.asList(info.getAccessedPropertyNames()));
+		names.addAll(Arrays.asList(info.getAccessedVariableNames()));
+		return names;
+	}
+
 	private void startSourceChange() {
 		notifying++;
 		if (notifying == 1) {
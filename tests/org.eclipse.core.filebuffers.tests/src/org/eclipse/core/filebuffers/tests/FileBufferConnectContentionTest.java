@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.IFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+/**
+ * Connects and disconnects distinct files from many threads while other threads look up the
+ * file buffers, and checks that the reference counting stays consistent.
+ */
+public class FileBufferConnectContentionTest {
+
+	private static final int THREADS= 16;
+
+	private static final int FILES_PER_THREAD= 20;
+
+	private static final int ROUNDS= 25;
+
+	private ITextFileBufferManager fManager;
+
+	private List<IPath> fLocations;
+
+	@Before
+	public void setUp() throws Exception {
+		fManager= FileBuffers.getTextFileBufferManager();
+		fLocations= new ArrayList<>();
+		for (int i= 0; i < THREADS * FILES_PER_THREAD; i++) {
+			File file= FileTool.createTempFileInPlugin(FileBuffersTestPlugin.getDefault(), IPath.fromOSString("contention/File" + i + ".txt"));
+			file.getParentFile().mkdirs();
+			FileTool.write(file.getAbsolutePath(), "Content of file " + i);
+			fLocations.add(IPath.fromOSString(file.getAbsolutePath()));
+		}
+	}
+
+	@After
+	public void tearDown() {
+		for (IPath location : fLocations) {
+			assertNull(fManager.getFileBuffer(location, LocationKind.LOCATION));
+			FileTool.delete(location);
+		}
+	}
+
+	@Test
+	public void testConnectDistinctFiles() throws Exception {
+		ExecutorService executor= Executors.newFixedThreadPool(THREADS + 1);
+		CountDownLatch start= new CountDownLatch(1);
+		AtomicBoolean done= new AtomicBoolean();
+		AtomicInteger lookups= new AtomicInteger();
+		try {
+			List<Future<?>> futures= new ArrayList<>();
+			for (int t= 0; t < THREADS; t++) {
+				List<IPath> locations= fLocations.subList(t * FILES_PER_THREAD, (t + 1) * FILES_PER_THREAD);
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int round= 0; round < ROUNDS; round++) {
+						for (IPath location : locations)
+							fManager.connect(location, LocationKind.LOCATION, null);
+						for (IPath location : locations) {
+							ITextFileBuffer buffer= fManager.getTextFileBuffer(location, LocationKind.LOCATION);
+							assertNotNull(buffer);
+							assertEquals(location, buffer.getLocation());
+						}
+						for (IPath location : locations)
+							fManager.disconnect(location, LocationKind.LOCATION, null);
+					}
+					return null;
+				}));
+			}
+			Future<?> reader= executor.submit(() -> {
+				start.await();
+				while (!done.get()) {
+					for (IPath location : fLocations) {
+						fManager.getTextFileBuffer(location, LocationKind.LOCATION);
+						lookups.incrementAndGet();
+					}
+					IFileBuffer[] fileBuffers= fManager.getFileBuffers();
+					assertNotNull(fileBuffers);
+				}
+				return null;
+			});
+
+			start.countDown();
+			for (Future<?> future : futures)
+				future.get(2, TimeUnit.MINUTES);
+			done.set(true);
+			reader.get(1, TimeUnit.MINUTES);
+
+			assertTrue(lookups.get() > 0);
+		} finally {
+			done.set(true);
+			executor.shutdownNow();
+		}
+	}
+}
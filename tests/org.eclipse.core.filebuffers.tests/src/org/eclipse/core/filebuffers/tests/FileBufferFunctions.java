@@ -17,12 +17,14 @@ package org.eclipse.core.filebuffers.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -1316,4 +1318,50 @@ public abstract class FileBufferFunctions {
 		}
 	}
 
+	/*
+	 * Tests bulk connect and disconnect.
+	 */
+	@Test
+	public void testConnectMultiple() throws Exception {
+		class Listener extends FileBufferListener {
+
+			public IFileBuffer buffer;
+			public int count;
+
+			@Override
+			public void bufferCreated(IFileBuffer buf) {
+				++count;
+				this.buffer= buf;
+			}
+
+			@Override
+			public void bufferDisposed(IFileBuffer buf) {
+				--count;
+				this.buffer= buf;
+			}
+		}
+
+		Listener listener= new Listener();
+		fManager.addFileBufferListener(listener);
+		try {
+			List<IPath> locations= List.of(fPath, fPath);
+			fManager.connect(locations, LocationKind.NORMALIZE, null);
+
+			assertEquals(1, listener.count);
+			IFileBuffer fileBuffer= fManager.getFileBuffer(fPath, LocationKind.NORMALIZE);
+			assertNotNull(fileBuffer);
+			assertSame(fileBuffer, listener.buffer);
+
+			fManager.disconnect(fPath, LocationKind.NORMALIZE, null);
+			assertSame(fileBuffer, fManager.getFileBuffer(fPath, LocationKind.NORMALIZE));
+
+			fManager.disconnect(List.of(fPath), LocationKind.NORMALIZE, null);
+			assertEquals(0, listener.count);
+			assertSame(fileBuffer, listener.buffer);
+			assertNull(fManager.getFileBuffer(fPath, LocationKind.NORMALIZE));
+		} finally {
+			fManager.removeFileBufferListener(listener);
+		}
+	}
+
 }
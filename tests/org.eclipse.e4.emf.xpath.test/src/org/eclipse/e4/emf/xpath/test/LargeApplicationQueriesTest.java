@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.emf.xpath.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.e4.emf.xpath.XPathContext;
+import org.eclipse.e4.emf.xpath.XPathContextFactory;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.e4.ui.model.application.ui.menu.MMenu;
+import org.eclipse.e4.ui.model.application.ui.menu.MMenuFactory;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Queries a large application model, as done when merging model fragments.
+ */
+@SuppressWarnings({ "deprecation", "removal" })
+public class LargeApplicationQueriesTest {
+
+	private static final int WINDOWS = 10;
+	private static final int STACKS = 10;
+	private static final int PARTS = 20;
+
+	private MApplication application;
+	private List<MPart> parts;
+	private XPathContextFactory<EObject> xpathContextFactory;
+	private XPathContext xpathContext;
+
+	@Before
+	public void setUp() {
+		application = MApplicationFactory.INSTANCE.createApplication();
+		application.setElementId("application");
+		parts = new ArrayList<>();
+		for (int w = 0; w < WINDOWS; w++) {
+			MTrimmedWindow window = MBasicFactory.INSTANCE.createTrimmedWindow();
+			window.setElementId("window." + w);
+			MMenu mainMenu = MMenuFactory.INSTANCE.createMenu();
+			mainMenu.setElementId("menu." + w);
+			mainMenu.getChildren().add(MMenuFactory.INSTANCE.createDirectMenuItem());
+			window.setMainMenu(mainMenu);
+			for (int s = 0; s < STACKS; s++) {
+				MPartStack stack = MBasicFactory.INSTANCE.createPartStack();
+				stack.setElementId("stack." + w + "." + s);
+				for (int p = 0; p < PARTS; p++) {
+					MPart part = MBasicFactory.INSTANCE.createPart();
+					part.setElementId("part." + w + "." + s + "." + p);
+					part.getTags().add("tag." + p);
+					stack.getChildren().add(part);
+					parts.add(part);
+				}
+				window.getChildren().add(stack);
+			}
+			application.getChildren().add(window);
+		}
+		xpathContextFactory = XPathContextFactory.newInstance();
+		xpathContext = xpathContextFactory.newContext((EObject) application);
+	}
+
+	@Test
+	public void testDescendantQueries() {
+		assertEquals(WINDOWS, xpathContext.stream("//mainMenu", MMenu.class).count());
+		assertEquals(parts, xpathContext.stream("//.[ecore:eClassName(.)='Part']", MPart.class).toList());
+		assertEquals(WINDOWS * STACKS * PARTS + WINDOWS * STACKS + WINDOWS + WINDOWS,
+				xpathContext.stream("//children", EObject.class).count());
+
+		MPart part = parts.get(parts.size() / 2);
+		assertSame(part, xpathContext.getValue("//children[@elementId='" + part.getElementId() + "']"));
+		assertEquals(List.of(part.getElementId()),
+				xpathContext.stream("//.[@elementId='" + part.getElementId() + "']/@elementId", String.class).toList());
+	}
+
+	@Test
+	public void testPositionalQueries() {
+		assertEquals("window.1", xpathContext.getValue("/children[2]/@elementId"));
+		assertEquals("part.2.3.4", xpathContext.getValue("children[3]/children[4]/children[5]/@elementId"));
+		assertEquals(WINDOWS * STACKS, xpathContext.stream("//children[1][ecore:eClassName(.)='Part']", MPart.class)
+				.count());
+	}
+
+	@Test
+	public void testRelativeQueries() {
+		MPart part = parts.get(PARTS + 3);
+		XPathContext partContext = xpathContextFactory.newContext(xpathContext, (EObject) part);
+		assertSame(part, partContext.getValue("."));
+		assertSame(part.getParent(), partContext.getValue(".."));
+		assertEquals(PARTS - 4, partContext.stream("following-sibling::*", MPart.class).count());
+		assertEquals(List.of(parts.get(PARTS + 1), parts.get(PARTS + 2)), partContext
+				.stream("preceding-sibling::children[@elementId!='part.0.1.0']", MPart.class).toList());
+		assertSame(application, partContext.getValue("ancestor::*[@elementId='application']"));
+	}
+
+	@Test
+	public void testWildcardQueriesMatchDOM() {
+		// the tags of the parts are elements which are not objects, and the
+		// predicate 'true()' forces the evaluation on the DOM
+		MPart part = parts.get(PARTS + 3);
+		XPathContext partContext = xpathContextFactory.newContext(xpathContext, (EObject) part);
+		for (String query : List.of("//*[@elementId='part.0.1.3']", "children[1]/*/children",
+				"children[2]//*[ecore:eClassName(.)='Part']", "children[1]/children[1]/*[@elementId]")) {
+			assertEquals(query, xpathContext.stream(query + "[true()]", EObject.class).toList(),
+					xpathContext.stream(query, EObject.class).toList());
+		}
+		assertEquals(List.of(part), xpathContext.stream("//*[@elementId='part.0.1.3']", EObject.class).toList());
+		assertEquals(partContext.stream("following-sibling::*[true()]", EObject.class).toList(),
+				partContext.stream("following-sibling::*", EObject.class).toList());
+		assertEquals(List.of(), partContext.stream("*[@elementId]", EObject.class).toList());
+	}
+
+	@Test
+	public void testFallbackQueriesSeeModelChanges() {
+		assertEquals(List.of(), xpathContext.stream("//children[@elementId='added'][true()]", MPart.class).toList());
+		MPart part = MBasicFactory.INSTANCE.createPart();
+		part.setElementId("added");
+		parts.get(0).getParent().getChildren().add(part);
+		assertEquals(List.of(part), xpathContext.stream("//children[@elementId='added'][true()]", MPart.class).toList());
+		assertEquals(List.of(part), xpathContext.stream("//children[@elementId='added']", MPart.class).toList());
+	}
+
+	@Test
+	public void testFallbackQueries() {
+		// unions are evaluated on the DOM of the model
+		assertEquals(WINDOWS + 1, xpathContext
+				.stream("//mainMenu | //children[@elementId='part.0.0.0']", EObject.class).count());
+		assertEquals(List.of(Boolean.TRUE), xpathContext.stream("boolean(//mainMenu)", Boolean.class).toList());
+	}
+}
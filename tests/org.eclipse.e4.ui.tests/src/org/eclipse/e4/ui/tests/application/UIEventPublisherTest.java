@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.di.UISynchronize;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.MApplicationFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MBasicFactory;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Tests which events the {@link UIEventPublisher} sends, and how it coalesces
+ * attribute changes.
+ */
+public class UIEventPublisherTest extends HeadlessApplicationElementTest {
+
+	private final List<Event> events = new ArrayList<>();
+
+	private final List<Runnable> uiTurn = new ArrayList<>();
+
+	private final EventHandler collector = events::add;
+
+	private IEventBroker eventBroker;
+
+	private MPartStack stack;
+
+	private MPart part;
+
+	private MPart otherPart;
+
+	@Override
+	protected MApplicationElement createApplicationElement(IEclipseContext appContext) throws Exception {
+		MApplication application = MApplicationFactory.INSTANCE.createApplication();
+		MWindow window = MBasicFactory.INSTANCE.createWindow();
+		stack = MBasicFactory.INSTANCE.createPartStack();
+		part = MBasicFactory.INSTANCE.createPart();
+		otherPart = MBasicFactory.INSTANCE.createPart();
+		stack.getChildren().add(part);
+		stack.getChildren().add(otherPart);
+		stack.setSelectedElement(part);
+		window.getChildren().add(stack);
+		application.getChildren().add(window);
+		return application;
+	}
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		eventBroker = rule.getApplicationContext().get(IEventBroker.class);
+		eventBroker.subscribe(UIEvents.UIModelTopicBase + UIEvents.TOPIC_SEP + UIEvents.ALL_SUB_TOPICS, collector);
+	}
+
+	@After
+	public void tearDown() {
+		eventBroker.unsubscribe(collector);
+	}
+
+	@Test
+	public void testEventDataIsImmutable() {
+		part.setLabel("label");
+		assertEquals(1, events.size());
+		Event event = events.get(0);
+		assertEquals(UIEvents.UILabel.TOPIC_LABEL.replace(UIEvents.ALL_SUB_TOPICS, UIEvents.EventTypes.SET),
+				event.getTopic());
+		@SuppressWarnings("unchecked")
+		Map<String, Object> data = (Map<String, Object>) event.getProperty(IEventBroker.DATA);
+		assertSame(part, data.get(EventTags.ELEMENT));
+		assertEquals(UIEvents.UILabel.LABEL, data.get(EventTags.ATTNAME));
+		assertEquals(UIEvents.EventTypes.SET, data.get(EventTags.TYPE));
+		assertEquals("label", data.get(EventTags.NEW_VALUE));
+		assertFalse(data.containsKey(EventTags.OLD_VALUE));
+		assertFalse(data.containsKey(IEventBroker.DATA));
+		assertSame(part, event.getProperty(EventTags.ELEMENT));
+		try {
+			data.put(EventTags.NEW_VALUE, "other");
+			fail("The event data is modifiable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertEquals("label", data.get(EventTags.NEW_VALUE));
+	}
+
+	@Test
+	public void testSubscriberAddedAfterChange() {
+		part.setTooltip("tooltip");
+		List<Event> tooltipEvents = new ArrayList<>();
+		EventHandler handler = tooltipEvents::add;
+		eventBroker.subscribe(UIEvents.UILabel.TOPIC_TOOLTIP, handler);
+		try {
+			part.setTooltip("other tooltip");
+			assertEquals(1, tooltipEvents.size());
+			assertEquals("other tooltip", tooltipEvents.get(0).getProperty(EventTags.NEW_VALUE));
+		} finally {
+			eventBroker.unsubscribe(handler);
+		}
+		part.setTooltip("last tooltip");
+		assertEquals(1, tooltipEvents.size());
+	}
+
+	@Test
+	public void testSubscriberWithFilter() {
+		eventBroker.unsubscribe(collector);
+		List<Event> labelEvents = new ArrayList<>();
+		EventHandler handler = labelEvents::add;
+		eventBroker.subscribe(UIEvents.UILabel.TOPIC_ALL, "(" + EventTags.ATTNAME + "=" + UIEvents.UILabel.LABEL + ")",
+				handler, true);
+		try {
+			part.setTooltip("tooltip");
+			part.setLabel("label");
+			assertEquals(1, labelEvents.size());
+			assertEquals("label", labelEvents.get(0).getProperty(EventTags.NEW_VALUE));
+		} finally {
+			eventBroker.unsubscribe(handler);
+		}
+	}
+
+	@Test
+	public void testChangesAreNotCoalescedByDefault() {
+		part.setLabel("first");
+		part.setLabel("second");
+		assertEquals(2, events.size());
+	}
+
+	@Test
+	public void testCoalesceAttributeChanges() {
+		startCoalescing();
+		part.setLabel("first");
+		part.setLabel("second");
+		assertTrue(events.isEmpty());
+		runUITurn();
+		assertEquals(1, events.size());
+		assertEquals(UIEvents.UILabel.LABEL, events.get(0).getProperty(EventTags.ATTNAME));
+		assertEquals("initial", events.get(0).getProperty(EventTags.OLD_VALUE));
+		assertEquals("second", events.get(0).getProperty(EventTags.NEW_VALUE));
+	}
+
+	@Test
+	public void testCoalescedChangeToInitialValueIsDropped() {
+		startCoalescing();
+		part.setLabel("first");
+		part.setLabel("initial");
+		runUITurn();
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	public void testCoalescedChangesKeepOrder() {
+		startCoalescing();
+		part.setLabel("first");
+		part.getTags().add("tag");
+		assertEquals(2, events.size());
+		assertEquals(UIEvents.UILabel.LABEL, events.get(0).getProperty(EventTags.ATTNAME));
+		assertEquals(UIEvents.ApplicationElement.TAGS, events.get(1).getProperty(EventTags.ATTNAME));
+		runUITurn();
+		assertEquals(2, events.size());
+	}
+
+	@Test
+	public void testManyValuedChangesAreNotCoalesced() {
+		part.getTags().add("a");
+		part.getTags().add("b");
+		startCoalescing();
+		// swap the tags
+		part.getTags().set(0, "b");
+		part.getTags().set(1, "a");
+		assertEquals(2, events.size());
+		assertEquals("b", events.get(0).getProperty(EventTags.NEW_VALUE));
+		assertEquals("a", events.get(1).getProperty(EventTags.NEW_VALUE));
+		runUITurn();
+		assertEquals(2, events.size());
+	}
+
+	@Test
+	public void testRenderingAndSelectionAreNotCoalesced() {
+		startCoalescing();
+		otherPart.setToBeRendered(false);
+		otherPart.setToBeRendered(true);
+		stack.setSelectedElement(otherPart);
+		assertEquals(3, events.size());
+		assertEquals(UIEvents.UIElement.TOBERENDERED, events.get(0).getProperty(EventTags.ATTNAME));
+		assertEquals(Boolean.TRUE, events.get(1).getProperty(EventTags.NEW_VALUE));
+		assertEquals(UIEvents.ElementContainer.SELECTEDELEMENT, events.get(2).getProperty(EventTags.ATTNAME));
+		assertSame(otherPart, events.get(2).getProperty(EventTags.NEW_VALUE));
+		assertNull(events.get(2).getProperty(EventTags.POSITION));
+	}
+
+	/**
+	 * Enables the coalescing with a UI thread which is the test thread, and runs
+	 * the UI turn which determines the UI thread.
+	 */
+	private void startCoalescing() {
+		rule.getApplicationContext().set(UISynchronize.class, new UISynchronize() {
+			@Override
+			public void syncExec(Runnable runnable) {
+				runnable.run();
+			}
+
+			@Override
+			public void asyncExec(Runnable runnable) {
+				uiTurn.add(runnable);
+			}
+
+			@Override
+			protected boolean isUIThread(Thread thread) {
+				return thread == Thread.currentThread();
+			}
+
+			@Override
+			protected void showBusyWhile(Runnable runnable) {
+				runnable.run();
+			}
+
+			@Override
+			protected boolean dispatchEvents() {
+				return false;
+			}
+		});
+		rule.getApplicationContext().get(UIEventPublisher.class).setCoalesceAttributeChanges(true);
+		part.setLabel("initial");
+		runUITurn();
+		events.clear();
+	}
+
+	private void runUITurn() {
+		List<Runnable> runnables = new ArrayList<>(uiTurn);
+		uiTurn.clear();
+		runnables.forEach(Runnable::run);
+	}
+}
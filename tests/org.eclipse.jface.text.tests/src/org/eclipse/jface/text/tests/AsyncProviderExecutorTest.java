@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.eclipse.jface.internal.text.AsyncProviderExecutor;
+
+public class AsyncProviderExecutorTest {
+
+	private final List<Runnable> queued= new ArrayList<>();
+
+	private ExecutorService threads;
+
+	@After
+	public void tearDown() {
+		if (threads != null) {
+			threads.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testComputationRuns() throws Exception {
+		AsyncProviderExecutor executor= new AsyncProviderExecutor(queued::add);
+		CompletableFuture<String> future= executor.supplyAsync(() -> "result");
+		assertFalse(future.isDone());
+		runQueued();
+		assertEquals("result", future.get());
+		assertEquals(1, executor.getStartedCount());
+	}
+
+	@Test
+	public void testCanceledComputationIsSkipped() {
+		AsyncProviderExecutor executor= new AsyncProviderExecutor(queued::add);
+		AtomicBoolean computed= new AtomicBoolean();
+		CompletableFuture<String> future= executor.supplyAsync(() -> {
+			computed.set(true);
+			return "result";
+		});
+		assertTrue(future.cancel(true));
+		runQueued();
+		assertFalse("Canceled computation ran", computed.get());
+		assertEquals(1, executor.getStartedCount());
+	}
+
+	@Test
+	public void testRunningComputationIsNotInterrupted() throws InterruptedException {
+		assertFalse("Computation interrupted", cancelRunningComputation(false));
+	}
+
+	@Test
+	public void testInterruptibleComputationIsInterrupted() throws InterruptedException {
+		assertTrue("Computation not interrupted", cancelRunningComputation(true));
+	}
+
+	@Test
+	public void testQueueingDelay() throws InterruptedException {
+		AsyncProviderExecutor executor= new AsyncProviderExecutor(queued::add);
+		assertEquals(0, executor.getAverageQueueingDelay(TimeUnit.MILLISECONDS));
+		executor.supplyAsync(() -> "result");
+		Thread.sleep(50);
+		runQueued();
+		executor.supplyAsync(() -> "result");
+		runQueued();
+		assertEquals(2, executor.getStartedCount());
+		assertTrue(executor.getMaxQueueingDelay(TimeUnit.MILLISECONDS) >= 50);
+		assertTrue(executor.getAverageQueueingDelay(TimeUnit.MILLISECONDS) >= 25);
+		assertTrue(executor.getAverageQueueingDelay(TimeUnit.NANOSECONDS) < executor.getMaxQueueingDelay(TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * Cancels a running computation and returns whether it was interrupted.
+	 */
+	private boolean cancelRunningComputation(boolean interruptible) throws InterruptedException {
+		threads= Executors.newSingleThreadExecutor();
+		AsyncProviderExecutor executor= new AsyncProviderExecutor(threads);
+		CountDownLatch started= new CountDownLatch(1);
+		CountDownLatch release= new CountDownLatch(1);
+		CountDownLatch finished= new CountDownLatch(1);
+		AtomicBoolean interrupted= new AtomicBoolean();
+		CompletableFuture<String> future= executor.supplyAsync(() -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted.set(true);
+			}
+			finished.countDown();
+			return "result";
+		}, interruptible);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertTrue(future.cancel(true));
+		release.countDown();
+		assertTrue(finished.await(5, TimeUnit.SECONDS));
+		return interrupted.get();
+	}
+
+	private void runQueued() {
+		List<Runnable> runnables= new ArrayList<>(queued);
+		queued.clear();
+		runnables.forEach(Runnable::run);
+	}
+}
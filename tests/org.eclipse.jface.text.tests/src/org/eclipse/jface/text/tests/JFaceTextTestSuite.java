@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,8 +31,10 @@ import org.eclipse.jface.text.tests.rules.FastPartitionerTest;
 import org.eclipse.jface.text.tests.rules.FastPartitionerZeroLengthTest;
 import org.eclipse.jface.text.tests.rules.ScannerColumnTest;
 import org.eclipse.jface.text.tests.rules.WordRuleTest;
+import org.eclipse.jface.text.tests.source.AnnotationPainterTest;
 import org.eclipse.jface.text.tests.source.AnnotationRulerColumnTest;
 import org.eclipse.jface.text.tests.source.LineNumberRulerColumnTest;
+import org.eclipse.jface.text.tests.source.OverviewRulerTest;
 import org.eclipse.jface.text.tests.source.inlined.AnnotationOnTabTest;
 import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest;
 import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDataTest;
@@ -50,6 +52,7 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 		HTML2TextReaderTest.class,
 		TextHoverPopupTest.class,
 		TextPresentationTest.class,
+		PresentationReconcilerTest.class,
 		DefaultUndoManagerTest.class,
 		TextViewerTest.class,
 		TextViewerUndoManagerTest.class,
@@ -72,6 +75,8 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 		TemplatePersistenceDataTest.class,
 		LineContentBoundsDrawingTest.class,
 		AnnotationOnTabTest.class,
+		AnnotationPainterTest.class,
+		OverviewRulerTest.class,
 		CodeMiningTest.class,
 		CodeMiningLineHeaderAnnotationTest.class,
 		CodeMiningProjectionViewerTest.class,
@@ -79,6 +84,8 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 		TabsToSpacesConverterTest.class,
 		DefaultTextDoubleClickStrategyTest.class,
 		MultiSelectionTest.class,
+		PartiallySortedListTest.class,
+		AsyncProviderExecutorTest.class,
 		FindReplaceDocumentAdapterContentProposalProviderTest.class,
 		ProjectionViewerTest.class,
 		TestWhitespaceCharacterPainter.class
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.eclipse.jface.internal.text.PartiallySortedList;
+
+import org.eclipse.jface.text.contentassist.CompletionProposal;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+
+public class PartiallySortedListTest {
+
+	private static final int PROPOSALS= 50_000;
+
+	private static final int SORTED= 100;
+
+	private static List<ICompletionProposal> createProposals(int count, int distinct) {
+		Random random= new Random(4711);
+		List<ICompletionProposal> proposals= new ArrayList<>(count);
+		for (int i= 0; i < count; i++) {
+			proposals.add(new CompletionProposal("proposal" + random.nextInt(distinct), 0, 0, 0));
+		}
+		return proposals;
+	}
+
+	private static Comparator<ICompletionProposal> countingComparator(AtomicInteger comparisons) {
+		return (p1, p2) -> {
+			comparisons.incrementAndGet();
+			return p1.getDisplayString().compareTo(p2.getDisplayString());
+		};
+	}
+
+	@Test
+	public void testStableOrder() {
+		// many equal display strings
+		List<ICompletionProposal> proposals= createProposals(PROPOSALS, 1000);
+		List<ICompletionProposal> expected= new ArrayList<>(proposals);
+		expected.sort(Comparator.comparing(ICompletionProposal::getDisplayString));
+
+		PartiallySortedList<ICompletionProposal> sorted= new PartiallySortedList<>(proposals, Comparator.comparing(ICompletionProposal::getDisplayString), SORTED);
+		for (int i= 0; i < SORTED; i++) {
+			assertSame(expected.get(i), sorted.get(i));
+		}
+		assertFalse(sorted.isSorted());
+		for (int i= 0; i < PROPOSALS; i++) {
+			assertSame(expected.get(i), sorted.get(i));
+		}
+		assertTrue(sorted.isSorted());
+	}
+
+	@Test
+	public void testFewElements() {
+		List<ICompletionProposal> proposals= createProposals(10, 5);
+		List<ICompletionProposal> expected= new ArrayList<>(proposals);
+		expected.sort(Comparator.comparing(ICompletionProposal::getDisplayString));
+
+		PartiallySortedList<ICompletionProposal> sorted= new PartiallySortedList<>(proposals, Comparator.comparing(ICompletionProposal::getDisplayString), SORTED);
+		assertTrue(sorted.isSorted());
+		assertEquals(expected, sorted);
+		assertEquals(0, new PartiallySortedList<>(new ArrayList<ICompletionProposal>(), Comparator.comparing(ICompletionProposal::getDisplayString), SORTED).size());
+	}
+
+	@Test
+	public void testUnorderedDoesNotSort() {
+		List<ICompletionProposal> proposals= createProposals(PROPOSALS, PROPOSALS);
+		PartiallySortedList<ICompletionProposal> sorted= new PartiallySortedList<>(proposals, Comparator.comparing(ICompletionProposal::getDisplayString), SORTED);
+		List<ICompletionProposal> unordered= sorted.unordered();
+		assertEquals(PROPOSALS, unordered.size());
+		assertEquals(new HashSet<>(proposals), new HashSet<>(unordered));
+		for (int i= 0; i < SORTED; i++) {
+			assertSame(sorted.get(i), unordered.get(i));
+		}
+		assertFalse(sorted.isSorted());
+	}
+
+	@Test
+	public void testSortingUnorderedAgainDoesNotSort() {
+		List<ICompletionProposal> proposals= createProposals(PROPOSALS, PROPOSALS);
+		List<ICompletionProposal> expected= new ArrayList<>(proposals);
+		expected.sort(Comparator.comparing(ICompletionProposal::getDisplayString));
+
+		PartiallySortedList<ICompletionProposal> sorted= new PartiallySortedList<>(proposals, Comparator.comparing(ICompletionProposal::getDisplayString), SORTED);
+		PartiallySortedList<ICompletionProposal> sortedAgain= new PartiallySortedList<>(sorted.unordered(), Comparator.comparing(ICompletionProposal::getDisplayString), SORTED);
+		assertFalse(sorted.isSorted());
+		assertFalse(sortedAgain.isSorted());
+		assertEquals(expected.get(0).getDisplayString(), sortedAgain.get(0).getDisplayString());
+	}
+
+	@Test
+	public void testFirstProposalsNeedFewerComparisons() {
+		List<ICompletionProposal> proposals= createProposals(PROPOSALS, PROPOSALS);
+
+		AtomicInteger fullSort= new AtomicInteger();
+		new ArrayList<>(proposals).sort(countingComparator(fullSort));
+
+		AtomicInteger partialSort= new AtomicInteger();
+		PartiallySortedList<ICompletionProposal> sorted= new PartiallySortedList<>(proposals, countingComparator(partialSort), SORTED);
+		for (int i= 0; i < SORTED; i++) {
+			sorted.get(i);
+		}
+
+		assertTrue("Comparisons of a full sort: " + fullSort.get() + ", of the first proposals: " + partialSort.get(),
+				partialSort.get() < fullSort.get() / 2);
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+public class PresentationReconcilerTest {
+
+	private static final int LINES= 20_000;
+
+	private Shell fShell;
+
+	private SourceViewer fViewer;
+
+	private PresentationReconciler fReconciler;
+
+	private final BitSet fRepaired= new BitSet();
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(500, 300);
+		fViewer= new SourceViewer(fShell, null, SWT.V_SCROLL | SWT.H_SCROLL);
+		fReconciler= new PresentationReconciler();
+		fReconciler.setRepairer(new IPresentationRepairer() {
+			@Override
+			public void setDocument(IDocument document) {
+				// not needed
+			}
+
+			@Override
+			public void createPresentation(TextPresentation presentation, ITypedRegion damage) {
+				fRepaired.set(damage.getOffset(), damage.getOffset() + damage.getLength());
+			}
+		}, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setViewportDriven(true);
+		fReconciler.install(fViewer);
+		fShell.open();
+	}
+
+	@After
+	public void tearDown() {
+		fReconciler.uninstall();
+		fShell.dispose();
+	}
+
+	private static IDocument createDocument() {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < LINES; i++)
+			content.append("presented line ").append(i).append('\n');
+		return new Document(content.toString());
+	}
+
+	@Test
+	public void testVisibleLinesAreRepairedFirst() throws Exception {
+		IDocument document= createDocument();
+		fViewer.setDocument(document);
+		assertTrue(fRepaired.nextClearBit(0) > fViewer.getBottomIndexEndOffset());
+		assertTrue(fRepaired.nextClearBit(0) < document.getLength());
+
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fRepaired.nextClearBit(0) >= document.getLength();
+			}
+		}.waitForCondition(fShell.getDisplay(), 5000));
+	}
+
+	@Test
+	public void testScrolledLinesAreRepaired() throws Exception {
+		IDocument document= createDocument();
+		fViewer.setDocument(document);
+		int line= LINES - 100;
+		int offset= document.getLineOffset(line);
+		assertFalse(fRepaired.get(offset));
+
+		fViewer.setTopIndex(line);
+		assertTrue(fRepaired.get(offset));
+	}
+
+	@Test
+	public void testDisablingRepairsEverything() throws Exception {
+		IDocument document= createDocument();
+		fViewer.setDocument(document);
+		fReconciler.setViewportDriven(false);
+		assertTrue(fRepaired.nextClearBit(0) >= document.getLength());
+	}
+}
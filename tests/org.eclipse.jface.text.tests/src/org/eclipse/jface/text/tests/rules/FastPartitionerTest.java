@@ -22,6 +22,7 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.rules.FastPartitioner;
 import org.eclipse.jface.text.rules.IPartitionTokenScanner;
@@ -47,7 +48,13 @@ public class FastPartitionerTest {
 	@Before
 	public void setUp() {
 		fDoc= new Document();
-		IPartitionTokenScanner scanner= new RuleBasedPartitionScanner() {
+		fPartitioner= createPartitioner(createScanner());
+		fDoc.setDocumentPartitioner(fPartitioner);
+		fPartitioner.connect(fDoc);
+	}
+
+	private static IPartitionTokenScanner createScanner() {
+		return new RuleBasedPartitionScanner() {
 			{
 				IToken comment= new Token(COMMENT);
 				IPredicateRule[] rules= new IPredicateRule[] { new MultiLineRule("/*", "*/", comment) };
@@ -55,9 +62,6 @@ public class FastPartitionerTest {
 
 			}
 		};
-		fPartitioner= createPartitioner(scanner);
-		fDoc.setDocumentPartitioner(fPartitioner);
-		fPartitioner.connect(fDoc);
 	}
 
 	protected IDocumentPartitioner createPartitioner(IPartitionTokenScanner scanner) {
@@ -321,6 +325,37 @@ public class FastPartitionerTest {
 
 	}
 
+	@Test
+	public void testPartitioningStaysConsistentWhileTypingInLargeDocument() throws Exception {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 50_000; i++)
+			content.append("docu ment ").append(i).append(" /* comment ").append(i).append(" */\n");
+		fDoc.set(content.toString());
+
+		int offset= fDoc.getLineOffset(fDoc.getNumberOfLines() / 2);
+		for (int i= 0; i < 1000; i++) {
+			fDoc.replace(offset + i, 0, "x");
+			fPartitioner.getPartition(offset + i);
+		}
+
+		// open and close a comment, and delete a whole partition
+		fDoc.replace(offset, 0, "/*");
+		fDoc.replace(offset, 2, "");
+		IRegion line= fDoc.getLineInformationOfOffset(offset + 2000);
+		fDoc.replace(line.getOffset(), line.getLength(), "");
+		fDoc.replace(offset + 1000, 0, "*/");
+
+		IDocument reference= new Document(fDoc.get());
+		IDocumentPartitioner referencePartitioner= createPartitioner(createScanner());
+		reference.setDocumentPartitioner(referencePartitioner);
+		referencePartitioner.connect(reference);
+		ITypedRegion[] expected= referencePartitioner.computePartitioning(0, reference.getLength());
+		ITypedRegion[] actual= fPartitioner.computePartitioning(0, fDoc.getLength());
+		assertEquals(expected.length, actual.length);
+		for (int i= 0; i < expected.length; i++)
+			assertEquals(expected[i], actual[i]);
+	}
+
 	private void assertComputePartitioning_InterleavingPartitions(int[] offsets) {
 		assertComputePartitioning_InterleavingPartitions(0, fDoc.getLength(), offsets, DEFAULT);
 	}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.ITextViewerExtension2;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.AnnotationPainter;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+public class AnnotationPainterTest {
+
+	private static final String TYPE= "org.eclipse.jface.text.tests.annotation";
+
+	private static final int LINES= 20_000;
+
+	private static final int ANNOTATIONS_PER_LINE= 5;
+
+	private Shell fShell;
+
+	private SourceViewer fViewer;
+
+	private AnnotationModel fModel;
+
+	private final Set<Annotation> fDrawn= new HashSet<>();
+
+	private int fOffsetAccesses;
+
+	/**
+	 * A position which counts how often its offset is read, i.e. how often the painter visits its
+	 * annotation.
+	 */
+	private class CountingPosition extends Position {
+
+		CountingPosition(int offset, int length) {
+			super(offset, length);
+		}
+
+		@Override
+		public int getOffset() {
+			fOffsetAccesses++;
+			return super.getOffset();
+		}
+	}
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(500, 300);
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < LINES; i++)
+			content.append("annotated line ").append(i).append('\n');
+		fViewer= new SourceViewer(fShell, null, SWT.V_SCROLL | SWT.H_SCROLL);
+		fModel= new AnnotationModel();
+		fViewer.setDocument(new Document(content.toString()), fModel);
+
+		AnnotationPainter painter= new AnnotationPainter(fViewer, new AccessAllAnnoations());
+		painter.addDrawingStrategy(TYPE, (annotation, gc, textWidget, offset, length, color) -> {
+			if (gc != null)
+				fDrawn.add(annotation);
+		});
+		painter.addAnnotationType(TYPE, TYPE);
+		painter.setAnnotationTypeColor(TYPE, fShell.getDisplay().getSystemColor(SWT.COLOR_RED));
+		((ITextViewerExtension2) fViewer).addPainter(painter);
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+	}
+
+	@Test
+	public void testOnlyVisibleAnnotationsArePainted() throws Exception {
+		Map<Annotation, Position> annotations= new HashMap<>();
+		for (int line= 0; line < LINES; line++) {
+			int lineOffset= fViewer.getDocument().getLineOffset(line);
+			for (int i= 0; i < ANNOTATIONS_PER_LINE; i++)
+				annotations.put(new Annotation(TYPE, false, "line " + line), new CountingPosition(lineOffset + i, 1));
+		}
+		fModel.replaceAnnotations(null, annotations);
+		fShell.open();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !fDrawn.isEmpty();
+			}
+		}.waitForCondition(fShell.getDisplay(), 5000));
+		int bottomLine= fViewer.getBottomIndex();
+		int visibleEnd= fViewer.getDocument().getLineOffset(bottomLine) + fViewer.getDocument().getLineLength(bottomLine);
+		for (Annotation annotation : fDrawn)
+			assertTrue(fModel.getPosition(annotation).getOffset() <= visibleEnd);
+
+		// repainting must only visit the annotations near the viewport
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+		fDrawn.clear();
+		fOffsetAccesses= 0;
+		fViewer.getTextWidget().redraw();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !fDrawn.isEmpty();
+			}
+		}.waitForCondition(fShell.getDisplay(), 5000));
+		assertTrue("visited " + fOffsetAccesses + " positions", fOffsetAccesses < annotations.size() / 10);
+
+		// remove one of the visible annotations and make sure it is no longer painted
+		Annotation removed= fDrawn.iterator().next();
+		fModel.removeAnnotation(removed);
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+		fDrawn.clear();
+		fViewer.getTextWidget().redraw();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !fDrawn.isEmpty();
+			}
+		}.waitForCondition(fShell.getDisplay(), 5000));
+		assertFalse(fDrawn.contains(removed));
+	}
+}
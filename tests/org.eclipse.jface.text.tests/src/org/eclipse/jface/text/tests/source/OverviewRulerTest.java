@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.OverviewRuler;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest.AccessAllAnnoations;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+public class OverviewRulerTest {
+
+	private static final String TYPE= "org.eclipse.jface.text.tests.annotation";
+
+	private Shell fShell;
+
+	private IDocument fDocument;
+
+	private RecordingAnnotationModel fModel;
+
+	private AnnotationModel fAttachedModel;
+
+	/**
+	 * An annotation model which records the annotations whose position the ruler asks for, i.e.
+	 * the annotations whose rows the ruler computes.
+	 */
+	private static class RecordingAnnotationModel extends AnnotationModel {
+
+		final Set<Annotation> fRequested= ConcurrentHashMap.newKeySet();
+
+		@Override
+		public Position getPosition(Annotation annotation) {
+			fRequested.add(annotation);
+			return super.getPosition(annotation);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		fShell= new Shell();
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(500, 300);
+
+		OverviewRuler ruler= new OverviewRuler(new AccessAllAnnoations(), 12, rgb -> new Color(fShell.getDisplay(), rgb));
+		ruler.addAnnotationType(TYPE);
+		ruler.setAnnotationTypeLayer(TYPE, 0);
+		ruler.setAnnotationTypeColor(TYPE, fShell.getDisplay().getSystemColor(SWT.COLOR_RED));
+
+		SourceViewer viewer= new SourceViewer(fShell, null, ruler, true, SWT.V_SCROLL | SWT.H_SCROLL);
+		fModel= new RecordingAnnotationModel();
+		fAttachedModel= new AnnotationModel();
+		fModel.addAnnotationModel("attached", fAttachedModel);
+		fDocument= new Document("first line\nsecond line\nthird line\n");
+		viewer.setDocument(fDocument, fModel);
+		fShell.open();
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+	}
+
+	@After
+	public void tearDown() {
+		fShell.dispose();
+	}
+
+	@Test
+	public void testAnnotationOfAttachedModelIsCached() {
+		Annotation annotation= new Annotation(TYPE, false, "attached");
+		fAttachedModel.addAnnotation(annotation, new Position(12, 6));
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fModel.fRequested.contains(annotation);
+			}
+		}.waitForCondition(fShell.getDisplay(), 5000));
+	}
+
+	@Test
+	public void testUnchangedRowsAreReused() throws BadLocationException {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 50; i++)
+			content.append("line ").append(i).append('\n');
+		fDocument.set(content.toString());
+
+		List<Annotation> annotations= new ArrayList<>();
+		for (int i= 0; i < 40; i++) {
+			IRegion line= fDocument.getLineInformation(i);
+			Annotation annotation= new Annotation(TYPE, false, "line " + i);
+			annotations.add(annotation);
+			fModel.addAnnotation(annotation, new Position(line.getOffset(), line.getLength()));
+		}
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fModel.fRequested.containsAll(annotations);
+			}
+		}.waitForCondition(fShell.getDisplay(), 5000));
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+		fModel.fRequested.clear();
+
+		// type into line 20 without changing the number of lines, and add an annotation on line 45
+		fDocument.replace(fDocument.getLineOffset(20) + 1, 0, "x");
+		Annotation added= new Annotation(TYPE, false, "added");
+		IRegion line= fDocument.getLineInformation(45);
+		fModel.addAnnotation(added, new Position(line.getOffset(), line.getLength()));
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fModel.fRequested.contains(added);
+			}
+		}.waitForCondition(fShell.getDisplay(), 5000));
+		DisplayHelper.driveEventQueue(fShell.getDisplay());
+
+		assertEquals(Set.of(added, annotations.get(20)), fModel.fRequested);
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.ReplaceEdit;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.NullChange;
+import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.ltk.core.refactoring.tests.util.SimpleTestProject;
+
+public class ParallelCompositeChangeTests {
+
+	private static final int FILES= 300;
+
+	private SimpleTestProject fProject;
+
+	private List<IFile> fFiles;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= new SimpleTestProject();
+		IFolder folder= fProject.createFolder("parallel");
+		fFiles= new ArrayList<>(FILES);
+		for (int i= 0; i < FILES; i++)
+			fFiles.add(fProject.createFile(folder, "File" + i + ".txt", "old name " + i));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fProject.delete();
+	}
+
+	private CompositeChange createChange() {
+		CompositeChange root= new CompositeChange("Rename");
+		CompositeChange textChanges= new CompositeChange("Text changes");
+		for (IFile file : fFiles) {
+			TextFileChange change= new TextFileChange(file.getName(), file);
+			change.setEdit(new ReplaceEdit(0, 3, "new"));
+			textChanges.add(change);
+		}
+		root.add(textChanges);
+		return root;
+	}
+
+	@Test
+	public void testParallelModeIsInherited() {
+		CompositeChange root= createChange();
+		CompositeChange child= (CompositeChange) root.getChildren()[0];
+		assertFalse(child.isParallelExecution());
+		root.setParallelExecution(true);
+		assertTrue(child.isParallelExecution());
+	}
+
+	@Test
+	public void testPerformAndUndo() throws Exception {
+		CompositeChange change= createChange();
+		change.initializeValidationData(new NullProgressMonitor());
+
+		PerformChangeOperation operation= new PerformChangeOperation(change);
+		operation.setParallelExecution(true);
+		ResourcesPlugin.getWorkspace().run(operation, null);
+
+		assertTrue(operation.changeExecuted());
+		assertTrue(operation.getValidationStatus().isOK());
+		for (int i= 0; i < FILES; i++) {
+			assertEquals("new name " + i, fProject.getContent(fFiles.get(i)));
+			assertNull(FileBuffers.getTextFileBufferManager().getTextFileBuffer(fFiles.get(i).getFullPath(), LocationKind.IFILE));
+		}
+
+		Change undo= operation.getUndoChange();
+		assertNotNull(undo);
+		PerformChangeOperation undoOperation= new PerformChangeOperation(undo);
+		ResourcesPlugin.getWorkspace().run(undoOperation, null);
+		assertTrue(undoOperation.changeExecuted());
+		for (int i= 0; i < FILES; i++)
+			assertEquals("old name " + i, fProject.getContent(fFiles.get(i)));
+	}
+
+	@Test
+	public void testOperationDoesNotChangeMode() throws Exception {
+		CompositeChange change= createChange();
+		change.initializeValidationData(new NullProgressMonitor());
+
+		PerformChangeOperation operation= new PerformChangeOperation(change);
+		operation.setParallelExecution(true);
+		ResourcesPlugin.getWorkspace().run(operation, null);
+
+		assertTrue(operation.changeExecuted());
+		assertFalse(change.isParallelExecution());
+	}
+
+	@Test
+	public void testNoValidationAfterFatalError() throws Exception {
+		CompositeChange change= createChange();
+		CompositeChange textChanges= (CompositeChange) change.getChildren()[0];
+		textChanges.add(new NullChange("Fatal") {
+			@Override
+			public RefactoringStatus isValid(IProgressMonitor pm) {
+				return RefactoringStatus.createFatalErrorStatus("fatal");
+			}
+
+			@Override
+			public Object[] getAffectedObjects() {
+				return new Object[0];
+			}
+		});
+		AtomicInteger validated= new AtomicInteger();
+		IFile last= fProject.createFile(fProject.createFolder("last"), "Last.txt", "old name");
+		TextFileChange lastChange= new TextFileChange(last.getName(), last) {
+			@Override
+			public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException {
+				validated.incrementAndGet();
+				return super.isValid(pm);
+			}
+		};
+		lastChange.setEdit(new ReplaceEdit(0, 3, "new"));
+		textChanges.add(lastChange);
+		change.setParallelExecution(true);
+		change.initializeValidationData(new NullProgressMonitor());
+
+		RefactoringStatus status= change.isValid(new NullProgressMonitor());
+		assertTrue(status.hasFatalError());
+		assertEquals(0, validated.get());
+		change.dispose();
+	}
+
+	@Test
+	public void testParallelValidationReportsProblems() throws Exception {
+		CompositeChange change= createChange();
+		change.setParallelExecution(true);
+		change.initializeValidationData(new NullProgressMonitor());
+
+		fFiles.get(FILES / 2).delete(true, null);
+
+		RefactoringStatus status= change.isValid(new NullProgressMonitor());
+		assertTrue(status.hasFatalError());
+		change.dispose();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -582,6 +582,26 @@ public class RefactoringHistoryServiceTests {
 		assertEquals("Refactoring history has wrong size", 0, proxies.length);
 	}
 
+	@Test
+	public void testReadProjectHistory7() throws Exception {
+		RefactoringHistory history= RefactoringHistoryService.getInstance().getProjectHistory(fProject.getProject(), 3 * STAMP_FACTOR, 7 * STAMP_FACTOR, RefactoringDescriptor.NONE, null);
+		RefactoringDescriptorProxy[] proxies= history.getDescriptors();
+		assertEquals("Refactoring history has wrong size", 5, proxies.length);
+		for (RefactoringDescriptorProxy proxy : proxies)
+			assertTrue("Refactoring outside of the time range", proxy.getTimeStamp() >= 3 * STAMP_FACTOR && proxy.getTimeStamp() <= 7 * STAMP_FACTOR);
+	}
+
+	@Test
+	public void testReadProjectHistory8() throws Exception {
+		final RefactoringHistoryService service= RefactoringHistoryService.getInstance();
+		RefactoringHistory history= service.getProjectHistory(fProject.getProject(), null);
+		assertEquals("Refactoring history has wrong size", RefactoringHistoryServiceTests.TOTAL_PROJECT_NUMBER, history.getDescriptors().length);
+		// a change of the shared history in the workspace, like a team update, is visible
+		fProject.getProject().getFolder(RefactoringHistoryService.NAME_HISTORY_FOLDER).delete(true, null);
+		history= service.getProjectHistory(fProject.getProject(), null);
+		assertTrue("Refactoring history should be empty", history.isEmpty());
+	}
+
 	@Test
 	public void testReadRefactoringHistory0() throws Exception {
 		setUpWorkspaceRefactorings();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,11 +15,16 @@ package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ILineTracker;
 
 public class DefaultLineTrackerTest {
 
@@ -37,4 +42,47 @@ public class DefaultLineTrackerTest {
 		assertEquals(document.getLineDelimiter(2), null);
 
 	}
+
+	@Test
+	public void testLargeText() throws BadLocationException {
+		String[] delimiters= { "\n", "\r\n", "\r" };
+		StringBuilder text= new StringBuilder();
+		List<Integer> offsets= new ArrayList<>();
+		List<String> lineDelimiters= new ArrayList<>();
+		for (int i= 0; text.length() < 3_000_000; i++) {
+			offsets.add(Integer.valueOf(text.length()));
+			String delimiter= delimiters[i % delimiters.length];
+			lineDelimiters.add(delimiter);
+			text.append("line ").append(i).append(delimiter);
+		}
+		offsets.add(Integer.valueOf(text.length()));
+		lineDelimiters.add(null);
+
+		ILineTracker tracker= new DefaultLineTracker();
+		tracker.set(text.toString());
+		checkLines(tracker, offsets, lineDelimiters, text.length());
+
+		// insert a line in the middle and remove it again
+		int line= offsets.size() / 2;
+		int lineOffset= offsets.get(line).intValue();
+		tracker.replace(lineOffset, 0, "inserted\r\n");
+		assertEquals(offsets.size() + 1, tracker.getNumberOfLines());
+		assertEquals("\r\n", tracker.getLineDelimiter(line));
+		assertEquals(lineOffset + 10, tracker.getLineOffset(line + 1));
+		tracker.replace(lineOffset, 10, null);
+		checkLines(tracker, offsets, lineDelimiters, text.length());
+	}
+
+	private static void checkLines(ILineTracker tracker, List<Integer> offsets, List<String> delimiters, int length) throws BadLocationException {
+		assertEquals(offsets.size(), tracker.getNumberOfLines());
+		assertEquals(offsets.size(), tracker.getNumberOfLines(0, length));
+		for (int line= 0; line < offsets.size(); line++) {
+			int offset= offsets.get(line).intValue();
+			int end= line + 1 < offsets.size() ? offsets.get(line + 1).intValue() : length;
+			assertEquals(offset, tracker.getLineOffset(line));
+			assertEquals(end - offset, tracker.getLineLength(line));
+			assertEquals(delimiters.get(line), tracker.getLineDelimiter(line));
+			assertEquals(line, tracker.getLineNumberOfOffset(offset));
+		}
+	}
 }
@@ -14,7 +14,9 @@
 package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.After;
 import org.junit.Before;
@@ -355,4 +357,55 @@ public class DocumentTest {
 
 		checkPositions(positions);
 	}
+
+	@Test
+	public void testReplacePositions() throws BadLocationException, BadPositionCategoryException {
+
+		Document expected= new Document(fDocument.get());
+		Position[] existing= fDocument.getPositions(IDocument.DEFAULT_CATEGORY);
+		for (Position position : existing)
+			expected.addPosition(position);
+
+		Position[] toRemove= { existing[1], existing[4] };
+		Position[] toAdd= {
+			new Position(21, 3),
+			new Position(21, 0),
+			new Position(61, 12),
+			new Position(0, 150),
+			new Position(150, 0),
+			new Position(21, 15)
+		};
+
+		for (Position position : toRemove)
+			expected.removePosition(position);
+		for (Position position : toAdd)
+			expected.addPosition(position);
+
+		fDocument.replacePositions(IDocument.DEFAULT_CATEGORY, toRemove, toAdd);
+
+		Position[] expectedPositions= expected.getPositions(IDocument.DEFAULT_CATEGORY);
+		Position[] actualPositions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY);
+		assertEquals(expectedPositions.length, actualPositions.length);
+		for (int i= 0; i < expectedPositions.length; i++)
+			assertSame("Position " + i + " wrong:", expectedPositions[i], actualPositions[i]);
+
+		expectedPositions= expected.getPositions(IDocument.DEFAULT_CATEGORY, 20, 50, true, false);
+		actualPositions= fDocument.getPositions(IDocument.DEFAULT_CATEGORY, 20, 50, true, false);
+		assertEquals(expectedPositions.length, actualPositions.length);
+		for (int i= 0; i < expectedPositions.length; i++)
+			assertSame("Position " + i + " wrong:", expectedPositions[i], actualPositions[i]);
+	}
+
+	@Test
+	public void testReplacePositionsWithInvalidPosition() throws BadPositionCategoryException {
+
+		Position[] existing= fDocument.getPositions(IDocument.DEFAULT_CATEGORY);
+		try {
+			fDocument.replacePositions(IDocument.DEFAULT_CATEGORY, existing, new Position[] { new Position(0, 1), new Position(140, 20) });
+			fail();
+		} catch (BadLocationException e) {
+			// expected
+		}
+		checkPositions(existing);
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2010 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.function.LongPredicate;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -384,6 +386,68 @@ public class DocumentUndoManagerTest {
 
 	}
 
+	@Test
+	public void testLargeChangesWithMemoryBudget() throws BadLocationException, ExecutionException, InterruptedException {
+		final String original = createRandomString(200_000) + '\ud800';
+		final Document document = new Document(original);
+		DocumentUndoManager undoManager = new DocumentUndoManager(document);
+		fUndoManager = undoManager;
+		fUndoManager.connect(this);
+
+		final String first = createRandomString(150_000);
+		final String second = createRandomString(100_000) + '\udc00';
+		document.replace(0, document.getLength(), first);
+		document.replace(0, document.getLength(), second);
+		fUndoManager.commit();
+		// large changes are compressed in the background
+		long uncompressed = 2L * (original.length() + 2 * first.length() + second.length());
+		assertTrue(waitForUndoMemoryFootprint(undoManager, footprint -> footprint > 0 && footprint < uncompressed));
+
+		undoManager.setUndoMemoryBudget(0);
+		assertTrue(waitForUndoMemoryFootprint(undoManager, footprint -> footprint == 0));
+
+		fUndoManager.undo();
+		assertEquals(first, document.get());
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+		fUndoManager.redo();
+		assertEquals(first, document.get());
+		fUndoManager.redo();
+		assertEquals(second, document.get());
+	}
+
+	@Test
+	public void testCompoundChangeWithMemoryBudget() throws BadLocationException, ExecutionException, InterruptedException {
+		final String original = createRandomString(1000);
+		final Document document = new Document(original);
+		DocumentUndoManager undoManager = new DocumentUndoManager(document);
+		fUndoManager = undoManager;
+		fUndoManager.connect(this);
+		undoManager.setUndoMemoryBudget(0);
+
+		fUndoManager.beginCompoundChange();
+		for (int i = 0; i < 30; i++)
+			document.replace(0, 10, createRandomString(70_000));
+		fUndoManager.endCompoundChange();
+		final String changed = document.get();
+		assertTrue(waitForUndoMemoryFootprint(undoManager, footprint -> footprint == 0));
+
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+		fUndoManager.redo();
+		assertEquals(changed, document.get());
+	}
+
+	private static boolean waitForUndoMemoryFootprint(DocumentUndoManager undoManager, LongPredicate condition) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10_000;
+		while (!condition.test(undoManager.getUndoMemoryFootprint())) {
+			if (System.currentTimeMillis() > timeout)
+				return false;
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
 	private static String createRandomString(int length) {
 		final StringBuilder buffer = new StringBuilder();
 
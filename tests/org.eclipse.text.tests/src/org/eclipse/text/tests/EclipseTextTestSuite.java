@@ -32,6 +32,7 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		MultiStringMatcherTest.class,
 		ConfigurableLineTrackerTest.class,
 		LineTrackerTest4.class,
+		DefaultLineTrackerTest.class,
 		DocumentExtensionTest.class,
 		LineTrackerTest3.class,
 		DocumentTest.class,
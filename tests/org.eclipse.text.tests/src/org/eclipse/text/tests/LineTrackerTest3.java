@@ -385,7 +385,7 @@ public class LineTrackerTest3 extends AbstractLineTrackerTest {
 		set("abcef");
 		checkLines(new int[] { 5 });
 
-		replace(0, 0, ""); // switch to TreeLineTracker
+		replace(0, 0, ""); // leave list compatible mode
 		checkLines(new int[] { 5 });
 	}
 
@@ -546,7 +546,7 @@ public class LineTrackerTest3 extends AbstractLineTrackerTest {
 	}
 
 	/**
-	 * Test for Bug 545565. Some ListLineTracker methods yield wrong results after tracker content
+	 * Test for Bug 545565. Some line tracker methods yielded wrong results after tracker content
 	 * was set to <code>null</code>.
 	 *
 	 * @throws BadLocationException if test failed
@@ -590,7 +590,7 @@ public class LineTrackerTest3 extends AbstractLineTrackerTest {
 	}
 
 	/**
-	 * Check if ListLineTracker and TreeLineTracker return same result for same input in context of
+	 * Check if the tracker returns the same result before and after the first modification in context of
 	 * Bug 545565.
 	 *
 	 * @throws BadLocationException if test fails
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.genericeditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.ITextViewerLifecycle;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
+
+import org.eclipse.ui.internal.genericeditor.CompositeReconcilerStrategy;
+
+public class CompositeReconcilerStrategyTest {
+
+	private static final IRegion FIRST = new Region(0, 1);
+
+	private static final IRegion SECOND = new Region(1, 1);
+
+	private static final IRegion THIRD = new Region(2, 1);
+
+	@Test
+	public void testSequentialStrategiesRunOnCallerThread() {
+		RecordingStrategy strategy = new RecordingStrategy();
+		CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(List.of(strategy));
+		composite.reconcile(FIRST);
+		assertEquals(List.of(FIRST), strategy.getReconciled());
+		assertSame(Thread.currentThread(), strategy.thread);
+	}
+
+	@Test
+	public void testConcurrentStrategiesRunOffCallerThread() {
+		RecordingStrategy strategy = new RecordingStrategy();
+		CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(List.of(strategy), true);
+		composite.setProgressMonitor(new NullProgressMonitor());
+		composite.reconcile(FIRST);
+		assertEquals(List.of(FIRST), strategy.getReconciled());
+		assertNotSame(Thread.currentThread(), strategy.thread);
+	}
+
+	@Test
+	public void testSupersededReconcileIsSkipped() throws InterruptedException {
+		RecordingStrategy strategy = new RecordingStrategy();
+		strategy.blocking = new CountDownLatch(1);
+		CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(List.of(strategy), true);
+		composite.setProgressMonitor(new NullProgressMonitor());
+		// blocks the strategy, the next calls are queued
+		composite.reconcile(FIRST);
+		composite.reconcile(SECOND);
+		composite.reconcile(SECOND);
+		strategy.blocking.countDown();
+		composite.reconcile(THIRD);
+		assertTrue(strategy.awaitReconciled(3));
+		assertEquals(List.of(FIRST, SECOND, THIRD), strategy.getReconciled());
+	}
+
+	@Test
+	public void testSlowStrategyIsCanceledAfterTimeout() {
+		RecordingStrategy fast = new RecordingStrategy();
+		RecordingStrategy slow = new RecordingStrategy();
+		slow.cooperative = true;
+		CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(List.of(slow, fast), true);
+		composite.setProgressMonitor(new NullProgressMonitor());
+		long start = System.nanoTime();
+		composite.reconcile(FIRST);
+		assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
+		assertEquals(List.of(FIRST), fast.getReconciled());
+		assertTrue(slow.awaitReconciled(1));
+		assertTrue("Slow strategy not canceled", slow.canceled);
+	}
+
+	@Test
+	public void testUninstallWaitsForRunningReconcile() throws InterruptedException {
+		RecordingStrategy strategy = new RecordingStrategy();
+		strategy.cooperative = true;
+		CompositeReconcilerStrategy composite = new CompositeReconcilerStrategy(List.of(strategy), true);
+		composite.setProgressMonitor(new NullProgressMonitor());
+		Thread reconcilerThread = new Thread(() -> composite.reconcile(FIRST));
+		reconcilerThread.start();
+		assertTrue(strategy.started.await(10, TimeUnit.SECONDS));
+		composite.uninstall();
+		assertTrue("Running reconcile not canceled", strategy.canceled);
+		assertEquals(List.of(FIRST), strategy.getReconciled());
+		assertTrue(strategy.uninstalledAfterReconcile);
+		reconcilerThread.join(10_000);
+	}
+
+	/**
+	 * Records the reconciled partitions. A blocking strategy waits for its latch,
+	 * a cooperative one until its progress monitor is canceled.
+	 */
+	private static class RecordingStrategy
+			implements IReconcilingStrategy, IReconcilingStrategyExtension, ITextViewerLifecycle {
+
+		final CountDownLatch started = new CountDownLatch(1);
+
+		volatile CountDownLatch blocking;
+
+		volatile boolean cooperative;
+
+		volatile boolean canceled;
+
+		volatile boolean uninstalledAfterReconcile;
+
+		volatile Thread thread;
+
+		private final List<IRegion> reconciled = new ArrayList<>();
+
+		private volatile boolean running;
+
+		private IProgressMonitor monitor;
+
+		@Override
+		public void setProgressMonitor(IProgressMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		@Override
+		public void initialReconcile() {
+			// nothing to do
+		}
+
+		@Override
+		public void setDocument(IDocument document) {
+			// nothing to do
+		}
+
+		@Override
+		public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+			reconcile(subRegion);
+		}
+
+		@Override
+		public void reconcile(IRegion partition) {
+			running = true;
+			thread = Thread.currentThread();
+			started.countDown();
+			try {
+				CountDownLatch latch = blocking;
+				if (latch != null) {
+					latch.await(10, TimeUnit.SECONDS);
+					blocking = null;
+				}
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+				while (cooperative && !monitor.isCanceled() && System.nanoTime() < deadline) {
+					Thread.sleep(10);
+				}
+				canceled |= monitor != null && monitor.isCanceled();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				synchronized (this) {
+					reconciled.add(partition);
+					running = false;
+					notifyAll();
+				}
+			}
+		}
+
+		@Override
+		public void install(ITextViewer textViewer) {
+			// nothing to do
+		}
+
+		@Override
+		public void uninstall() {
+			uninstalledAfterReconcile = !running;
+		}
+
+		synchronized List<IRegion> getReconciled() {
+			return new ArrayList<>(reconciled);
+		}
+
+		synchronized boolean awaitReconciled(int count) {
+			long deadline = System.currentTimeMillis() + 10_000;
+			while (reconciled.size() < count && System.currentTimeMillis() < deadline) {
+				try {
+					wait(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return reconciled.size() >= count;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016-2017 Red Hat Inc. and others.
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		FoldingTest.class,
 		AutoEditTest.class,
 		ReconcilerTest.class,
+		CompositeReconcilerStrategyTest.class,
 		HighlightTest.class,
 		IconsTest.class,
 		TestQuickAssist.class,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2018 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,9 @@ import org.junit.Test;
 
 import org.eclipse.swt.widgets.Display;
 
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+
 import org.eclipse.core.resources.IStorage;
 
 import org.eclipse.jface.text.IDocument;
@@ -33,6 +36,8 @@ import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.tests.util.DisplayHelper;
 
 import org.eclipse.ui.genericeditor.tests.contributions.EnabledPropertyTester;
+import org.eclipse.ui.internal.genericeditor.GenericEditorPlugin;
+import org.eclipse.ui.internal.genericeditor.ToggleHighlight;
 import org.eclipse.ui.part.FileEditorInput;
 
 import org.eclipse.ui.texteditor.IDocumentProvider;
@@ -130,6 +135,36 @@ public class HighlightTest extends AbstratGenericEditorTest {
 		checkHighlightForCaretOffset(editorText.indexOf("amet") + 1, complexWord, 2);
 	}
 
+	@Test
+	public void testHighlightAfterEdit() throws Exception {
+		createAndOpenFile("foo.txt", EDITOR_TEXT);
+		checkHighlightForCaretOffset(0, "Lorem", 3);
+
+		IDocument document= editor.getDocumentProvider().getDocument(editor.getEditorInput());
+		document.replace(document.getLength(), 0, "\nLorem");
+		checkHighlightForCaretOffset(1, "Lorem", 4);
+
+		// split the second occurrence
+		document.replace(EDITOR_TEXT.indexOf("\nLorem") + 3, 0, " ");
+		checkHighlightForCaretOffset(2, "Lorem", 3);
+	}
+
+	@Test
+	public void testHighlightAfterEditWhileDisabled() throws Exception {
+		createAndOpenFile("foo.txt", EDITOR_TEXT);
+		checkHighlightForCaretOffset(0, "Lorem", 3);
+
+		IEclipsePreferences preferences= InstanceScope.INSTANCE.getNode(GenericEditorPlugin.BUNDLE_ID);
+		preferences.putBoolean(ToggleHighlight.TOGGLE_HIGHLIGHT_PREFERENCE, false);
+		try {
+			IDocument document= editor.getDocumentProvider().getDocument(editor.getEditorInput());
+			document.replace(document.getLength(), 0, "\nLorem");
+		} finally {
+			preferences.putBoolean(ToggleHighlight.TOGGLE_HIGHLIGHT_PREFERENCE, true);
+		}
+		checkHighlightForCaretOffset(1, "Lorem", 4);
+	}
+
 	private void checkHighlightForCaretOffset(int pos, String expectedHighlight, int expectedHighlightCount) throws Exception {
 		clearAnnotations();
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2018 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,16 +13,26 @@
  *******************************************************************************/
 package org.eclipse.ui.tests.datatransfer;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -37,6 +47,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.tests.harness.FileSystemHelper;
 import org.eclipse.ui.dialogs.IOverwriteQuery;
 import org.eclipse.ui.internal.wizards.datatransfer.ArchiveFileExportOperation;
+import org.eclipse.ui.internal.wizards.datatransfer.ParallelZipFileExporter;
 import org.eclipse.ui.internal.wizards.datatransfer.TarEntry;
 import org.eclipse.ui.internal.wizards.datatransfer.TarException;
 import org.eclipse.ui.internal.wizards.datatransfer.TarFile;
@@ -116,6 +127,101 @@ public class ExportArchiveFileOperationTest extends UITestCase implements
 		verifyCompressed(ZIP_FILE_EXT);
 	}
 
+	@Test
+	public void testExportZipParallel() throws Exception {
+		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
+		List<IProject> resources = new ArrayList<>();
+		resources.add(project);
+		ArchiveFileExportOperation operation =
+			new ArchiveFileExportOperation(resources, filePath);
+
+		operation.setUseCompression(true);
+		operation.setUseParallelCompression(true);
+		operation.setUseTarFormat(false);
+		operation.run(new NullProgressMonitor());
+		assertTrue(operation.getStatus().isOK());
+		verifyCompressed(ZIP_FILE_EXT);
+		// +1 for .settings
+		verifyFolders(directoryNames.length + emptyDirectoryNames.length + 1, ZIP_FILE_EXT);
+		verifyContents(ZIP_FILE_EXT);
+	}
+
+	@Test
+	public void testParallelZipWithZip64Entries() throws Exception {
+		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
+		byte[] contents = "contents of unknown size".getBytes(StandardCharsets.UTF_8);
+		int directories = 0x10000;
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ParallelZipFileExporter exporter = new ParallelZipFileExporter(filePath, true, executor);
+			exporter.writeFile("unknown.txt", IResource.NULL_STAMP, -1, new ByteArrayInputStream(contents));
+			for (int i = 0; i < directories; i++) {
+				exporter.writeDirectory("dir" + i + "/", IResource.NULL_STAMP);
+			}
+			exporter.writeFile("known.txt", IResource.NULL_STAMP, contents.length,
+					new ByteArrayInputStream(contents));
+			exporter.finished();
+		} finally {
+			executor.shutdown();
+		}
+
+		// the entry count needs the ZIP64 end of central directory
+		long compressedSize;
+		try (ZipFile zipFile = new ZipFile(filePath)) {
+			assertEquals(directories + 2, zipFile.size());
+			for (String name : new String[] { "unknown.txt", "known.txt" }) {
+				ZipEntry entry = zipFile.getEntry(name);
+				try (InputStream in = zipFile.getInputStream(entry)) {
+					assertArrayEquals(contents, in.readAllBytes());
+				}
+			}
+			compressedSize = zipFile.getEntry("unknown.txt").getCompressedSize();
+		}
+
+		// an entry of unknown size has a ZIP64 extra field in its local header
+		// and a data descriptor with 8 byte sizes
+		ByteBuffer archive = ByteBuffer.wrap(Files.readAllBytes(Path.of(filePath))).order(ByteOrder.LITTLE_ENDIAN);
+		assertEquals(0x04034b50, archive.getInt(0));
+		assertEquals(45, archive.getShort(4));
+		int nameLength = archive.getShort(26);
+		int extraLength = archive.getShort(28);
+		assertEquals(20, extraLength);
+		assertEquals(0x0001, archive.getShort(30 + nameLength));
+		int descriptor = 30 + nameLength + extraLength + (int) compressedSize;
+		assertEquals(0x08074b50, archive.getInt(descriptor));
+		assertEquals(compressedSize, archive.getLong(descriptor + 8));
+		assertEquals(contents.length, archive.getLong(descriptor + 16));
+	}
+
+	@Test
+	public void testParallelZipRethrowsReadFailure() throws Exception {
+		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
+		IOException failure = new IOException("read failure");
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ParallelZipFileExporter exporter = new ParallelZipFileExporter(filePath, true, executor);
+			InputStream failing = new InputStream() {
+				@Override
+				public int read() throws IOException {
+					throw failure;
+				}
+			};
+			IOException thrown = assertThrows(IOException.class,
+					() -> exporter.writeFile("failing.txt", IResource.NULL_STAMP, 10, failing));
+			assertSame(failure, thrown);
+			exporter.finished();
+		} finally {
+			executor.shutdown();
+		}
+
+		// the entry is completed, so the archive stays valid
+		try (ZipFile zipFile = new ZipFile(filePath)) {
+			ZipEntry entry = zipFile.getEntry("failing.txt");
+			assertNotNull(entry);
+			assertEquals(0, entry.getSize());
+		}
+	}
+
 	@Test
 	public void testExportZipCreateSelectedDirectories() throws Exception {
 		filePath = localDirectory + "/" + FILE_NAME + "." + ZIP_FILE_EXT;
@@ -243,6 +349,25 @@ public class ExportArchiveFileOperationTest extends UITestCase implements
 		verifyCompressed(TAR_FILE_EXT);
 	}
 
+	@Test
+	public void testExportTarParallel() throws Exception {
+		filePath = localDirectory + "/" + FILE_NAME + "." + TAR_FILE_EXT;
+		List<IResource> resources = new ArrayList<>();
+		resources.add(project);
+		ArchiveFileExportOperation operation =
+			new ArchiveFileExportOperation(resources, filePath);
+
+		operation.setUseTarFormat(true);
+		operation.setUseCompression(true);
+		operation.setUseParallelCompression(true);
+		operation.run(new NullProgressMonitor());
+		assertTrue(operation.getStatus().isOK());
+		verifyCompressed(TAR_FILE_EXT);
+		// +1 for .settings
+		verifyFolders(directoryNames.length + emptyDirectoryNames.length + 1, TAR_FILE_EXT);
+		verifyContents(TAR_FILE_EXT);
+	}
+
 	@Test
 	public void testExportTarCreateSelectedDirectories() throws Exception {
 		filePath = localDirectory + "/" + FILE_NAME + "." + TAR_FILE_EXT;
@@ -419,6 +544,39 @@ public class ExportArchiveFileOperationTest extends UITestCase implements
 		assertTrue(fileName + " does not appear to be compressed.", compressed);
 	}
 
+	private void verifyContents(String type) throws Exception {
+		for (String directoryName : directoryNames) {
+			for (String fileName : fileNames) {
+				String entryName = project.getName() + "/" + directoryName + "/" + fileName;
+				String expected = directoryName + ", " + fileName;
+				if (ZIP_FILE_EXT.equals(type)) {
+					try (ZipFile zipFile = new ZipFile(filePath)) {
+						ZipEntry entry = zipFile.getEntry(entryName);
+						assertNotNull("Could not find entry " + entryName, entry);
+						try (InputStream in = zipFile.getInputStream(entry)) {
+							assertEquals(expected, new String(in.readAllBytes()));
+						}
+					}
+				} else {
+					try (TarFile tarFile = new TarFile(filePath)) {
+						Enumeration<?> entries = tarFile.entries();
+						TarEntry entry = null;
+						while (entries.hasMoreElements() && entry == null) {
+							TarEntry candidate = (TarEntry) entries.nextElement();
+							if (entryName.equals(candidate.getName())) {
+								entry = candidate;
+							}
+						}
+						assertNotNull("Could not find entry " + entryName, entry);
+						try (InputStream in = tarFile.getInputStream(entry)) {
+							assertEquals(expected, new String(in.readAllBytes()));
+						}
+					}
+				}
+			}
+		}
+	}
+
 	private void verifyFolders(int folderCount, String type){
 		try{
 			List<String> allEntries = new ArrayList<>();
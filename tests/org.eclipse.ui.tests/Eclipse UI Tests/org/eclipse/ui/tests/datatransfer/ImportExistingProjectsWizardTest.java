@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -57,6 +58,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.dialogs.ImportExportWizard;
 import org.eclipse.ui.internal.wizards.datatransfer.DataTransferMessages;
+import org.eclipse.ui.internal.wizards.datatransfer.EclipseProjectConfigurator;
 import org.eclipse.ui.internal.wizards.datatransfer.WizardProjectsImportPage;
 import org.eclipse.ui.internal.wizards.datatransfer.WizardProjectsImportPage.ProjectRecord;
 import org.eclipse.ui.tests.TestPlugin;
@@ -1221,4 +1223,40 @@ public class ImportExistingProjectsWizardTest {
 		}
 	}
 
+	@Test
+	public void test24DoNotShowProjectInDependencies() throws IOException {
+		dataLocation = ImportTestUtils.copyDataLocation(WS_DATA_LOCATION);
+		createProjectDescription(new File(dataLocation, "node_modules/Dependency"), "Dependency");
+		WizardProjectsImportPage wpip = getNewWizard();
+		// We're importing a directory
+		wpip.getProjectFromDirectoryRadio().setSelection((true));
+		wpip.updateProjectsList(dataLocation);
+
+		List<String> projectNames = new ArrayList<>();
+		for (ProjectRecord selectedProject : wpip.getProjectRecords()) {
+			projectNames.add(selectedProject.getProjectName());
+		}
+		assertTrue("Project not found in directory", projectNames.contains("HelloWorld"));
+		assertFalse("Project found in node_modules", projectNames.contains("Dependency"));
+	}
+
+	@Test
+	public void test25SmartImportFindsProjectInDependencies() throws IOException {
+		dataLocation = ImportTestUtils.copyDataLocation(WS_DATA_LOCATION);
+		File dependency = new File(dataLocation, "node_modules/Dependency");
+		createProjectDescription(dependency, "Dependency");
+
+		Set<File> locations = new EclipseProjectConfigurator().findConfigurableLocations(new File(dataLocation),
+				new NullProgressMonitor());
+		assertTrue("Project not found in node_modules", locations.contains(dependency));
+	}
+
+	private static void createProjectDescription(File directory, String name) throws IOException {
+		directory.mkdirs();
+		Files.writeString(new File(directory, ".project").toPath(),
+				"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<projectDescription><name>" + name
+						+ "</name><comment></comment><projects></projects><buildSpec></buildSpec>"
+						+ "<natures></natures></projectDescription>\n");
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,11 +16,13 @@ package org.eclipse.ui.tests.datatransfer;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
 import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -169,6 +171,67 @@ public class ImportOperationTest extends UITestCase implements IOverwriteQuery {
 		verifyFiles(importElements.size());
 	}
 
+	@Test
+	public void testImportParallelRead() throws Exception {
+		project = FileUtil.createProject("ImportParallelRead");
+		for (String directoryName : directoryNames) {
+			for (String fileName : fileNames) {
+				Files.writeString(new File(localDirectory + File.separator + directoryName, fileName).toPath(),
+						directoryName + ", " + fileName);
+			}
+		}
+		ImportOperation operation = new ImportOperation(project.getFullPath(),
+				new File(localDirectory), FileSystemStructureProvider.INSTANCE,
+				this);
+		operation.setParallelRead(true);
+		openTestWindow().run(true, true, operation);
+		assertTrue(operation.getStatus().isOK());
+		verifyFiles(directoryNames.length);
+
+		IContainer targetFolder = (IContainer) project.findMember(IPath.fromOSString(localDirectory).makeRelative());
+		for (String directoryName : directoryNames) {
+			for (String fileName : fileNames) {
+				IFile file = targetFolder.getFile(IPath.fromOSString(directoryName).append(fileName));
+				try (InputStream contents = file.getContents()) {
+					assertEquals(directoryName + ", " + fileName, new String(contents.readAllBytes()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testImportParallelReadWithoutOverwrite() throws Exception {
+		project = FileUtil.createProject("ImportParallelReadWithoutOverwrite");
+		ImportOperation operation = new ImportOperation(project.getFullPath(),
+				new File(localDirectory), FileSystemStructureProvider.INSTANCE,
+				this);
+		openTestWindow().run(true, true, operation);
+		assertTrue(operation.getStatus().isOK());
+
+		for (String directoryName : directoryNames) {
+			for (String fileName : fileNames) {
+				Files.writeString(new File(localDirectory + File.separator + directoryName, fileName).toPath(),
+						"changed");
+			}
+		}
+		// the existing files are rejected, the files read ahead for them are closed
+		operation = new ImportOperation(project.getFullPath(), new File(localDirectory),
+				FileSystemStructureProvider.INSTANCE, pathString -> IOverwriteQuery.NO_ALL);
+		operation.setParallelRead(true);
+		openTestWindow().run(true, true, operation);
+		assertTrue(operation.getStatus().isOK());
+
+		IContainer targetFolder = (IContainer) project.findMember(IPath.fromOSString(localDirectory).makeRelative());
+		for (String directoryName : directoryNames) {
+			for (String fileName : fileNames) {
+				IFile file = targetFolder.getFile(IPath.fromOSString(directoryName).append(fileName));
+				try (InputStream contents = file.getContents()) {
+					assertEquals("", new String(contents.readAllBytes()));
+				}
+			}
+		}
+	}
+
 	@Test
 	public void testSetContext() throws Exception {
 		project = FileUtil.createProject("ImportSetContext");
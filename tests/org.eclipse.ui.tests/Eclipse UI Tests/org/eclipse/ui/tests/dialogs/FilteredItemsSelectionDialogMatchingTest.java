@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.dialogs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.dialogs.DialogSettings;
+import org.eclipse.jface.dialogs.IDialogSettings;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.dialogs.FilteredItemsSelectionDialog;
+import org.eclipse.ui.tests.harness.util.DisplayHelper;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the matching of the items of the last search when the pattern of a
+ * {@link FilteredItemsSelectionDialog} gets narrowed.
+ */
+public class FilteredItemsSelectionDialogMatchingTest {
+
+	private static final int ITEMS = 10_000;
+
+	private StringItemsDialog dialog;
+
+	@After
+	public void tearDown() {
+		if (dialog != null) {
+			dialog.close();
+		}
+	}
+
+	@Test
+	public void testMatchingIsSequentialByDefault() {
+		dialog = new StringItemsDialog(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell(), false);
+		narrow();
+		assertEquals(1111, dialog.matches.size());
+		assertFalse("Filter called concurrently", dialog.calledFromPool);
+	}
+
+	@Test
+	public void testConcurrentMatchingFindsAllItems() {
+		dialog = new StringItemsDialog(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell(), true);
+		narrow();
+		assertEquals(1111, dialog.matches.size());
+		for (String match : dialog.matches) {
+			assertTrue(match, match.startsWith("item1"));
+		}
+	}
+
+	private void narrow() {
+		dialog.setBlockOnOpen(false);
+		dialog.setInitialPattern("item");
+		dialog.open();
+		assertTrue(DisplayHelper.waitForCondition(dialog.getShell().getDisplay(), 10_000,
+				() -> dialog.calls.get() >= ITEMS));
+
+		dialog.matches.clear();
+		dialog.calls.set(0);
+		Control patternControl = dialog.getPatternControl();
+		((Text) patternControl).setText("item1");
+		assertTrue(DisplayHelper.waitForCondition(dialog.getShell().getDisplay(), 10_000,
+				() -> dialog.calls.get() >= ITEMS && dialog.matches.size() >= 1111));
+	}
+
+	private static class StringItemsDialog extends FilteredItemsSelectionDialog {
+
+		final boolean concurrent;
+
+		final AtomicInteger calls = new AtomicInteger();
+
+		final Set<String> matches = ConcurrentHashMap.newKeySet();
+
+		volatile boolean calledFromPool;
+
+		StringItemsDialog(Shell shell, boolean concurrent) {
+			super(shell);
+			this.concurrent = concurrent;
+		}
+
+		@Override
+		protected Control createExtendedContentArea(Composite parent) {
+			return null;
+		}
+
+		@Override
+		protected IDialogSettings getDialogSettings() {
+			return new DialogSettings("StringItemsDialog");
+		}
+
+		@Override
+		protected IStatus validateItem(Object item) {
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		protected ItemsFilter createFilter() {
+			return new ItemsFilter() {
+
+				@Override
+				public boolean matchItem(Object item) {
+					if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+						calledFromPool = true;
+					}
+					calls.incrementAndGet();
+					boolean match = matches((String) item);
+					if (match) {
+						matches.add((String) item);
+					}
+					return match;
+				}
+
+				@Override
+				public boolean isConsistentItem(Object item) {
+					return true;
+				}
+
+				@Override
+				public boolean supportsConcurrentMatching() {
+					return concurrent;
+				}
+			};
+		}
+
+		@Override
+		protected Comparator<String> getItemsComparator() {
+			return Comparator.naturalOrder();
+		}
+
+		@Override
+		protected void fillContentProvider(AbstractContentProvider contentProvider, ItemsFilter itemsFilter,
+				IProgressMonitor progressMonitor) throws CoreException {
+			for (int i = 0; i < ITEMS; i++) {
+				contentProvider.add("item" + i, itemsFilter);
+			}
+		}
+
+		@Override
+		public String getElementName(Object item) {
+			return (String) item;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -12,6 +12,10 @@ package org.eclipse.ui.tests.dialogs;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -21,6 +25,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.dialogs.FilteredResourcesSelectionDialog;
 import org.eclipse.ui.tests.harness.util.DisplayHelper;
@@ -69,6 +74,38 @@ public class ResourceSelectionFilteringDialogTest {
 		}
 	}
 
+	@Test
+	public void testNarrowedPatternIsMatchedConcurrently() throws CoreException, IOException {
+		int count = 3000;
+		File folder = new File(project.getLocation().toFile(), "items");
+		folder.mkdirs();
+		for (int i = 0; i < count; i++) {
+			new File(folder, "concurrentItem" + i + ".txt").createNewFile();
+		}
+		project.refreshLocal(IResource.DEPTH_INFINITE, null);
+		SeeThroughFilteredResourcesSelectionDialog dialog = createDialog();
+		try {
+			dialog.setInitialPattern("concurrentItem");
+			dialog.open();
+			Assert.assertTrue(DisplayHelper.waitForCondition(dialog.getShell().getDisplay(), 10_000,
+					() -> dialog.matches.size() >= count));
+
+			dialog.matches.clear();
+			dialog.calledFromPool = false;
+			((Text) dialog.getPatternControl()).setText("concurrentItem1");
+			// concurrentItem1, 10-19, 100-199 and 1000-1999
+			Assert.assertTrue(DisplayHelper.waitForCondition(dialog.getShell().getDisplay(), 10_000,
+					() -> dialog.matches.size() >= 1111));
+			Assert.assertEquals(1111, dialog.matches.size());
+			for (IResource match : dialog.matches) {
+				Assert.assertTrue(match.getName(), match.getName().startsWith("concurrentItem1"));
+			}
+			Assert.assertTrue("Items not matched concurrently", dialog.calledFromPool);
+		} finally {
+			dialog.close();
+		}
+	}
+
 	@After
 	public void doTearDown() throws Exception {
 		project.delete(true, null);
@@ -81,9 +118,30 @@ public class ResourceSelectionFilteringDialogTest {
 			super(shell, multi, container, typesMask);
 		}
 
+		final Set<IResource> matches = ConcurrentHashMap.newKeySet();
+
+		volatile boolean calledFromPool;
+
 		@Override
 		public StructuredSelection getSelectedItems() {
 			return super.getSelectedItems();
 		}
+
+		@Override
+		protected ItemsFilter createFilter() {
+			return new ResourceFilter() {
+				@Override
+				public boolean matchItem(Object item) {
+					if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+						calledFromPool = true;
+					}
+					boolean match = super.matchItem(item);
+					if (match) {
+						matches.add((IResource) item);
+					}
+					return match;
+				}
+			};
+		}
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2022 Red Hat Inc. and others.
+ * Copyright (c) 2017, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,16 +14,27 @@
 
 package org.eclipse.ui.tests.quickaccess;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.internal.quickaccess.QuickAccessContents;
 import org.eclipse.ui.internal.quickaccess.QuickAccessDialog;
+import org.eclipse.ui.internal.quickaccess.QuickAccessEntry;
+import org.eclipse.ui.internal.quickaccess.QuickAccessMatcher;
+import org.eclipse.ui.internal.quickaccess.QuickAccessProvider;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
 import org.eclipse.ui.tests.harness.util.CloseTestWindowsRule;
 import org.eclipse.ui.tests.harness.util.DisplayHelper;
 import org.eclipse.ui.tests.harness.util.UITestCase;
@@ -88,6 +99,63 @@ public class ContentMatchesTest {
 						.toList().isEmpty()));
 	}
 
+	@Test
+	public void testRefinedRequestFindsSameEntries() throws Exception {
+		Text text = quickAccessContents.getFilterText();
+		final Table table = quickAccessContents.getTable();
+		text.setText("text white");
+		assertTrue(DisplayHelper.waitForCondition(table.getDisplay(), TIMEOUT,
+				() -> !getAllEntries(table).isEmpty()));
+		DisplayHelper.sleep(table.getDisplay(), 500);
+		List<String> entries = getAllEntries(table);
+
+		// the labels normalized for the first request are reused
+		text.setText("text");
+		assertTrue(DisplayHelper.waitForCondition(table.getDisplay(), TIMEOUT,
+				() -> !getAllEntries(table).equals(entries)));
+		text.setText("text white");
+		assertTrue(DisplayHelper.waitForCondition(table.getDisplay(), TIMEOUT,
+				() -> getAllEntries(table).equals(entries)));
+	}
+
+	@Test
+	public void testMatchersAreKeptUntilReset() {
+		TestElement element = new TestElement("Alpha Beta");
+		TestProvider provider = new TestProvider(element);
+		provider.getElementsSorted("alpha", new NullProgressMonitor());
+		QuickAccessMatcher matcher = provider.getMatcher(element);
+		assertSame(matcher, provider.getMatcher(element));
+		assertNotNull(matcher.match("alpha", provider));
+
+		element.label = "Gamma";
+		provider.reset();
+		provider.getElementsSorted("gamma", new NullProgressMonitor());
+		QuickAccessMatcher newMatcher = provider.getMatcher(element);
+		assertNotSame(matcher, newMatcher);
+		assertNull(newMatcher.match("alpha", provider));
+		assertNotNull(newMatcher.match("gamma", provider));
+	}
+
+	@Test
+	public void testMatcherGivesSameResultsForEachFilter() {
+		TestElement element = new TestElement("Open Type Hierarchy");
+		TestProvider provider = new TestProvider(element);
+		provider.getElementsSorted("", new NullProgressMonitor());
+		QuickAccessMatcher matcher = provider.getMatcher(element);
+		String[] filters = { "open", "type hier", "o*hier", "oth", "test provider open", "nothing" };
+		int[] qualities = { QuickAccessEntry.MATCH_EXCELLENT, QuickAccessEntry.MATCH_GOOD,
+				QuickAccessEntry.MATCH_EXCELLENT, QuickAccessEntry.MATCH_GOOD, QuickAccessEntry.MATCH_GOOD, -1 };
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < filters.length; i++) {
+				QuickAccessEntry entry = matcher.match(filters[i], provider);
+				assertEquals(filters[i], qualities[i], entry == null ? -1 : entry.getMatchQuality());
+			}
+		}
+		// an element which is not cached gets a new matcher
+		TestElement other = new TestElement("Other");
+		assertNotSame(provider.getMatcher(other), provider.getMatcher(other));
+	}
+
 	static List<String> getAllEntries(Table table) {
 		final int nbColumns = table.getColumnCount();
 		return Arrays.stream(table.getItems()).map(item -> {
@@ -100,4 +168,66 @@ public class ContentMatchesTest {
 		}).toList();
 	}
 
+	private static class TestElement extends QuickAccessElement {
+
+		String label;
+
+		TestElement(String label) {
+			this.label = label;
+		}
+
+		@Override
+		public String getLabel() {
+			return label;
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public String getId() {
+			return "test." + label;
+		}
+
+		@Override
+		public void execute() {
+			// nothing to do
+		}
+	}
+
+	private static class TestProvider extends QuickAccessProvider {
+
+		private final QuickAccessElement[] elements;
+
+		TestProvider(QuickAccessElement... elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public String getId() {
+			return "test.provider";
+		}
+
+		@Override
+		public String getName() {
+			return "Test Provider";
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public QuickAccessElement[] getElements() {
+			return elements.clone();
+		}
+
+		@Override
+		protected void doReset() {
+			// nothing to do
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,8 @@ import org.eclipse.core.expressions.WithExpression;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
@@ -65,6 +67,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.junit.runners.MethodSorters;
+import org.osgi.service.event.EventHandler;
 
 /**
  * @since 3.3
@@ -524,7 +527,7 @@ public class EvaluationServiceTest extends UITestCase {
 
 		assertNotNull(element);
 		Expression expr = ExpressionConverter.getDefault().perform(element.getChildren()[0]);
-		service.addEvaluationListener(expr,
+		IEvaluationReference ref = service.addEvaluationListener(expr,
 				listener, IEvaluationService.RESULT);
 		assertFalse(listener.currentValue);
 		assertEquals(1, listener.count);
@@ -540,6 +543,44 @@ public class EvaluationServiceTest extends UITestCase {
 		service.requestEvaluation("org.eclipse.ui.tests.class.method");
 		assertTrue(listener.currentValue);
 		assertEquals(2, listener.count);
+
+		StaticVarPropertyTester.result = false;
+		service.requestEvaluation("org.eclipse.ui.tests.class.unrelated");
+		assertTrue(listener.currentValue);
+		assertEquals(2, listener.count);
+
+		service.removeEvaluationListener(ref);
+		assertEquals(3, listener.count);
+		service.requestEvaluation("org.eclipse.ui.tests.class.method");
+		assertEquals(3, listener.count);
+	}
+
+	@Test
+	public void testRequestEvaluationOfUnusedProperty() throws Exception {
+		IWorkbenchWindow window = openTestWindow();
+		IEvaluationService service = window.getService(IEvaluationService.class);
+		IEventBroker eventBroker = window.getService(IEventBroker.class);
+		ArrayList<Object> notifying = new ArrayList<>();
+		IPropertyChangeListener serviceListener = event -> {
+			if (IEvaluationService.PROP_NOTIFYING.equals(event.getProperty())) {
+				notifying.add(event.getNewValue());
+			}
+		};
+		ArrayList<Object> updates = new ArrayList<>();
+		EventHandler updateHandler = event -> updates.add(event.getProperty(IEventBroker.DATA));
+		service.addServiceListener(serviceListener);
+		eventBroker.subscribe(UIEvents.REQUEST_ENABLEMENT_UPDATE_TOPIC, updateHandler);
+		try {
+			service.requestEvaluation("org.eclipse.ui.tests.class.unused");
+			assertEquals(2, notifying.size());
+			assertEquals(Boolean.TRUE, notifying.get(0));
+			assertEquals(Boolean.FALSE, notifying.get(1));
+			assertEquals(1, updates.size());
+			assertEquals(UIEvents.ALL_ELEMENT_ID, updates.get(0));
+		} finally {
+			eventBroker.unsubscribe(updateHandler);
+			service.removeServiceListener(serviceListener);
+		}
 	}
 
 	@Test
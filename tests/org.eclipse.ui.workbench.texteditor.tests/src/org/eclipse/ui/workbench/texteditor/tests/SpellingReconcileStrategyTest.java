@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.AnnotationModel;
+import org.eclipse.jface.text.source.ISourceViewer;
+
+import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingAnnotation;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
+import org.eclipse.ui.texteditor.spelling.SpellingProblem;
+import org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy;
+import org.eclipse.ui.texteditor.spelling.SpellingService;
+
+public class SpellingReconcileStrategyTest {
+
+	private static final String MISSPELLED= "teh";
+
+	private Document document;
+
+	private AnnotationModel annotationModel;
+
+	private RecordingSpellingService spellingService;
+
+	private SpellingReconcileStrategy strategy;
+
+	private NullProgressMonitor monitor;
+
+	@Before
+	public void setUp() {
+		document= new Document("a teh\nb\nc teh\n");
+		annotationModel= new AnnotationModel();
+		annotationModel.connect(document);
+		ISourceViewer viewer= mock(ISourceViewer.class);
+		when(viewer.getAnnotationModel()).thenReturn(annotationModel);
+		spellingService= new RecordingSpellingService();
+		monitor= new NullProgressMonitor();
+		strategy= new SpellingReconcileStrategy(viewer, spellingService);
+		strategy.setIncremental(true);
+		strategy.setProgressMonitor(monitor);
+		strategy.setDocument(document);
+	}
+
+	@Test
+	public void testInitialReconcileChecksDocument() {
+		strategy.initialReconcile();
+		assertEquals(2, getSpellingAnnotationCount());
+		assertEquals(List.of(new Region(0, document.getLength())), spellingService.checkedRegions);
+	}
+
+	@Test
+	public void testReconcileChecksChangedLines() throws BadLocationException {
+		strategy.initialReconcile();
+		spellingService.checkedRegions.clear();
+
+		document.replace(document.getLineOffset(1), 1, MISSPELLED);
+		strategy.reconcile(new Region(0, document.getLength()));
+		assertEquals(List.of(new Region(document.getLineOffset(1), document.getLineLength(1))),
+				spellingService.checkedRegions);
+		assertEquals(3, getSpellingAnnotationCount());
+
+		document.replace(document.getLineOffset(1), MISSPELLED.length(), "b");
+		strategy.reconcile(new Region(0, document.getLength()));
+		assertEquals(2, getSpellingAnnotationCount());
+	}
+
+	@Test
+	public void testReconcileWithoutChangeChecksDocument() {
+		strategy.initialReconcile();
+		spellingService.checkedRegions.clear();
+
+		// like a word added to the dictionary and a forced reconcile
+		spellingService.known.add(MISSPELLED);
+		strategy.reconcile(new Region(0, document.getLength()));
+		assertEquals(List.of(new Region(0, document.getLength())), spellingService.checkedRegions);
+		assertEquals(0, getSpellingAnnotationCount());
+	}
+
+	@Test
+	public void testRegionsAreCheckedSequentially() {
+		StringBuilder text= new StringBuilder();
+		while (text.length() < 200 * 1024) {
+			text.append("some teh text\n");
+		}
+		document.set(text.toString());
+		strategy.reconcile(new Region(0, document.getLength()));
+
+		assertTrue(spellingService.checkedRegions.size() > 1);
+		assertFalse("Regions checked concurrently", spellingService.concurrent);
+		assertEquals(Set.of(Thread.currentThread()), spellingService.threads);
+		assertEquals(text.length() / 14, getSpellingAnnotationCount());
+	}
+
+	@Test
+	public void testCanceledRegionsAreCheckedAgain() {
+		StringBuilder text= new StringBuilder();
+		while (text.length() < 100 * 1024) {
+			text.append("some teh text\n");
+		}
+		document.set(text.toString());
+		// canceled while checking the second region
+		spellingService.cancelAfter= 2;
+		strategy.reconcile(new Region(0, document.getLength()));
+		assertEquals(2, spellingService.checkedRegions.size());
+		IRegion first= spellingService.checkedRegions.get(0);
+
+		monitor.setCanceled(false);
+		spellingService.cancelAfter= -1;
+		spellingService.checkedRegions.clear();
+		strategy.reconcile(new Region(0, document.getLength()));
+		int end= 0;
+		for (IRegion region : spellingService.checkedRegions) {
+			end= Math.max(end, region.getOffset() + region.getLength());
+		}
+		assertEquals(first.getOffset() + first.getLength(), spellingService.checkedRegions.get(0).getOffset());
+		assertEquals(document.getLength(), end);
+		assertEquals(text.length() / 14, getSpellingAnnotationCount());
+	}
+
+	private int getSpellingAnnotationCount() {
+		int count= 0;
+		Iterator<Annotation> iterator= annotationModel.getAnnotationIterator();
+		while (iterator.hasNext()) {
+			if (SpellingAnnotation.TYPE.equals(iterator.next().getType())) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Reports the occurrences of {@link #MISSPELLED} and records how the regions are checked.
+	 */
+	private class RecordingSpellingService extends SpellingService {
+
+		final List<IRegion> checkedRegions= new ArrayList<>();
+
+		final Set<String> known= new HashSet<>();
+
+		final Set<Thread> threads= new HashSet<>();
+
+		int cancelAfter= -1;
+
+		volatile boolean concurrent;
+
+		private int active;
+
+		RecordingSpellingService() {
+			super(null);
+		}
+
+		@Override
+		public void check(IDocument checkedDocument, IRegion[] regions, SpellingContext context, ISpellingProblemCollector collector, IProgressMonitor progressMonitor) {
+			synchronized (this) {
+				concurrent|= active++ > 0;
+				threads.add(Thread.currentThread());
+			}
+			collector.beginCollecting();
+			try {
+				for (IRegion region : regions) {
+					String text= checkedDocument.get(region.getOffset(), region.getLength());
+					if (!known.contains(MISSPELLED)) {
+						for (int index= text.indexOf(MISSPELLED); index >= 0; index= text.indexOf(MISSPELLED, index + 1)) {
+							collector.accept(new Problem(region.getOffset() + index));
+						}
+					}
+					synchronized (this) {
+						checkedRegions.add(region);
+						if (checkedRegions.size() == cancelAfter) {
+							progressMonitor.setCanceled(true);
+						}
+					}
+				}
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			} finally {
+				collector.endCollecting();
+				synchronized (this) {
+					active--;
+				}
+			}
+		}
+	}
+
+	private static class Problem extends SpellingProblem {
+
+		private final int offset;
+
+		Problem(int offset) {
+			this.offset= offset;
+		}
+
+		@Override
+		public int getOffset() {
+			return offset;
+		}
+
+		@Override
+		public int getLength() {
+			return MISSPELLED.length();
+		}
+
+		@Override
+		public String getMessage() {
+			return MISSPELLED;
+		}
+
+		@Override
+		public ICompletionProposal[] getProposals() {
+			return new ICompletionProposal[0];
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,7 @@ import org.eclipse.ui.workbench.texteditor.tests.rulers.RulerTestSuite;
 		FindReplaceDialogTest.class,
 		FindReplaceOverlayTest.class,
 		FindReplaceLogicTest.class,
+		SpellingReconcileStrategyTest.class,
 })
 public class WorkbenchTextEditorTestSuite {
 	// see @SuiteClasses